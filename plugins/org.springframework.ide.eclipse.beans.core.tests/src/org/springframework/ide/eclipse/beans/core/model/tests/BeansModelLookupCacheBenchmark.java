@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.model.tests;
+
+import java.util.Arrays;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelLookupCache;
+import org.springframework.ide.eclipse.beans.core.tests.BeansCoreTestCase;
+
+/**
+ * Compares the time a full build (and with it a full validation) of the 'validation' project
+ * takes without and with the {@link BeansModelLookupCache}. Prints the minimum and median time of
+ * each as 'key=value' lines.
+ * <p>
+ * Not part of {@link org.springframework.ide.eclipse.beans.core.tests.AllBeansCoreTests}, as it
+ * takes a while. The number of builds can be set with 'beans.lookup.benchmark.runs'.
+ */
+public class BeansModelLookupCacheBenchmark extends BeansCoreTestCase {
+
+	private static final int RUNS = Integer.getInteger("beans.lookup.benchmark.runs", 10);
+
+	@After
+	public void enableCache() {
+		BeansModelLookupCache.setEnabled(true);
+	}
+
+	@Test
+	public void fullValidation() throws Exception {
+		IProject project = createPredefinedProject("validation");
+
+		//Warm up, so that class loading and type lookups don't end up in the first measurement
+		build(project);
+
+		BeansModelLookupCache.setEnabled(false);
+		long[] uncached = measure(project);
+
+		BeansModelLookupCache.setEnabled(true);
+		long[] cached = measure(project);
+
+		System.out.println("runs=" + RUNS);
+		report("fullValidation.uncached", uncached);
+		report("fullValidation.cached", cached);
+	}
+
+	private long[] measure(IProject project) throws Exception {
+		long[] times = new long[RUNS];
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			build(project);
+			times[run] = System.nanoTime() - start;
+		}
+		Arrays.sort(times);
+		return times;
+	}
+
+	private void build(IProject project) throws Exception {
+		project.build(IncrementalProjectBuilder.FULL_BUILD, null);
+		waitForManualBuild();
+	}
+
+	private void report(String key, long[] sortedTimes) {
+		System.out.println(key + ".minMs=" + sortedTimes[0] / 1000000);
+		System.out.println(key + ".medianMs=" + sortedTimes[sortedTimes.length / 2] / 1000000);
+	}
+
+}
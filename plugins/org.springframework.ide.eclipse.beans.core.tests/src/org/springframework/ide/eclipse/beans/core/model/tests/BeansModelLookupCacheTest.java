@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelLookupCache;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.model.IReloadableBeansConfig;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class BeansModelLookupCacheTest {
+
+	private IProject project;
+	private BeansModel model;
+	private BeansProject beansProject;
+	private BeansModel originalModel;
+	private IBeansConfig config;
+
+	@BeforeClass
+	public static void setUp() {
+		if (Platform.OS_WIN32.equals(Platform.getOS())) {
+			/*
+			 * Set non-locking class-loader for windows testing
+			 */
+			InstanceScope.INSTANCE.getNode(SpringCore.PLUGIN_ID).putBoolean(
+					SpringCore.USE_NON_LOCKING_CLASSLOADER, true);
+		}
+	}
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("beans-model-utils-tests", "org.springframework.ide.eclipse.beans.core.tests");
+
+		model = new BeansModel();
+		beansProject = new BeansProject(model, project);
+		model.addProject(beansProject);
+
+		originalModel = (BeansModel) BeansCorePlugin.getModel();
+		BeansCorePlugin.setModel(model);
+
+		beansProject.addConfig("basic-bean-config.xml", IBeansConfig.Type.MANUAL);
+		beansProject.addConfig("basic-bean-config-2.xml", IBeansConfig.Type.MANUAL);
+		config = beansProject.getConfig("basic-bean-config.xml");
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		project.delete(true, null);
+		BeansCorePlugin.setModel(originalModel);
+	}
+
+	@Test
+	public void testLookupsRememberedWithinEpoch() throws Exception {
+		BeansModelLookupCache cache = BeansModelLookupCache.getDefault();
+		Set<IBean> beans = readConfig();
+
+		long hits = cache.getHitCount();
+		long misses = cache.getMissCount();
+		assertEquals(beans, BeansModelUtils.getBeans(config));
+		assertEquals(misses, cache.getMissCount());
+		assertTrue(cache.getHitCount() > hits);
+	}
+
+	@Test
+	public void testLookupsRepeatedWhenDisabled() throws Exception {
+		BeansModelLookupCache cache = BeansModelLookupCache.getDefault();
+		BeansModelLookupCache.setEnabled(false);
+		try {
+			Set<IBean> beans = readConfig();
+
+			long hits = cache.getHitCount();
+			long misses = cache.getMissCount();
+			assertEquals(beans, BeansModelUtils.getBeans(config));
+			long lookups = cache.getMissCount() - misses;
+			assertTrue(lookups > 0);
+			assertEquals(beans, BeansModelUtils.getBeans(config));
+			assertEquals(misses + 2 * lookups, cache.getMissCount());
+			assertEquals(hits, cache.getHitCount());
+		}
+		finally {
+			BeansModelLookupCache.setEnabled(true);
+		}
+	}
+
+	@Test
+	public void testModelChangeStartsNewEpoch() throws Exception {
+		BeansModelLookupCache cache = BeansModelLookupCache.getDefault();
+		readConfig();
+
+		model.notifyListeners(config, ModelChangeEvent.Type.CHANGED);
+
+		long misses = cache.getMissCount();
+		BeansModelUtils.getBeans(config);
+		assertTrue(cache.getMissCount() > misses);
+	}
+
+	@Test
+	public void testReturnsCopies() throws Exception {
+		Set<IBean> beans = BeansModelUtils.getBeans(config);
+		int size = beans.size();
+		assertTrue(size > 0);
+
+		beans.clear();
+		assertEquals(size, BeansModelUtils.getBeans(config).size());
+	}
+
+	@Test
+	public void testConfigReload() throws Exception {
+		IBean bean = getBean(BeansModelUtils.getBeans(config), "simpleBean1");
+
+		((IReloadableBeansConfig) config).reload();
+
+		IBean reloaded = getBean(BeansModelUtils.getBeans(config), "simpleBean1");
+		assertNotSame(bean, reloaded);
+	}
+
+	@Test
+	public void testConfigSetAdded() throws Exception {
+		assertNull(BeansModelUtils.getBeanWithConfigSets("acrossConfigsBean2", config));
+		assertTrue(BeansModelUtils.getConfigSets(config).isEmpty());
+
+		BeansConfigSet configSet = new BeansConfigSet(beansProject, "test-set", IBeansConfigSet.Type.MANUAL);
+		configSet.addConfig("basic-bean-config.xml");
+		configSet.addConfig("basic-bean-config-2.xml");
+		beansProject.addConfigSet(configSet);
+
+		assertNotNull(BeansModelUtils.getBeanWithConfigSets("acrossConfigsBean2", config));
+		assertEquals(1, BeansModelUtils.getConfigSets(config).size());
+	}
+
+	/**
+	 * Reading the config starts a new epoch, so the first lookups aren't remembered.
+	 */
+	private Set<IBean> readConfig() {
+		BeansModelUtils.getBeans(config);
+		return BeansModelUtils.getBeans(config);
+	}
+
+	private IBean getBean(Set<IBean> beans, String name) {
+		for (IBean bean : beans) {
+			if (name.equals(bean.getElementName())) {
+				return bean;
+			}
+		}
+		return null;
+	}
+
+}
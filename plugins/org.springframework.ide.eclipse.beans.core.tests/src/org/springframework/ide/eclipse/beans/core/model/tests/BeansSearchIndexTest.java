@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansProject;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchIndex;
+import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchIndex.KeyExtractor;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent.Type;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+/**
+ * Checks that the {@link BeansSearchIndex} answers literal and pattern searches, reuses the keys of
+ * a config between searches and rebuilds them once the config, its project or its file changed.
+ */
+public class BeansSearchIndexTest {
+
+	private IProject project;
+	private BeansModel model;
+	private BeansProject beansProject;
+	private BeansModel originalModel;
+	private IBeansConfig config;
+	private IBeansConfig config2;
+	private List<IBeansConfig> configs;
+
+	private final List<IBeansConfig> indexedConfigs = new ArrayList<IBeansConfig>();
+
+	private final KeyExtractor beanNames = new KeyExtractor() {
+		public void collectKeys(IModelElement element, Collection<String> keys) {
+			if (element instanceof IBean) {
+				indexedConfigs.add(BeansModelUtils.getConfig(element));
+				keys.add(element.getElementName());
+			}
+		}
+	};
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("beans-model-utils-tests", "org.springframework.ide.eclipse.beans.core.tests");
+
+		model = new BeansModel();
+		beansProject = new BeansProject(model, project);
+		model.addProject(beansProject);
+
+		// the index listens to whatever model is current when it is created
+		BeansSearchIndex.shutdown();
+		originalModel = (BeansModel) BeansCorePlugin.getModel();
+		BeansCorePlugin.setModel(model);
+
+		beansProject.addConfig("basic-bean-config.xml", IBeansConfig.Type.MANUAL);
+		beansProject.addConfig("basic-bean-config-2.xml", IBeansConfig.Type.MANUAL);
+		config = beansProject.getConfig("basic-bean-config.xml");
+		config2 = beansProject.getConfig("basic-bean-config-2.xml");
+		configs = Arrays.asList(config, config2);
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		BeansSearchIndex.shutdown();
+		project.delete(true, null);
+		BeansCorePlugin.setModel(originalModel);
+	}
+
+	@Test
+	public void testLiteralSearch() throws Exception {
+		assertEquals(Collections.singletonList("acrossConfigsBean2"), names(findLiteral("acrossConfigsBean2")));
+		assertTrue(findLiteral("noSuchBean").isEmpty());
+	}
+
+	@Test
+	public void testPatternSearch() throws Exception {
+		assertEquals(Arrays.asList("acrossConfigsBean1", "acrossConfigsBean2"), names(findPattern("acrossConfigs.*")));
+		assertEquals(Arrays.asList("simpleBean1", "simpleBean2"), names(findPattern("simpleBean\\d")));
+	}
+
+	@Test
+	public void testIndexReused() throws Exception {
+		findPattern(".*");
+		assertEquals(new HashSet<IBeansConfig>(configs), new HashSet<IBeansConfig>(indexedConfigs));
+
+		indexedConfigs.clear();
+		findPattern(".*");
+		findLiteral("simpleBean1");
+		assertTrue(indexedConfigs.isEmpty());
+	}
+
+	@Test
+	public void testConfigChanged() throws Exception {
+		findPattern(".*");
+		indexedConfigs.clear();
+
+		model.notifyListeners(config, Type.CHANGED);
+
+		findPattern(".*");
+		assertEquals(Collections.singleton(config), new HashSet<IBeansConfig>(indexedConfigs));
+	}
+
+	@Test
+	public void testProjectChanged() throws Exception {
+		findPattern(".*");
+		indexedConfigs.clear();
+
+		model.notifyListeners(beansProject, Type.CHANGED);
+
+		findPattern(".*");
+		assertEquals(new HashSet<IBeansConfig>(configs), new HashSet<IBeansConfig>(indexedConfigs));
+	}
+
+	@Test
+	public void testConfigFileModified() throws Exception {
+		findPattern(".*");
+		indexedConfigs.clear();
+
+		config2.getElementResource().touch(null);
+
+		findPattern(".*");
+		assertTrue(indexedConfigs.contains(config2));
+	}
+
+	private Set<IModelElement> findLiteral(String name) {
+		return BeansSearchIndex.getDefault().findMatches(configs, beanNames, Pattern.compile(Pattern.quote(name)), name,
+				new NullProgressMonitor());
+	}
+
+	private Set<IModelElement> findPattern(String regex) {
+		return BeansSearchIndex.getDefault().findMatches(configs, beanNames, Pattern.compile(regex), null,
+				new NullProgressMonitor());
+	}
+
+	private List<String> names(Set<IModelElement> elements) {
+		List<String> names = new ArrayList<String>();
+		for (IModelElement element : elements) {
+			names.add(element.getElementName());
+		}
+		return names;
+	}
+
+}
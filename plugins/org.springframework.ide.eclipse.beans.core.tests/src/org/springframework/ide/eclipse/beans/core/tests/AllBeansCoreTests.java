@@ -35,10 +35,13 @@ import org.springframework.ide.eclipse.beans.core.model.tests.BeansProjectDescri
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansConfigFactoryTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansConfigTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansJavaConfigTest;
+import org.springframework.ide.eclipse.beans.core.model.tests.BeansModelLookupCacheTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansModelUtilsTest;
 import org.springframework.ide.eclipse.beans.core.model.tests.BeansProjectTest;
+import org.springframework.ide.eclipse.beans.core.model.tests.BeansSearchIndexTest;
 import org.springframework.ide.eclipse.beans.ui.refactoring.tests.BeansJavaConfigRenameTypeRefactoringParticipantTest;
 import org.springframework.ide.eclipse.core.java.IntrospectorTest;
+import org.springframework.ide.eclipse.core.java.JavaConfigIndexTest;
 import org.springframework.ide.eclipse.core.java.JdtUtilsTest;
 import org.springframework.ide.eclipse.core.java.TypeHierarchyEngineTest;
 
@@ -66,6 +69,7 @@ import org.springframework.ide.eclipse.core.java.TypeHierarchyEngineTest;
 	NamespaceElementsRuleTest.class,
 	IntrospectorTest.class,
 	JdtUtilsTest.class,
+	JavaConfigIndexTest.class,
 	AutowireDependencyProviderTest.class,
 	CommonAnnotationInjectionMetadataProviderTests.class,
 	JdtAnnotationMetadataTest.class,
@@ -80,7 +84,9 @@ import org.springframework.ide.eclipse.core.java.TypeHierarchyEngineTest;
 	BeansJavaConfigRenameTypeRefactoringParticipantTest.class,
 	ResourceChangeEventHandlerTest.class,
 	TypeHierarchyEngineTest.class,
-	BeansModelUtilsTest.class
+	BeansModelUtilsTest.class,
+	BeansModelLookupCacheTest.class,
+	BeansSearchIndexTest.class
 })
 public class AllBeansCoreTests {
 	// goofy junit4, no class body needed
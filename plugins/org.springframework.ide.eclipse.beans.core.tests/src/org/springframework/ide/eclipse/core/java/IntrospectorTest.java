@@ -17,6 +17,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
@@ -241,6 +243,37 @@ public class IntrospectorTest {
 		assertTrue(Introspector.hasWritableProperty(propTestClass, "uPPERCaseProp"));
 	}
 
+	@Test
+	public void testLookupCache() throws Exception {
+		project = StsTestUtil.createPredefinedProject("validation", "org.springframework.ide.eclipse.beans.core.tests");
+		IType propTestClass = JdtUtils.getJavaType(project, "org.springframework.PropertyTestClass");
+		Set<IMethod> methods = Introspector.getAllMethods(propTestClass);
+
+		Map<String, Object> cache = new HashMap<String, Object>();
+		JdtUtils.beginTypeLookupCache(cache);
+		try {
+			assertEquals(methods, Introspector.getAllMethods(propTestClass));
+			int size = cache.size();
+			assertTrue(size > 0);
+
+			// Looked up again from the cache
+			assertEquals(methods, Introspector.getAllMethods(propTestClass));
+			assertNotNull(Introspector.getWritableProperty(propTestClass, "foo"));
+			assertEquals(size, cache.size());
+
+			// Callers may change the returned methods without affecting the cache
+			Introspector.getMethods(propTestClass)[0] = null;
+			assertNotNull(Introspector.getMethods(propTestClass)[0]);
+		}
+		finally {
+			JdtUtils.endTypeLookupCache();
+		}
+
+		cache.clear();
+		Introspector.getAllMethods(propTestClass);
+		assertTrue(cache.isEmpty());
+	}
+
 	private void checkResult(Set<IMethod> methods, int expectedSize) {
 		assertTrue("Expected " + expectedSize + " methods to be found. actual is: "
 				+ methods.toArray().length, methods.toArray().length == expectedSize);
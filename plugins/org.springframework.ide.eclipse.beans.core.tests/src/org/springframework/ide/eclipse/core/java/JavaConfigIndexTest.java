@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.java;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class JavaConfigIndexTest {
+
+	private IProject project;
+	private IJavaProject javaProject;
+	private IPackageFragment testPackage;
+	private JavaConfigIndex index;
+
+	@BeforeClass
+	public static void setUp() {
+		if (Platform.OS_WIN32.equals(Platform.getOS())) {
+			/*
+			 * Set non-locking class-loader for windows testing
+			 */
+			InstanceScope.INSTANCE.getNode(SpringCore.PLUGIN_ID).putBoolean(
+					SpringCore.USE_NON_LOCKING_CLASSLOADER, true);
+		}
+	}
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("beans-autoconfig-java-tests", "org.springframework.ide.eclipse.beans.core.tests");
+		javaProject = JavaCore.create(project);
+		IPackageFragmentRoot root = javaProject.getPackageFragmentRoot(project.getFolder("src"));
+		testPackage = root.createPackageFragment("org.test.index", true, null);
+
+		index = new JavaConfigIndex();
+		index.startup();
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		index.shutdown();
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testInitialLookup() throws Exception {
+		Set<String> names = getNames(index.getJavaConfigs(javaProject));
+		assertTrue(names.toString(), names.contains("org.test.advanced.SpringBootConfigClass"));
+
+		names = getNames(index.getAnnotatedTypes(javaProject, JavaConfigIndex.AUTO_CONFIGURATION_ANNOTATIONS));
+		assertTrue(names.toString(), names.contains("org.test.advanced.SpringBootConfigClass"));
+	}
+
+	@Test
+	public void testAddedUnit() throws Exception {
+		assertFalse(getNames(index.getJavaConfigs(javaProject)).contains("org.test.index.AddedConfig"));
+
+		createUnit("AddedConfig", "import org.springframework.context.annotation.Configuration;\n"
+				+ "@Configuration public class AddedConfig {}");
+
+		assertTrue(getNames(index.getJavaConfigs(javaProject)).contains("org.test.index.AddedConfig"));
+	}
+
+	@Test
+	public void testChangedUnit() throws Exception {
+		createUnit("ChangedConfig", "import org.springframework.context.annotation.Configuration;\n"
+				+ "@Configuration public class ChangedConfig {}");
+		assertTrue(getNames(index.getJavaConfigs(javaProject)).contains("org.test.index.ChangedConfig"));
+
+		createUnit("ChangedConfig", "public class ChangedConfig {}");
+		assertFalse(getNames(index.getJavaConfigs(javaProject)).contains("org.test.index.ChangedConfig"));
+
+		createUnit("ChangedConfig", "import org.springframework.context.annotation.Bean;\n"
+				+ "public class ChangedConfig { @Bean public Object bean() { return null; } }");
+		assertTrue(getNames(index.getJavaConfigs(javaProject)).contains("org.test.index.ChangedConfig"));
+	}
+
+	@Test
+	public void testDeletedUnit() throws Exception {
+		ICompilationUnit unit = createUnit("DeletedConfig", "import org.springframework.context.annotation.Configuration;\n"
+				+ "@Configuration public class DeletedConfig {}");
+		assertTrue(getNames(index.getJavaConfigs(javaProject)).contains("org.test.index.DeletedConfig"));
+
+		unit.delete(true, null);
+		assertFalse(getNames(index.getJavaConfigs(javaProject)).contains("org.test.index.DeletedConfig"));
+	}
+
+	/**
+	 * A unit edited while the first query searches the whole project, and while a second first query starts, must
+	 * not be lost by either of them.
+	 */
+	@Test
+	public void testUnitChangedDuringInitialSearch() throws Exception {
+		createUnit("EditedConfig", "public class EditedConfig {}");
+		index.shutdown();
+
+		final CountDownLatch secondQueryStarted = new CountDownLatch(1);
+		final CountDownLatch firstQueryDone = new CountDownLatch(1);
+		final AtomicInteger searches = new AtomicInteger();
+		final List<Throwable> errors = new CopyOnWriteArrayList<Throwable>();
+		final Thread secondQuery = new Thread() {
+			@Override
+			public void run() {
+				index.getJavaConfigs(javaProject);
+			}
+		};
+		index = new JavaConfigIndex() {
+			@Override
+			protected Map<IType, Set<String>> search(IJavaSearchScope scope) {
+				try {
+					switch (searches.incrementAndGet()) {
+					case 1:
+						Map<IType, Set<String>> found = super.search(scope);
+						createUnit("EditedConfig", "import org.springframework.context.annotation.Configuration;\n"
+								+ "@Configuration public class EditedConfig {}");
+						secondQuery.start();
+						secondQueryStarted.await(10, TimeUnit.SECONDS);
+						return found;
+					case 2:
+						secondQueryStarted.countDown();
+						firstQueryDone.await(10, TimeUnit.SECONDS);
+						break;
+					default:
+						break;
+					}
+				}
+				catch (Exception e) {
+					errors.add(e);
+				}
+				return super.search(scope);
+			}
+		};
+		index.startup();
+
+		Set<String> names = getNames(index.getJavaConfigs(javaProject));
+		firstQueryDone.countDown();
+		secondQuery.join(10000);
+
+		assertTrue(errors.toString(), errors.isEmpty());
+		assertTrue(names.toString(), names.contains("org.test.index.EditedConfig"));
+		assertTrue(getNames(index.getJavaConfigs(javaProject)).contains("org.test.index.EditedConfig"));
+	}
+
+	@Test
+	public void testForeignAnnotationWithSameName() throws Exception {
+		createUnit("Configuration", "public @interface Configuration {}");
+		createUnit("ForeignConfig", "import org.springframework.stereotype.Component;\n"
+				+ "@Configuration @Component public class ForeignConfig {}");
+
+		assertTrue(getNames(index.getJavaConfigs(javaProject)).contains("org.test.index.ForeignConfig"));
+
+		Set<String> names = getNames(index.getAnnotatedTypes(javaProject,
+				Collections.singleton(JavaConfigIndex.CONFIGURATION)));
+		assertFalse(names.toString(), names.contains("org.test.index.ForeignConfig"));
+		assertTrue(names.toString(), names.contains("org.test.advanced.SpringBootConfigClass"));
+	}
+
+	@Test
+	public void testClasspathLookup() throws Exception {
+		Set<String> names = getNames(index.getJavaConfigsOnClasspath(javaProject));
+		assertTrue(names.toString(), names.contains("org.test.advanced.SpringBootConfigClass"));
+		assertTrue(names.toString(), names.contains("org.springframework.boot.autoconfigure.aop.AopAutoConfiguration"));
+
+		assertFalse(getNames(index.getJavaConfigs(javaProject)).contains(
+				"org.springframework.boot.autoconfigure.aop.AopAutoConfiguration"));
+	}
+
+	@Test
+	public void testClearStateForProject() throws Exception {
+		index.getJavaConfigsOnClasspath(javaProject);
+		index.clearStateForProject(javaProject);
+
+		Set<String> names = getNames(index.getJavaConfigsOnClasspath(javaProject));
+		assertTrue(names.toString(), names.contains("org.test.advanced.SpringBootConfigClass"));
+		assertTrue(names.toString(), names.contains("org.springframework.boot.autoconfigure.aop.AopAutoConfiguration"));
+	}
+
+	private ICompilationUnit createUnit(String typeName, String body) throws Exception {
+		return testPackage.createCompilationUnit(typeName + ".java", "package org.test.index;\n" + body, true, null);
+	}
+
+	private Set<String> getNames(Set<IType> types) {
+		Set<String> names = new HashSet<String>();
+		for (IType type : types) {
+			names.add(type.getFullyQualifiedName());
+		}
+		return names;
+	}
+
+}
@@ -37,7 +37,9 @@ import org.osgi.framework.BundleListener;
 import org.osgi.framework.Constants;
 import org.osgi.framework.Version;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeansModel;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelLookupCache;
 import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
+import org.springframework.ide.eclipse.beans.core.model.locate.XmlRootElementSniffer;
 import org.springframework.ide.eclipse.core.MessageUtils;
 import org.springframework.ide.eclipse.xml.namespaces.NamespaceManagerProvider;
 import org.springframework.ide.eclipse.xml.namespaces.SpringXmlNamespacesPlugin;
@@ -167,6 +169,8 @@ public class BeansCorePlugin extends AbstractUIPlugin {
 			isClosed = true;
 		}
 		model.stop();
+		BeansModelLookupCache.shutdown();
+		XmlRootElementSniffer.shutdown();
 //		if (projectAwareUrlService != null) {
 //			projectAwareUrlService.unregister();
 //		}
@@ -105,6 +105,7 @@ public class BeansConfigSet extends AbstractResourceModelElement implements IBea
 		finally {
 			w.unlock();
 		}
+		BeansModelLookupCache.invalidate();
 	}
 
 	public int getElementType() {
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.internal.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
+import org.springframework.ide.eclipse.core.model.IModelChangeListener;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+
+/**
+ * Remembers the results of {@link BeansModelUtils} lookups that walk the beans model, e.g. all
+ * beans of a config set or the config sets of a config.
+ * <p>
+ * Results are only valid within one model epoch. A new epoch starts whenever the beans model
+ * reports a change, a config is reset or re-read, the configs of a project or config set change,
+ * or another beans model is installed. At most {@link #MAX_ENTRIES} results are kept; the least
+ * recently used ones are dropped first.
+ */
+public class BeansModelLookupCache {
+
+	private static final int MAX_ENTRIES = 5000;
+
+	private static final Object NULL = new Object();
+
+	private static volatile BeansModelLookupCache instance;
+
+	private static final AtomicLong epoch = new AtomicLong();
+
+	private static volatile boolean enabled = true;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private static class Entry {
+		final long epoch;
+		final Object value;
+
+		Entry(long epoch, Object value) {
+			this.epoch = epoch;
+			this.value = value;
+		}
+	}
+
+	private final Map<List<Object>, Entry> entries = new LinkedHashMap<List<Object>, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private final IModelChangeListener modelListener = new IModelChangeListener() {
+		public void elementChanged(ModelChangeEvent event) {
+			invalidate();
+		}
+	};
+
+	private volatile IBeansModel model;
+
+	public static synchronized BeansModelLookupCache getDefault() {
+		if (instance == null) {
+			instance = new BeansModelLookupCache();
+		}
+		return instance;
+	}
+
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			instance.setModel(null);
+			invalidate();
+			instance = null;
+		}
+	}
+
+	/**
+	 * Starts a new model epoch, which drops all remembered results. Called by the model elements
+	 * whenever their structure changes.
+	 */
+	public static void invalidate() {
+		BeansModelLookupCache cache = instance;
+		if (cache != null) {
+			synchronized (cache.entries) {
+				epoch.incrementAndGet();
+				cache.entries.clear();
+			}
+		}
+		else {
+			epoch.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Turns remembering results on or off, e.g. to compare the cost of lookups with and without
+	 * this cache.
+	 */
+	public static void setEnabled(boolean enabled) {
+		BeansModelLookupCache.enabled = enabled;
+		invalidate();
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Returns the remembered result of the lookup with the given name and arguments, or computes
+	 * and remembers it. The arguments must be usable as map keys.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Supplier<T> lookup, String name, Object... arguments) {
+		if (!enabled) {
+			misses.incrementAndGet();
+			return lookup.get();
+		}
+		checkModel();
+
+		Object[] key = new Object[arguments.length + 1];
+		key[0] = name;
+		System.arraycopy(arguments, 0, key, 1, arguments.length);
+		List<Object> keyList = Arrays.asList(key);
+
+		long currentEpoch = epoch.get();
+		synchronized (entries) {
+			Entry entry = entries.get(keyList);
+			if (entry != null && entry.epoch == currentEpoch) {
+				hits.incrementAndGet();
+				return entry.value == NULL ? null : (T) entry.value;
+			}
+		}
+
+		misses.incrementAndGet();
+		T value = lookup.get();
+		synchronized (entries) {
+			if (currentEpoch == epoch.get()) {
+				entries.put(keyList, new Entry(currentEpoch, value == null ? NULL : value));
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * @return number of lookups answered with a remembered result.
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return number of lookups that had to be computed, including all lookups made while this
+	 * cache is disabled.
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Listens to the current beans model, which tests may replace.
+	 */
+	private void checkModel() {
+		IBeansModel currentModel = BeansCorePlugin.getModel();
+		if (currentModel != model) {
+			synchronized (this) {
+				if (currentModel != model) {
+					setModel(currentModel);
+					invalidate();
+				}
+			}
+		}
+	}
+
+	private synchronized void setModel(IBeansModel newModel) {
+		if (model != null) {
+			model.removeChangeListener(modelListener);
+		}
+		model = newModel;
+		if (model != null) {
+			model.addChangeListener(modelListener);
+		}
+	}
+
+}
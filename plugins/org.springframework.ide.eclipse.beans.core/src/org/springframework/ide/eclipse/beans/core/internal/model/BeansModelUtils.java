@@ -246,6 +246,11 @@ public abstract class BeansModelUtils {
 	 * @throws IllegalArgumentException if unsupported model element specified
 	 */
 	public static Set<BeansConnection> getBeanReferences(IModelElement element, IModelElement context, boolean recursive) {
+		return new LinkedHashSet<BeansConnection>(BeansModelLookupCache.getDefault().get(
+				() -> computeBeanReferences(element, context, recursive), "getBeanReferences", element, context, recursive));
+	}
+
+	private static Set<BeansConnection> computeBeanReferences(IModelElement element, IModelElement context, boolean recursive) {
 		Set<BeansConnection> references = new LinkedHashSet<BeansConnection>();
 		Set<IBean> referencedBeans = new HashSet<IBean>(); // used to break
 		// from cycles
@@ -258,7 +263,11 @@ public abstract class BeansModelUtils {
 	 * @throws IllegalArgumentException if unsupported model element specified
 	 */
 	public static Set<IBean> getBeans(IModelElement element) {
-		return getBeans(element, null);
+		if (element instanceof IBean) {
+			return getBeans(element, null);
+		}
+		return new LinkedHashSet<IBean>(BeansModelLookupCache.getDefault().get(() -> getBeans(element, null), "getBeans",
+				element));
 	}
 
 	/**
@@ -377,6 +386,11 @@ public abstract class BeansModelUtils {
 	}
 
 	public static IBean getBeanWithConfigSets(String name, IBeansConfig config) {
+		return BeansModelLookupCache.getDefault().get(() -> computeBeanWithConfigSets(name, config),
+				"getBeanWithConfigSets", name, config);
+	}
+
+	private static IBean computeBeanWithConfigSets(String name, IBeansConfig config) {
 		IBean bean = getBean(name, config);
 		if (bean == null) {
 			IBeansProject project = (IBeansProject) config.getElementParent();
@@ -475,6 +489,11 @@ public abstract class BeansModelUtils {
 	 * @throws IllegalArgumentException if unsupported model element specified
 	 */
 	public static Set<IBeansConfigSet> getConfigSets(IModelElement element) {
+		return new LinkedHashSet<IBeansConfigSet>(BeansModelLookupCache.getDefault().get(
+				() -> computeConfigSets(element), "getConfigSets", element));
+	}
+
+	private static Set<IBeansConfigSet> computeConfigSets(IModelElement element) {
 		Set<IBeansConfigSet> configSets = new LinkedHashSet<IBeansConfigSet>();
 		if (element instanceof IBeansConfigSet) {
 			configSets.add((IBeansConfigSet) element);
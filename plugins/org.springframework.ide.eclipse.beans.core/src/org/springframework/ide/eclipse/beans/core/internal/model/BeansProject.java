@@ -739,6 +739,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		} finally {
 			w.unlock();
 		}
+		BeansModelLookupCache.invalidate();
 	}
 
 	public boolean addConfigSet(IBeansConfigSet configSet) {
@@ -755,6 +756,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 					autoDetectedConfigSetsByLocator.remove(configSet.getElementName());
 				}
 
+				BeansModelLookupCache.invalidate();
 				return true;
 			}
 		} finally {
@@ -770,6 +772,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		} finally {
 			w.unlock();
 		}
+		BeansModelLookupCache.invalidate();
 	}
 
 	/**
@@ -1289,6 +1292,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 
 		} finally {
 			w.unlock();
+			BeansModelLookupCache.invalidate();
 			
 			//The commented line below was a fix for 'STS-3541: added additional project build after asynchronous beans config scanning'
 			// It was removed because it appears to cause 'endless builds' by spawning many small 'single project builds in large workspace. 
@@ -1319,6 +1323,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		CopyOnWriteArraySet<IBeansConfig> newAllConfigs = new CopyOnWriteArraySet<IBeansConfig>(configs.values());
 		newAllConfigs.addAll(autoDetectedConfigs.values());
 		this.allConfigs = Collections.unmodifiableSet(newAllConfigs);
+		BeansModelLookupCache.invalidate();
 	}
 
 	/**
@@ -1336,6 +1341,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		 */
 		@Override
 		public void onPostProcessorDetected(IBeansConfig config, IBeansConfigPostProcessor postProcessor) {
+			BeansModelLookupCache.invalidate();
 			for (IBeansProject project : BeansCorePlugin.getModel().getProjects()) {
 				for (IBeansConfigSet configSet : project.getConfigSets()) {
 					if (configSet.hasConfig((IFile) config.getElementResource())) {
@@ -1354,6 +1360,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		 */
 		@Override
 		public void onPostProcessorRemoved(IBeansConfig config, IBeansConfigPostProcessor postProcessor) {
+			BeansModelLookupCache.invalidate();
 			for (IBeansProject project : BeansCorePlugin.getModel().getProjects()) {
 				for (IBeansConfigSet configSet : project.getConfigSets()) {
 					if (configSet.hasConfig((IFile) config.getElementResource())) {
@@ -1372,6 +1379,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		 */
 		@Override
 		public void onReadEnd(IBeansConfig config) {
+			BeansModelLookupCache.invalidate();
 		}
 
 		/**
@@ -1386,6 +1394,7 @@ public class BeansProject extends AbstractResourceModelElement implements IBeans
 		 */
 		@Override
 		public void onReset(IBeansConfig config) {
+			BeansModelLookupCache.invalidate();
 			for (IBeansProject project : BeansCorePlugin.getModel().getProjects()) {
 				for (IBeansConfigSet configSet : project.getConfigSets()) {
 					if (configSet.hasConfig((IFile) config.getElementResource())) {
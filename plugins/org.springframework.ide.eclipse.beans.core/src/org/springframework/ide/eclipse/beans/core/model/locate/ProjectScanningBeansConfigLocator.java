@@ -10,13 +10,16 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.core.model.locate;
 
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -25,10 +28,6 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.wst.sse.core.StructuredModelManager;
-import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
-import org.eclipse.wst.xml.core.internal.document.DOMModelImpl;
-import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
 import org.springframework.beans.factory.xml.NamespaceHandlerResolver;
 import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
 import org.springframework.ide.eclipse.beans.core.internal.model.namespaces.DelegatingNamespaceHandlerResolver;
@@ -42,15 +41,18 @@ import org.springsource.ide.eclipse.commons.core.SpringCoreUtils;
  * {@link IProject} or {@link IJavaProject} for Spring XML configuration files.
  * <p>
  * Only those XML files that have any known namespace uri at the root element
- * level are being considered to be a suitable candidate.
+ * level are being considered to be a suitable candidate. The root element is
+ * determined with the {@link XmlRootElementSniffer}.
  * 
  * @author Christian Dupuis
  * @since 2.0.5
  */
-@SuppressWarnings("restriction")
 public class ProjectScanningBeansConfigLocator extends
 		AbstractJavaProjectPathMatchingBeansConfigLocator {
 
+	/** Minimum number of files that justifies sniffing on a separate thread */
+	private static final int MIN_FILES_PER_PARTITION = 50;
+
 	/** Ant-style that matches on every XML file */
 	private String ALLOWED_FILE_PATTERN = "**/*";
 
@@ -153,7 +155,7 @@ public class ProjectScanningBeansConfigLocator extends
 			}
 		}
 
-		Set<IFile> detectedFiles = new LinkedHashSet<IFile>();
+		List<IFile> candidates = new ArrayList<IFile>(files.size());
 		for (IFile file : files) {
 			boolean skip = false;
 			// first check if the file sits in an output directory
@@ -163,46 +165,78 @@ public class ProjectScanningBeansConfigLocator extends
 					skip = true;
 				}
 			}
-			if (skip) {
-				continue;
+			if (!skip) {
+				candidates.add(file);
 			}
+		}
 
-			// check if the file is known Spring xml file
-			IStructuredModel model = null;
-			try {
+		// check if the file is known Spring xml file by sniffing the root
+		// element; candidates are partitioned and sniffed in parallel
+		String[] namespaceUris = new String[candidates.size()];
+		int partitions = Math.max(1, Math.min(Runtime.getRuntime()
+				.availableProcessors(), candidates.size()
+				/ MIN_FILES_PER_PARTITION));
+		if (partitions == 1) {
+			sniffNamespaceUris(candidates, namespaceUris, 0, 1);
+		} else {
+			List<Future<?>> futures = new ArrayList<Future<?>>(partitions);
+			for (int i = 0; i < partitions; i++) {
+				final int partition = i;
+				final int partitionCount = partitions;
+				futures.add(BeansCorePlugin.getExecutorService().submit(
+						new Runnable() {
+							public void run() {
+								sniffNamespaceUris(candidates, namespaceUris,
+										partition, partitionCount);
+							}
+						}));
+			}
+			boolean interrupted = false;
+			for (Future<?> future : futures) {
 				try {
-					model = StructuredModelManager.getModelManager()
-							.getExistingModelForRead(file);
-				} catch (RuntimeException e) {
-					// sometimes WTP throws a NPE in concurrency situations
-				}
-				if (model == null) {
-					model = StructuredModelManager.getModelManager()
-							.getModelForRead(file);
+					future.get();
+				} catch (InterruptedException e) {
+					interrupted = true;
+					break;
+				} catch (ExecutionException e) {
+					BeansCorePlugin.log(e.getCause());
 				}
-				if (model != null) {
-					IDOMDocument document = ((DOMModelImpl) model)
-							.getDocument();
-					if (document != null
-							&& document.getDocumentElement() != null) {
-						String namespaceUri = document.getDocumentElement()
-								.getNamespaceURI();
-						if (applyNamespaceFilter(file, namespaceUri)) {
-							detectedFiles.add(file);
-						}
-					}
+			}
+			if (interrupted) {
+				// don't drop the configs of partitions that haven't
+				// finished yet; sniff the rest on this thread instead
+				for (Future<?> future : futures) {
+					future.cancel(false);
 				}
-			} catch (IOException e) {
-				BeansCorePlugin.log(e);
+				sniffNamespaceUris(candidates, namespaceUris, 0, 1);
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		Set<IFile> detectedFiles = new LinkedHashSet<IFile>();
+		for (int i = 0; i < namespaceUris.length; i++) {
+			IFile file = candidates.get(i);
+			if (applyNamespaceFilter(file, namespaceUris[i])) {
+				detectedFiles.add(file);
+			}
+		}
+		return detectedFiles;
+	}
+
+	/**
+	 * Sniffs the root element namespace uri of every
+	 * <code>partitionCount</code>-th file starting at <code>partition</code>.
+	 */
+	private void sniffNamespaceUris(List<IFile> files, String[] namespaceUris,
+			int partition, int partitionCount) {
+		for (int i = partition; i < files.size(); i += partitionCount) {
+			try {
+				namespaceUris[i] = XmlRootElementSniffer
+						.getRootElementNamespaceUri(files.get(i));
 			} catch (CoreException e) {
 				BeansCorePlugin.log(e);
-			} finally {
-				if (model != null) {
-					model.releaseFromRead();
-				}
 			}
 		}
-		return detectedFiles;
 	}
 
 	protected boolean applyNamespaceFilter(IFile file, String namespaceUri) {
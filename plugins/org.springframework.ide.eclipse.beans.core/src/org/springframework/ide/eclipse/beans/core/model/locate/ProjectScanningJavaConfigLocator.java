@@ -15,11 +15,9 @@ import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.search.IJavaSearchScope;
-import org.eclipse.jdt.core.search.SearchEngine;
+import org.springframework.ide.eclipse.core.SpringCore;
 import org.springsource.ide.eclipse.commons.core.JdtUtils;
 
 /**
@@ -32,9 +30,7 @@ public class ProjectScanningJavaConfigLocator extends AbstractJavaConfigLocator
 		Set<IType> types = new HashSet<IType>();
 		IJavaProject javaProj = JdtUtils.getJavaProject(project);
 		if (javaProj != null) {
-			IJavaSearchScope sources = SearchEngine.createJavaSearchScope(new IJavaElement[] { javaProj },
-					IJavaSearchScope.SOURCES);
-			Set<IType> candidates = org.springframework.ide.eclipse.core.java.JdtUtils.searchForJavaConfigs(sources);
+			Set<IType> candidates = SpringCore.getJavaConfigIndex().getJavaConfigs(javaProj);
 			for (IType candidate : candidates) {
 				if (!candidate.getElementName().contains("Test")) {
 					types.add(candidate);
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.core.model.locate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.wst.sse.core.StructuredModelManager;
+import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
+import org.eclipse.wst.xml.core.internal.document.DOMModelImpl;
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
+
+/**
+ * Determines the namespace uri of the root element of XML files without building a DOM.
+ * <p>
+ * If the file is open in an editor the root element is taken from the editor's document, which may hold unsaved
+ * changes. Otherwise the file is read with a StAX parser that stops right after the root element start tag, so only
+ * the prolog and the namespace declarations are ever read. Those results are cached keyed by {@link IFile},
+ * invalidated as soon as the file's modification stamp changes and dropped once the file's project is closed or
+ * deleted.
+ */
+public class XmlRootElementSniffer {
+
+	private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = new ThreadLocal<XMLInputFactory>() {
+		@Override
+		protected XMLInputFactory initialValue() {
+			XMLInputFactory factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+			factory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+			return factory;
+		}
+	};
+
+	private static final Map<IFile, SniffResult> CACHE = new ConcurrentHashMap<IFile, SniffResult>();
+
+	private static IResourceChangeListener projectListener;
+
+	/**
+	 * Returns the namespace uri of the root element of the given file or <code>null</code> if the root element has no
+	 * namespace or the file is not well-formed up to the root element.
+	 */
+	public static String getRootElementNamespaceUri(IFile file) throws CoreException {
+		if (!file.exists()) {
+			CACHE.remove(file);
+			return null;
+		}
+		IStructuredModel model = null;
+		try {
+			model = StructuredModelManager.getModelManager().getExistingModelForRead(file);
+		}
+		catch (RuntimeException e) {
+			// sometimes WTP throws a NPE in concurrency situations
+		}
+		if (model != null) {
+			try {
+				IDOMDocument document = ((DOMModelImpl) model).getDocument();
+				if (document != null && document.getDocumentElement() != null) {
+					return document.getDocumentElement().getNamespaceURI();
+				}
+				return null;
+			}
+			finally {
+				model.releaseFromRead();
+			}
+		}
+		long modificationStamp = file.getModificationStamp();
+		SniffResult cached = CACHE.get(file);
+		if (cached != null && cached.modificationStamp == modificationStamp) {
+			return cached.namespaceUri;
+		}
+		String namespaceUri = sniff(file);
+		addProjectListener();
+		CACHE.put(file, new SniffResult(modificationStamp, namespaceUri));
+		return namespaceUri;
+	}
+
+	/**
+	 * Removes all cached results and stops listening for closed or deleted projects.
+	 */
+	public static synchronized void shutdown() {
+		if (projectListener != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(projectListener);
+			projectListener = null;
+		}
+		CACHE.clear();
+	}
+
+	private static synchronized void addProjectListener() {
+		if (projectListener == null) {
+			projectListener = new IResourceChangeListener() {
+				public void resourceChanged(IResourceChangeEvent event) {
+					Iterator<IFile> files = CACHE.keySet().iterator();
+					while (files.hasNext()) {
+						if (files.next().getProject().equals(event.getResource())) {
+							files.remove();
+						}
+					}
+				}
+			};
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(projectListener,
+					IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+		}
+	}
+
+	private static String sniff(IFile file) throws CoreException {
+		InputStream contents = file.getContents(true);
+		XMLStreamReader reader = null;
+		try {
+			reader = INPUT_FACTORY.get().createXMLStreamReader(contents);
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+					String namespaceUri = reader.getNamespaceURI();
+					return namespaceUri != null && namespaceUri.length() > 0 ? namespaceUri : null;
+				}
+			}
+		}
+		catch (XMLStreamException e) {
+			// not a well-formed XML file; therefore no Spring config
+		}
+		finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				}
+				catch (XMLStreamException e) {
+					// ignore
+				}
+			}
+			try {
+				contents.close();
+			}
+			catch (IOException e) {
+				// ignore
+			}
+		}
+		return null;
+	}
+
+	private static class SniffResult {
+
+		private final long modificationStamp;
+
+		private final String namespaceUri;
+
+		public SniffResult(long modificationStamp, String namespaceUri) {
+			this.modificationStamp = modificationStamp;
+			this.namespaceUri = namespaceUri;
+		}
+	}
+
+}
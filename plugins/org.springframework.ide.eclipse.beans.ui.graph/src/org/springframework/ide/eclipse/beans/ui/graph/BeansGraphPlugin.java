@@ -19,6 +19,8 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.osgi.framework.BundleContext;
+import org.springframework.ide.eclipse.beans.ui.graph.model.GraphLayoutCache;
 
 /**
  * Central access point for the Spring Framework Editor plug-in
@@ -58,6 +60,12 @@ public class BeansGraphPlugin extends AbstractUIPlugin {
 		}
 	}
 
+	@Override
+	public void stop(BundleContext context) throws Exception {
+		GraphLayoutCache.shutdown();
+		super.stop(context);
+	}
+
 	/**
 	 * Returns the shared instance.
 	 */
@@ -26,6 +26,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Preferences.IPropertyChangeListener;
 import org.eclipse.core.runtime.Preferences.PropertyChangeEvent;
 import org.eclipse.core.runtime.Status;
@@ -59,6 +60,7 @@ import org.eclipse.gef.ui.parts.SelectionSynchronizer;
 import org.eclipse.gef.ui.properties.UndoablePropertySheetEntry;
 import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.dialogs.ErrorDialog;
+import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.dialogs.ProgressMonitorDialog;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.swt.SWT;
@@ -95,6 +97,7 @@ import org.springframework.ide.eclipse.beans.ui.graph.actions.GraphContextMenuPr
 import org.springframework.ide.eclipse.beans.ui.graph.actions.OpenConfigFile;
 import org.springframework.ide.eclipse.beans.ui.graph.actions.OpenJavaType;
 import org.springframework.ide.eclipse.beans.ui.graph.model.Graph;
+import org.springframework.ide.eclipse.beans.ui.graph.model.GraphLayoutCache;
 import org.springframework.ide.eclipse.beans.ui.graph.parts.GraphicalPartFactory;
 import org.springframework.ide.eclipse.core.SpringCoreUtils;
 import org.springframework.ide.eclipse.core.model.IModelChangeListener;
@@ -114,6 +117,13 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 
 	public static final String CONTEXT_MENU_ID = EDITOR_ID + ".contextmenu";
 
+	/**
+	 * Number of beans above which a preview is shown while the graph is layed out.
+	 */
+	private static final int PREVIEW_THRESHOLD = 100;
+
+	private static final String ERROR_TITLE = "Graph.error.title";
+
 	private GraphOutlinePage outlinePage;
 
 	private DefaultEditDomain editDomain;
@@ -132,7 +142,7 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 
 	private IPropertyChangeListener propertyChangeListener = new GraphEditorPropertyChangeListener();
 
-	private volatile boolean isUpdating = false;
+	private volatile Job layoutJob;
 
 	public GraphEditor() {
 		setEditDomain(new DefaultEditDomain(this));
@@ -230,61 +240,129 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 
 	/**
 	 * Sets the contents of the GraphicalViewer after it has been created.
+	 * <p>
+	 * The graph is built and layed out in a background job, which is canceled if the contents are
+	 * requested again before it is done. A graph of an unchanged model is taken from the
+	 * {@link GraphLayoutCache}. Large graphs are previewed without references while they are layed
+	 * out.
 	 * @see #createGraphicalViewer(Composite)
 	 */
 	protected synchronized void initializeGraphicalViewer() {
-		// check global boolean
-		if (!isUpdating) {
+		// a newer request supersedes a layout still in progress
+		if (layoutJob != null) {
+			layoutJob.cancel();
+		}
 
-			Job job = new Job("Initialize Beans Graph '" + getPartName() + "'") {
+		Job job = new Job("Initialize Beans Graph '" + getPartName() + "'") {
+
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				if (!(getEditorInput() instanceof GraphEditorInput) || !hasViewer()) {
+					return Status.OK_STATUS;
+				}
+
+				if (!BeansCorePlugin.getModel().isInitialized()) {
+					schedule(2500);
+					return Status.OK_STATUS;
+				}
 
-				@Override
-				protected IStatus run(IProgressMonitor monitor) {
+				final GraphEditorInput input = (GraphEditorInput) getEditorInput();
+				input.init();
+
+				GraphLayoutCache cache = GraphLayoutCache.getDefault();
+				Graph cached = cache.get(input);
+				if (cached != null) {
+					show(this, input, cached);
+					return Status.OK_STATUS;
+				}
+
+				long stamp = cache.getModelStamp();
+				Graph graph = new Graph(input);
+				graph.init();
+				if (monitor.isCanceled() || !measure(graph)) {
+					return Status.CANCEL_STATUS;
+				}
+
+				// beans that didn't change keep their position
+				Graph previous = cache.getPrevious(input);
+				if (previous == null || !graph.layoutFrom(previous)) {
+					if (graph.getNodes().size() > PREVIEW_THRESHOLD) {
+						show(this, input, graph.createPreview(previous));
+					}
 					try {
-						if (getEditorInput() instanceof GraphEditorInput && getGraphicalViewer() != null
-								&& getGraphicalViewer().getControl() != null) {
-
-							if (!BeansCorePlugin.getModel().isInitialized()) {
-								schedule(2500);
-								return Status.OK_STATUS;
-							}
-							
-							
-							final GraphEditorInput input = (GraphEditorInput) getEditorInput();
-							input.init();
-
-							final Graph graph = new Graph(input);
-							graph.init();
-
-							Display.getDefault().asyncExec(new Runnable() {
-
-								public void run() {
-									if (getGraphicalViewer() != null && getGraphicalViewer().getControl() != null) {
-										setPartName(input.getName());
-										setContentDescription(input.getToolTipText());
-
-										graph.layout(getGraphicalViewer().getControl().getFont());
-										getGraphicalViewer().setContents(graph);
-									}
-								}
-							});
-						}
-						return Status.OK_STATUS;
+						graph.layout(monitor);
 					}
-					finally {
-						// reset global boolean value
-						isUpdating = false;
+					catch (OperationCanceledException e) {
+						return Status.CANCEL_STATUS;
 					}
+					catch (RuntimeException e) {
+						showError(this, input, graph, e);
+						return Status.OK_STATUS;
+					}
+				}
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
 				}
-			};
-			job.setRule(new BlockingOnSelfSchedulingRule());
-			job.setPriority(Job.INTERACTIVE);
+				cache.put(input, stamp, graph);
+				show(this, input, graph);
+				return Status.OK_STATUS;
+			}
+		};
+		job.setRule(new BlockingOnSelfSchedulingRule());
+		job.setPriority(Job.INTERACTIVE);
 
-			// set global boolean
-			isUpdating = true;
+		layoutJob = job;
+		job.schedule();
+	}
 
-			job.schedule();
-		}
+	private boolean hasViewer() {
+		return getGraphicalViewer() != null && getGraphicalViewer().getControl() != null
+				&& !getGraphicalViewer().getControl().isDisposed();
+	}
+
+	/**
+	 * Calculates the size of the graph's beans in the UI thread.
+	 * @return <code>false</code> if the editor was closed in the meantime
+	 */
+	private boolean measure(final Graph graph) {
+		final boolean[] measured = new boolean[1];
+		Display.getDefault().syncExec(new Runnable() {
+
+			public void run() {
+				if (hasViewer()) {
+					graph.measure(getGraphicalViewer().getControl().getFont());
+					measured[0] = true;
+				}
+			}
+		});
+		return measured[0];
+	}
+
+	private void show(final Job job, final GraphEditorInput input, final Graph graph) {
+		Display.getDefault().asyncExec(new Runnable() {
+
+			public void run() {
+				// skip graphs of layout jobs superseded in the meantime
+				if (job == layoutJob && hasViewer()) {
+					setPartName(input.getName());
+					setContentDescription(input.getToolTipText());
+					getGraphicalViewer().setContents(graph);
+				}
+			}
+		});
+	}
+
+	private void showError(final Job job, final GraphEditorInput input, final Graph graph, final RuntimeException e) {
+		show(job, input, graph);
+		Display.getDefault().asyncExec(new Runnable() {
+
+			public void run() {
+				if (job == layoutJob && hasViewer()) {
+					MessageDialog.openError(getSite().getShell(),
+							BeansGraphPlugin.getResourceString(ERROR_TITLE), e.getMessage());
+				}
+			}
+		});
 	}
 
 	/**
@@ -422,6 +500,9 @@ public class GraphEditor extends EditorPart implements ISelectionListener {
 	 */
 	@Override
 	public void dispose() {
+		if (layoutJob != null) {
+			layoutJob.cancel();
+		}
 		getSite().getWorkbenchWindow().getSelectionService().removeSelectionListener(this);
 		getEditDomain().setActiveTool(null);
 		getActionRegistry().dispose();
@@ -54,6 +54,20 @@ public class Bean extends Node implements IAdaptable {
 		this.bean = bean;
 	}
 
+	/**
+	 * Returns a copy of this bean with the same size but without position and references.
+	 */
+	Bean copy() {
+		Bean copy = new Bean(bean);
+		copy.innerBeans = innerBeans;
+		copy.extendedProperties.addAll(extendedProperties);
+		copy.extendedConstructorArgs.addAll(extendedConstructorArgs);
+		copy.width = width;
+		copy.height = preferredHeight;
+		copy.preferredHeight = preferredHeight;
+		return copy;
+	}
+
 	public IBean getBean() {
 		return bean;
 	}
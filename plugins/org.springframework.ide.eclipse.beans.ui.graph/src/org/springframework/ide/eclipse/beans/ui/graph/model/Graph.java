@@ -25,6 +25,9 @@ import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.draw2d.geometry.Dimension;
 import org.eclipse.draw2d.geometry.Insets;
@@ -134,8 +137,30 @@ public class Graph implements IAdaptable {
 		return graph.nodes;
 	}
 
-	@SuppressWarnings({ "unchecked", "deprecation" })
+	/**
+	 * Calculates the graph and displays an error message if that fails. Must be called from the UI
+	 * thread.
+	 * @deprecated lays out the whole graph on the UI thread and reports errors in a dialog; use
+	 * {@link #measure(Font)} on the UI thread followed by {@link #layout(IProgressMonitor)}, which
+	 * can run in the background and leaves error reporting to the caller
+	 */
+	@Deprecated
 	public void layout(Font font) {
+		measure(font);
+		try {
+			layout(new NullProgressMonitor());
+		}
+		catch (RuntimeException e) {
+			MessageDialog.openError(BeansGraphPlugin.getActiveWorkbenchWindow().getShell(),
+					BeansGraphPlugin.getResourceString(ERROR_TITLE), e.getMessage());
+		}
+	}
+
+	/**
+	 * Calculates the size of all beans with the given font. As this uses figures it must be called
+	 * from the UI thread.
+	 */
+	public void measure(Font font) {
 
 		// Iterate through all graph nodes (beans) to calculate label width
 		Iterator beans = graph.nodes.iterator();
@@ -150,6 +175,16 @@ public class Graph implements IAdaptable {
 			bean.height = size.height;
 			bean.preferredHeight = size.height;
 		}
+	}
+
+	/**
+	 * Calculates the position of all beans in the graph. The beans must have been measured before.
+	 * Doesn't need the UI thread, so that large graphs can be layed out in the background.
+	 * @throws OperationCanceledException if the monitor is canceled; the graph is unusable then
+	 * @throws RuntimeException if the layout fails; the graph is empty then
+	 */
+	@SuppressWarnings({ "unchecked", "deprecation" })
+	public void layout(IProgressMonitor monitor) {
 
 		// Remove all unreferenced single beans and connect all unreferenced
 		// subgraphs with a temporary root bean
@@ -158,7 +193,7 @@ public class Graph implements IAdaptable {
 
 		EdgeList rootEdges = new EdgeList();
 		List<Bean> orphanBeans = new ArrayList<Bean>();
-		beans = getBeans().iterator();
+		Iterator beans = getBeans().iterator();
 		while (beans.hasNext()) {
 			Bean bean = (Bean) beans.next();
 			if (bean.incoming.isEmpty() && bean.outgoing.isEmpty()) {
@@ -175,7 +210,9 @@ public class Graph implements IAdaptable {
 
 		// Calculate position of all beans in graph
 		try {
+			checkCanceled(monitor);
 			new DirectedGraphLayout().visit(graph);
+			checkCanceled(monitor);
 
 			// Re-invert edges inverted while breaking cycles; this only seems to be required on earlier GEF versions
 			if (!SpringCoreUtils.isEclipseSameOrNewer(3, 6)) {
@@ -231,48 +268,171 @@ public class Graph implements IAdaptable {
 			}
 
 			// Re-add all unconnected beans to the bottom of the graph
-			int x = 0; // current horizontal position in current row
-			int y = maxY; // current row
-			if (maxY > 0) {
-				y += DEFAULT_PADDING.getHeight();
-			}
-			if (maxX < MAX_ORPHAN_ROW_WIDTH) {
-				maxX = MAX_ORPHAN_ROW_WIDTH;
-			}
-			maxY = 0; // max height of all figures in current row
-			beans = orphanBeans.iterator();
-			while (beans.hasNext()) {
-				Bean bean = (Bean) beans.next();
-
-				// If current row is filled then start new row
-				if ((x + bean.width) > maxX) {
-					bean.x = x = 0;
-					bean.y = y += maxY + DEFAULT_PADDING.getHeight();
-					maxY = bean.height;
-				}
-				else {
-					bean.y = y;
-					bean.x = x;
-					if (bean.height > maxY) {
-						maxY = bean.height;
-					}
-				}
-				x += bean.width + DEFAULT_PADDING.getWidth();
+			placeInRows(orphanBeans, maxY, maxX);
+			for (Bean bean : orphanBeans) {
 				graph.nodes.add(bean);
 			}
 		}
+		catch (OperationCanceledException e) {
+			throw e;
+		}
 		catch (RuntimeException e) {
 
 			// If an error occured during layouting (graph contains cylces,
-			// graph not fully connected, ...) then clear graph, invalidate
-			// editor input (not saved when Eclipse is closed) and display an
-			// error message
+			// graph not fully connected, ...) then clear graph and invalidate
+			// editor input (not saved when Eclipse is closed)
 			graph = new DirectedGraph();
 			input.setHasError(true);
-			MessageDialog.openError(BeansGraphPlugin.getActiveWorkbenchWindow().getShell(),
-					BeansGraphPlugin.getResourceString(ERROR_TITLE), e.getMessage());
+			throw e;
+		}
+	}
+
+	private void checkCanceled(IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
 
+	/**
+	 * Places the given beans in rows, starting below the given vertical position.
+	 */
+	private static void placeInRows(List<Bean> beans, int maxY, int maxX) {
+		int x = 0; // current horizontal position in current row
+		int y = maxY; // current row
+		if (maxY > 0) {
+			y += DEFAULT_PADDING.getHeight();
+		}
+		if (maxX < MAX_ORPHAN_ROW_WIDTH) {
+			maxX = MAX_ORPHAN_ROW_WIDTH;
+		}
+		maxY = 0; // max height of all figures in current row
+		for (Bean bean : beans) {
+
+			// If current row is filled then start new row
+			if ((x + bean.width) > maxX) {
+				bean.x = x = 0;
+				bean.y = y += maxY + DEFAULT_PADDING.getHeight();
+				maxY = bean.height;
+			}
+			else {
+				bean.y = y;
+				bean.x = x;
+				if (bean.height > maxY) {
+					maxY = bean.height;
+				}
+			}
+			x += bean.width + DEFAULT_PADDING.getWidth();
+		}
+	}
+
+	/**
+	 * Takes over the layout of a previous graph of the same input if the referenced beans are the
+	 * same, with the same sizes and references, e.g. if only property values or bean classes changed.
+	 * Unreferenced beans may have been added or removed, they are placed in rows below the others as
+	 * the layout would do. Any other change needs a full layout, as {@link DirectedGraphLayout} can't
+	 * start from the positions of the beans that stayed the same. The beans must have been measured
+	 * before.
+	 * @return <code>true</code> if the layout was taken over, <code>false</code> if this graph still
+	 * needs to be layed out
+	 */
+	public boolean layoutFrom(Graph previous) {
+		// A graph whose layout failed has no positions
+		if (previous.graph.nodes.size() != previous.beans.size()
+				|| previous.beanReferences.size() != beanReferences.size()) {
+			return false;
+		}
+		List<Bean> orphanBeans = new ArrayList<Bean>();
+		int referencedBeans = 0;
+		for (Map.Entry<String, Bean> entry : beans.entrySet()) {
+			Bean bean = entry.getValue();
+			if (isOrphan(bean)) {
+				orphanBeans.add(bean);
+				continue;
+			}
+			Bean previousBean = previous.beans.get(entry.getKey());
+			if (previousBean == null || isOrphan(previousBean) || previousBean.width != bean.width
+					|| previousBean.preferredHeight != bean.preferredHeight) {
+				return false;
+			}
+			referencedBeans++;
+		}
+		for (Bean previousBean : previous.beans.values()) {
+			if (!isOrphan(previousBean)) {
+				referencedBeans--;
+			}
+		}
+		if (referencedBeans != 0) {
+			return false;
+		}
+		for (int i = 0; i < beanReferences.size(); i++) {
+			Reference reference = beanReferences.get(i);
+			Reference previousReference = previous.beanReferences.get(i);
+			// Inverted edges can't be taken over as their direction would be lost
+			if (previousReference.isFeedback() || previousReference.getType() != reference.getType()
+					|| !previousReference.source.data.equals(reference.source.data)
+					|| !previousReference.target.data.equals(reference.target.data)) {
+				return false;
+			}
+		}
+
+		int maxY = 0;
+		int maxX = 0;
+		for (Map.Entry<String, Bean> entry : beans.entrySet()) {
+			Bean bean = entry.getValue();
+			if (!isOrphan(bean)) {
+				Bean previousBean = previous.beans.get(entry.getKey());
+				bean.x = previousBean.x;
+				bean.y = previousBean.y;
+				bean.height = previousBean.height;
+				maxY = Math.max(maxY, bean.y + bean.height);
+				maxX = Math.max(maxX, bean.x + bean.width);
+			}
+		}
+		for (int i = 0; i < beanReferences.size(); i++) {
+			beanReferences.get(i).vNodes = previous.beanReferences.get(i).vNodes;
+		}
+		placeInRows(orphanBeans, maxY, maxX);
+		return true;
+	}
+
+	private static boolean isOrphan(Bean bean) {
+		return bean.incoming.isEmpty() && bean.outgoing.isEmpty();
+	}
+
+	/**
+	 * Creates a graph with copies of this graph's beans but without references, to be shown while
+	 * this graph is layed out. Beans that are in the given previous graph of the same input keep
+	 * their position, others are placed in rows below them. The beans must have been measured
+	 * before.
+	 * @param previous the previous graph or <code>null</code>
+	 */
+	@SuppressWarnings("unchecked")
+	public Graph createPreview(Graph previous) {
+		Graph preview = new Graph(input);
+		preview.graph = new DirectedGraph();
+		preview.beans = new LinkedHashMap<String, Bean>();
+
+		boolean hasPositions = previous != null && !previous.graph.nodes.isEmpty();
+		List<Bean> unplaced = new ArrayList<Bean>();
+		int maxX = 0;
+		int maxY = 0;
+		for (Map.Entry<String, Bean> entry : beans.entrySet()) {
+			Bean copy = entry.getValue().copy();
+			Bean previousBean = hasPositions ? previous.beans.get(entry.getKey()) : null;
+			if (previousBean != null) {
+				copy.x = previousBean.x;
+				copy.y = previousBean.y;
+				maxX = Math.max(maxX, copy.x + copy.width);
+				maxY = Math.max(maxY, copy.y + copy.height);
+			}
+			else {
+				unplaced.add(copy);
+			}
+			preview.beans.put(entry.getKey(), copy);
+			preview.graph.nodes.add(copy);
 		}
+		placeInRows(unplaced, maxY, maxX);
+		return preview;
 	}
 
 	@SuppressWarnings("deprecation")
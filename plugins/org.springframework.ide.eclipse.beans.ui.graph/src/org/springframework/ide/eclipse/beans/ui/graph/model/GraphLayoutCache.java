@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.graph.model;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
+import org.springframework.ide.eclipse.beans.ui.graph.editor.GraphEditorInput;
+import org.springframework.ide.eclipse.core.model.IModelChangeListener;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+
+/**
+ * Remembers the most recently layed out {@link Graph}s, so that opening or refreshing a graph
+ * editor doesn't have to compute the layout again.
+ * <p>
+ * Each graph is stored with the beans model stamp, a counter of changes to the beans model, at
+ * the time it was built, and with the configs and projects its beans and references come from. A
+ * graph is only reused as is while none of those changed after the stamp, so changes to unrelated
+ * configs don't throw it away. An outdated graph is still handed out as the previous layout of its
+ * input, which allows a new graph for the same input to reuse its positions.
+ */
+public class GraphLayoutCache {
+
+	private static final int MAX_ENTRIES = 10;
+
+	private static GraphLayoutCache instance;
+
+	private static class Entry {
+		final long stamp;
+		final Set<String> dependencies;
+		final Graph graph;
+
+		Entry(long stamp, Set<String> dependencies, Graph graph) {
+			this.stamp = stamp;
+			this.dependencies = dependencies;
+			this.graph = graph;
+		}
+	}
+
+	private final AtomicLong modelStamp = new AtomicLong();
+
+	/**
+	 * Model stamp of the most recent change event, by the element ID of the changed config or
+	 * project. Events for other elements are recorded for the model, which every graph depends on.
+	 */
+	private final Map<String, Long> changeStamps = new ConcurrentHashMap<String, Long>();
+
+	private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private final IModelChangeListener modelListener = new IModelChangeListener() {
+		public void elementChanged(ModelChangeEvent event) {
+			IModelElement element = event.getElement();
+			if (!(element instanceof IBeansConfig || element instanceof IBeansProject)) {
+				element = BeansCorePlugin.getModel();
+			}
+			changeStamps.put(element.getElementID(), modelStamp.incrementAndGet());
+		}
+	};
+
+	public static synchronized GraphLayoutCache getDefault() {
+		if (instance == null) {
+			instance = new GraphLayoutCache();
+		}
+		return instance;
+	}
+
+	private GraphLayoutCache() {
+		BeansCorePlugin.getModel().addChangeListener(modelListener);
+	}
+
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			BeansCorePlugin.getModel().removeChangeListener(instance.modelListener);
+			synchronized (instance.entries) {
+				instance.entries.clear();
+			}
+			instance = null;
+		}
+	}
+
+	/**
+	 * Returns the beans model stamp to pass to {@link #put(GraphEditorInput, long, Graph)}. Get it
+	 * before building the graph, so that changes made while building it are noticed.
+	 */
+	public long getModelStamp() {
+		return modelStamp.get();
+	}
+
+	/**
+	 * Returns the layed out graph for the given input if none of the configs it shows changed since
+	 * it was built, or <code>null</code>.
+	 */
+	public Graph get(GraphEditorInput input) {
+		synchronized (entries) {
+			Entry entry = entries.get(getKey(input));
+			if (entry != null && !isChangedSince(entry.dependencies, entry.stamp)) {
+				return entry.graph;
+			}
+			return null;
+		}
+	}
+
+	private boolean isChangedSince(Set<String> dependencies, long stamp) {
+		for (String elementId : dependencies) {
+			Long changed = changeStamps.get(elementId);
+			if (changed != null && changed > stamp) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the most recently layed out graph for the given input, even if it is outdated, or
+	 * <code>null</code>.
+	 */
+	public Graph getPrevious(GraphEditorInput input) {
+		synchronized (entries) {
+			Entry entry = entries.get(getKey(input));
+			return entry == null ? null : entry.graph;
+		}
+	}
+
+	public void put(GraphEditorInput input, long stamp, Graph graph) {
+		Set<String> dependencies = new HashSet<String>();
+		dependencies.add(BeansCorePlugin.getModel().getElementID());
+		addDependencies(dependencies, BeansCorePlugin.getModel().getElement(input.getElementId()));
+		addDependencies(dependencies, BeansCorePlugin.getModel().getElement(input.getContextId()));
+		synchronized (entries) {
+			entries.put(getKey(input), new Entry(stamp, dependencies, graph));
+		}
+	}
+
+	/**
+	 * Adds the IDs of the configs and projects the beans shown for the given element come from.
+	 * Change events are fired for configs and projects only.
+	 */
+	private void addDependencies(Set<String> dependencies, IModelElement element) {
+		if (element instanceof IBeansProject) {
+			dependencies.add(element.getElementID());
+			for (IBeansConfig config : ((IBeansProject) element).getConfigs()) {
+				dependencies.add(config.getElementID());
+			}
+		}
+		else if (element instanceof IBeansConfigSet) {
+			dependencies.add(BeansModelUtils.getProject(element).getElementID());
+			for (IBeansConfig config : ((IBeansConfigSet) element).getConfigs()) {
+				addDependencies(dependencies, config);
+			}
+		}
+		else if (element instanceof IBeansConfig || element instanceof IBean) {
+			IBeansConfig config = BeansModelUtils.getConfig(element);
+			dependencies.add(config.getElementID());
+			dependencies.add(BeansModelUtils.getProject(config).getElementID());
+		}
+	}
+
+	/**
+	 * The preferences that decide which beans are shown are part of the key.
+	 */
+	@SuppressWarnings("deprecation")
+	private String getKey(GraphEditorInput input) {
+		StringBuilder key = new StringBuilder();
+		key.append(input.getElementId()).append('|').append(input.getContextId());
+		for (String preference : new String[] { BeansUIPlugin.SHOULD_SHOW_EXTENDED_CONTENT_PREFERENCE_ID,
+				BeansUIPlugin.SHOULD_SHOW_INFRASTRUCTURE_BEANS_PREFERENCE_ID,
+				BeansUIPlugin.SHOULD_SHOW_INNER_BEANS_PREFERENCE_ID }) {
+			key.append('|').append(BeansUIPlugin.getDefault().getPluginPreferences().getBoolean(preference));
+		}
+		return key.toString();
+	}
+
+}
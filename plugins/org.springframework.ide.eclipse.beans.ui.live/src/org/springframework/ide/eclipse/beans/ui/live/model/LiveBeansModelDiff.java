@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.live.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Structural difference between two {@link LiveBeansModel}s. Beans are matched by their context and id;
+ * a matched bean is 'changed' if its attributes or the ids of its dependencies differ. Unlike
+ * {@link LiveBeansModel#equals(Object)} the comparison doesn't depend on the order of contexts and beans.
+ */
+public class LiveBeansModelDiff {
+
+	private final List<LiveBean> added = new ArrayList<LiveBean>();
+
+	private final List<LiveBean> removed = new ArrayList<LiveBean>();
+
+	private final List<LiveBean> changed = new ArrayList<LiveBean>();
+
+	private boolean contextsChanged;
+
+	private boolean different;
+
+	private LiveBeansModelDiff() {
+	}
+
+	/**
+	 * Computes the difference between two models, either of which may be <code>null</code>.
+	 * Added and changed beans are taken from the new model, removed beans from the old model.
+	 */
+	public static LiveBeansModelDiff compute(LiveBeansModel oldModel, LiveBeansModel newModel) {
+		LiveBeansModelDiff diff = new LiveBeansModelDiff();
+		Map<String, LiveBean> oldBeans = beansByKey(oldModel);
+		Map<String, LiveBean> newBeans = beansByKey(newModel);
+		for (Map.Entry<String, LiveBean> e : newBeans.entrySet()) {
+			LiveBean oldBean = oldBeans.get(e.getKey());
+			LiveBean newBean = e.getValue();
+			if (oldBean == null) {
+				diff.added.add(newBean);
+			} else if (!oldBean.getAttributes().equals(newBean.getAttributes())
+					|| !dependencyIds(oldBean).equals(dependencyIds(newBean))) {
+				diff.changed.add(newBean);
+			}
+		}
+		for (Map.Entry<String, LiveBean> e : oldBeans.entrySet()) {
+			if (!newBeans.containsKey(e.getKey())) {
+				diff.removed.add(e.getValue());
+			}
+		}
+		diff.contextsChanged = !contextAttributes(oldModel).equals(contextAttributes(newModel));
+		if (oldModel == null || newModel == null) {
+			diff.different = oldModel != newModel;
+		} else {
+			diff.different = !diff.isEmpty()
+					|| !Objects.equals(oldModel.getWorkspaceContext(), newModel.getWorkspaceContext());
+		}
+		return diff;
+	}
+
+	private static Map<String, LiveBean> beansByKey(LiveBeansModel model) {
+		Map<String, LiveBean> beans = new LinkedHashMap<String, LiveBean>();
+		if (model != null) {
+			// Go through the contexts, the same bean id may be used in more than one context
+			for (LiveBeansContext context : model.getBeansByContext()) {
+				for (LiveBean bean : context.getElements()) {
+					beans.put(context.getLabel() + '\n' + bean.getId(), bean);
+				}
+			}
+		}
+		return beans;
+	}
+
+	private static Set<String> dependencyIds(LiveBean bean) {
+		Set<String> ids = new LinkedHashSet<String>();
+		for (LiveBean dependency : bean.getDependencies()) {
+			ids.add(dependency.getId());
+		}
+		return ids;
+	}
+
+	private static Map<String, Map<String, String>> contextAttributes(LiveBeansModel model) {
+		if (model == null) {
+			return Collections.emptyMap();
+		}
+		Map<String, Map<String, String>> contexts = new LinkedHashMap<String, Map<String, String>>();
+		for (LiveBeansContext context : model.getBeansByContext()) {
+			contexts.put(context.getLabel(), context.getAttributes());
+		}
+		return contexts;
+	}
+
+	public List<LiveBean> getAdded() {
+		return added;
+	}
+
+	public List<LiveBean> getRemoved() {
+		return removed;
+	}
+
+	public List<LiveBean> getChanged() {
+		return changed;
+	}
+
+	/**
+	 * @return whether contexts were added or removed or their attributes (e.g. the parent) changed
+	 */
+	public boolean isContextsChanged() {
+		return contextsChanged;
+	}
+
+	public boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty() && changed.isEmpty() && !contextsChanged;
+	}
+
+	@Override
+	public String toString() {
+		return "LiveBeansModelDiff [added=" + added.size() + ", removed=" + removed.size() + ", changed="
+				+ changed.size() + ", contextsChanged=" + contextsChanged + "]";
+	}
+
+	/**
+	 * @return whether the two compared models would be displayed differently. Unlike {@link #isEmpty()}
+	 * this also accounts for a model becoming available or unavailable and for a changed workspace context.
+	 */
+	public boolean isDifferent() {
+		return different;
+	}
+
+	/**
+	 * Convenience for views: whether the two models would be displayed differently.
+	 */
+	public static boolean isDifferent(LiveBeansModel oldModel, LiveBeansModel newModel) {
+		return compute(oldModel, newModel).isDifferent();
+	}
+
+}
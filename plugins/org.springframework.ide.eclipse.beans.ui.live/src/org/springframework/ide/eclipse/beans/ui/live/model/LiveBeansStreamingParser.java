@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.live.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Live beans parser that builds the {@link LiveBeansModel} straight from the tokens of the
+ * actuator's beans JSON, without materializing the whole document as <code>JSONObject</code>/<code>JSONArray</code>
+ * trees first.
+ * <p>
+ * Handles the Boot 1.x format (an array of contexts, each with an array of beans) as well as the Boot 2.x format
+ * (a map of contexts keyed by id, each with a map of beans keyed by name, or a single context object). Produces
+ * the same model as {@link LiveBeansJsonParser} and {@link LiveBeansJsonParser2} do, except that Boot 2.x
+ * contexts and beans are kept in document order.
+ */
+public class LiveBeansStreamingParser implements JsonParser<LiveBeansModel> {
+
+	private static final String ATTR_CONTEXTS = "contexts";
+
+	private final TypeLookup typeLookup;
+
+	public LiveBeansStreamingParser(TypeLookup typeLookup) {
+		this.typeLookup = typeLookup;
+	}
+
+	@Override
+	public LiveBeansModel parse(String jsonInput) throws JSONException {
+		return new Session(new JSONTokener(jsonInput)).parse();
+	}
+
+	private static class ContextData {
+		String contextId;
+		String context;
+		String parent;
+		final List<BeanData> beans = new ArrayList<BeanData>();
+
+		String getLabel() {
+			return contextId != null ? contextId : context;
+		}
+	}
+
+	private static class BeanData {
+		LiveBean bean;
+		List<String> dependencies = Collections.emptyList();
+	}
+
+	/**
+	 * State of parsing a single document.
+	 */
+	private class Session {
+
+		private final JSONTokener tokener;
+
+		private final List<ContextData> contexts = new ArrayList<ContextData>();
+
+		private final Map<String, LiveBean> beansMap = new LinkedHashMap<String, LiveBean>();
+
+		private final Map<String, LiveBeansContext> contextMap = new LinkedHashMap<String, LiveBeansContext>();
+
+		private final Map<String, LiveBeansResource> resourceMap = new LinkedHashMap<String, LiveBeansResource>();
+
+		Session(JSONTokener tokener) {
+			this.tokener = tokener;
+		}
+
+		LiveBeansModel parse() throws JSONException {
+			char c = tokener.nextClean();
+			if (c == '[') {
+				// Boot 1.x, or a Boot 2.x array of contexts
+				for (boolean first = true; nextElement(first); first = false) {
+					parseContextValue(null);
+				}
+			} else if (c == '{') {
+				parseContext(null, true);
+			} else {
+				throw tokener.syntaxError("Expected an array or an object of live beans contexts");
+			}
+
+			createContexts();
+			populateDependencies();
+			groupByResource();
+
+			LiveBeansModel model = new LiveBeansModel(typeLookup);
+			model.addBeans(beansMap.values());
+			model.addContexts(contextMap.values());
+			model.addResources(resourceMap.values());
+			return model;
+		}
+
+		private void createContexts() {
+			for (ContextData data : contexts) {
+				LiveBeansContext context = new LiveBeansContext(data.getLabel());
+				for (BeanData beanData : data.beans) {
+					LiveBean bean = beanData.bean;
+					bean.addAttribute(LiveBeansContext.ATTR_CONTEXT, context.getLabel());
+					context.addElement(bean);
+					beansMap.put(bean.getId(), bean);
+				}
+				contextMap.put(context.getLabel(), context);
+			}
+		}
+
+		private void populateDependencies() {
+			for (ContextData data : contexts) {
+				if (data.parent != null) {
+					LiveBeansContext parentContext = contextMap.get(data.parent);
+					if (parentContext != null) {
+						contextMap.get(data.getLabel()).setParent(parentContext);
+					}
+				}
+				for (BeanData beanData : data.beans) {
+					// Same as the tree based parsers: dependencies of beans with the same id end up on the last one
+					LiveBean bean = beansMap.get(beanData.bean.getId());
+					for (String dependency : beanData.dependencies) {
+						LiveBean dependencyBean = beansMap.get(dependency);
+						if (dependencyBean == null) {
+							dependencyBean = new LiveBean(typeLookup, dependency, true);
+							addApplicationName(dependencyBean);
+						}
+						bean.addDependency(dependencyBean);
+					}
+				}
+			}
+		}
+
+		private void groupByResource() {
+			for (LiveBean bean : beansMap.values()) {
+				String resource = bean.getResource();
+				LiveBeansResource group = resourceMap.get(resource);
+				if (group == null) {
+					group = new LiveBeansResource(resource, bean.getTypeLookup());
+					resourceMap.put(resource, group);
+				}
+				group.addElement(bean);
+			}
+		}
+
+		private void parseContextValue(String contextId) throws JSONException {
+			if (tokener.nextClean() == '{') {
+				parseContext(contextId, false);
+			} else {
+				tokener.back();
+				tokener.nextValue();
+			}
+		}
+
+		/**
+		 * Parses the members of a context object, the opening brace has been consumed already. The top level
+		 * object of a Boot 2.x response is either a single context or holds a map of contexts.
+		 */
+		private void parseContext(String contextId, boolean topLevel) throws JSONException {
+			ContextData data = new ContextData();
+			boolean hasContextsMap = false;
+			for (String key = nextKey(true); key != null; key = nextKey(false)) {
+				if (LiveBeansContext.ATTR_BEANS.equals(key)) {
+					parseBeans(data);
+				} else if (LiveBeansContext.ATTR_PARENT.equals(key)) {
+					Object parent = tokener.nextValue();
+					data.parent = parent == JSONObject.NULL ? null : parent.toString();
+				} else if (LiveBeansContext.ATTR_CONTEXT_ID.equals(key)) {
+					data.contextId = nextString();
+				} else if (LiveBeansContext.ATTR_CONTEXT.equals(key)) {
+					data.context = nextString();
+				} else if (topLevel && ATTR_CONTEXTS.equals(key)) {
+					hasContextsMap = true;
+					parseContextsMap();
+				} else {
+					tokener.nextValue();
+				}
+			}
+			if (hasContextsMap) {
+				return;
+			}
+			if (contextId != null) {
+				data.contextId = contextId;
+			}
+			if (data.getLabel() == null) {
+				throw tokener.syntaxError("Live beans context without an id");
+			}
+			contexts.add(data);
+		}
+
+		private void parseContextsMap() throws JSONException {
+			if (tokener.nextClean() != '{') {
+				throw tokener.syntaxError("Expected an object of live beans contexts");
+			}
+			for (String contextId = nextKey(true); contextId != null; contextId = nextKey(false)) {
+				parseContextValue(contextId);
+			}
+		}
+
+		private void parseBeans(ContextData context) throws JSONException {
+			char c = tokener.nextClean();
+			if (c == '[') {
+				// Boot 1.x: array of beans, each with a "bean" member holding its id
+				for (boolean first = true; nextElement(first); first = false) {
+					addBean(context, parseBeanValue(null));
+				}
+			} else if (c == '{') {
+				// Boot 2.x: beans keyed by their id
+				for (String name = nextKey(true); name != null; name = nextKey(false)) {
+					addBean(context, parseBeanValue(name));
+				}
+			} else {
+				tokener.back();
+				tokener.nextValue();
+			}
+		}
+
+		private void addBean(ContextData context, BeanData bean) {
+			if (bean != null) {
+				context.beans.add(bean);
+			}
+		}
+
+		private BeanData parseBeanValue(String name) throws JSONException {
+			if (tokener.nextClean() != '{') {
+				tokener.back();
+				tokener.nextValue();
+				return null;
+			}
+			String id = name;
+			String scope = null;
+			String type = null;
+			String resource = null;
+			List<String> dependencies = Collections.emptyList();
+			for (String key = nextKey(true); key != null; key = nextKey(false)) {
+				if (LiveBean.ATTR_BEAN.equals(key)) {
+					String bean = nextString();
+					if (name == null) {
+						id = bean;
+					}
+				} else if (LiveBean.ATTR_SCOPE.equals(key)) {
+					scope = nextString();
+				} else if (LiveBean.ATTR_TYPE.equals(key)) {
+					type = nextString();
+				} else if (LiveBean.ATTR_RESOURCE.equals(key)) {
+					resource = nextString();
+				} else if (LiveBean.ATTR_DEPENDENCIES.equals(key)) {
+					dependencies = nextStringArray();
+				} else {
+					tokener.nextValue();
+				}
+			}
+			if (id == null) {
+				return null;
+			}
+			BeanData data = new BeanData();
+			data.bean = new LiveBean(typeLookup, id);
+			if (scope != null) {
+				data.bean.addAttribute(LiveBean.ATTR_SCOPE, scope);
+			}
+			if (type != null) {
+				data.bean.addAttribute(LiveBean.ATTR_TYPE, type);
+			}
+			if (resource != null) {
+				data.bean.addAttribute(LiveBean.ATTR_RESOURCE, resource);
+			}
+			addApplicationName(data.bean);
+			data.dependencies = dependencies;
+			return data;
+		}
+
+		/**
+		 * Reads the next key of the current object, including the separator that precedes it.
+		 * @return the key or <code>null</code> if the end of the object was reached
+		 */
+		private String nextKey(boolean first) throws JSONException {
+			char c = tokener.nextClean();
+			if (c == '}') {
+				return null;
+			}
+			if (!first) {
+				if (c != ',') {
+					throw tokener.syntaxError("Expected a ',' or '}'");
+				}
+				c = tokener.nextClean();
+			}
+			if (c != '"' && c != '\'') {
+				throw tokener.syntaxError("Expected a key");
+			}
+			String key = tokener.nextString(c);
+			if (tokener.nextClean() != ':') {
+				throw tokener.syntaxError("Expected a ':' after a key");
+			}
+			return key;
+		}
+
+		/**
+		 * Positions the tokener at the next element of the current array, consuming the separator that precedes it.
+		 * @return <code>false</code> if the end of the array was reached
+		 */
+		private boolean nextElement(boolean first) throws JSONException {
+			char c = tokener.nextClean();
+			if (c == ']') {
+				return false;
+			}
+			if (first) {
+				tokener.back();
+			} else if (c != ',') {
+				throw tokener.syntaxError("Expected a ',' or ']'");
+			}
+			return true;
+		}
+
+		/**
+		 * Same as <code>JSONObject.getString()</code> of the tree based parsers: non-string values, including
+		 * <code>null</code>, are converted to their string representation.
+		 */
+		private String nextString() throws JSONException {
+			return tokener.nextValue().toString();
+		}
+
+		private List<String> nextStringArray() throws JSONException {
+			if (tokener.nextClean() != '[') {
+				tokener.back();
+				tokener.nextValue();
+				return Collections.emptyList();
+			}
+			List<String> values = new ArrayList<String>();
+			for (boolean first = true; nextElement(first); first = false) {
+				values.add(nextString());
+			}
+			return values;
+		}
+
+		private void addApplicationName(LiveBean bean) {
+			if (typeLookup != null && typeLookup.getApplicationName() != null) {
+				bean.addAttribute(LiveBean.ATTR_APPLICATION, typeLookup.getApplicationName());
+			}
+		}
+	}
+
+}
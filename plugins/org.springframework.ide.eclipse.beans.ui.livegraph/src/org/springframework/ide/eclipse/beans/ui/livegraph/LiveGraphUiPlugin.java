@@ -41,6 +41,7 @@ public class LiveGraphUiPlugin extends AbstractUIPlugin {
 	protected void initializeDefaultPreferences(IPreferenceStore store) {
 		store.setDefault(LiveBeansGraphView.PREF_DISPLAY_MODE, LiveBeansGraphView.DISPLAY_MODE_GRAPH);
 		store.setDefault(LiveBeansGraphView.PREF_GROUP_MODE, LiveBeansGraphView.GROUP_BY_RESOURCE);
+		store.setDefault(LiveBeansGraphView.PREF_GRAPH_GROUP_MODE, LiveBeansGraphView.GROUP_BY_PACKAGE);
 		store.setDefault(LiveBeansGraphView.PREF_FILTER_INNER_BEANS, true);
 	}
 
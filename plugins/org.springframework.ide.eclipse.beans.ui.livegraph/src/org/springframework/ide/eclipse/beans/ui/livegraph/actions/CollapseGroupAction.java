@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.livegraph.actions;
+
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.ui.actions.BaseSelectionListenerAction;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBean;
+import org.springframework.ide.eclipse.beans.ui.livegraph.views.LiveBeansGraphView;
+
+/**
+ * Collapses the expanded group of the selected bean in a large live beans graph back into a
+ * single node.
+ */
+public class CollapseGroupAction extends BaseSelectionListenerAction {
+
+	private final LiveBeansGraphView view;
+
+	public CollapseGroupAction(LiveBeansGraphView view) {
+		super("Collapse Group");
+		this.view = view;
+	}
+
+	@Override
+	public void run() {
+		Object element = getStructuredSelection().getFirstElement();
+		if (element instanceof LiveBean) {
+			view.collapseGroup((LiveBean) element);
+		}
+	}
+
+	@Override
+	protected boolean updateSelection(IStructuredSelection selection) {
+		Object element = selection.getFirstElement();
+		return selection.size() == 1 && element instanceof LiveBean && view.canCollapseGroup((LiveBean) element);
+	}
+
+}
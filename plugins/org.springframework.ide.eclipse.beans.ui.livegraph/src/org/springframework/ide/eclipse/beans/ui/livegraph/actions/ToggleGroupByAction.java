@@ -22,7 +22,16 @@ public class ToggleGroupByAction extends Action {
 
 	private final int mode;
 
+	private final boolean graph;
+
 	public ToggleGroupByAction(LiveBeansGraphView view, int mode) {
+		this(view, mode, false);
+	}
+
+	/**
+	 * @param graph whether the action groups the beans of large graphs rather than the tree
+	 */
+	public ToggleGroupByAction(LiveBeansGraphView view, int mode, boolean graph) {
 		super("", AS_RADIO_BUTTON);
 		if (mode == LiveBeansGraphView.GROUP_BY_RESOURCE) {
 			setText("Group by resource");
@@ -30,8 +39,12 @@ public class ToggleGroupByAction extends Action {
 		else if (mode == LiveBeansGraphView.GROUP_BY_CONTEXT) {
 			setText("Group by context");
 		}
+		else if (mode == LiveBeansGraphView.GROUP_BY_PACKAGE) {
+			setText("Group by package");
+		}
 		this.view = view;
 		this.mode = mode;
+		this.graph = graph;
 	}
 
 	public int getGroupByMode() {
@@ -41,7 +54,12 @@ public class ToggleGroupByAction extends Action {
 	@Override
 	public void run() {
 		if (isChecked()) {
-			view.setGroupByMode(mode);
+			if (graph) {
+				view.setGraphGroupByMode(mode);
+			}
+			else {
+				view.setGroupByMode(mode);
+			}
 		}
 	}
 
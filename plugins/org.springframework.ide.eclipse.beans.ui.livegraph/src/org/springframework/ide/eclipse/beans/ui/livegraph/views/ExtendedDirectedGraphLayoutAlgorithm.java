@@ -12,38 +12,113 @@ package org.springframework.ide.eclipse.beans.ui.livegraph.views;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.draw2d.graph.DirectedGraph;
 import org.eclipse.draw2d.graph.DirectedGraphLayout;
 import org.eclipse.draw2d.graph.Edge;
 import org.eclipse.draw2d.graph.Node;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.zest.core.widgets.GraphNode;
 import org.eclipse.zest.layouts.algorithms.DirectedGraphLayoutAlgorithm;
 import org.eclipse.zest.layouts.dataStructures.InternalNode;
 import org.eclipse.zest.layouts.dataStructures.InternalRelationship;
 
 /**
  * Based on {@link DirectedGraphLayout} with modifications
+ * <p>
+ * When a relayout callback is set, the layout is computed in a background job instead. Until the
+ * job is done the nodes are placed in rows, then the computed locations are remembered per
+ * element and the callback is run on the UI thread to apply them.
  * 
  * @author Leo Dos Santos
  */
 public class ExtendedDirectedGraphLayoutAlgorithm extends DirectedGraphLayoutAlgorithm {
 
+	private static final int PREVIEW_SPACING = 20;
+
+	private Runnable relayout;
+
+	private Map<Object, Point> locations = new HashMap<Object, Point>();
+
+	private volatile Job layoutJob;
+
 	public ExtendedDirectedGraphLayoutAlgorithm(int styles) {
 		super(styles);
 	}
 
+	/**
+	 * Sets the callback that applies the layout again once it was computed in the background, or
+	 * <code>null</code> to compute the layout synchronously.
+	 */
+	public void setBackgroundRelayout(Runnable relayout) {
+		this.relayout = relayout;
+		if (relayout == null) {
+			cancelLayoutJob();
+		}
+	}
+
+	/**
+	 * Forgets the locations computed in the background, e.g. because the dependencies of the
+	 * elements changed.
+	 */
+	public void clearLocations() {
+		locations = new HashMap<Object, Point>();
+	}
+
+	public void cancelLayoutJob() {
+		Job job = layoutJob;
+		layoutJob = null;
+		if (job != null) {
+			job.cancel();
+		}
+	}
+
 	@Override
 	protected void applyLayoutInternal(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider,
 			double boundsX, double boundsY, double boundsWidth, double boundsHeight) {
+		if (relayout == null) {
+			DirectedGraph graph = createGraph(entitiesToLayout, relationshipsToConsider, false);
+			new DirectedGraphLayout().visit(graph);
+			for (Iterator<Node> iterator = graph.nodes.iterator(); iterator.hasNext();) {
+				Node node = iterator.next();
+				Point location = getLocation(node);
+				((InternalNode) node.data).setInternalLocation(location.x, location.y);
+			}
+		}
+		else if (hasLocations(entitiesToLayout)) {
+			for (InternalNode internalNode : entitiesToLayout) {
+				Point location = locations.get(getElement(internalNode));
+				internalNode.setInternalLocation(location.x, location.y);
+			}
+		}
+		else {
+			placeInRows(entitiesToLayout, boundsWidth);
+			scheduleLayoutJob(createGraph(entitiesToLayout, relationshipsToConsider, true));
+		}
+		updateLayoutLocations(entitiesToLayout);
+	}
+
+	/**
+	 * Creates the Draw2D graph for the given nodes. The data of each node is either the
+	 * {@link InternalNode} or, for a layout in the background, its element.
+	 */
+	private DirectedGraph createGraph(InternalNode[] entitiesToLayout, InternalRelationship[] relationshipsToConsider,
+			boolean useElements) {
 		HashMap<InternalNode, Node> mapping = new HashMap<InternalNode, Node>(entitiesToLayout.length);
 		// Difference from DGLA; use the unmodified Draw2D DirectedGraph since
 		// the extended one from the superclass does not handle the horizontal
 		// use case properly.
 		DirectedGraph graph = new DirectedGraph();
 		for (InternalNode internalNode : entitiesToLayout) {
-			Node node = new Node(internalNode);
+			Node node = new Node(useElements ? getElement(internalNode) : internalNode);
 			// Difference from DGLA; get the height/width from the InternalNode
 			// and apply it to the Draw2D Node. Take orientation into account.
 			int height = new Double(internalNode.getHeightInLayout()).intValue();
@@ -66,21 +141,91 @@ public class ExtendedDirectedGraphLayoutAlgorithm extends DirectedGraphLayoutAlg
 				graph.edges.add(edge);
 			}
 		}
-		DirectedGraphLayout directedGraphLayout = new DirectedGraphLayout();
-		directedGraphLayout.visit(graph);
+		return graph;
+	}
 
-		for (Iterator<Node> iterator = graph.nodes.iterator(); iterator.hasNext();) {
-			Node node = iterator.next();
-			InternalNode internalNode = (InternalNode) node.data;
-			// For horizontal layout transpose the x and y coordinates
-			if ((layout_styles & SWT.HORIZONTAL) == SWT.HORIZONTAL) {
-				internalNode.setInternalLocation(node.y, node.x);
+	private Point getLocation(Node node) {
+		// For horizontal layout transpose the x and y coordinates
+		if ((layout_styles & SWT.HORIZONTAL) == SWT.HORIZONTAL) {
+			return new Point(node.y, node.x);
+		}
+		return new Point(node.x, node.y);
+	}
+
+	private Object getElement(InternalNode internalNode) {
+		Object data = internalNode.getLayoutEntity().getGraphData();
+		return data instanceof GraphNode ? ((GraphNode) data).getData() : data;
+	}
+
+	/**
+	 * Returns <code>true</code> if the locations computed in the background are for exactly the
+	 * given nodes.
+	 */
+	private boolean hasLocations(InternalNode[] entitiesToLayout) {
+		if (locations.size() != entitiesToLayout.length) {
+			return false;
+		}
+		for (InternalNode internalNode : entitiesToLayout) {
+			if (!locations.containsKey(getElement(internalNode))) {
+				return false;
 			}
-			else {
-				internalNode.setInternalLocation(node.x, node.y);
+		}
+		return true;
+	}
+
+	private void placeInRows(InternalNode[] entitiesToLayout, double boundsWidth) {
+		double x = 0;
+		double y = 0;
+		double rowHeight = 0;
+		for (InternalNode internalNode : entitiesToLayout) {
+			if (x > 0 && x + internalNode.getWidthInLayout() > boundsWidth) {
+				x = 0;
+				y += rowHeight + PREVIEW_SPACING;
+				rowHeight = 0;
 			}
+			internalNode.setInternalLocation(x, y);
+			x += internalNode.getWidthInLayout() + PREVIEW_SPACING;
+			rowHeight = Math.max(rowHeight, internalNode.getHeightInLayout());
 		}
-		updateLayoutLocations(entitiesToLayout);
+	}
+
+	private void scheduleLayoutJob(final DirectedGraph graph) {
+		cancelLayoutJob();
+		// layouts may be applied off the UI thread, where there is no current display
+		final Display display = Display.getDefault();
+		Job job = new Job("Laying out live beans graph") {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				new DirectedGraphLayout().visit(graph);
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				final Map<Object, Point> result = new HashMap<Object, Point>();
+				for (Iterator<Node> iterator = graph.nodes.iterator(); iterator.hasNext();) {
+					Node node = iterator.next();
+					result.put(node.data, getLocation(node));
+				}
+				final Job job = this;
+				if (display.isDisposed()) {
+					return Status.CANCEL_STATUS;
+				}
+				display.asyncExec(new Runnable() {
+					public void run() {
+						Runnable callback = relayout;
+						if (layoutJob == job && callback != null) {
+							layoutJob = null;
+							locations = result;
+							callback.run();
+						}
+					}
+				});
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.LONG);
+		layoutJob = job;
+		job.schedule();
 	}
 
 }
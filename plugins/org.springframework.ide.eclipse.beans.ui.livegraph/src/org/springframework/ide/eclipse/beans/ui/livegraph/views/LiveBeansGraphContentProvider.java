@@ -10,18 +10,52 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.livegraph.views;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.zest.core.viewers.IGraphEntityContentProvider;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBean;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansGroup;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
 
 /**
  * A content provider for the Live Beans Graph
- * 
+ * <p>
+ * Models with more than {@link #GROUPING_THRESHOLD} beans are shown in a scalable mode: beans
+ * are collapsed into one node per group (context, resource or package) and a group only shows
+ * its beans once it is expanded. Dependencies of collapsed beans are shown as dependencies of
+ * their group.
+ *
  * @author Leo Dos Santos
  */
 public class LiveBeansGraphContentProvider implements IGraphEntityContentProvider {
 
+	public static final int GROUPING_THRESHOLD = 300;
+
+	private static final String NO_TYPE_GROUP = "(unknown type)";
+
+	private static final String DEFAULT_PACKAGE_GROUP = "(default package)";
+
+	private int groupByMode = LiveBeansGraphView.GROUP_BY_PACKAGE;
+
+	/**
+	 * Labels of the expanded groups, so that expansion survives regrouping of the same model.
+	 */
+	private final Set<String> expandedGroups = new HashSet<String>();
+
+	private LiveBeansModel model;
+
+	private List<LiveBeansGroup<LiveBean>> groups;
+
+	private Map<LiveBean, LiveBeansGroup<LiveBean>> groupOfBean;
+
 	public void dispose() {
 		// TODO Auto-generated method stub
 
@@ -30,22 +64,164 @@ public class LiveBeansGraphContentProvider implements IGraphEntityContentProvide
 	public Object[] getConnectedTo(Object entity) {
 		if (entity instanceof LiveBean) {
 			LiveBean bean = (LiveBean) entity;
-			return bean.getDependencies().toArray();
+			if (!isGrouping(model)) {
+				return bean.getDependencies().toArray();
+			}
+			Set<Object> connected = new LinkedHashSet<Object>();
+			addNodes(connected, bean.getDependencies());
+			connected.remove(bean);
+			return connected.toArray();
+		}
+		else if (entity instanceof LiveBeansGroup) {
+			Set<Object> connected = new LinkedHashSet<Object>();
+			for (Object bean : ((LiveBeansGroup<?>) entity).getElements()) {
+				addNodes(connected, ((LiveBean) bean).getDependencies());
+			}
+			connected.remove(entity);
+			return connected.toArray();
 		}
 		return null;
 	}
 
+	private void addNodes(Set<Object> nodes, Set<LiveBean> beans) {
+		for (LiveBean bean : beans) {
+			nodes.add(getNode(bean));
+		}
+	}
+
+	/**
+	 * Returns the graph node showing the given bean, either the bean itself or its collapsed group.
+	 */
+	private Object getNode(LiveBean bean) {
+		LiveBeansGroup<LiveBean> group = getGroup(bean);
+		return group == null || isExpanded(group) ? bean : group;
+	}
+
 	public Object[] getElements(Object inputElement) {
 		if (inputElement instanceof LiveBeansModel) {
 			LiveBeansModel model = (LiveBeansModel) inputElement;
-			return model.getBeans().toArray();
+			if (!isGrouping(model)) {
+				return model.getBeans().toArray();
+			}
+			setModel(model);
+			List<Object> elements = new ArrayList<Object>();
+			for (LiveBeansGroup<LiveBean> group : groups) {
+				if (isExpanded(group)) {
+					elements.addAll(group.getElements());
+				}
+				else {
+					elements.add(group);
+				}
+			}
+			for (LiveBean bean : model.getBeans()) {
+				if (!groupOfBean.containsKey(bean)) {
+					elements.add(bean);
+				}
+			}
+			return elements.toArray();
 		}
 		return null;
 	}
 
 	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
-		// TODO Auto-generated method stub
+		if (newInput instanceof LiveBeansModel) {
+			setModel((LiveBeansModel) newInput);
+		}
+	}
+
+	private void setModel(LiveBeansModel model) {
+		if (this.model != model) {
+			this.model = model;
+			this.groups = null;
+			expandedGroups.clear();
+			computeGroups();
+		}
+		else if (groups == null) {
+			computeGroups();
+		}
+	}
 
+	private void computeGroups() {
+		groups = new ArrayList<LiveBeansGroup<LiveBean>>();
+		groupOfBean = new HashMap<LiveBean, LiveBeansGroup<LiveBean>>();
+		if (!isGrouping(model)) {
+			return;
+		}
+		if (groupByMode == LiveBeansGraphView.GROUP_BY_CONTEXT) {
+			groups.addAll(model.getBeansByContext());
+		}
+		else if (groupByMode == LiveBeansGraphView.GROUP_BY_RESOURCE) {
+			groups.addAll(model.getBeansByResource());
+		}
+		else {
+			Map<String, LiveBeansGroup<LiveBean>> packages = new TreeMap<String, LiveBeansGroup<LiveBean>>();
+			for (LiveBean bean : model.getBeans()) {
+				String name = getPackageName(bean);
+				LiveBeansGroup<LiveBean> group = packages.get(name);
+				if (group == null) {
+					group = new LiveBeansGroup<LiveBean>(name);
+					packages.put(name, group);
+				}
+				group.addElement(bean);
+			}
+			groups.addAll(packages.values());
+		}
+		for (LiveBeansGroup<LiveBean> group : groups) {
+			for (LiveBean bean : group.getElements()) {
+				if (!groupOfBean.containsKey(bean)) {
+					groupOfBean.put(bean, group);
+				}
+			}
+		}
+	}
+
+	private String getPackageName(LiveBean bean) {
+		String type = bean.getBeanType();
+		if (type == null) {
+			return NO_TYPE_GROUP;
+		}
+		int index = type.lastIndexOf('.');
+		return index < 0 ? DEFAULT_PACKAGE_GROUP : type.substring(0, index);
+	}
+
+	/**
+	 * Returns <code>true</code> if the given model is large enough to be shown in groups.
+	 */
+	public boolean isGrouping(LiveBeansModel model) {
+		return model != null && model.getBeans().size() > GROUPING_THRESHOLD;
+	}
+
+	public int getGroupByMode() {
+		return groupByMode;
+	}
+
+	public void setGroupByMode(int mode) {
+		if (groupByMode != mode) {
+			groupByMode = mode;
+			groups = null;
+			expandedGroups.clear();
+		}
+	}
+
+	/**
+	 * Returns the group of the given bean, or <code>null</code> if beans aren't grouped or the bean
+	 * isn't part of any group.
+	 */
+	public LiveBeansGroup<LiveBean> getGroup(LiveBean bean) {
+		return groupOfBean == null || !isGrouping(model) ? null : groupOfBean.get(bean);
+	}
+
+	public boolean isExpanded(LiveBeansGroup<?> group) {
+		return expandedGroups.contains(group.getLabel());
+	}
+
+	public void setExpanded(LiveBeansGroup<?> group, boolean expanded) {
+		if (expanded) {
+			expandedGroups.add(group.getLabel());
+		}
+		else {
+			expandedGroups.remove(group.getLabel());
+		}
 	}
 
 }
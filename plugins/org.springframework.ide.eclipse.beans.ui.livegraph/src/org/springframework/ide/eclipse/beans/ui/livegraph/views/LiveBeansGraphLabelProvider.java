@@ -17,6 +17,7 @@ import org.eclipse.zest.core.viewers.ISelfStyleProvider;
 import org.eclipse.zest.core.widgets.GraphConnection;
 import org.eclipse.zest.core.widgets.GraphNode;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBean;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansGroup;
 
 /**
  * A label provider for the Live Beans Graph
@@ -30,6 +31,10 @@ public class LiveBeansGraphLabelProvider extends LabelProvider implements ISelfS
 		if (element instanceof LiveBean) {
 			return ((LiveBean) element).getDisplayName();
 		}
+		else if (element instanceof LiveBeansGroup) {
+			LiveBeansGroup<?> group = (LiveBeansGroup<?>) element;
+			return group.getDisplayName() + " (" + group.getElements().size() + " beans)";
+		}
 		else if (element instanceof EntityConnectionData) {
 			return "";
 		}
@@ -52,6 +57,11 @@ public class LiveBeansGraphLabelProvider extends LabelProvider implements ISelfS
 			tooltip.setText(id);
 			node.setTooltip(tooltip);
 		}
+		else if (element instanceof LiveBeansGroup) {
+			Label tooltip = new Label();
+			tooltip.setText("Double-click to show the beans of " + ((LiveBeansGroup<?>) element).getLabel());
+			node.setTooltip(tooltip);
+		}
 	}
 
 }
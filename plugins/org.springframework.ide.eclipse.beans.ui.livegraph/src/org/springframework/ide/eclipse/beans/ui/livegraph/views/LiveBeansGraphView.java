@@ -24,6 +24,7 @@ import org.eclipse.jface.viewers.IDoubleClickListener;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.jface.viewers.ISelectionProvider;
+import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
@@ -37,6 +38,8 @@ import org.eclipse.zest.core.viewers.GraphViewer;
 import org.eclipse.zest.core.widgets.ZestStyles;
 import org.eclipse.zest.layouts.LayoutStyles;
 import org.springframework.ide.eclipse.beans.ui.live.actions.OpenBeanClassAction;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBean;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansGroup;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelCollection;
 import org.springframework.ide.eclipse.beans.ui.live.tree.ContextGroupedBeansContentProvider;
@@ -44,6 +47,7 @@ import org.springframework.ide.eclipse.beans.ui.live.tree.InnerBeansViewerFilter
 import org.springframework.ide.eclipse.beans.ui.live.tree.LiveBeansTreeLabelProvider;
 import org.springframework.ide.eclipse.beans.ui.live.tree.ResourceGroupedBeansContentProvider;
 import org.springframework.ide.eclipse.beans.ui.livegraph.LiveGraphUiPlugin;
+import org.springframework.ide.eclipse.beans.ui.livegraph.actions.CollapseGroupAction;
 import org.springframework.ide.eclipse.beans.ui.livegraph.actions.ConnectToApplicationAction;
 import org.springframework.ide.eclipse.beans.ui.livegraph.actions.FilterInnerBeansAction;
 import org.springframework.ide.eclipse.beans.ui.livegraph.actions.LoadModelAction;
@@ -66,6 +70,9 @@ public class LiveBeansGraphView extends ViewPart {
 
 	public static final String PREF_GROUP_MODE = LiveGraphUiPlugin.PLUGIN_ID + ".prefs.groupByMode.LiveBeansGraphView";
 
+	public static final String PREF_GRAPH_GROUP_MODE = LiveGraphUiPlugin.PLUGIN_ID
+			+ ".prefs.graphGroupByMode.LiveBeansGraphView";
+
 	public static final String PREF_FILTER_INNER_BEANS = LiveGraphUiPlugin.PLUGIN_ID
 			+ ".prefs.filterInnerBeans.LiveBeansGraphView";
 
@@ -77,10 +84,19 @@ public class LiveBeansGraphView extends ViewPart {
 
 	public static final int GROUP_BY_CONTEXT = 1;
 
+	/**
+	 * Only used to group the beans of large graphs
+	 */
+	public static final int GROUP_BY_PACKAGE = 2;
+
 	private ToggleViewModeAction[] displayModeActions;
 
 	private ToggleGroupByAction[] groupByActions;
 
+	private ToggleGroupByAction[] graphGroupByActions;
+
+	private CollapseGroupAction collapseGroupAction;
+
 	private final MultiViewerSelectionProvider selectionProvider;
 
 	private BaseSelectionListenerAction openBeanClassAction;
@@ -99,6 +115,18 @@ public class LiveBeansGraphView extends ViewPart {
 
 	private GraphViewer graphViewer;
 
+	private LiveBeansGraphContentProvider graphContentProvider;
+
+	private ExtendedDirectedGraphLayoutAlgorithm graphLayout;
+
+	private final Runnable graphRelayout = new Runnable() {
+		public void run() {
+			if (graphViewer != null && !graphViewer.getControl().isDisposed()) {
+				graphViewer.applyLayout();
+			}
+		}
+	};
+
 	private TreeViewer treeViewer;
 
 	private final IPreferenceStore prefStore;
@@ -107,6 +135,8 @@ public class LiveBeansGraphView extends ViewPart {
 
 	private int activeGroupByMode;
 
+	private int activeGraphGroupByMode;
+
 	public LiveBeansGraphView() {
 		super();
 		prefStore = LiveGraphUiPlugin.getDefault().getPreferenceStore();
@@ -116,18 +146,22 @@ public class LiveBeansGraphView extends ViewPart {
 
 	private void createGraphViewer() {
 		graphViewer = new GraphViewer(pagebook, SWT.NONE);
-		graphViewer.setContentProvider(new LiveBeansGraphContentProvider());
+		graphContentProvider = new LiveBeansGraphContentProvider();
+		graphViewer.setContentProvider(graphContentProvider);
 		graphViewer.setLabelProvider(new LiveBeansGraphLabelProvider());
 		graphViewer.setConnectionStyle(ZestStyles.CONNECTIONS_DIRECTED);
 		// viewer.setNodeStyle(ZestStyles.NODES_FISHEYE);
 
-		ExtendedDirectedGraphLayoutAlgorithm layout = new ExtendedDirectedGraphLayoutAlgorithm(
-				LayoutStyles.NO_LAYOUT_NODE_RESIZING | SWT.HORIZONTAL);
-		graphViewer.setLayoutAlgorithm(layout);
+		graphLayout = new ExtendedDirectedGraphLayoutAlgorithm(LayoutStyles.NO_LAYOUT_NODE_RESIZING | SWT.HORIZONTAL);
+		graphViewer.setLayoutAlgorithm(graphLayout);
 
 		graphViewer.addDoubleClickListener(new IDoubleClickListener() {
 			public void doubleClick(DoubleClickEvent event) {
-				if (openBeanClassAction != null && openBeanClassAction.isEnabled()) {
+				Object element = ((IStructuredSelection) event.getSelection()).getFirstElement();
+				if (element instanceof LiveBeansGroup) {
+					expandGroup((LiveBeansGroup<?>) element);
+				}
+				else if (openBeanClassAction != null && openBeanClassAction.isEnabled()) {
 					openBeanClassAction.run();
 				}
 			}
@@ -146,8 +180,10 @@ public class LiveBeansGraphView extends ViewPart {
 		hookContextMenu();
 		selectionProvider.addSelectionChangedListener(openBeanClassAction);
 		selectionProvider.addSelectionChangedListener(openBeanDefAction);
+		graphViewer.addSelectionChangedListener(collapseGroupAction);
 		setDisplayMode(prefStore.getInt(PREF_DISPLAY_MODE));
 		setGroupByMode(prefStore.getInt(PREF_GROUP_MODE));
+		setGraphGroupByMode(prefStore.getInt(PREF_GRAPH_GROUP_MODE));
 		setFilterInnerBeans(prefStore.getBoolean(PREF_FILTER_INNER_BEANS));
 	}
 	
@@ -178,6 +214,12 @@ public class LiveBeansGraphView extends ViewPart {
 	public void dispose() {
 		selectionProvider.removeSelectionChangedListener(openBeanClassAction);
 		selectionProvider.removeSelectionChangedListener(openBeanDefAction);
+		if (graphViewer != null) {
+			graphViewer.removeSelectionChangedListener(collapseGroupAction);
+		}
+		if (graphLayout != null) {
+			graphLayout.cancelLayoutJob();
+		}
 		super.dispose();
 	}
 
@@ -185,6 +227,9 @@ public class LiveBeansGraphView extends ViewPart {
 		menuManager.add(new Separator());
 		menuManager.add(openBeanClassAction);
 		menuManager.add(openBeanDefAction);
+		if (activeDisplayMode == DISPLAY_MODE_GRAPH && collapseGroupAction.isEnabled()) {
+			menuManager.add(collapseGroupAction);
+		}
 	}
 
 	private void fillPullDownMenu(IMenuManager menuManager) {
@@ -202,6 +247,12 @@ public class LiveBeansGraphView extends ViewPart {
 				menuManager.add(action);
 			}
 		}
+		else if (activeDisplayMode == DISPLAY_MODE_GRAPH) {
+			menuManager.add(new Separator());
+			for (ToggleGroupByAction action : graphGroupByActions) {
+				menuManager.add(action);
+			}
+		}
 		// if (activeDisplayMode == DISPLAY_MODE_GRAPH) {
 		menuManager.add(new Separator());
 		menuManager.add(filterInnerBeansAction);
@@ -212,6 +263,10 @@ public class LiveBeansGraphView extends ViewPart {
 		return activeGroupByMode;
 	}
 
+	public int getGraphGroupByMode() {
+		return activeGraphGroupByMode;
+	}
+
 	public LiveBeansModel getInput() {
 		return activeInput;
 	}
@@ -270,6 +325,10 @@ public class LiveBeansGraphView extends ViewPart {
 				new ToggleViewModeAction(this, DISPLAY_MODE_TREE) };
 		groupByActions = new ToggleGroupByAction[] { new ToggleGroupByAction(this, GROUP_BY_RESOURCE),
 				new ToggleGroupByAction(this, GROUP_BY_CONTEXT) };
+		graphGroupByActions = new ToggleGroupByAction[] { new ToggleGroupByAction(this, GROUP_BY_PACKAGE, true),
+				new ToggleGroupByAction(this, GROUP_BY_RESOURCE, true),
+				new ToggleGroupByAction(this, GROUP_BY_CONTEXT, true) };
+		collapseGroupAction = new CollapseGroupAction(this);
 		filterInnerBeansAction = new FilterInnerBeansAction(this);
 	}
 
@@ -308,9 +367,58 @@ public class LiveBeansGraphView extends ViewPart {
 		prefStore.setValue(PREF_GROUP_MODE, mode);
 	}
 
+	/**
+	 * Sets how the beans of graphs with more than
+	 * {@link LiveBeansGraphContentProvider#GROUPING_THRESHOLD} beans are grouped.
+	 */
+	public void setGraphGroupByMode(int mode) {
+		activeGraphGroupByMode = mode;
+		graphContentProvider.setGroupByMode(mode);
+		for (ToggleGroupByAction action : graphGroupByActions) {
+			action.setChecked(mode == action.getGroupByMode());
+		}
+		prefStore.setValue(PREF_GRAPH_GROUP_MODE, mode);
+		refreshGraph();
+	}
+
+	public void expandGroup(LiveBeansGroup<?> group) {
+		graphContentProvider.setExpanded(group, true);
+		refreshGraph();
+	}
+
+	public boolean canCollapseGroup(LiveBean bean) {
+		LiveBeansGroup<LiveBean> group = graphContentProvider.getGroup(bean);
+		return group != null && graphContentProvider.isExpanded(group);
+	}
+
+	public void collapseGroup(LiveBean bean) {
+		LiveBeansGroup<LiveBean> group = graphContentProvider.getGroup(bean);
+		if (group != null) {
+			graphContentProvider.setExpanded(group, false);
+			refreshGraph();
+		}
+	}
+
+	/**
+	 * Large graphs are layed out in the background, so that the view stays responsive.
+	 */
+	private void updateGraphLayout() {
+		graphLayout.setBackgroundRelayout(graphContentProvider.isGrouping(activeInput) ? graphRelayout : null);
+	}
+
+	private void refreshGraph() {
+		if (graphViewer != null && graphViewer.getInput() != null) {
+			updateGraphLayout();
+			graphViewer.refresh();
+			graphViewer.applyLayout();
+		}
+	}
+
 	public void setInput(LiveBeansModel model) {
 		activeInput = model;
 		if (graphViewer != null) {
+			graphLayout.clearLocations();
+			updateGraphLayout();
 			graphViewer.setInput(activeInput);
 		}
 		if (treeViewer != null) {
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.beans.ui.search.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+import org.springframework.ide.eclipse.beans.ui.search.BeansSearchPlugin;
+import org.springframework.ide.eclipse.core.model.IModelChangeListener;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.IModelElementVisitor;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+
+/**
+ * Inverted indexes over the beans model used by the beans search queries.
+ * <p>
+ * For every {@link IBeansConfig} and every {@link KeyExtractor} (bean name, class name, referenced bean, property
+ * name) a map from search key to the model elements carrying that key is built lazily on first use. Entries are
+ * dropped as soon as the beans model reports a change to the config or its project, or the config's resource has
+ * been modified. Literal searches are answered with a single map lookup per config; pattern searches only match the
+ * (far fewer) distinct keys and are evaluated in parallel partitions of the searched configs.
+ */
+public class BeansSearchIndex implements IModelChangeListener {
+
+	/**
+	 * Extracts the strings of a model element a query compares its pattern with.
+	 */
+	public interface KeyExtractor {
+
+		/**
+		 * Adds all search keys of the given element to the given collection; elements without keys are ignored.
+		 */
+		void collectKeys(IModelElement element, Collection<String> keys);
+	}
+
+	private static final int MIN_CONFIGS_PER_PARTITION = 10;
+
+	private static BeansSearchIndex instance;
+
+	private final Map<IBeansConfig, ConfigIndex> configIndexes = new ConcurrentHashMap<IBeansConfig, ConfigIndex>();
+
+	public static synchronized BeansSearchIndex getDefault() {
+		if (instance == null) {
+			instance = new BeansSearchIndex();
+			BeansCorePlugin.getModel().addChangeListener(instance);
+		}
+		return instance;
+	}
+
+	public static synchronized void shutdown() {
+		if (instance != null) {
+			BeansCorePlugin.getModel().removeChangeListener(instance);
+			instance.configIndexes.clear();
+			instance = null;
+		}
+	}
+
+	/**
+	 * Returns all elements of the given configs with a key matching the given pattern. If <code>literal</code> is
+	 * not <code>null</code> the pattern is known to match exactly this string and a direct lookup is used instead.
+	 * The returned elements are ordered by config and free of duplicates.
+	 */
+	public Set<IModelElement> findMatches(final List<IBeansConfig> configs, final KeyExtractor extractor,
+			final Pattern pattern, final String literal, final IProgressMonitor monitor) {
+		int partitions = Math.min(Runtime.getRuntime().availableProcessors(), configs.size()
+				/ MIN_CONFIGS_PER_PARTITION);
+		if (partitions <= 1) {
+			return findMatches(configs, extractor, pattern, literal, monitor, 0, configs.size());
+		}
+
+		List<Future<Set<IModelElement>>> futures = new ArrayList<Future<Set<IModelElement>>>(partitions);
+		int partitionSize = (configs.size() + partitions - 1) / partitions;
+		for (int start = 0; start < configs.size(); start += partitionSize) {
+			final int from = start;
+			final int to = Math.min(start + partitionSize, configs.size());
+			futures.add(BeansCorePlugin.getExecutorService().submit(new Callable<Set<IModelElement>>() {
+				public Set<IModelElement> call() throws Exception {
+					return findMatches(configs, extractor, pattern, literal, monitor, from, to);
+				}
+			}));
+		}
+
+		Set<IModelElement> matches = new LinkedHashSet<IModelElement>();
+		try {
+			for (Future<Set<IModelElement>> future : futures) {
+				matches.addAll(future.get());
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof OperationCanceledException) {
+				throw (OperationCanceledException) e.getCause();
+			}
+			BeansSearchPlugin.log(e.getCause());
+		}
+		finally {
+			for (Future<Set<IModelElement>> future : futures) {
+				future.cancel(true);
+			}
+		}
+		return matches;
+	}
+
+	private Set<IModelElement> findMatches(List<IBeansConfig> configs, KeyExtractor extractor, Pattern pattern,
+			String literal, IProgressMonitor monitor, int from, int to) {
+		Set<IModelElement> matches = new LinkedHashSet<IModelElement>();
+		for (int i = from; i < to; i++) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			Map<String, List<IModelElement>> keys = getConfigIndex(configs.get(i)).getKeys(extractor);
+			if (literal != null) {
+				List<IModelElement> elements = keys.get(literal);
+				if (elements != null) {
+					matches.addAll(elements);
+				}
+			}
+			else {
+				for (Map.Entry<String, List<IModelElement>> entry : keys.entrySet()) {
+					if (pattern.matcher(entry.getKey()).matches()) {
+						matches.addAll(entry.getValue());
+					}
+				}
+			}
+		}
+		return matches;
+	}
+
+	private ConfigIndex getConfigIndex(IBeansConfig config) {
+		long modificationStamp = getModificationStamp(config);
+		ConfigIndex index = configIndexes.get(config);
+		if (index == null || index.modificationStamp != modificationStamp) {
+			index = new ConfigIndex(config, modificationStamp);
+			configIndexes.put(config, index);
+		}
+		return index;
+	}
+
+	public void elementChanged(ModelChangeEvent event) {
+		IModelElement element = event.getElement();
+		if (element instanceof IBeansConfig) {
+			configIndexes.remove(element);
+		}
+		else if (element instanceof IBeansProject) {
+			IProject project = ((IBeansProject) element).getProject();
+			Iterator<ConfigIndex> indexes = configIndexes.values().iterator();
+			while (indexes.hasNext()) {
+				if (project.equals(indexes.next().project)) {
+					indexes.remove();
+				}
+			}
+		}
+		else if (element instanceof IBeansModel) {
+			configIndexes.clear();
+		}
+	}
+
+	private static long getModificationStamp(IBeansConfig config) {
+		IResource resource = config.getElementResource();
+		return (resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP);
+	}
+
+	private static class ConfigIndex {
+
+		private final IBeansConfig config;
+
+		private final IProject project;
+
+		private final long modificationStamp;
+
+		private final Map<KeyExtractor, Map<String, List<IModelElement>>> keysByExtractor = new ConcurrentHashMap<KeyExtractor, Map<String, List<IModelElement>>>();
+
+		public ConfigIndex(IBeansConfig config, long modificationStamp) {
+			this.config = config;
+			IResource resource = config.getElementResource();
+			this.project = (resource != null ? resource.getProject() : null);
+			this.modificationStamp = modificationStamp;
+		}
+
+		public Map<String, List<IModelElement>> getKeys(final KeyExtractor extractor) {
+			Map<String, List<IModelElement>> keys = keysByExtractor.get(extractor);
+			if (keys == null) {
+				final Map<String, List<IModelElement>> newKeys = new LinkedHashMap<String, List<IModelElement>>();
+				final List<String> elementKeys = new ArrayList<String>();
+				config.accept(new IModelElementVisitor() {
+					public boolean visit(IModelElement element, IProgressMonitor monitor) {
+						elementKeys.clear();
+						extractor.collectKeys(element, elementKeys);
+						for (String key : elementKeys) {
+							if (key == null) {
+								continue;
+							}
+							List<IModelElement> elements = newKeys.get(key);
+							if (elements == null) {
+								elements = new ArrayList<IModelElement>(1);
+								newKeys.put(key, elements);
+							}
+							if (!elements.contains(element)) {
+								elements.add(element);
+							}
+						}
+						return true;
+					}
+				}, new NullProgressMonitor());
+				keys = newKeys;
+				keysByExtractor.put(extractor, keys);
+			}
+			return keys;
+		}
+	}
+
+}
@@ -10,6 +10,10 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.Assert;
@@ -20,7 +24,13 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
 import org.eclipse.search.ui.text.Match;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
 import org.springframework.ide.eclipse.beans.ui.search.BeansSearchPlugin;
+import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchIndex;
+import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchIndex.KeyExtractor;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchMessages;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchResult;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchScope;
@@ -39,6 +49,7 @@ public abstract class AbstractBeansQuery implements ISearchQuery {
 	private BeansSearchScope scope;
 	private String pattern;
 	private Pattern compiledPattern;
+	private String literalPattern;
 	private ISearchResult result;
 
 	public AbstractBeansQuery(BeansSearchScope scope, String pattern,
@@ -48,6 +59,12 @@ public abstract class AbstractBeansQuery implements ISearchQuery {
 		this.pattern = pattern;
 		this.compiledPattern = PatternUtils.createPattern(pattern,
 				isCaseSensitive, isRegexSearch);
+		if (isCaseSensitive && !isRegexSearch && pattern != null
+				&& pattern.indexOf('*') < 0 && pattern.indexOf('?') < 0
+				&& pattern.indexOf('\\') < 0
+				&& compiledPattern.matcher(pattern).matches()) {
+			this.literalPattern = pattern;
+		}
 	}
 
 	public BeansSearchScope getScope() {
@@ -76,7 +93,30 @@ public abstract class AbstractBeansQuery implements ISearchQuery {
 	public final IStatus run(IProgressMonitor monitor) {
 		final BeansSearchResult result = (BeansSearchResult) getSearchResult();
 		result.removeAll();
+
+		// Configs are answered from the search index, everything else is
+		// visited element by element
+		KeyExtractor extractor = getKeyExtractor();
+		Set<IBeansConfig> configs = new LinkedHashSet<IBeansConfig>();
+		List<IModelElement> elements = new ArrayList<IModelElement>();
 		for (IModelElement element : scope.getModelElements()) {
+			if (extractor != null) {
+				addConfigs(element, configs, elements);
+			}
+			else {
+				elements.add(element);
+			}
+		}
+		if (!configs.isEmpty()) {
+			for (IModelElement element : BeansSearchIndex.getDefault()
+					.findMatches(new ArrayList<IBeansConfig>(configs),
+							extractor, compiledPattern, literalPattern,
+							monitor)) {
+				result.addMatch(createMatch(element));
+			}
+		}
+
+		for (IModelElement element : elements) {
 			if (monitor.isCanceled()) {
 				throw new OperationCanceledException();
 			}
@@ -84,21 +124,7 @@ public abstract class AbstractBeansQuery implements ISearchQuery {
 				public boolean visit(IModelElement element,
 						IProgressMonitor monitor) {
 					if (doesMatch(element, compiledPattern, monitor)) {
-						int startLine;
-						int lines;
-						if (element instanceof ISourceModelElement) {
-							ISourceModelElement sourceElement =
-								(ISourceModelElement) element;
-							startLine = sourceElement.getElementStartLine();
-							lines = sourceElement.getElementEndLine()
-									- startLine + 1;
-						} else {
-							startLine = -1;
-							lines = -1;
-						}
-						Match match = new Match(element, Match.UNIT_LINE,
-								startLine, lines);
-						result.addMatch(match);
+						result.addMatch(createMatch(element));
 					}
 					return true;
 				}
@@ -112,10 +138,70 @@ public abstract class AbstractBeansQuery implements ISearchQuery {
 				null);
 	}
 
+	private void addConfigs(IModelElement element, Set<IBeansConfig> configs,
+			List<IModelElement> elements) {
+		if (element instanceof IBeansModel) {
+			for (IBeansProject project : ((IBeansModel) element).getProjects()) {
+				configs.addAll(project.getConfigs());
+			}
+		}
+		else if (element instanceof IBeansProject) {
+			configs.addAll(((IBeansProject) element).getConfigs());
+		}
+		else if (element instanceof IBeansConfigSet) {
+			configs.addAll(((IBeansConfigSet) element).getConfigs());
+		}
+		else if (element instanceof IBeansConfig) {
+			configs.add((IBeansConfig) element);
+		}
+		else {
+			elements.add(element);
+		}
+	}
+
+	private Match createMatch(IModelElement element) {
+		int startLine;
+		int lines;
+		if (element instanceof ISourceModelElement) {
+			ISourceModelElement sourceElement =
+				(ISourceModelElement) element;
+			startLine = sourceElement.getElementStartLine();
+			lines = sourceElement.getElementEndLine()
+					- startLine + 1;
+		} else {
+			startLine = -1;
+			lines = -1;
+		}
+		return new Match(element, Match.UNIT_LINE, startLine, lines);
+	}
+
+	/**
+	 * Returns the {@link KeyExtractor} which provides the strings this query
+	 * matches its pattern with, or <code>null</code> if this query can't be
+	 * answered from the {@link BeansSearchIndex}. The same instance must be
+	 * returned for every query of the same kind.
+	 */
+	protected KeyExtractor getKeyExtractor() {
+		return null;
+	}
+
 	/**
 	 * Returns <code>true</code> if given {@link IModelElement} matches
-	 * this query. 
+	 * this query. By default one of the keys provided by
+	 * {@link #getKeyExtractor()} has to match the given pattern.
 	 */
-	protected abstract boolean doesMatch(IModelElement element,
-			Pattern pattern, IProgressMonitor monitor);
+	protected boolean doesMatch(IModelElement element, Pattern pattern,
+			IProgressMonitor monitor) {
+		KeyExtractor extractor = getKeyExtractor();
+		if (extractor != null) {
+			List<String> keys = new ArrayList<String>();
+			extractor.collectKeys(element, keys);
+			for (String key : keys) {
+				if (key != null && pattern.matcher(key).matches()) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
 }
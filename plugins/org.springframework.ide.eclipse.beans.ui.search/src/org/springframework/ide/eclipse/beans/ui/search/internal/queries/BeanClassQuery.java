@@ -10,10 +10,10 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
 
-import java.util.regex.Pattern;
+import java.util.Collection;
 
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchIndex.KeyExtractor;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchMessages;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchScope;
 import org.springframework.ide.eclipse.core.MessageUtils;
@@ -27,6 +27,18 @@ import org.springframework.ide.eclipse.core.model.IModelElement;
  */
 public class BeanClassQuery extends AbstractBeansQuery {
 
+	private static final KeyExtractor KEYS = new KeyExtractor() {
+
+		public void collectKeys(IModelElement element, Collection<String> keys) {
+			if (element instanceof IBean) {
+				String className = ((IBean) element).getClassName();
+				if (className != null) {
+					keys.add(className);
+				}
+			}
+		}
+	};
+
 	public BeanClassQuery(BeansSearchScope scope, String pattern,
 			boolean isCaseSensitive, boolean isRegexSearch) {
 		super(scope, pattern, isCaseSensitive, isRegexSearch);
@@ -40,18 +52,7 @@ public class BeanClassQuery extends AbstractBeansQuery {
 	}
 
 	@Override
-	protected boolean doesMatch(IModelElement element, Pattern pattern,
-			IProgressMonitor monitor) {
-		if (element instanceof IBean) {
-			String className = ((IBean) element).getClassName();
-			if (className != null) {
-
-				// Compare given class name with bean's one
-				if (pattern.matcher(className).matches()) {
-					return true;
-				}
-			}
-		}
-		return false;
+	protected KeyExtractor getKeyExtractor() {
+		return KEYS;
 	}
 }
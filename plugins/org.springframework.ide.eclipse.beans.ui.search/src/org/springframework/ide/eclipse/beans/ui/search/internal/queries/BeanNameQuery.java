@@ -10,11 +10,11 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
 
-import java.util.regex.Pattern;
+import java.util.Collection;
 
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.springframework.ide.eclipse.beans.core.internal.model.Bean;
 import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchIndex.KeyExtractor;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchMessages;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchScope;
 import org.springframework.ide.eclipse.core.MessageUtils;
@@ -28,6 +28,26 @@ import org.springframework.ide.eclipse.core.model.IModelElement;
  */
 public class BeanNameQuery extends AbstractBeansQuery {
 
+	private static final KeyExtractor KEYS = new KeyExtractor() {
+
+		public void collectKeys(IModelElement element, Collection<String> keys) {
+			if (element instanceof IBean) {
+				Bean bean = (Bean) element;
+
+				// Bean name first
+				keys.add(bean.getElementName());
+
+				// Now the aliases
+				String[] aliases = bean.getAliases();
+				if (aliases != null) {
+					for (String alias : aliases) {
+						keys.add(alias);
+					}
+				}
+			}
+		}
+	};
+
 	public BeanNameQuery(BeansSearchScope scope, String pattern,
 			boolean isCaseSensitive, boolean isRegexSearch) {
 		super(scope, pattern, isCaseSensitive, isRegexSearch);
@@ -41,27 +61,7 @@ public class BeanNameQuery extends AbstractBeansQuery {
 	}
 
 	@Override
-	protected boolean doesMatch(IModelElement element, Pattern pattern,
-			IProgressMonitor monitor) {
-		if (element instanceof IBean) {
-			Bean bean = (Bean) element;
-
-			// Compare bean name first
-			if (pattern.matcher(bean.getElementName()).matches()) {
-				return true;
-			}
-
-			// Now compare aliases
-			String[] aliases = bean.getAliases();
-			if (aliases != null) {
-				for (String alias : aliases) {
-					if (pattern.matcher(alias).matches()) {
-						return true;
-					}
-
-				}
-			}
-		}
-		return false;
+	protected KeyExtractor getKeyExtractor() {
+		return KEYS;
 	}
 }
@@ -10,10 +10,9 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.beans.ui.search.internal.queries;
 
+import java.util.Collection;
 import java.util.Iterator;
-import java.util.regex.Pattern;
 
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.search.ui.ISearchQuery;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.LookupOverride;
@@ -31,6 +30,7 @@ import org.springframework.ide.eclipse.beans.core.model.IBeansMapEntry;
 import org.springframework.ide.eclipse.beans.core.model.IBeansSet;
 import org.springframework.ide.eclipse.beans.core.model.IBeansTypedString;
 import org.springframework.ide.eclipse.beans.core.model.IBeansValueHolder;
+import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchIndex.KeyExtractor;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchMessages;
 import org.springframework.ide.eclipse.beans.ui.search.internal.BeansSearchScope;
 import org.springframework.ide.eclipse.core.MessageUtils;
@@ -47,143 +47,123 @@ public class BeanReferenceQuery extends AbstractBeansQuery {
 	public static final String PROXY_FACTORY_CLASS_NAME =
 			"org.springframework.aop.framework.ProxyFactoryBean";
 
-	public BeanReferenceQuery(BeansSearchScope scope, String pattern,
-			boolean isCaseSensitive, boolean isRegexSearch) {
-		super(scope, pattern, isCaseSensitive, isRegexSearch);
-	}
-
-	public String getLabel() {
-		Object[] args = new Object[] { getPattern(),
-				getScope().getDescription() };
-		return MessageUtils.format(
-				BeansSearchMessages.SearchQuery_searchFor_reference, args);
-	}
+	private static final KeyExtractor KEYS = new KeyExtractor() {
 
-	@Override
-	protected boolean doesMatch(IModelElement element, Pattern pattern,
-			IProgressMonitor monitor) {
-		if (element instanceof IBeanAlias) {
-			IBeanAlias alias = (IBeanAlias) element;
-			if (pattern.matcher(alias.getBeanName()).matches()) {
-				return true;
+		public void collectKeys(IModelElement element, Collection<String> keys) {
+			if (element instanceof IBeanAlias) {
+				keys.add(((IBeanAlias) element).getBeanName());
 			}
-		}
-		else if (element instanceof IBean) {
-			IBean bean = (IBean) element;
+			else if (element instanceof IBean) {
+				IBean bean = (IBean) element;
 
-			// Compare reference with parent bean
-			if (bean.isChildBean()
-					&& pattern.matcher(bean.getParentName()).matches()) {
-				return true;
-			}
-			AbstractBeanDefinition bd = (AbstractBeanDefinition)
-					((Bean) element).getBeanDefinition();
+				// Reference to parent bean
+				if (bean.isChildBean()) {
+					keys.add(bean.getParentName());
+				}
+				AbstractBeanDefinition bd = (AbstractBeanDefinition)
+						((Bean) element).getBeanDefinition();
 
-			// Compare reference with factory bean
-			String factoryBeanName = bd.getFactoryBeanName();
-			if (factoryBeanName != null
-					&& pattern.matcher(factoryBeanName).matches()) {
-				return true;
-			}
+				// Reference to factory bean
+				String factoryBeanName = bd.getFactoryBeanName();
+				if (factoryBeanName != null) {
+					keys.add(factoryBeanName);
+				}
 
-			// Compare reference with depends-on beans
-			String dependsOnBeanNames[] = bd.getDependsOn();
-			if (dependsOnBeanNames != null) {
-				for (String name : dependsOnBeanNames) {
-					if (pattern.matcher(name).matches()) {
-						return true;
+				// References to depends-on beans
+				String dependsOnBeanNames[] = bd.getDependsOn();
+				if (dependsOnBeanNames != null) {
+					for (String name : dependsOnBeanNames) {
+						keys.add(name);
 					}
 				}
-			}
 
-			// Compare reference with method-override beans
-			if (!bd.getMethodOverrides().isEmpty()) {
-				Iterator methodsOverrides = bd.getMethodOverrides()
-						.getOverrides().iterator();
-				while (methodsOverrides.hasNext()) {
-					MethodOverride methodOverride = (MethodOverride)
-							methodsOverrides.next();
-					if (methodOverride instanceof LookupOverride) {
-						String name = ((LookupOverride) methodOverride)
-								.getBeanName();
-						if (pattern.matcher(name).matches()) {
-							return true;
+				// References to method-override beans
+				if (!bd.getMethodOverrides().isEmpty()) {
+					Iterator methodsOverrides = bd.getMethodOverrides()
+							.getOverrides().iterator();
+					while (methodsOverrides.hasNext()) {
+						MethodOverride methodOverride = (MethodOverride)
+								methodsOverrides.next();
+						if (methodOverride instanceof LookupOverride) {
+							keys.add(((LookupOverride) methodOverride)
+									.getBeanName());
 						}
-					}
-					else if (methodOverride instanceof ReplaceOverride) {
-						String name = ((ReplaceOverride) methodOverride)
-								.getMethodReplacerBeanName();
-						if (pattern.matcher(name).matches()) {
-							return true;
+						else if (methodOverride instanceof ReplaceOverride) {
+							keys.add(((ReplaceOverride) methodOverride)
+									.getMethodReplacerBeanName());
 						}
 					}
 				}
 			}
+			else if (element instanceof IBeansValueHolder) {
+				collectValueKeys(element, ((IBeansValueHolder) element)
+						.getValue(), keys);
+			}
 		}
-		else if (element instanceof IBeansValueHolder) {
-			return doesValueMatch(element, ((IBeansValueHolder) element)
-					.getValue(), pattern);
-		}
-		return false;
-	}
 
-	private boolean doesValueMatch(IModelElement element, Object value,
-			Pattern pattern) {
-		if (value instanceof IBeanReference) {
-			String name = ((IBeanReference) value).getBeanName();
-			if (pattern.matcher(name).matches()) {
-				return true;
+		private void collectValueKeys(IModelElement element, Object value,
+				Collection<String> keys) {
+			if (value instanceof IBeanReference) {
+				keys.add(((IBeanReference) value).getBeanName());
 			}
-		}
-		else if (value instanceof IBeansList) {
+			else if (value instanceof IBeansList) {
 
-			// Compare reference with bean property's interceptors
-			if (element instanceof IBeanProperty
-					&& element.getElementName().equals("interceptorNames")) {
-				String beanClass = BeansModelUtils.getBeanClass((IBean) element
-						.getElementParent(), null);
-				if (PROXY_FACTORY_CLASS_NAME.equals(beanClass)) {
-					for (IModelElement child : ((IBeansList) value)
-							.getElementChildren()) {
-						if (child instanceof IBeansTypedString) {
-							if (pattern.matcher(((IBeansTypedString) child)
-									.getString()).matches()) {
-								return true;
+				// References from bean property's interceptors
+				if (element instanceof IBeanProperty
+						&& element.getElementName().equals("interceptorNames")) {
+					String beanClass = BeansModelUtils.getBeanClass(
+							(IBean) element.getElementParent(), null);
+					if (PROXY_FACTORY_CLASS_NAME.equals(beanClass)) {
+						for (IModelElement child : ((IBeansList) value)
+								.getElementChildren()) {
+							if (child instanceof IBeansTypedString) {
+								keys.add(((IBeansTypedString) child)
+										.getString());
 							}
 						}
 					}
 				}
-			}
-			else {
-				for (IModelElement child : ((IBeansList) value)
-						.getElementChildren()) {
-					if (doesValueMatch(element, child, pattern)) {
-						return true;
+				else {
+					for (IModelElement child : ((IBeansList) value)
+							.getElementChildren()) {
+						collectValueKeys(element, child, keys);
 					}
 				}
 			}
-		}
-		else if (value instanceof IBeansSet) {
-			for (IModelElement child : ((IBeansSet) value)
-					.getElementChildren()) {
-				if (doesValueMatch(element, child, pattern)) {
-					return true;
+			else if (value instanceof IBeansSet) {
+				for (IModelElement child : ((IBeansSet) value)
+						.getElementChildren()) {
+					collectValueKeys(element, child, keys);
 				}
 			}
-		}
-		else if (value instanceof IBeansMap) {
-			for (IModelElement child : ((IBeansMap) value)
-					.getElementChildren()) {
-				if (child instanceof IBeansMapEntry) {
-					if (doesValueMatch(element, ((IBeansMapEntry) child)
-							.getKey(), pattern)
-							|| doesValueMatch(element, ((IBeansMapEntry) child)
-									.getValue(), pattern)) {
-						return true;
+			else if (value instanceof IBeansMap) {
+				for (IModelElement child : ((IBeansMap) value)
+						.getElementChildren()) {
+					if (child instanceof IBeansMapEntry) {
+						collectValueKeys(element, ((IBeansMapEntry) child)
+								.getKey(), keys);
+						collectValueKeys(element, ((IBeansMapEntry) child)
+								.getValue(), keys);
 					}
 				}
 			}
 		}
-		return false;
+	};
+
+	public BeanReferenceQuery(BeansSearchScope scope, String pattern,
+			boolean isCaseSensitive, boolean isRegexSearch) {
+		super(scope, pattern, isCaseSensitive, isRegexSearch);
+	}
+
+	public String getLabel() {
+		Object[] args = new Object[] { getPattern(),
+				getScope().getDescription() };
+		return MessageUtils.format(
+				BeansSearchMessages.SearchQuery_searchFor_reference, args);
+	}
+
+	@Override
+	protected KeyExtractor getKeyExtractor() {
+		return KEYS;
 	}
 }
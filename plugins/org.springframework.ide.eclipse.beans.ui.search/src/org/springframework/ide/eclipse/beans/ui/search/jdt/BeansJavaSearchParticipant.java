@@ -11,8 +11,11 @@
 package org.springframework.ide.eclipse.beans.ui.search.jdt;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
@@ -129,6 +132,8 @@ public class BeansJavaSearchParticipant implements IQueryParticipant, IMatchPres
 			queries.add(new BeanReferenceQuery(scope, search, true, false));
 		}
 
+		// Beans of the same class are typically matched many times
+		Map<String, IType> types = new HashMap<String, IType>();
 		for (ISearchQuery query : queries) {
 			query.run(monitor);
 
@@ -139,8 +144,7 @@ public class BeansJavaSearchParticipant implements IQueryParticipant, IMatchPres
 					for (Match match : matches) {
 						if (match.getElement() instanceof IBean) {
 							IBean bean = (IBean) match.getElement();
-							IType type = JdtUtils.getJavaType(bean.getElementResource().getProject(), bean
-									.getClassName());
+							IType type = getJavaType(types, bean);
 							if (project == null || (type != null && project.isOnClasspath(type))) {
 								if (searchFor == SEARCH_FOR_FIELDS) {
 									// check if the match fits to the selected class
@@ -163,6 +167,15 @@ public class BeansJavaSearchParticipant implements IQueryParticipant, IMatchPres
 		}
 	}
 
+	private IType getJavaType(Map<String, IType> types, IBean bean) {
+		IProject beanProject = bean.getElementResource().getProject();
+		String key = beanProject.getName() + '/' + bean.getClassName();
+		if (!types.containsKey(key)) {
+			types.put(key, JdtUtils.getJavaType(beanProject, bean.getClassName()));
+		}
+		return types.get(key);
+	}
+
 	private void getTypeHierachy(IProgressMonitor monitor, List<String> requiredTypeNames, IType baseType) {
 		try {
 			IType[] types = baseType.newTypeHierarchy(monitor).getAllSubtypes(baseType);
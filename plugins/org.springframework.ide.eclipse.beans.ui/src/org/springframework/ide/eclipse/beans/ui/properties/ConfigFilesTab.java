@@ -87,6 +87,7 @@ import org.springframework.ide.eclipse.beans.ui.BeansUIPlugin;
 import org.springframework.ide.eclipse.beans.ui.properties.model.PropertiesModel;
 import org.springframework.ide.eclipse.beans.ui.properties.model.PropertiesModelLabelProvider;
 import org.springframework.ide.eclipse.beans.ui.properties.model.PropertiesProject;
+import org.springframework.ide.eclipse.core.SpringCore;
 import org.springframework.ide.eclipse.core.StringUtils;
 import org.springframework.ide.eclipse.core.io.ZipEntryStorage;
 import org.springframework.ide.eclipse.core.model.IModelChangeListener;
@@ -485,7 +486,7 @@ public class ConfigFilesTab {
 		IJavaProject javaProj = JdtUtils.getJavaProject(project.getProject());
 		if (javaProj != null) {
 			IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { javaProj });
-			Set<IType> annotatedTypes =org.springframework.ide.eclipse.core.java.JdtUtils.searchForJavaConfigs(scope);
+			Set<IType> annotatedTypes = SpringCore.getJavaConfigIndex().getJavaConfigsOnClasspath(javaProj);
 			final Set<String> filteredResults = new HashSet<String>();
 			for (IType type : annotatedTypes) {
 				filteredResults.add(type.getPackageFragment().getElementName() + "/" + type.getTypeQualifiedName('.'));
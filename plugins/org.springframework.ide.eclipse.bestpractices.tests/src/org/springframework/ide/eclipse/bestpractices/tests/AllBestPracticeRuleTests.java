@@ -44,6 +44,7 @@ public class AllBestPracticeRuleTests {
 		suite.addTestSuite(UseBeanInheritanceRuleTest.class);
 		suite.addTestSuite(AvoidDriverManagerDataSourceRuleTest.class);
 		suite.addTestSuite(UseDedicatedNamespacesRuleTest.class);
+		suite.addTestSuite(BeansIndexCacheTest.class);
 		//$JUnit-END$
 		return suite;
 	}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.bestpractices.tests;
+
+import org.eclipse.core.resources.IProject;
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeanProperty;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IReloadableBeansConfig;
+import org.springframework.ide.eclipse.internal.bestpractices.springiderules.BeansIndex;
+import org.springframework.ide.eclipse.internal.bestpractices.springiderules.BeansIndexCache;
+
+/**
+ * Test case for the {@link BeansIndexCache} class.
+ */
+public class BeansIndexCacheTest extends AbstractBeansCoreTestCase {
+
+	private IBeansConfig config;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		IProject project = createPredefinedProject("bestpractices");
+		config = BeansCorePlugin.getModel().getConfig(project.getFile("src/bean-inheritance-positive.xml"));
+		assertNotNull(config);
+	}
+
+	public void testLookups() throws Exception {
+		BeansIndex index = BeansIndexCache.getDefault().getIndex(config);
+		assertEquals(4, index.getBeans().size());
+		assertEquals(4, index.getBeansByClass("com.test.BeanInheritanceTestClass").size());
+		assertTrue(index.getChildBeans("myclass").isEmpty());
+
+		// Only the fooReference properties reference myclass directly
+		assertEquals(3, index.getBeansReferencing("myclass").size());
+
+		IBean bean = getBean(index, "myclass1");
+		IBeanProperty property = bean.getProperty("foo");
+		assertEquals(3, index.getBeansWithProperty(property).size());
+		assertEquals(index.getBeans().indexOf(bean), index.getPosition(bean));
+	}
+
+	public void testIndexShared() throws Exception {
+		BeansIndex index = BeansIndexCache.getDefault().getIndex(config);
+		assertSame(index, BeansIndexCache.getDefault().getIndex(config));
+	}
+
+	public void testIndexDroppedOnReload() throws Exception {
+		BeansIndex index = BeansIndexCache.getDefault().getIndex(config);
+		((IReloadableBeansConfig) config).reload();
+		BeansIndex reloaded = BeansIndexCache.getDefault().getIndex(config);
+		assertNotSame(index, reloaded);
+		assertEquals(4, reloaded.getBeans().size());
+	}
+
+	private IBean getBean(BeansIndex index, String name) {
+		for (IBean bean : index.getBeans()) {
+			if (name.equals(bean.getElementName())) {
+				return bean;
+			}
+		}
+		fail("No bean '" + name + "'");
+		return null;
+	}
+
+}
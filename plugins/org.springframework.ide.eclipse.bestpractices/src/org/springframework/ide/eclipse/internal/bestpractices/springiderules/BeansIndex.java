@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.internal.bestpractices.springiderules;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.ide.eclipse.beans.core.internal.model.BeanReference;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansTypedString;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeanConstructorArgument;
+import org.springframework.ide.eclipse.beans.core.model.IBeanProperty;
+
+/**
+ * An immutable index of the beans of a model element, which allows rules to look up related beans
+ * instead of scanning all of them.
+ * <p>
+ * Use {@link BeansIndexCache} to get an up-to-date index.
+ */
+public class BeansIndex {
+
+	private final List<IBean> beans;
+
+	private final Map<IBean, Integer> positions = new HashMap<IBean, Integer>();
+
+	private final Map<String, List<IBean>> beansByClass = new HashMap<String, List<IBean>>();
+
+	private final Map<String, List<IBean>> beansByParent = new HashMap<String, List<IBean>>();
+
+	private final Map<String, List<IBean>> beansByProperty = new HashMap<String, List<IBean>>();
+
+	private final Map<String, List<IBean>> beansByReference = new HashMap<String, List<IBean>>();
+
+	private final Comparator<IBean> positionComparator = new Comparator<IBean>() {
+		public int compare(IBean bean1, IBean bean2) {
+			return Integer.compare(getPosition(bean1), getPosition(bean2));
+		}
+	};
+
+	public BeansIndex(Collection<IBean> beans) {
+		this.beans = Collections.unmodifiableList(new ArrayList<IBean>(beans));
+		for (IBean bean : this.beans) {
+			if (!positions.containsKey(bean)) {
+				positions.put(bean, positions.size());
+			}
+			add(beansByClass, bean.getClassName(), bean);
+			add(beansByParent, bean.getParentName(), bean);
+			for (IBeanProperty property : bean.getProperties()) {
+				add(beansByProperty, getSignature(property.getElementName(), property.getValue()), bean);
+				add(beansByReference, getReferencedBeanName(property.getValue()), bean);
+			}
+			for (IBeanConstructorArgument argument : bean.getConstructorArguments()) {
+				add(beansByReference, getReferencedBeanName(argument.getValue()), bean);
+			}
+		}
+	}
+
+	private static void add(Map<String, List<IBean>> index, String key, IBean bean) {
+		if (key != null) {
+			List<IBean> beans = index.get(key);
+			if (beans == null) {
+				beans = new ArrayList<IBean>(1);
+				index.put(key, beans);
+			}
+			beans.add(bean);
+		}
+	}
+
+	private static List<IBean> get(Map<String, List<IBean>> index, String key) {
+		List<IBean> beans = key == null ? null : index.get(key);
+		return beans == null ? Collections.<IBean> emptyList() : Collections.unmodifiableList(beans);
+	}
+
+	/**
+	 * Returns a key for a property or constructor argument with the given name and value, or
+	 * <code>null</code> if the value is neither a string nor a bean reference.
+	 */
+	private static String getSignature(String name, Object value) {
+		if (value instanceof BeansTypedString) {
+			String string = ((BeansTypedString) value).getString();
+			return string == null ? null : name + "=v:" + string;
+		}
+		String beanName = getReferencedBeanName(value);
+		return beanName == null ? null : name + "=r:" + beanName;
+	}
+
+	private static String getReferencedBeanName(Object value) {
+		return value instanceof BeanReference ? ((BeanReference) value).getBeanName() : null;
+	}
+
+	/**
+	 * Returns all beans in the order they were given.
+	 */
+	public List<IBean> getBeans() {
+		return beans;
+	}
+
+	public List<IBean> getBeansByClass(String className) {
+		return get(beansByClass, className);
+	}
+
+	public List<IBean> getChildBeans(String parentName) {
+		return get(beansByParent, parentName);
+	}
+
+	/**
+	 * Returns the beans with a property of the same name and the same string or bean reference value
+	 * as the given property. A bean is returned once per such property.
+	 */
+	public List<IBean> getBeansWithProperty(IBeanProperty property) {
+		return get(beansByProperty, getSignature(property.getElementName(), property.getValue()));
+	}
+
+	/**
+	 * Returns the beans with a property or constructor argument that directly references the bean
+	 * with the given name. A bean is returned once per such reference.
+	 */
+	public List<IBean> getBeansReferencing(String beanName) {
+		return get(beansByReference, beanName);
+	}
+
+	/**
+	 * Returns the position of the given bean in {@link #getBeans()}, or -1.
+	 */
+	public int getPosition(IBean bean) {
+		Integer position = positions.get(bean);
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * Sorts the given beans by their position in {@link #getBeans()}.
+	 */
+	public void sort(List<IBean> beans) {
+		Collections.sort(beans, positionComparator);
+	}
+
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.internal.bestpractices.springiderules;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.ide.eclipse.beans.core.BeansCorePlugin;
+import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
+import org.springframework.ide.eclipse.beans.core.model.IBean;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigEventListener;
+import org.springframework.ide.eclipse.beans.core.model.process.IBeansConfigPostProcessor;
+import org.springframework.ide.eclipse.beans.core.model.IBeansConfigSet;
+import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
+import org.springframework.ide.eclipse.core.model.IModelChangeListener;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
+
+/**
+ * Shares the {@link BeansIndex} of a model element between rules, builds and projects.
+ * <p>
+ * All indexes are dropped whenever one of the configs they were built from is reset, which
+ * happens before a changed config is validated, and whenever the beans model reports a change,
+ * e.g. a config that was added to or removed from a project or config set. Each index is stored
+ * with a stamp of these invalidations, so that an index built while a config was reset is never
+ * handed out.
+ */
+public class BeansIndexCache {
+
+	private static BeansIndexCache instance;
+
+	private static class Entry {
+		final long stamp;
+		final BeansIndex index;
+
+		Entry(long stamp, BeansIndex index) {
+			this.stamp = stamp;
+			this.index = index;
+		}
+	}
+
+	private final AtomicLong stamp = new AtomicLong();
+
+	private final Map<IModelElement, Entry> entries = new ConcurrentHashMap<IModelElement, Entry>();
+
+	private final IModelChangeListener modelListener = new IModelChangeListener() {
+		public void elementChanged(ModelChangeEvent event) {
+			invalidate();
+		}
+	};
+
+	private final IBeansConfigEventListener configListener = new IBeansConfigEventListener() {
+
+		public void onReset(IBeansConfig config) {
+			invalidate();
+		}
+
+		public void onReadStart(IBeansConfig config) {
+		}
+
+		public void onReadEnd(IBeansConfig config) {
+		}
+
+		public void onPostProcessorDetected(IBeansConfig config, IBeansConfigPostProcessor configPostProcessor) {
+		}
+
+		public void onPostProcessorRemoved(IBeansConfig config, IBeansConfigPostProcessor configPostProcessor) {
+		}
+	};
+
+	public static synchronized BeansIndexCache getDefault() {
+		if (instance == null) {
+			instance = new BeansIndexCache();
+		}
+		return instance;
+	}
+
+	/**
+	 * The best practices bundle has no activator, so the listener stays registered with the beans
+	 * model for the lifetime of the workbench.
+	 */
+	private BeansIndexCache() {
+		BeansCorePlugin.getModel().addChangeListener(modelListener);
+	}
+
+	private void invalidate() {
+		synchronized (entries) {
+			stamp.incrementAndGet();
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Returns the index of all beans of the given model element, building it if the element's
+	 * configs changed since it was built last.
+	 */
+	public BeansIndex getIndex(IModelElement rootElement) {
+		Entry entry = entries.get(rootElement);
+		if (entry != null && entry.stamp == stamp.get()) {
+			return entry.index;
+		}
+
+		// Listen before reading the beans, so that a reset while reading is noticed
+		for (IBeansConfig config : getConfigs(rootElement)) {
+			config.registerEventListener(configListener);
+		}
+		long currentStamp = stamp.get();
+		Set<IBean> beans = BeansModelUtils.getBeans(rootElement);
+		BeansIndex index = new BeansIndex(beans);
+		synchronized (entries) {
+			if (currentStamp == stamp.get()) {
+				entries.put(rootElement, new Entry(currentStamp, index));
+			}
+		}
+		return index;
+	}
+
+	private Set<IBeansConfig> getConfigs(IModelElement rootElement) {
+		if (rootElement instanceof IBeansConfig) {
+			return Collections.singleton((IBeansConfig) rootElement);
+		}
+		else if (rootElement instanceof IBeansConfigSet) {
+			return ((IBeansConfigSet) rootElement).getConfigs();
+		}
+		else if (rootElement instanceof IBeansProject) {
+			return ((IBeansProject) rootElement).getConfigs();
+		}
+		return Collections.emptySet();
+	}
+
+}
@@ -11,14 +11,15 @@
 package org.springframework.ide.eclipse.internal.bestpractices.springiderules;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.ide.eclipse.beans.core.internal.model.Bean;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeanReference;
-import org.springframework.ide.eclipse.beans.core.internal.model.BeansModelUtils;
 import org.springframework.ide.eclipse.beans.core.internal.model.BeansTypedString;
 import org.springframework.ide.eclipse.beans.core.model.IBean;
 import org.springframework.ide.eclipse.beans.core.model.IBeanConstructorArgument;
@@ -29,7 +30,6 @@ import org.springframework.ide.eclipse.core.model.IModelElement;
 import org.springframework.ide.eclipse.core.model.validation.IValidationContext;
 import org.springframework.ide.eclipse.core.model.validation.IValidationRule;
 import org.springframework.ide.eclipse.core.model.xml.XmlSourceLocation;
-import org.springframework.ide.eclipse.core.project.IProjectContributorState;
 
 /**
  * This rule checks for cases where it may be possible to simplify the
@@ -75,27 +75,15 @@ public class UseBeanInheritance implements IValidationRule<IBean, IBeansValidati
 	 */
 	public void validate(IBean bean, IBeansValidationContext validationContext, IProgressMonitor progressMonitor) {
 
-		IBean[] allBeans = null;
-		if (validationContext instanceof IProjectContributorState) {
-			AllBeansCache allBeansCache = ((IProjectContributorState) validationContext).get(AllBeansCache.class);
-			if (allBeansCache == null) {
-				allBeansCache = new AllBeansCache();
-				((IProjectContributorState) validationContext).hold(allBeansCache);
-			}
-
-			allBeans = allBeansCache.getAllBeans(validationContext.getRootElement());
-		}
-		else {
-			Set<IBean> beans = BeansModelUtils.getBeans(validationContext.getRootElement());
-			allBeans = beans.toArray(new IBean[beans.size()]);
-		}
+		BeansIndex index = BeansIndexCache.getDefault().getIndex(validationContext.getRootElement());
 
 		List<IBean> similarBeanList = new ArrayList<IBean>();
-		for (IBean currBean : allBeans) {
-			if (isSimilar(bean, currBean)) {
-				similarBeanList.add(currBean);
+		for (Map.Entry<IBean, Integer> candidate : getMatchingPropertyCounts(bean, index).entrySet()) {
+			if (candidate.getValue() >= minNumSharedProperties && isSimilar(bean, candidate.getKey())) {
+				similarBeanList.add(candidate.getKey());
 			}
 		}
+		index.sort(similarBeanList);
 
 		// Add one to the similar bean count because the current bean counts as
 		// one of the similar ones
@@ -108,6 +96,26 @@ public class UseBeanInheritance implements IValidationRule<IBean, IBeansValidati
 		}
 	}
 
+	/**
+	 * Counts the property-value pairs each bean has in common with the given bean. Only the beans
+	 * sharing at least one pair are looked up, unless no shared pair is required at all.
+	 */
+	private Map<IBean, Integer> getMatchingPropertyCounts(IBean bean, BeansIndex index) {
+		Map<IBean, Integer> counts = new LinkedHashMap<IBean, Integer>();
+		if (minNumSharedProperties <= 0) {
+			for (IBean currBean : index.getBeans()) {
+				counts.put(currBean, 0);
+			}
+		}
+		for (IBeanProperty property : bean.getProperties()) {
+			for (IBean currBean : index.getBeansWithProperty(property)) {
+				Integer count = counts.get(currBean);
+				counts.put(currBean, count == null ? 1 : count + 1);
+			}
+		}
+		return counts;
+	}
+
 	private boolean constructorArgumentsEqual(IBean bean1, IBean bean2) {
 
 		Set<IBeanConstructorArgument> bean1args = bean1.getConstructorArguments();
@@ -184,7 +192,7 @@ public class UseBeanInheritance implements IValidationRule<IBean, IBeansValidati
 	 * Beans are considered similar if they don't have different constructor
 	 * arguments or init methods and there are more than
 	 * <code>DEFAULT_MIN_NUM_SHARED_PROPERTIES</code> property-value pairs in
-	 * common
+	 * common, which the caller has already counted
 	 */
 	private boolean isSimilar(IBean bean1, IBean bean2) {
 
@@ -196,35 +204,7 @@ public class UseBeanInheritance implements IValidationRule<IBean, IBeansValidati
 			return false;
 		}
 
-		if (!initMethodsEqual(bean1, bean2)) {
-			return false;
-		}
-
-		// Count the number of matching properties
-		int matchingPropertyCount = 0;
-		for (IBeanProperty currProperty1 : bean1.getProperties()) {
-			for (IBeanProperty currProperty2 : bean2.getProperties()) {
-				if (propertiesEqual(currProperty1, currProperty2)) {
-					matchingPropertyCount++;
-				}
-			}
-		}
-
-		return matchingPropertyCount >= minNumSharedProperties;
-	}
-
-	/**
-	 * Two properties are considered equal if they have they refer to the same
-	 * property of the bean (element name) and their values are the same.
-	 * @return true if the two properties are the same
-	 */
-	private boolean propertiesEqual(IBeanProperty beanProperty1, IBeanProperty beanProperty2) {
-		if (beanProperty1.getElementName().equals(beanProperty2.getElementName())) {
-			if (propertyValuesEqual(beanProperty1.getValue(), beanProperty2.getValue())) {
-				return true;
-			}
-		}
-		return false;
+		return initMethodsEqual(bean1, bean2);
 	}
 
 	private boolean propertyValuesEqual(Object value1, Object value2) {
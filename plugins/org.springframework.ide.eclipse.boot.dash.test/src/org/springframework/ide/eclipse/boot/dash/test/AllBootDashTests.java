@@ -15,6 +15,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 import org.springframework.ide.eclipse.boot.dash.test.actuator.ActuatorClientTest;
 import org.springframework.ide.eclipse.boot.dash.test.actuator.ActuatorDataTest;
+import org.springframework.ide.eclipse.boot.dash.test.actuator.LiveBeansStreamingParserTest;
 import org.springframework.ide.eclipse.boot.dash.test.yaml.AppNameReconcilerTest;
 import org.springframework.ide.eclipse.boot.dash.test.yaml.CFRouteTests;
 import org.springframework.ide.eclipse.boot.dash.test.yaml.DeploymentProperties2YamlTest;
@@ -29,6 +30,13 @@ import org.springframework.ide.eclipse.boot.dash.test.yaml.Yaml2DeploymentProper
 	//New: (move down the chain later based on runtime)
 	JmxSupportTest.class,
 	PropertyFileStoreTest.class,
+	ApplicationArchiveCacheTest.class,
+	LiveDataPollingHubTest.class,
+	LiveBeansStreamingParserTest.class,
+	TreeUpdateCoalescerTest.class,
+	LogRingBufferTest.class,
+	ReadyStateMonitorTest.class,
+	ProcessOutputAnalyzerTest.class,
 
 	// Manifest YAML/Deployment Properties tests (less than 2 seconds per suite)
 	DeploymentProperties2YamlTest.class,
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.packaging.ApplicationArchiveCache;
+
+public class ApplicationArchiveCacheTest {
+
+	private File workDir;
+	private File cacheDir;
+
+	@Before
+	public void setup() throws Exception {
+		workDir = Files.createTempDirectory("archive-cache-test").toFile();
+		cacheDir = new File(workDir, "cache");
+	}
+
+	@After
+	public void tearDown() {
+		FileUtils.deleteQuietly(workDir);
+	}
+
+	@Test
+	public void sha1OfFileContents() throws Exception {
+		File file = createFile("hello.txt", "hello");
+		ApplicationArchiveCache cache = ApplicationArchiveCache.forDirectory(cacheDir);
+		assertEquals("aaf4c61ddcc5e8a2dabede0f3b482cd9aea9434d", cache.sha1(file));
+	}
+
+	@Test
+	public void layerOnlyRewrittenWhenFingerprintChanges() throws Exception {
+		ApplicationArchiveCache cache = ApplicationArchiveCache.forDirectory(cacheDir);
+		AtomicInteger writes = new AtomicInteger();
+		ApplicationArchiveCache.ArtifactWriter writer = (target) -> {
+			writes.incrementAndGet();
+			write(target, "layer");
+		};
+
+		cache.begin();
+		File layer = cache.getLayer("app.jar", "1", writer);
+		assertEquals(1, writes.get());
+		assertEquals(5, cache.getBytesWritten());
+		assertEquals(0, cache.getBytesReused());
+		cache.save();
+
+		cache.begin();
+		assertEquals(layer, cache.getLayer("app.jar", "1", writer));
+		assertEquals(1, writes.get());
+		assertEquals(0, cache.getBytesWritten());
+		assertEquals(5, cache.getBytesReused());
+
+		cache.getLayer("app.jar", "2", writer);
+		assertEquals(2, writes.get());
+	}
+
+	@Test
+	public void rebuiltLayerLeavesHandedOutFileAlone() throws Exception {
+		ApplicationArchiveCache cache = ApplicationArchiveCache.forDirectory(cacheDir);
+		cache.begin();
+		File first = cache.getLayer("app.jar", "1", (target) -> write(target, "first"));
+		cache.save();
+
+		cache.begin();
+		File second = cache.getLayer("app.jar", "2", (target) -> write(target, "second"));
+		cache.save();
+		assertNotEquals(first, second);
+		assertEquals("first", read(first));
+		assertEquals("second", read(second));
+
+		//Only the layers of the latest two builds are kept
+		cache.begin();
+		cache.getLayer("app.jar", "3", (target) -> write(target, "third"));
+		cache.save();
+		assertFalse(first.exists());
+		assertTrue(second.exists());
+	}
+
+	@Test
+	public void failedWriteLeavesNoLayer() throws Exception {
+		ApplicationArchiveCache cache = ApplicationArchiveCache.forDirectory(cacheDir);
+		cache.begin();
+		try {
+			cache.getLayer("app.jar", "1", (target) -> {
+				write(target, "partial");
+				throw new IOException("Write failed");
+			});
+		} catch (IOException e) {
+			//expected
+		}
+		String[] files = cacheDir.list();
+		assertEquals(0, files == null ? 0 : files.length);
+	}
+
+	@Test
+	public void nestedJarsAreContentAddressedAndPruned() throws Exception {
+		File folder = new File(workDir, "classes");
+		createFile("classes/a/A.class", "A");
+		createFile("classes/b/B.class", "B");
+
+		ApplicationArchiveCache cache = ApplicationArchiveCache.forDirectory(cacheDir);
+		cache.begin();
+		Map<String, File> entries = new LinkedHashMap<>();
+		String fingerprint = cache.fingerprintFolder(folder, entries);
+		assertEquals(2, entries.size());
+		assertTrue(entries.containsKey("a/A.class"));
+		File nested = cache.getNestedJar(fingerprint, (target) -> write(target, "jar"));
+		cache.save();
+		assertTrue(nested.isFile());
+
+		//Unchanged folder: same fingerprint, jar is reused
+		cache.begin();
+		assertEquals(fingerprint, cache.fingerprintFolder(folder, new LinkedHashMap<>()));
+		cache.getNestedJar(fingerprint, (target) -> {
+			throw new IOException("Should not be rewritten");
+		});
+		cache.save();
+
+		//Changed contents: new fingerprint, old jar gets pruned
+		write(new File(folder, "a/A.class"), "AA");
+		cache.begin();
+		String changed = cache.fingerprintFolder(folder, new LinkedHashMap<>());
+		assertNotEquals(fingerprint, changed);
+		cache.getNestedJar(changed, (target) -> write(target, "jar"));
+		cache.save();
+		assertFalse(nested.exists());
+	}
+
+	@Test
+	public void firstFolderWins() throws Exception {
+		File first = createFile("first/x.properties", "1").getParentFile();
+		File second = createFile("second/x.properties", "2").getParentFile();
+
+		ApplicationArchiveCache cache = ApplicationArchiveCache.forDirectory(cacheDir);
+		Map<String, File> entries = new LinkedHashMap<>();
+		cache.fingerprintFolder(first, entries);
+		cache.fingerprintFolder(second, entries);
+		assertEquals(new File(first, "x.properties"), entries.get("x.properties"));
+	}
+
+	private File createFile(String path, String contents) throws IOException {
+		File file = new File(workDir, path);
+		file.getParentFile().mkdirs();
+		write(file, contents);
+		return file;
+	}
+
+	private static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	private static void write(File file, String contents) throws IOException {
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
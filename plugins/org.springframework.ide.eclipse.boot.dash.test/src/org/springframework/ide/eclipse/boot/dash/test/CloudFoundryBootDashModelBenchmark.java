@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugPlugin;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.CloudFoundryBootDashModel;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFAppState;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFClientParams;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.ops.ConnectOperation;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.routes.RouteBinding;
+import org.springframework.ide.eclipse.boot.dash.model.UserInteractions;
+import org.springframework.ide.eclipse.boot.dash.test.mocks.MockCFApplication;
+import org.springframework.ide.eclipse.boot.dash.test.mocks.MockCFSpace;
+import org.springframework.ide.eclipse.boot.dash.test.mocks.MockCloudFoundryClientFactory;
+import org.springframework.ide.eclipse.boot.dash.test.util.BenchmarkReport;
+import org.springframework.ide.eclipse.boot.dash.test.util.BenchmarkReport.Sample;
+import org.springframework.ide.eclipse.boot.dash.test.util.BenchmarkReport.Stopwatch;
+import org.springframework.ide.eclipse.boot.test.AutobuildingEnablement;
+import org.springframework.ide.eclipse.boot.test.util.TestBracketter;
+
+/**
+ * Runs the real Cloud Foundry boot dash model and its refresh operations against a mock CF
+ * serving a large space, with simulated request latency. Reports, per operation, the time it
+ * takes for the model to settle, the number of requests by type, allocations and the number of
+ * change events the model fires (each of which makes the boot dash view do some work).
+ * <p>
+ * Not part of {@link AllBootDashTests}, as it takes a while. The size of the space, latency and
+ * number of runs can be set with system properties, see the constants below. The report is
+ * printed, and written to the file given by 'boot.dash.benchmark.report' if set. The mock space
+ * is generated from a fixed seed, so reports of different versions can be compared line by line.
+ */
+public class CloudFoundryBootDashModelBenchmark {
+
+	private static final int APPS = Integer.getInteger("boot.dash.benchmark.apps", 2000);
+	private static final int SERVICES = Integer.getInteger("boot.dash.benchmark.services", 500);
+	private static final int ROUTES_PER_APP = Integer.getInteger("boot.dash.benchmark.routesPerApp", 2);
+	private static final int LATENCY_MS = Integer.getInteger("boot.dash.benchmark.latencyMs", 5);
+	private static final int RUNS = Integer.getInteger("boot.dash.benchmark.runs", 5);
+	private static final String REPORT_FILE = System.getProperty("boot.dash.benchmark.report");
+
+	/**
+	 * Fraction of apps whose state changes between runs of 'refresh.afterChanges'.
+	 */
+	private static final double CHANGED_FRACTION = 0.1;
+
+	private static final long SETTLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+
+	@Rule
+	public AutobuildingEnablement disableAutoBuild = new AutobuildingEnablement(false);
+
+	@Rule
+	public TestBracketter testBracketter = new TestBracketter();
+
+	private UserInteractions ui;
+	private MockCloudFoundryClientFactory clientFactory;
+	private CloudFoundryTestHarness harness;
+	private final Random random = new Random(42);
+
+	private final AtomicLong elementEvents = new AtomicLong();
+	private final AtomicLong modelEvents = new AtomicLong();
+	private final AtomicLong elementSetEvents = new AtomicLong();
+
+	@Before
+	public void setup() throws Exception {
+		this.ui = mock(UserInteractions.class);
+		TestBootDashModelContext context = new TestBootDashModelContext(
+				ResourcesPlugin.getWorkspace(),
+				DebugPlugin.getDefault().getLaunchManager(),
+				ui
+		);
+		this.clientFactory = new MockCloudFoundryClientFactory();
+		this.harness = CloudFoundryTestHarness.create(context, clientFactory);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		harness.dispose();
+	}
+
+	@Test
+	public void refreshLargeSpace() throws Exception {
+		CFClientParams params = CfTestTargetParams.fromEnv();
+		MockCFSpace space = clientFactory.defSpace(params.getOrgName(), params.getSpaceName());
+		List<MockCFApplication> apps = populate(space);
+		int expectedElements = APPS + SERVICES;
+
+		BenchmarkReport report = new BenchmarkReport();
+		report.parameter("apps", APPS);
+		report.parameter("services", SERVICES);
+		report.parameter("routesPerApp", ROUTES_PER_APP);
+		report.parameter("latencyMs", LATENCY_MS);
+		report.parameter("runs", RUNS);
+
+		//Latency doesn't apply to creating the target, that's just setup
+		clientFactory.resetRequestCounts();
+		Stopwatch connect = new Stopwatch();
+		CloudFoundryBootDashModel target = harness.createCfTarget(params);
+		waitSettled(target, expectedElements);
+		report.add("connect", measured(connect.stop()));
+		clientFactory.setRequestLatency(TimeUnit.MILLISECONDS, LATENCY_MS);
+
+		target.addElementStateListener((e) -> elementEvents.incrementAndGet());
+		target.addModelStateListener((m) -> modelEvents.incrementAndGet());
+		target.getElements().addListener((e, v) -> elementSetEvents.incrementAndGet());
+
+		for (int run = 0; run < RUNS; run++) {
+			reset();
+			Stopwatch refresh = new Stopwatch();
+			target.refresh(ui);
+			waitSettled(target, expectedElements);
+			report.add("refresh.unchanged", measured(refresh.stop()));
+
+			changeSomeApps(space, apps);
+			reset();
+			refresh = new Stopwatch();
+			target.refresh(ui);
+			waitSettled(target, expectedElements);
+			report.add("refresh.afterChanges", measured(refresh.stop()));
+
+			target.disconnect();
+			waitForJobs();
+			reset();
+			Stopwatch reconnect = new Stopwatch();
+			target.getOperationsExecution().runAsynch(new ConnectOperation(target, true));
+			waitSettled(target, expectedElements);
+			report.add("reconnect", measured(reconnect.stop()));
+		}
+
+		assertEquals(expectedElements, target.getElements().getValue().size());
+		report.write(REPORT_FILE == null ? null : new File(REPORT_FILE));
+	}
+
+	/**
+	 * Fills the space with apps (each with a few routes) and services.
+	 */
+	private List<MockCFApplication> populate(MockCFSpace space) {
+		List<MockCFApplication> apps = new ArrayList<>(APPS);
+		for (int i = 0; i < APPS; i++) {
+			MockCFApplication app = newApp(space, String.format("app-%05d", i));
+			apps.add(app);
+			space.put(app);
+		}
+		for (int i = 0; i < SERVICES; i++) {
+			space.defService(String.format("service-%05d", i));
+		}
+		return apps;
+	}
+
+	private MockCFApplication newApp(MockCFSpace space, String name) {
+		UUID guid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+		CFAppState state = random.nextInt(4) == 0 ? CFAppState.STOPPED : CFAppState.STARTED;
+		MockCFApplication app = new MockCFApplication(clientFactory, space, name, guid, 1 + random.nextInt(3), state);
+		List<RouteBinding> routes = new ArrayList<>(ROUTES_PER_APP);
+		for (int r = 0; r < ROUTES_PER_APP; r++) {
+			RouteBinding route = new RouteBinding();
+			route.setHost(name + "-" + r);
+			route.setDomain(clientFactory.getDefaultDomain());
+			routes.add(route);
+		}
+		app.setRoutes(routes);
+		return app;
+	}
+
+	/**
+	 * Replaces some apps by ones with the same name and guid, but (likely) a different state.
+	 */
+	private void changeSomeApps(MockCFSpace space, List<MockCFApplication> apps) {
+		int changes = (int) (apps.size() * CHANGED_FRACTION);
+		for (int i = 0; i < changes; i++) {
+			int index = random.nextInt(apps.size());
+			MockCFApplication changed = newApp(space, apps.get(index).getName());
+			apps.set(index, changed);
+			space.put(changed);
+		}
+	}
+
+	private void reset() {
+		clientFactory.resetRequestCounts();
+		elementEvents.set(0);
+		modelEvents.set(0);
+		elementSetEvents.set(0);
+	}
+
+	private Sample measured(Sample sample) {
+		long total = 0;
+		for (Entry<String, Integer> e : clientFactory.getRequestCounts().entrySet()) {
+			sample.count("requests." + e.getKey(), e.getValue());
+			total += e.getValue();
+		}
+		sample.count("requests.total", total);
+		sample.count("events.element", elementEvents.get());
+		sample.count("events.model", modelEvents.get());
+		sample.count("events.elementSet", elementSetEvents.get());
+		return sample;
+	}
+
+	/**
+	 * Waits until the model shows all elements and its operations are done. Polls often, so as not
+	 * to add much to the measured time.
+	 */
+	private void waitSettled(CloudFoundryBootDashModel target, int expectedElements) throws Exception {
+		long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT;
+		while (!(Job.getJobManager().isIdle() && target.getElements().getValue().size() == expectedElements)) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Model didn't settle, has " + target.getElements().getValue().size() + " elements");
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	private void waitForJobs() throws Exception {
+		long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT;
+		while (!Job.getJobManager().isIdle()) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Jobs didn't complete");
+			}
+			Thread.sleep(5);
+		}
+	}
+
+}
@@ -50,10 +50,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
@@ -66,7 +69,9 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.jface.action.IAction;
 import org.junit.After;
@@ -879,6 +884,103 @@ public class CloudFoundryBootDashModelMockingTest {
 		doUnchangedAppRestartTest(app, deployedApp);
 	}
 
+	@Test public void multiProjectDeployLimitsConcurrentPushes() throws Exception {
+		CFClientParams targetParams = CfTestTargetParams.fromEnv();
+		clientFactory.defSpace(targetParams.getOrgName(), targetParams.getSpaceName());
+		CloudFoundryBootDashModel target = harness.createCfTarget(targetParams);
+		target.getRunTarget().setMaxConcurrentPushes(2);
+		Semaphore permits = target.getRunTarget().getPushPermits();
+
+		CountDownLatch pushesReleased = new CountDownLatch(1);
+		clientFactory.setPushInterceptor((appName, cancelationToken) -> pushesReleased.await());
+		Set<IProject> toDeploy = createProjectsToDeploy(3);
+		harness.answerDeploymentPrompt(ui, new DeploymentAnswerer());
+		target.performDeployment(toDeploy, ui, RunState.RUNNING);
+
+		ACondition.waitFor("third push waiting for a permit", APP_DEPLOY_TIMEOUT, () -> {
+			assertEquals(2, clientFactory.getMaxPushesInProgress());
+			assertTrue(permits.hasQueuedThreads());
+		});
+		pushesReleased.countDown();
+		for (IProject project : toDeploy) {
+			ACondition.waitFor("app for "+project.getName(), APP_DEPLOY_TIMEOUT, () -> assertNotNull(getApplication(target, project)));
+			waitForState(getApplication(target, project), RunState.RUNNING, APP_DEPLOY_TIMEOUT);
+		}
+		assertEquals(2, clientFactory.getMaxPushesInProgress());
+		ACondition.waitFor("permits released", 2_000, () -> assertEquals(2, permits.availablePermits()));
+	}
+
+	@Test public void multiProjectDeployReleasesPermitOfFailedPush() throws Exception {
+		CFClientParams targetParams = CfTestTargetParams.fromEnv();
+		clientFactory.defSpace(targetParams.getOrgName(), targetParams.getSpaceName());
+		CloudFoundryBootDashModel target = harness.createCfTarget(targetParams);
+		target.getRunTarget().setMaxConcurrentPushes(1);
+		Semaphore permits = target.getRunTarget().getPushPermits();
+
+		Set<IProject> toDeploy = createProjectsToDeploy(2);
+		IProject failing = toDeploy.iterator().next();
+		clientFactory.setPushInterceptor((appName, cancelationToken) -> {
+			if (appName.equals(failing.getName())) {
+				throw new IOException("Simulated push failure");
+			}
+		});
+		harness.answerDeploymentPrompt(ui, new DeploymentAnswerer());
+		target.performDeployment(toDeploy, ui, RunState.RUNNING);
+
+		//With a single permit, the other project only gets pushed if the failed push gave it back
+		for (IProject project : toDeploy) {
+			if (project != failing) {
+				ACondition.waitFor("app for "+project.getName(), APP_DEPLOY_TIMEOUT, () -> assertNotNull(getApplication(target, project)));
+				waitForState(getApplication(target, project), RunState.RUNNING, APP_DEPLOY_TIMEOUT);
+			}
+		}
+		verify(ui).errorPopup(any(), contains("Simulated push failure"));
+		ACondition.waitFor("permit released", 2_000, () -> assertEquals(1, permits.availablePermits()));
+	}
+
+	@Test public void canceledMultiProjectDeployReleasesPermits() throws Exception {
+		CFClientParams targetParams = CfTestTargetParams.fromEnv();
+		clientFactory.defSpace(targetParams.getOrgName(), targetParams.getSpaceName());
+		CloudFoundryBootDashModel target = harness.createCfTarget(targetParams);
+		target.getRunTarget().setMaxConcurrentPushes(1);
+		Semaphore permits = target.getRunTarget().getPushPermits();
+
+		AtomicInteger pushes = new AtomicInteger();
+		clientFactory.setPushInterceptor((appName, cancelationToken) -> {
+			pushes.incrementAndGet();
+			while (!cancelationToken.isCanceled()) {
+				Thread.sleep(50);
+			}
+			throw new OperationCanceledException();
+		});
+		Set<IProject> toDeploy = createProjectsToDeploy(2);
+		harness.answerDeploymentPrompt(ui, new DeploymentAnswerer());
+		target.performDeployment(toDeploy, ui, RunState.RUNNING);
+
+		ACondition.waitFor("second push waiting for a permit", APP_DEPLOY_TIMEOUT, () -> {
+			assertEquals(1, pushes.get());
+			assertTrue(permits.hasQueuedThreads());
+		});
+		for (Job job : Job.getJobManager().find(null)) {
+			if ("Deploying projects".equals(job.getName())) {
+				job.cancel();
+			}
+		}
+		waitForJobsToComplete();
+		//The running push was canceled and the queued one never started
+		assertEquals(1, pushes.get());
+		assertFalse(permits.hasQueuedThreads());
+		assertEquals(1, permits.availablePermits());
+	}
+
+	private Set<IProject> createProjectsToDeploy(int howMany) throws Exception {
+		Builder<IProject> toDeploy = ImmutableSet.builder();
+		for (int i = 1; i <= howMany; i++) {
+			toDeploy.add(projects.createBootProject("to-deploy-"+i, withStarters("web", "actuator")));
+		}
+		return toDeploy.build();
+	}
+
 	@Test public void redeploy_app_and_enable_ssh_tunnel() throws Exception {
 		String appName = "tunneled-jmx-app";
 		String apiUrl = "https://api.some-cloud.com";
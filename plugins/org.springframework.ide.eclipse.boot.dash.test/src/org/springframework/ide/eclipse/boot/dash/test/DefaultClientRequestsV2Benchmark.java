@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.cloudfoundry.client.CloudFoundryClient;
+import org.cloudfoundry.client.v2.Metadata;
+import org.cloudfoundry.client.v2.applications.ApplicationEntity;
+import org.cloudfoundry.client.v2.applications.ApplicationInstanceInfo;
+import org.cloudfoundry.client.v2.applications.ApplicationInstancesRequest;
+import org.cloudfoundry.client.v2.applications.ApplicationInstancesResponse;
+import org.cloudfoundry.client.v2.applications.ApplicationResource;
+import org.cloudfoundry.client.v2.applications.ApplicationStatisticsRequest;
+import org.cloudfoundry.client.v2.applications.ApplicationStatisticsResponse;
+import org.cloudfoundry.client.v2.applications.InstanceStatistics;
+import org.cloudfoundry.client.v2.applications.Statistics;
+import org.cloudfoundry.client.v2.applications.SummaryApplicationRequest;
+import org.cloudfoundry.client.v2.applications.SummaryApplicationResponse;
+import org.cloudfoundry.client.v2.applications.Usage;
+import org.cloudfoundry.client.v2.domains.Domain;
+import org.cloudfoundry.client.v2.info.GetInfoRequest;
+import org.cloudfoundry.client.v2.info.GetInfoResponse;
+import org.cloudfoundry.client.v2.organizations.ListOrganizationsRequest;
+import org.cloudfoundry.client.v2.organizations.ListOrganizationsResponse;
+import org.cloudfoundry.client.v2.organizations.OrganizationEntity;
+import org.cloudfoundry.client.v2.organizations.OrganizationResource;
+import org.cloudfoundry.client.v2.routes.Route;
+import org.cloudfoundry.client.v2.spaces.GetSpaceSummaryRequest;
+import org.cloudfoundry.client.v2.spaces.GetSpaceSummaryResponse;
+import org.cloudfoundry.client.v2.spaces.ListSpaceApplicationsRequest;
+import org.cloudfoundry.client.v2.spaces.ListSpaceApplicationsResponse;
+import org.cloudfoundry.client.v2.spaces.ListSpacesRequest;
+import org.cloudfoundry.client.v2.spaces.ListSpacesResponse;
+import org.cloudfoundry.client.v2.spaces.SpaceApplicationSummary;
+import org.cloudfoundry.client.v2.spaces.SpaceEntity;
+import org.cloudfoundry.client.v2.spaces.SpaceResource;
+import org.cloudfoundry.client.v2.stacks.GetStackRequest;
+import org.cloudfoundry.client.v2.stacks.GetStackResponse;
+import org.cloudfoundry.client.v2.stacks.StackEntity;
+import org.cloudfoundry.reactor.DefaultConnectionContext;
+import org.cloudfoundry.reactor.TokenProvider;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFApplication;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFApplicationDetail;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFClientParams;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFCredentials;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.v2.CloudFoundryClientCache;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.v2.DefaultClientRequestsV2;
+import org.springframework.ide.eclipse.boot.dash.test.mocks.StubCloudFoundryClient;
+import org.springframework.ide.eclipse.boot.dash.test.util.BenchmarkReport;
+import org.springframework.ide.eclipse.boot.dash.test.util.BenchmarkReport.Sample;
+import org.springframework.ide.eclipse.boot.dash.test.util.BenchmarkReport.Stopwatch;
+
+/**
+ * Runs the real v2 client requests ({@link DefaultClientRequestsV2} and the cf operations
+ * library below it) against a {@link StubCloudFoundryClient} serving a large space, with
+ * simulated request latency. Reports, per operation, its time, allocations and the number of
+ * cloud controller requests by type.
+ * <p>
+ * Complements {@link CloudFoundryBootDashModelBenchmark}, which measures the model on top of the
+ * mock client instead. Not part of {@link AllBootDashTests}. The size of the space, latency and
+ * number of runs can be set with the same system properties, and the report is written to the
+ * file given by 'boot.dash.benchmark.v2.report' if set. The space is generated from a fixed
+ * seed, so reports of different versions can be compared line by line.
+ */
+public class DefaultClientRequestsV2Benchmark {
+
+	private static final int APPS = Integer.getInteger("boot.dash.benchmark.apps", 2000);
+	private static final int ROUTES_PER_APP = Integer.getInteger("boot.dash.benchmark.routesPerApp", 2);
+	private static final int LATENCY_MS = Integer.getInteger("boot.dash.benchmark.latencyMs", 5);
+	private static final int RUNS = Integer.getInteger("boot.dash.benchmark.runs", 5);
+	private static final String REPORT_FILE = System.getProperty("boot.dash.benchmark.v2.report");
+
+	private static final Duration TIMEOUT = Duration.ofMinutes(5);
+
+	private static final String ORG = "stub-org";
+	private static final String SPACE = "stub-space";
+	private static final String ORG_ID = UUID.nameUUIDFromBytes(ORG.getBytes(StandardCharsets.UTF_8)).toString();
+	private static final String SPACE_ID = UUID.nameUUIDFromBytes(SPACE.getBytes(StandardCharsets.UTF_8)).toString();
+	private static final String STACK_ID = "stack-cflinuxfs2";
+	private static final String DOMAIN = "stubapps.io";
+
+	private final Random random = new Random(42);
+	private final StubCloudFoundryClient stub = new StubCloudFoundryClient();
+
+	private CloudFoundryClientCache clients;
+	private CFClientParams params;
+
+	@Before
+	public void setup() throws Exception {
+		populate();
+		clients = new CloudFoundryClientCache() {
+			@Override
+			protected CloudFoundryClient createClient(DefaultConnectionContext connection, TokenProvider tokenProvider) {
+				return stub.getClient();
+			}
+		};
+		params = new CFClientParams("https://api.stub.example.com", "user", CFCredentials.fromPassword("secret"),
+				false, ORG, SPACE, false);
+	}
+
+	@Test
+	public void requestsLargeSpace() throws Exception {
+		BenchmarkReport report = new BenchmarkReport();
+		report.parameter("apps", APPS);
+		report.parameter("routesPerApp", ROUTES_PER_APP);
+		report.parameter("latencyMs", LATENCY_MS);
+		report.parameter("runs", RUNS);
+
+		stub.setRequestLatency(TimeUnit.MILLISECONDS, LATENCY_MS);
+
+		//Warm up, so that class loading doesn't end up in the first measurement
+		run(new BenchmarkReport());
+
+		for (int i = 0; i < RUNS; i++) {
+			run(report);
+		}
+		report.write(REPORT_FILE == null ? null : new File(REPORT_FILE));
+	}
+
+	/**
+	 * Uses a new client, like the boot dash does when it (re)connects, so org and space lookups
+	 * are part of the first request.
+	 */
+	private void run(BenchmarkReport report) throws Exception {
+		DefaultClientRequestsV2 client = new DefaultClientRequestsV2(clients, params);
+		try {
+			stub.resetRequestCounts();
+			Stopwatch list = new Stopwatch();
+			List<CFApplication> apps = client.getApplicationsWithBasicInfo();
+			report.add("applicationsWithBasicInfo", measured(list.stop()));
+			assertEquals(APPS, apps.size());
+
+			stub.resetRequestCounts();
+			Stopwatch details = new Stopwatch();
+			List<CFApplicationDetail> detailed = client.getApplicationDetails(apps).collectList().block(TIMEOUT);
+			report.add("applicationDetails", measured(details.stop()));
+			assertEquals(APPS, detailed.size());
+		} finally {
+			client.dispose();
+		}
+	}
+
+	private Sample measured(Sample sample) {
+		long total = 0;
+		for (Entry<String, Integer> e : stub.getRequestCounts().entrySet()) {
+			sample.count("requests." + e.getKey(), e.getValue());
+			total += e.getValue();
+		}
+		sample.count("requests.total", total);
+		return sample;
+	}
+
+	/**
+	 * Generates the apps of the space and registers the responses the cloud controller would give for them.
+	 */
+	private void populate() {
+		List<SpaceApplicationSummary> summaries = new ArrayList<>(APPS);
+		Map<String, ApplicationResource> appsByName = new HashMap<>();
+		Map<String, SummaryApplicationResponse> detailsById = new HashMap<>();
+		Map<String, ApplicationInstancesResponse> instancesById = new HashMap<>();
+		Map<String, ApplicationStatisticsResponse> statisticsById = new HashMap<>();
+		for (int i = 0; i < APPS; i++) {
+			String name = String.format("app-%05d", i);
+			String id = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString();
+			String state = random.nextInt(4) == 0 ? "STOPPED" : "STARTED";
+			int instances = 1 + random.nextInt(3);
+			int running = "STARTED".equals(state) ? instances : 0;
+
+			List<Route> routes = new ArrayList<>(ROUTES_PER_APP);
+			List<String> urls = new ArrayList<>(ROUTES_PER_APP);
+			for (int r = 0; r < ROUTES_PER_APP; r++) {
+				String host = name + "-" + r;
+				routes.add(Route.builder()
+						.id(id + "-" + r)
+						.host(host)
+						.domain(Domain.builder().id(DOMAIN).name(DOMAIN).build())
+						.build());
+				urls.add(host + "." + DOMAIN);
+			}
+
+			summaries.add(SpaceApplicationSummary.builder()
+					.id(id)
+					.name(name)
+					.state(state)
+					.instances(instances)
+					.runningInstances(running)
+					.memory(1024)
+					.diskQuota(1024)
+					.urls(urls)
+					.build());
+			appsByName.put(name, ApplicationResource.builder()
+					.metadata(metadata(id))
+					.entity(ApplicationEntity.builder()
+							.name(name)
+							.state(state)
+							.instances(instances)
+							.memory(1024)
+							.diskQuota(1024)
+							.spaceId(SPACE_ID)
+							.stackId(STACK_ID)
+							.build())
+					.build());
+			detailsById.put(id, SummaryApplicationResponse.builder()
+					.id(id)
+					.name(name)
+					.state(state)
+					.instances(instances)
+					.runningInstances(running)
+					.memory(1024)
+					.diskQuota(1024)
+					.buildpack("java_buildpack")
+					.stackId(STACK_ID)
+					.routes(routes)
+					.build());
+
+			ApplicationInstancesResponse.Builder instancesResponse = ApplicationInstancesResponse.builder();
+			ApplicationStatisticsResponse.Builder statisticsResponse = ApplicationStatisticsResponse.builder();
+			for (int n = 0; n < running; n++) {
+				instancesResponse.instance("" + n, ApplicationInstanceInfo.builder()
+						.state("RUNNING")
+						.since(1.5e9)
+						.build());
+				statisticsResponse.instance("" + n, InstanceStatistics.builder()
+						.state("RUNNING")
+						.statistics(Statistics.builder()
+								.diskQuota(1024L * 1024 * 1024)
+								.memoryQuota(1024L * 1024 * 1024)
+								.usage(Usage.builder()
+										.cpu(random.nextDouble())
+										.disk(100L * 1024 * 1024)
+										.memory(300L * 1024 * 1024)
+										.build())
+								.build())
+						.build());
+			}
+			instancesById.put(id, instancesResponse.build());
+			statisticsById.put(id, statisticsResponse.build());
+		}
+
+		GetSpaceSummaryResponse spaceSummary = GetSpaceSummaryResponse.builder()
+				.id(SPACE_ID)
+				.name(SPACE)
+				.applications(summaries)
+				.build();
+
+		stub
+		.on(GetInfoRequest.class, (r) -> GetInfoResponse.builder().apiVersion("2.120.0").build())
+		.on(ListOrganizationsRequest.class, (r) -> ListOrganizationsResponse.builder()
+				.resource(OrganizationResource.builder()
+						.metadata(metadata(ORG_ID))
+						.entity(OrganizationEntity.builder().name(ORG).build())
+						.build())
+				.totalPages(1)
+				.totalResults(1)
+				.build())
+		.on(ListSpacesRequest.class, (r) -> ListSpacesResponse.builder()
+				.resource(SpaceResource.builder()
+						.metadata(metadata(SPACE_ID))
+						.entity(SpaceEntity.builder().name(SPACE).organizationId(ORG_ID).build())
+						.build())
+				.totalPages(1)
+				.totalResults(1)
+				.build())
+		.on(GetSpaceSummaryRequest.class, (r) -> spaceSummary)
+		.on(ListSpaceApplicationsRequest.class, (r) -> {
+			ListSpaceApplicationsResponse.Builder response = ListSpaceApplicationsResponse.builder();
+			for (String name : r.getNames()) {
+				ApplicationResource app = appsByName.get(name);
+				if (app != null) {
+					response.resource(app);
+				}
+			}
+			return response.totalPages(1).build();
+		})
+		.on(SummaryApplicationRequest.class, (r) -> detailsById.get(r.getApplicationId()))
+		.on(ApplicationInstancesRequest.class, (r) -> instancesById.get(r.getApplicationId()))
+		.on(ApplicationStatisticsRequest.class, (r) -> statisticsById.get(r.getApplicationId()))
+		.on(GetStackRequest.class, (r) -> GetStackResponse.builder()
+				.metadata(metadata(r.getStackId()))
+				.entity(StackEntity.builder().name("cflinuxfs2").build())
+				.build());
+	}
+
+	private static Metadata metadata(String id) {
+		return Metadata.builder().id(id).build();
+	}
+
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.dash.livexp.LiveDataPollingHub;
+import org.springframework.ide.eclipse.boot.dash.livexp.LiveDataPollingHub.PolledLiveExp;
+import org.springsource.ide.eclipse.commons.frameworks.test.util.ACondition;
+
+public class LiveDataPollingHubTest {
+
+	private static class TestSource implements LiveDataPollingHub.DataSource<String> {
+
+		volatile String json = "a";
+		final AtomicInteger fetches = new AtomicInteger();
+		final AtomicInteger parses = new AtomicInteger();
+
+		@Override
+		public ImmutablePair<String, String> fetch() throws Exception {
+			fetches.incrementAndGet();
+			return ImmutablePair.of(json, "2");
+		}
+
+		@Override
+		public String parse(ImmutablePair<String, String> payload) throws Exception {
+			parses.incrementAndGet();
+			return payload.left;
+		}
+	}
+
+	@Test
+	public void sleepsUntilAsked() throws Exception {
+		TestSource source = new TestSource();
+		Object connection = new Object();
+		PolledLiveExp<String> exp = LiveDataPollingHub.getDefault().subscribe(connection, Duration.ofMillis(50), source);
+		try {
+			Thread.sleep(200);
+			assertEquals(0, source.fetches.get());
+
+			exp.pollOnce();
+			ACondition.waitFor("first value", 2000, () -> assertEquals("a", exp.getValue()));
+			Thread.sleep(200);
+			assertEquals(1, source.fetches.get());
+		} finally {
+			exp.dispose();
+		}
+		assertFalse(LiveDataPollingHub.getDefault().getConnections().contains(connection));
+	}
+
+	@Test
+	public void onlyPublishesChangedPayloads() throws Exception {
+		TestSource source = new TestSource();
+		PolledLiveExp<String> exp = LiveDataPollingHub.getDefault().subscribe(new Object(), Duration.ofMillis(20), source);
+		AtomicInteger changes = new AtomicInteger();
+		exp.addListener((e, v) -> changes.incrementAndGet());
+		try {
+			exp.pollFor(Duration.ofSeconds(10));
+			ACondition.waitFor("first value", 2000, () -> assertEquals("a", exp.getValue()));
+			ACondition.waitFor("a few polls", 2000, () -> assertTrue(source.fetches.get() >= 3));
+			assertEquals(1, source.parses.get());
+			int changesBefore = changes.get();
+
+			source.json = "b";
+			exp.pollOnce();
+			ACondition.waitFor("changed value", 2000, () -> assertEquals("b", exp.getValue()));
+			assertEquals(2, source.parses.get());
+			assertEquals(changesBefore + 1, changes.get());
+		} finally {
+			exp.dispose();
+		}
+	}
+
+	@Test
+	public void resetsValueWhenFetchFails() throws Exception {
+		TestSource source = new TestSource() {
+			@Override
+			public ImmutablePair<String, String> fetch() throws Exception {
+				if (json==null) {
+					throw new IllegalStateException("App went away");
+				}
+				return super.fetch();
+			}
+		};
+		PolledLiveExp<String> exp = LiveDataPollingHub.getDefault().subscribe(new Object(), Duration.ofMillis(20), source);
+		try {
+			exp.pollOnce();
+			ACondition.waitFor("first value", 2000, () -> assertEquals("a", exp.getValue()));
+
+			source.json = null;
+			exp.pollOnce();
+			ACondition.waitFor("value reset", 2000, () -> assertNull(exp.getValue()));
+
+			source.json = "a";
+			exp.pollOnce();
+			ACondition.waitFor("value back", 2000, () -> assertEquals("a", exp.getValue()));
+		} finally {
+			exp.dispose();
+		}
+	}
+
+	@Test
+	public void coalescesPerConnection() throws Exception {
+		Object connection = new Object();
+		CountDownLatch gateOpen = new CountDownLatch(1);
+		AtomicReference<Job> poller = new AtomicReference<>();
+		AtomicInteger runs = new AtomicInteger();
+		TestSource gate = new TestSource() {
+			@Override
+			public ImmutablePair<String, String> fetch() throws Exception {
+				Job job = Job.getJobManager().currentJob();
+				if (poller.compareAndSet(null, job)) {
+					job.addJobChangeListener(new JobChangeAdapter() {
+						@Override
+						public void aboutToRun(IJobChangeEvent event) {
+							runs.incrementAndGet();
+						}
+					});
+				}
+				gateOpen.await();
+				return super.fetch();
+			}
+		};
+		RecordingSource source1 = new RecordingSource(runs);
+		RecordingSource source2 = new RecordingSource(runs);
+		PolledLiveExp<String> exp0 = LiveDataPollingHub.getDefault().subscribe(connection, Duration.ofSeconds(5), gate);
+		PolledLiveExp<String> exp1 = LiveDataPollingHub.getDefault().subscribe(connection, Duration.ofSeconds(5), source1);
+		PolledLiveExp<String> exp2 = LiveDataPollingHub.getDefault().subscribe(connection, Duration.ofSeconds(5), source2);
+		try {
+			assertEquals(1, LiveDataPollingHub.getDefault().getConnections().stream().filter(c -> c == connection).count());
+
+			//Hold the connection's poller in the gate, so that both subscribers are due before it gets to them
+			exp0.pollOnce();
+			ACondition.waitFor("poller blocked in gate", 2000, () -> assertEquals(1, gate.fetches.get()));
+			exp1.pollOnce();
+			exp2.pollOnce();
+			gateOpen.countDown();
+
+			ACondition.waitFor("both values", 2000, () -> {
+				assertEquals("a", exp1.getValue());
+				assertEquals("a", exp2.getValue());
+			});
+			assertEquals(1, source1.fetches.get());
+			assertEquals(1, source2.fetches.get());
+			assertSame(poller.get(), source1.fetchedBy);
+			assertSame(poller.get(), source2.fetchedBy);
+			assertEquals(source1.fetchedInRun, source2.fetchedInRun);
+		} finally {
+			exp0.dispose();
+			exp1.dispose();
+		}
+		assertTrue(LiveDataPollingHub.getDefault().getConnections().contains(connection));
+		exp2.dispose();
+		assertFalse(LiveDataPollingHub.getDefault().getConnections().contains(connection));
+	}
+
+	/**
+	 * Remembers which poller job fetched it and in which of the job's runs.
+	 */
+	private static class RecordingSource extends TestSource {
+
+		final AtomicInteger runs;
+		volatile Job fetchedBy;
+		volatile int fetchedInRun = -1;
+
+		RecordingSource(AtomicInteger runs) {
+			this.runs = runs;
+		}
+
+		@Override
+		public ImmutablePair<String, String> fetch() throws Exception {
+			fetchedBy = Job.getJobManager().currentJob();
+			fetchedInRun = runs.get();
+			return super.fetch();
+		}
+	}
+
+}
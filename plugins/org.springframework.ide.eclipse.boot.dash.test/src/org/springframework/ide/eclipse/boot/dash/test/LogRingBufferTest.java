@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.console.LogRingBuffer;
+
+public class LogRingBufferTest {
+
+	@Test
+	public void fifoOrder() throws Exception {
+		LogRingBuffer<String> buffer = new LogRingBuffer<>(4);
+		assertTrue(buffer.isEmpty());
+		//Go around the ring a few times
+		for (int lap = 0; lap < 3; lap++) {
+			buffer.offer("a");
+			buffer.offer("b");
+			buffer.offer("c");
+			assertFalse(buffer.isEmpty());
+			assertEquals("a", buffer.poll());
+			assertEquals("b", buffer.poll());
+			assertEquals("c", buffer.poll());
+			assertNull(buffer.poll());
+			assertTrue(buffer.isEmpty());
+		}
+	}
+
+	@Test
+	public void dropsWhenFull() throws Exception {
+		LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+		for (int i = 0; i < 6; i++) {
+			assertEquals(i < 4, buffer.offer(i));
+		}
+		assertEquals(2, buffer.takeDroppedCount());
+		assertEquals(0, buffer.takeDroppedCount());
+
+		assertEquals(0, (int) buffer.poll());
+		assertTrue(buffer.offer(4));
+		assertEquals(1, (int) buffer.poll());
+		assertEquals(2, (int) buffer.poll());
+		assertEquals(3, (int) buffer.poll());
+		assertEquals(4, (int) buffer.poll());
+		assertNull(buffer.poll());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void capacityMustBePowerOfTwo() throws Exception {
+		new LogRingBuffer<String>(1000);
+	}
+
+	@Test
+	public void concurrentProducers() throws Exception {
+		final int producers = 4;
+		final int linesPerProducer = 50000;
+		LogRingBuffer<int[]> buffer = new LogRingBuffer<>(1024);
+		CountDownLatch done = new CountDownLatch(producers);
+		AtomicInteger accepted = new AtomicInteger();
+		for (int p = 0; p < producers; p++) {
+			final int producer = p;
+			new Thread(() -> {
+				for (int i = 0; i < linesPerProducer; i++) {
+					if (buffer.offer(new int[] {producer, i})) {
+						accepted.incrementAndGet();
+					}
+				}
+				done.countDown();
+			}).start();
+		}
+
+		//Single consumer, like the console's drain job. Lines of each producer must come out in order.
+		int[] last = new int[producers];
+		Arrays.fill(last, -1);
+		List<int[]> taken = new ArrayList<>();
+		while (done.getCount() > 0 || !buffer.isEmpty()) {
+			int[] line = buffer.poll();
+			if (line != null) {
+				assertTrue(line[1] > last[line[0]]);
+				last[line[0]] = line[1];
+				taken.add(line);
+			}
+		}
+		assertEquals(accepted.get(), taken.size());
+		assertEquals(producers * linesPerProducer, accepted.get() + buffer.takeDroppedCount());
+	}
+
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.eclipse.debug.core.model.IProcess;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.dash.test.mocks.MockProcessOutput;
+import org.springframework.ide.eclipse.boot.dash.util.MultiPatternMatcher;
+import org.springframework.ide.eclipse.boot.dash.util.ProcessOutputAnalyzer;
+import org.springframework.ide.eclipse.boot.dash.util.ProcessOutputEvent;
+import org.springframework.ide.eclipse.boot.dash.util.ProcessOutputEvent.Kind;
+
+public class ProcessOutputAnalyzerTest {
+
+	private final ProcessOutputAnalyzer analyzer = new ProcessOutputAnalyzer();
+	private final List<ProcessOutputEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+	@After
+	public void tearDown() throws Exception {
+		analyzer.dispose();
+	}
+
+	private MockProcessOutput attachedOutput() {
+		MockProcessOutput out = new MockProcessOutput();
+		IProcess process = MockProcessOutput.launchWithOutput(out).getProcesses()[0];
+		analyzer.subscribe(events::add);
+		analyzer.attach(process);
+		return out;
+	}
+
+	@Test
+	public void matcherFindsOverlappingKeywords() throws Exception {
+		MultiPatternMatcher matcher = new MultiPatternMatcher("he", "she", "his", "hers");
+		MultiPatternMatcher.State state = matcher.newState();
+		assertEquals(0, state.feed("x"));
+		assertEquals(0, state.feed("s"));
+		assertEquals(0b011, state.feed("he"));
+		assertEquals(0b1000, state.feed("rs"));
+		assertEquals(0b0100, state.feed("ahis"));
+		state.reset();
+		assertEquals(0, state.feed("ers"));
+	}
+
+	@Test
+	public void typedEvents() throws Exception {
+		MockProcessOutput out = attachedOutput();
+		out.print("2016-10-10 10:00:00.000  INFO 1234 --- [main] o.s.b.w.embedded.tomcat.TomcatWebServer  : Tomcat started on port(s): 8080 (http) with context path ''\n");
+		out.print("2016-10-10 10:00:00.100  INFO 1234 --- [main] com.example.DemoApplication : Started DemoApplication in 2.5 seconds (JVM running for 3.1)\n");
+		out.print("java.lang.IllegalStateException: boom\n");
+		out.print("\tat com.example.ExceptionThrower.run(ExceptionThrower.java:12)\n");
+		out.print("Caused by: java.io.IOException: bang\r\n");
+
+		assertEquals(4, events.size());
+		assertEquals(Kind.PORT_OPENED, events.get(0).getKind());
+		assertEquals(8080, events.get(0).getPort());
+		assertEquals(Kind.APP_STARTED, events.get(1).getKind());
+		assertEquals(Kind.EXCEPTION_LOGGED, events.get(2).getKind());
+		assertEquals("java.lang.IllegalStateException: boom", events.get(2).getLine());
+		assertEquals(Kind.EXCEPTION_LOGGED, events.get(3).getKind());
+		assertEquals("Caused by: java.io.IOException: bang", events.get(3).getLine());
+	}
+
+	@Test
+	public void keywordsSpanningChunks() throws Exception {
+		MockProcessOutput out = attachedOutput();
+		String line = "Netty started on port(s): 9090\n";
+		for (int i = 0; i < line.length(); i++) {
+			out.print(line.substring(i, i + 1));
+		}
+		assertEquals(1, events.size());
+		assertEquals(9090, events.get(0).getPort());
+		assertEquals("Netty started on port(s): 9090", events.get(0).getLine());
+
+		//Keywords don't span lines
+		out.print("started on\nport 1234\n");
+		assertEquals(1, events.size());
+	}
+
+	@Test
+	public void analyzesOutputPrintedBeforeAttaching() throws Exception {
+		MockProcessOutput out = new MockProcessOutput();
+		out.print("Started DemoApplication in 1.5 seconds (JVM running for 2.0)\n");
+		IProcess process = MockProcessOutput.launchWithOutput(out).getProcesses()[0];
+		assertFalse(analyzer.hasSeen(process, Kind.APP_STARTED));
+		analyzer.attach(process);
+		assertTrue(analyzer.hasSeen(process, Kind.APP_STARTED));
+		assertFalse(analyzer.hasSeen(process, Kind.PORT_OPENED));
+
+		analyzer.detach(process);
+		assertEquals(0, out.getListenerCount());
+	}
+
+	@Test
+	public void noisyOutput() throws Exception {
+		MockProcessOutput out = attachedOutput();
+		StringBuilder chunk = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			chunk.append("2016-10-10 10:00:00.000 DEBUG 1234 --- [main] o.s.b.SomeComponent : Nothing interesting to see here, line ").append(i).append('\n');
+		}
+		String text = chunk.toString();
+		for (int i = 0; i < 1000; i++) {
+			out.print(text);
+		}
+		assertTrue(events.isEmpty());
+	}
+
+	@Test
+	public void attachWhilePrinting() throws Exception {
+		MockProcessOutput out = new MockProcessOutput();
+		IProcess process = MockProcessOutput.launchWithOutput(out).getProcesses()[0];
+		analyzer.subscribe(events::add);
+		int lines = 5000;
+		CountDownLatch printing = new CountDownLatch(1);
+		Thread printer = new Thread(() -> {
+			for (int port = 1; port <= lines; port++) {
+				out.print("Tomcat started on port(s): " + port + "\n");
+				if (port == 100) {
+					printing.countDown();
+				}
+			}
+		});
+		printer.start();
+		printing.await();
+		analyzer.attach(process);
+		printer.join();
+
+		//Every line exactly once, whether it was printed before, during or after attaching
+		assertEquals(lines, events.size());
+		for (int i = 0; i < lines; i++) {
+			assertEquals(i + 1, events.get(i).getPort());
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.model.IProcess;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.dash.test.mocks.MockProcessOutput;
+import org.springframework.ide.eclipse.boot.dash.util.AbstractPollingAppReadyStateMonitor;
+import org.springframework.ide.eclipse.boot.dash.util.ProcessOutputAnalyzer;
+import org.springframework.ide.eclipse.boot.dash.util.ProcessOutputEvent.Kind;
+import org.springsource.ide.eclipse.commons.frameworks.test.util.ACondition;
+import org.springsource.ide.eclipse.commons.livexp.ui.Disposable;
+
+public class ReadyStateMonitorTest {
+
+	/**
+	 * Stands in for the app's ready state, as it would be obtained via JMX.
+	 */
+	private static class FakeAppMonitor extends AbstractPollingAppReadyStateMonitor {
+
+		final AtomicBoolean appReady = new AtomicBoolean();
+
+		FakeAppMonitor(ILaunch launch) {
+			super(launch);
+		}
+
+		@Override
+		protected boolean checkReady() {
+			return appReady.get();
+		}
+	}
+
+	private FakeAppMonitor monitor;
+	private ILaunch launch;
+
+	@After
+	public void tearDown() throws Exception {
+		if (monitor != null) {
+			monitor.dispose();
+		}
+		if (launch != null) {
+			//Fake processes never terminate, so the analyzer doesn't detach on its own
+			for (IProcess p : launch.getProcesses()) {
+				ProcessOutputAnalyzer.getDefault().detach(p);
+			}
+		}
+	}
+
+	private ILaunch launchWithOutput(MockProcessOutput out) {
+		return launch = MockProcessOutput.launchWithOutput(out);
+	}
+
+	@Test
+	public void readyAsSoonAsStartedMarkerIsPrinted() throws Exception {
+		MockProcessOutput out = new MockProcessOutput();
+		monitor = new FakeAppMonitor(launchWithOutput(out));
+		monitor.startPolling();
+		ACondition.waitFor("attached to output", 2000, () -> assertEquals(1, out.getListenerCount()));
+
+		//App boots. Nothing happens until the marker shows up, polling is slow.
+		out.print("  .   ____          _            __ _ _\n");
+		out.print("2016-10-10 10:00:00.000  INFO 1234 --- [main] com.example.DemoApplication : Starting DemoApplication\n");
+		ACondition.waitFor("first check", 2000, () -> assertTrue(monitor.getCheckCount() >= 1));
+		assertFalse(monitor.getReady().getValue());
+
+		monitor.appReady.set(true);
+		long start = System.currentTimeMillis();
+		//Marker split across chunks of output
+		out.print("2016-10-10 10:00:03.000  INFO 1234 --- [main] com.example.DemoApplication : Started Demo");
+		out.print("Application in 3.141 seconds (JVM running for 3.6)\n");
+		ACondition.waitFor("ready", 1000, () -> assertTrue(monitor.getReady().getValue()));
+		long timeToReady = System.currentTimeMillis() - start;
+		assertTrue("Slow ready detection: " + timeToReady + " ms", timeToReady < AbstractPollingAppReadyStateMonitor.FALLBACK_POLLING_INTERVAL);
+	}
+
+	@Test
+	public void fallsBackToPollingWithoutMarker() throws Exception {
+		MockProcessOutput out = new MockProcessOutput();
+		monitor = new FakeAppMonitor(launchWithOutput(out));
+		monitor.startPolling();
+		ACondition.waitFor("attached to output", 2000, () -> assertEquals(1, out.getListenerCount()));
+
+		//E.g. app with logging turned off
+		monitor.appReady.set(true);
+		ACondition.waitFor("ready", AbstractPollingAppReadyStateMonitor.FALLBACK_POLLING_INTERVAL + 2000,
+				() -> assertTrue(monitor.getReady().getValue()));
+	}
+
+	@Test
+	public void markerPrintedBeforeAttaching() throws Exception {
+		MockProcessOutput out = new MockProcessOutput();
+		out.print("Started DemoApplication in 1.5 seconds (JVM running for 2.0)\n");
+		monitor = new FakeAppMonitor(launchWithOutput(out));
+		monitor.startPolling();
+		//Boot logs the marker just before the app becomes ready, so the first check may miss it
+		ACondition.waitFor("first check", 2000, () -> assertTrue(monitor.getCheckCount() >= 1));
+		assertFalse(monitor.getReady().getValue());
+
+		monitor.appReady.set(true);
+		long start = System.currentTimeMillis();
+		ACondition.waitFor("ready", AbstractPollingAppReadyStateMonitor.FALLBACK_POLLING_INTERVAL + 2000,
+				() -> assertTrue(monitor.getReady().getValue()));
+		long timeToReady = System.currentTimeMillis() - start;
+		//Only the marker seen on attaching gets it checked again before the fallback poll
+		assertTrue("Marker missed: " + timeToReady + " ms", timeToReady < AbstractPollingAppReadyStateMonitor.FALLBACK_POLLING_INTERVAL);
+	}
+
+	@Test
+	public void noChecksAfterDispose() throws Exception {
+		MockProcessOutput out = new MockProcessOutput();
+		monitor = new FakeAppMonitor(launchWithOutput(out));
+		monitor.startPolling();
+		ACondition.waitFor("attached to output", 2000, () -> assertEquals(1, out.getListenerCount()));
+		monitor.dispose();
+		int checks = monitor.getCheckCount();
+		AtomicBoolean markerSeen = new AtomicBoolean();
+		Disposable subscription = ProcessOutputAnalyzer.getDefault().subscribe((event) -> {
+			if (event.getKind() == Kind.APP_STARTED && event.getProcess().getLaunch() == launch) {
+				markerSeen.set(true);
+			}
+		});
+		try {
+			out.print("Started DemoApplication in 1.5 seconds (JVM running for 2.0)\n");
+			ACondition.waitFor("marker analyzed", 2000, () -> assertTrue(markerSeen.get()));
+		} finally {
+			subscription.dispose();
+		}
+		assertEquals(checks, monitor.getCheckCount());
+		monitor = null;
+	}
+
+}
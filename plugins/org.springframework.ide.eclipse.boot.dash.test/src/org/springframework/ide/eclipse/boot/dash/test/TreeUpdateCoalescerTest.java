@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.ide.eclipse.boot.dash.views.sections.TreeUpdateCoalescer;
+import org.springframework.ide.eclipse.boot.dash.views.sections.TreeUpdateCoalescer.Batch;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+public class TreeUpdateCoalescerTest {
+
+	private final List<Runnable> scheduled = new ArrayList<>();
+	private final List<Batch> applied = new ArrayList<>();
+	private final TreeUpdateCoalescer updates = new TreeUpdateCoalescer(scheduled::add, applied::add);
+
+	private Batch runFrame() {
+		assertEquals(1, scheduled.size());
+		Runnable flush = scheduled.remove(0);
+		flush.run();
+		assertEquals(1, applied.size());
+		return applied.remove(0);
+	}
+
+	@Test
+	public void schedulesOnceAndDedupes() throws Exception {
+		updates.updated("local", "a");
+		updates.updated("local", "a");
+		updates.updated("cf", "b");
+		assertEquals(1, scheduled.size());
+
+		Batch batch = runFrame();
+		assertEquals(3, batch.getEventCount());
+		assertEquals(ImmutableMap.of("local", ImmutableSet.of("a"), "cf", ImmutableSet.of("b")), batch.getUpdated());
+		assertEquals(1, updates.getBatchCount());
+		assertEquals(3, updates.getEventCount());
+
+		//Next change schedules another frame
+		updates.updated("local", "a");
+		runFrame();
+	}
+
+	@Test
+	public void addAndRemoveCancelOut() throws Exception {
+		updates.added("cf", ImmutableList.of("a", "b"));
+		updates.removed("cf", ImmutableList.of("a", "c"));
+		updates.updated("cf", "b");
+		Batch batch = runFrame();
+		assertEquals(ImmutableMap.of("cf", ImmutableSet.of("b")), batch.getAdded());
+		assertEquals(ImmutableMap.of("cf", ImmutableSet.of("c")), batch.getRemoved());
+		assertTrue(batch.getUpdated().isEmpty());
+
+		updates.removed("cf", ImmutableList.of("a"));
+		updates.added("cf", ImmutableList.of("a"));
+		batch = runFrame();
+		assertTrue(batch.getAdded().isEmpty());
+		assertTrue(batch.getRemoved().isEmpty());
+		assertEquals(ImmutableMap.of("cf", ImmutableSet.of("a")), batch.getUpdated());
+	}
+
+	@Test
+	public void sectionRefreshSubsumesItsChanges() throws Exception {
+		updates.added("cf", ImmutableList.of("a"));
+		updates.updated("local", "b");
+		updates.refreshSection("cf");
+		updates.updated("cf", "c");
+		Batch batch = runFrame();
+		assertEquals(ImmutableSet.of("cf"), batch.getRefreshedSections());
+		assertTrue(batch.getAdded().isEmpty());
+		assertEquals(ImmutableMap.of("local", ImmutableSet.of("b")), batch.getUpdated());
+
+		updates.updated("local", "b");
+		updates.refreshAll();
+		updates.refreshSection("cf");
+		updates.added("cf", ImmutableList.of("x"));
+		batch = runFrame();
+		assertTrue(batch.isRefreshAll());
+		assertTrue(batch.getRefreshedSections().isEmpty());
+		assertTrue(batch.getUpdated().isEmpty());
+		assertTrue(batch.getAdded().isEmpty());
+	}
+
+	@Test
+	public void nothingAppliedAfterDispose() throws Exception {
+		updates.refreshAll();
+		updates.dispose();
+		scheduled.remove(0).run();
+		assertTrue(applied.isEmpty());
+		updates.refreshAll();
+		assertTrue(scheduled.isEmpty());
+	}
+
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test.actuator;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansJsonParser;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansStreamingParser;
+
+/**
+ * Compares the time the tree based and the streaming parser take to parse the /beans response
+ * of a large app. Prints the minimum and median time of each as 'key=value' lines.
+ * <p>
+ * Not part of {@link org.springframework.ide.eclipse.boot.dash.test.AllBootDashTests}. The number
+ * of beans and runs can be set with 'live.beans.benchmark.beans' and 'live.beans.benchmark.runs'.
+ */
+public class LiveBeansStreamingParserBenchmark {
+
+	private static final int BEANS = Integer.getInteger("live.beans.benchmark.beans", 5000);
+	private static final int RUNS = Integer.getInteger("live.beans.benchmark.runs", 10);
+
+	@Test
+	public void parseLargeApp() throws Exception {
+		String json = LiveBeansStreamingParserTest.largeAppJson(BEANS);
+
+		//Warm up, so that class loading and JIT don't end up in the first measurement
+		new LiveBeansJsonParser(null, json).parse();
+		new LiveBeansStreamingParser(null).parse(json);
+
+		long[] tree = new long[RUNS];
+		long[] streaming = new long[RUNS];
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			new LiveBeansJsonParser(null, json).parse();
+			tree[run] = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			new LiveBeansStreamingParser(null).parse(json);
+			streaming[run] = System.nanoTime() - start;
+		}
+
+		System.out.println("beans=" + BEANS);
+		System.out.println("chars=" + json.length());
+		System.out.println("runs=" + RUNS);
+		report("parseLargeApp.tree", tree);
+		report("parseLargeApp.streaming", streaming);
+	}
+
+	private void report(String key, long[] times) {
+		Arrays.sort(times);
+		System.out.println(key + ".minUs=" + times[0] / 1000);
+		System.out.println(key + ".medianUs=" + times[times.length / 2] / 1000);
+	}
+
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test.actuator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBean;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansContext;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansJsonParser;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansJsonParser2;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelDiff;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansStreamingParser;
+
+public class LiveBeansStreamingParserTest {
+
+	@Test
+	public void sameModelAsTreeParserBoot1() throws Exception {
+		String json = ActuatorClientTest.getContents("beans-sample.json");
+		LiveBeansModel expected = new LiveBeansJsonParser(null, json).parse();
+		LiveBeansModel actual = new LiveBeansStreamingParser(null).parse(json);
+		assertEquals(expected, actual);
+		assertEquals(expected.getBeans(), actual.getBeans());
+		assertEquals(expected.getBeansByResource(), actual.getBeansByResource());
+		assertTrue(LiveBeansModelDiff.compute(expected, actual).isEmpty());
+	}
+
+	@Test
+	public void sameModelAsTreeParserBoot2() throws Exception {
+		String json = ActuatorClientTest.getContents("beans-sample-boot2-1.json");
+		LiveBeansModel expected = new LiveBeansJsonParser2(null, json).parse();
+		LiveBeansModel actual = new LiveBeansStreamingParser(null).parse(json);
+		assertTrue(LiveBeansModelDiff.compute(expected, actual).isEmpty());
+		assertEquals("application:9999", actual.getBeansByContext().get(0).getLabel());
+	}
+
+	@Test
+	public void contextsMapAndDependencies() throws Exception {
+		String json = "{\"contexts\": {"
+				+ "\"parent\": {\"parentId\": null, \"beans\": {\"a\": {\"scope\": \"singleton\", \"type\": \"A\", \"dependencies\": []}}},"
+				+ "\"child\": {\"parent\": \"parent\", \"beans\": {\"b\": {\"type\": \"B\", \"aliases\": [\"x\", {\"y\": 1}], \"dependencies\": [\"a\", \"unknown\"]}}}"
+				+ "}}";
+		LiveBeansModel model = new LiveBeansStreamingParser(null).parse(json);
+		List<String> contexts = model.getBeansByContext().stream().map(LiveBeansContext::getLabel).collect(Collectors.toList());
+		assertEquals("[parent, child]", contexts.toString());
+		LiveBeansContext child = model.getBeansByContext().get(1);
+		assertEquals("parent", child.getParent().getLabel());
+		assertNull(model.getBeansByContext().get(0).getParent());
+
+		LiveBean b = child.getElements().get(0);
+		assertEquals("b", b.getId());
+		assertEquals("child", b.getAttributes().get(LiveBeansContext.ATTR_CONTEXT));
+		List<LiveBean> dependencies = b.getDependencies().stream().collect(Collectors.toList());
+		assertEquals(2, dependencies.size());
+		assertEquals(model.getBeans().get(0), dependencies.get(0));
+		assertTrue(dependencies.get(0).getInjectedInto().contains(b));
+		assertTrue(dependencies.get(1).isInnerBean());
+
+		assertTrue(LiveBeansModelDiff.compute(new LiveBeansJsonParser2(null, json).parse(), model).isEmpty());
+	}
+
+	@Test
+	public void diff() throws Exception {
+		LiveBeansStreamingParser parser = new LiveBeansStreamingParser(null);
+		LiveBeansModel original = parser.parse(boot1Json(new String[][] {
+			{"a", "A"}, {"b", "B", "a"}, {"c", "C"}
+		}));
+		LiveBeansModel modified = parser.parse(boot1Json(new String[][] {
+			{"a", "A"}, {"b", "B", "c"}, {"d", "D"}
+		}));
+
+		LiveBeansModelDiff diff = LiveBeansModelDiff.compute(original, modified);
+		assertFalse(diff.isEmpty());
+		assertFalse(diff.isContextsChanged());
+		assertEquals("[d]", ids(diff.getAdded()));
+		assertEquals("[c]", ids(diff.getRemoved()));
+		assertEquals("[b]", ids(diff.getChanged()));
+
+		assertTrue(LiveBeansModelDiff.compute(original, parser.parse(boot1Json(new String[][] {
+			{"a", "A"}, {"b", "B", "a"}, {"c", "C"}
+		}))).isEmpty());
+
+		LiveBeansModelDiff fromNothing = LiveBeansModelDiff.compute(null, original);
+		assertEquals("[a, b, c]", ids(fromNothing.getAdded()));
+		assertTrue(fromNothing.isContextsChanged());
+		assertFalse(LiveBeansModelDiff.isDifferent(original, parser.parse(boot1Json(new String[][] {
+			{"a", "A"}, {"b", "B", "a"}, {"c", "C"}
+		}))));
+		assertTrue(diff.isDifferent());
+		assertTrue(fromNothing.isDifferent());
+		assertTrue(LiveBeansModelDiff.compute(original, null).isDifferent());
+		assertFalse(LiveBeansModelDiff.compute(null, null).isDifferent());
+	}
+
+	@Test
+	public void sameModelAsTreeParserLargeApp() throws Exception {
+		String json = largeAppJson(5000);
+		LiveBeansModel expected = new LiveBeansJsonParser(null, json).parse();
+		LiveBeansModel actual = new LiveBeansStreamingParser(null).parse(json);
+		assertEquals(expected, actual);
+		assertTrue(LiveBeansModelDiff.compute(expected, actual).isEmpty());
+	}
+
+	/**
+	 * Creates Boot 1.x beans json for an app with the given number of beans, each with a few dependencies.
+	 */
+	static String largeAppJson(int beanCount) {
+		String[][] beans = new String[beanCount][];
+		for (int i = 0; i < beans.length; i++) {
+			beans[i] = new String[] { "bean" + i, "com.example.generated.Type" + i, "bean" + (i / 2), "bean" + (i / 3), "external" + (i % 50) };
+		}
+		return boot1Json(beans);
+	}
+
+	/**
+	 * Creates Boot 1.x beans json for a single context. Each bean is given as id, type and dependency ids.
+	 */
+	private static String boot1Json(String[][] beans) {
+		StringBuilder json = new StringBuilder("[{\"context\": \"application\", \"parent\": null, \"beans\": [");
+		for (int i = 0; i < beans.length; i++) {
+			String[] bean = beans[i];
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("\n  {\"bean\": \"").append(bean[0]).append("\", \"aliases\": [], \"scope\": \"singleton\", ");
+			json.append("\"type\": \"").append(bean[1]).append("\", ");
+			json.append("\"resource\": \"class path resource [").append(bean[1].replace('.', '/')).append(".class]\", ");
+			json.append("\"dependencies\": [");
+			for (int j = 2; j < bean.length; j++) {
+				if (j > 2) {
+					json.append(", ");
+				}
+				json.append('"').append(bean[j]).append('"');
+			}
+			json.append("]}");
+		}
+		return json.append("]}]").toString();
+	}
+
+	private static String ids(List<LiveBean> beans) {
+		return beans.stream().map(LiveBean::getId).collect(Collectors.toList()).toString();
+	}
+
+}
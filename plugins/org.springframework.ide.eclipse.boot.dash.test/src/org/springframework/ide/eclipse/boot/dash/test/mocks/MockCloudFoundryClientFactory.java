@@ -20,7 +20,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.RandomStringUtils;
@@ -55,11 +57,13 @@ import org.springsource.ide.eclipse.commons.livexp.core.LiveVariable;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
 
 import junit.framework.Assert;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 
@@ -89,6 +93,26 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 	private Exception notImplementedStubCalled = null;
 	private long startDelay = 0;
 
+	/**
+	 * Number of app detail requests in flight at once, for simulated latency to add up realistically.
+	 */
+	private static final int APP_DETAILS_CONCURRENCY = 10;
+
+	private volatile long requestLatency = 0;
+	private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+	/**
+	 * Called at the start of each push, may block or throw to simulate slow or failing pushes.
+	 */
+	@FunctionalInterface
+	public interface PushInterceptor {
+		void beforePush(String appName, CancelationToken cancelationToken) throws Exception;
+	}
+
+	private volatile PushInterceptor pushInterceptor = null;
+	private final AtomicInteger pushesInProgress = new AtomicInteger();
+	private final AtomicInteger maxPushesInProgress = new AtomicInteger();
+
 	public MockCloudFoundryClientFactory() {
 		defDomain("cfmockapps.io"); //Lost of functionality may assume there's at least one domain so make sure we have one.
 		defBuildpacks("java-buildpack", "ruby-buildpack", "funky-buildpack", "another-buildpack");
@@ -246,24 +270,30 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 
 		@Override
 		public Flux<CFApplicationDetail> getApplicationDetails(List<CFApplication> appsToLookUp) throws Exception {
-			checkConnection();
+			checkConnection("getApplicationDetails");
 			MockCFSpace space = getSpace();
 			return Flux.fromIterable(appsToLookUp)
 			.flatMap((app) -> {
-				return Mono.justOrEmpty(space.getApplication(app.getGuid()).getDetailedInfo());
-			});
+				//Like the real client, fetch details with one request per app
+				Mono<CFApplicationDetail> detail = Mono.fromCallable(() -> {
+					countRequest("getApplicationDetail");
+					MockCFApplication mockApp = space.getApplication(app.getGuid());
+					return mockApp==null ? null : mockApp.getDetailedInfo();
+				});
+				return requestLatency > 0 ? detail.subscribeOn(Schedulers.elastic()) : detail;
+			}, APP_DETAILS_CONCURRENCY);
 		}
 
 		@Override
 		public Disposable streamLogs(String appName, IApplicationLogConsole logConsole) throws Exception {
-			checkConnection();
+			checkConnection("streamLogs");
 			//TODO: This 'log streamer' is a total dummy for now. It doesn't stream any data and canceling it does nothing.
            return Flux.empty().subscribe();
 		}
 
 		@Override
 		public void stopApplication(String appName) throws Exception {
-			checkConnection();
+			checkConnection("stopApplication");
 			MockCFApplication app = getSpace().getApplication(appName);
 			if (app==null) {
 				throw errorAppNotFound(appName);
@@ -273,7 +303,7 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 
 		@Override
 		public void restartApplication(String appName, CancelationToken cancelationToken) throws Exception {
-			checkConnection();
+			checkConnection("restartApplication");
 			MockCFApplication app = getSpace().getApplication(appName);
 			if (app==null) {
 				throw errorAppNotFound(appName);
@@ -297,7 +327,7 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 		@SuppressWarnings("unchecked")
 		@Override
 		public List<CFSpace> getSpaces() throws Exception {
-			checkConnection();
+			checkConnection("getSpaces");
 			@SuppressWarnings("rawtypes")
 			List hack = ImmutableList.copyOf(spacesByName.values());
 			return hack;
@@ -305,7 +335,7 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 
 		@Override
 		public List<CFServiceInstance> getServices() throws Exception {
-			checkConnection();
+			checkConnection("getServices");
 			return getSpace().getServices();
 		}
 
@@ -325,25 +355,25 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 
 		@Override
 		public List<CFCloudDomain> getDomains() throws Exception {
-			checkConnection();
+			checkConnection("getDomains");
 			return ImmutableList.<CFCloudDomain>copyOf(domainsByName.values());
 		}
 
 		@Override
 		public List<CFBuildpack> getBuildpacks() throws Exception {
-			checkConnection();
+			checkConnection("getBuildpacks");
 			return ImmutableList.<CFBuildpack>copyOf(buildpacksByName.values());
 		}
 
 		@Override
 		public List<CFApplication> getApplicationsWithBasicInfo() throws Exception {
-			checkConnection();
+			checkConnection("getApplicationsWithBasicInfo");
 			return getSpace().getApplicationsWithBasicInfo();
 		}
 
 		@Override
 		public CFApplicationDetail getApplication(String appName) throws Exception {
-			checkConnection();
+			checkConnection("getApplication");
 			MockCFApplication app = getSpace().getApplication(appName);
 			if (app!=null) {
 				return app.getDetailedInfo();
@@ -363,7 +393,7 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 
 		@Override
 		public void deleteApplication(String name) throws Exception {
-			checkConnection();
+			checkConnection("deleteApplication");
 			if (!getSpace().removeApp(name)) {
 				throw errorAppNotFound(name);
 			}
@@ -371,7 +401,7 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 
 		@Override
 		public String getHealthCheck(UUID appGuid) throws Exception {
-			checkConnection();
+			checkConnection("getHealthCheck");
 			MockCFApplication app = getApplication(appGuid);
 			if (app == null) {
 				throw errorAppNotFound("GUID: "+appGuid.toString());
@@ -391,8 +421,12 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 		 * Operations on 'invalid' connection are expected to throw Exceptions.
 		 * Calling this method makes the operations behave as expected. For example,
 		 * fail when logged out, or when connection was created with invalid credentials.
+		 * <p>
+		 * The request is also counted and takes as long as the simulated request latency,
+		 * see {@link MockCloudFoundryClientFactory#setRequestLatency(TimeUnit, long)}.
 		 */
-		private void checkConnection() throws Exception {
+		private void checkConnection(String request) throws Exception {
+			countRequest(request);
 			if (!connected) {
 				throw errorClientNotConnected();
 			}
@@ -429,25 +463,38 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 
 		@Override
 		public void setHealthCheck(UUID guid, String hcType) throws Exception {
-			checkConnection();
+			checkConnection("setHealthCheck");
 			notImplementedStub();
 		}
 
 		@Override
 		public List<CFStack> getStacks() throws Exception {
-			checkConnection();
+			checkConnection("getStacks");
 			return ImmutableList.<CFStack>copyOf(stacksByName.values());
 		}
 
 		@Override
 		public boolean applicationExists(String appName) throws Exception {
-			checkConnection();
+			checkConnection("applicationExists");
 			return getSpace().getApplication(appName) !=null;
 		}
 
 		@Override
 		public void push(CFPushArguments args, CancelationToken cancelationToken) throws Exception {
-			checkConnection();
+			checkConnection("push");
+			maxPushesInProgress.accumulateAndGet(pushesInProgress.incrementAndGet(), Math::max);
+			try {
+				PushInterceptor interceptor = pushInterceptor;
+				if (interceptor!=null) {
+					interceptor.beforePush(args.getAppName(), cancelationToken);
+				}
+				doPush(args, cancelationToken);
+			} finally {
+				pushesInProgress.decrementAndGet();
+			}
+		}
+
+		private void doPush(CFPushArguments args, CancelationToken cancelationToken) throws Exception {
 			System.out.println("Pushing: "+args);
 			//TODO: should check services exist and raise an error because non-existant services cannot be bound.
 			MockCFSpace space = getSpace();
@@ -548,7 +595,7 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 
 		@Override
 		public Map<String, String> getApplicationEnvironment(String appName) throws Exception {
-			checkConnection();
+			checkConnection("getApplicationEnvironment");
 			MockCFApplication app = getSpace().getApplication(appName);
 			if (app==null) {
 				throw errorAppNotFound(appName);
@@ -560,7 +607,7 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 		public Mono<Void> deleteServiceAsync(String serviceName) {
 			return Mono.defer(() -> {
 				try {
-					checkConnection();
+					checkConnection("deleteServiceAsync");
 					getSpace().deleteService(serviceName);
 					return Mono.empty();
 				} catch (Exception e) {
@@ -573,7 +620,7 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 		public Mono<String> getUserName() {
 			return Mono.defer(() -> {
 				try {
-					checkConnection();
+					checkConnection("getUserName");
 					return Mono.just(params.getUsername());
 				} catch (Exception e) {
 					return Mono.error(e);
@@ -646,6 +693,47 @@ public class MockCloudFoundryClientFactory extends CloudFoundryClientFactory {
 		return startDelay;
 	}
 
+	/**
+	 * Makes every request of the mock clients take (at least) the given amount of time.
+	 */
+	public void setRequestLatency(TimeUnit timeUnit, long howMany) {
+		requestLatency = timeUnit.toMillis(howMany);
+	}
+
+	public void setPushInterceptor(PushInterceptor interceptor) {
+		pushInterceptor = interceptor;
+	}
+
+	/**
+	 * @return the largest number of pushes that were in progress at the same time.
+	 */
+	public int getMaxPushesInProgress() {
+		return maxPushesInProgress.get();
+	}
+
+	private void countRequest(String request) throws InterruptedException {
+		requestCounts.computeIfAbsent(request, (r) -> new AtomicInteger()).incrementAndGet();
+		long latency = requestLatency;
+		if (latency > 0) {
+			Thread.sleep(latency);
+		}
+	}
+
+	/**
+	 * @return number of requests made by the mock clients since the last reset, by request type.
+	 */
+	public ImmutableSortedMap<String, Integer> getRequestCounts() {
+		ImmutableSortedMap.Builder<String, Integer> builder = ImmutableSortedMap.naturalOrder();
+		for (Map.Entry<String, AtomicInteger> e : requestCounts.entrySet()) {
+			builder.put(e.getKey(), e.getValue().get());
+		}
+		return builder.build();
+	}
+
+	public void resetRequestCounts() {
+		requestCounts.clear();
+	}
+
 	public void setApiVersion(String string) {
 		apiVersion = new Version(string);
 	}
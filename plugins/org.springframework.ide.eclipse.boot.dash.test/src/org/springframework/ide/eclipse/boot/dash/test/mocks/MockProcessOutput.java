@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test.mocks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.IStreamListener;
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.eclipse.debug.core.model.IStreamsProxy;
+
+/**
+ * Output stream of a fake app process. Text 'printed' to it is passed on to its listeners.
+ * <p>
+ * Like Eclipse's own stream monitors, it appends to its contents and notifies its listeners
+ * while holding its lock.
+ */
+public class MockProcessOutput implements IStreamMonitor {
+
+	private final StringBuilder contents = new StringBuilder();
+	private final CopyOnWriteArrayList<IStreamListener> listeners = new CopyOnWriteArrayList<>();
+
+	@Override
+	public synchronized void addListener(IStreamListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public synchronized String getContents() {
+		return contents.toString();
+	}
+
+	@Override
+	public void removeListener(IStreamListener listener) {
+		listeners.remove(listener);
+	}
+
+	public synchronized void print(String text) {
+		contents.append(text);
+		for (IStreamListener l : listeners) {
+			l.streamAppended(text, this);
+		}
+	}
+
+	public int getListenerCount() {
+		return listeners.size();
+	}
+
+	/**
+	 * Creates a fake launch with a single process printing to the given output.
+	 */
+	public static ILaunch launchWithOutput(MockProcessOutput out) {
+		IStreamsProxy streams = mock(IStreamsProxy.class);
+		when(streams.getOutputStreamMonitor()).thenReturn(out);
+		IProcess process = mock(IProcess.class);
+		when(process.getStreamsProxy()).thenReturn(streams);
+		ILaunch launch = mock(ILaunch.class);
+		when(launch.getProcesses()).thenReturn(new IProcess[] { process });
+		when(process.getLaunch()).thenReturn(launch);
+		return launch;
+	}
+
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test.mocks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.cloudfoundry.client.CloudFoundryClient;
+
+import com.google.common.collect.ImmutableSortedMap;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stands in for the transport of the CF v2 client: a {@link CloudFoundryClient} whose requests
+ * are answered by handlers registered per request type, rather than by a cloud controller.
+ * Everything above it (cf operations, {@code DefaultClientRequestsV2}) is the real code.
+ * <p>
+ * Requests are counted by request type, and each one takes as long as the simulated latency.
+ * Requests without a handler fail, so it shows when the code under test starts making new kinds
+ * of requests.
+ */
+public class StubCloudFoundryClient {
+
+	private final Map<Class<?>, Function<Object, Object>> handlers = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Object> apis = new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+	private volatile long requestLatency = 0;
+
+	private final CloudFoundryClient client = api(CloudFoundryClient.class);
+
+	/**
+	 * Answers requests of the given type with the result of the handler. A null result
+	 * completes the request without a response.
+	 */
+	@SuppressWarnings("unchecked")
+	public <R> StubCloudFoundryClient on(Class<R> requestType, Function<R, ?> handler) {
+		handlers.put(requestType, (Function<Object, Object>) handler);
+		return this;
+	}
+
+	public CloudFoundryClient getClient() {
+		return client;
+	}
+
+	public void setRequestLatency(TimeUnit timeUnit, long howMany) {
+		requestLatency = timeUnit.toMillis(howMany);
+	}
+
+	/**
+	 * @return number of requests made since the last reset, by request type.
+	 */
+	public ImmutableSortedMap<String, Integer> getRequestCounts() {
+		ImmutableSortedMap.Builder<String, Integer> builder = ImmutableSortedMap.naturalOrder();
+		for (Map.Entry<String, AtomicInteger> e : requestCounts.entrySet()) {
+			builder.put(e.getKey(), e.getValue().get());
+		}
+		return builder.build();
+	}
+
+	public void resetRequestCounts() {
+		requestCounts.clear();
+	}
+
+	/**
+	 * The client and its sub apis (e.g. {@code applicationsV2()}) are all proxies. Methods without
+	 * arguments return a sub api, methods with a request argument send it.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T api(Class<T> type) {
+		return (T) apis.computeIfAbsent(type, (t) -> Proxy.newProxyInstance(t.getClassLoader(), new Class<?>[] { t },
+			(proxy, method, args) -> {
+				if (method.getDeclaringClass() == Object.class) {
+					switch (method.getName()) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					default:
+						return "Stub(" + t.getSimpleName() + ")";
+					}
+				}
+				if (args == null || args.length == 0) {
+					return api(method.getReturnType());
+				}
+				return request(method, args[0]);
+			}
+		));
+	}
+
+	private Object request(Method method, Object request) {
+		String type = request.getClass().getSimpleName();
+		Function<Object, Object> handler = handlers.get(request.getClass());
+		Mono<Object> response = Mono.defer(() -> {
+			requestCounts.computeIfAbsent(type, (r) -> new AtomicInteger()).incrementAndGet();
+			if (handler == null) {
+				return Mono.error(new UnsupportedOperationException("Not stubbed: " + type));
+			}
+			return Mono.justOrEmpty(handler.apply(request));
+		});
+		long latency = requestLatency;
+		if (latency > 0) {
+			response = response.delaySubscription(Duration.ofMillis(latency));
+		}
+		return Flux.class.isAssignableFrom(method.getReturnType()) ? response.flux() : response;
+	}
+
+}
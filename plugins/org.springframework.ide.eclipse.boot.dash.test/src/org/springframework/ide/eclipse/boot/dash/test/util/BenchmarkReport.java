@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.test.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import javax.management.ObjectName;
+
+/**
+ * Collects measurements of benchmarked operations and renders them as a sorted list of
+ * 'operation.metric=value' lines, so reports of different versions can be compared with diff.
+ * <p>
+ * Each operation is run several times. Durations are reported as min/median/max, other metrics
+ * as the median.
+ */
+public class BenchmarkReport {
+
+	/**
+	 * Numbers observed during one run of an operation.
+	 */
+	public static class Sample {
+		long millis;
+		long allocatedBytes = -1;
+		final Map<String, Long> counts = new TreeMap<>();
+
+		public void count(String metric, long value) {
+			counts.put(metric, value);
+		}
+	}
+
+	/**
+	 * Measures duration and allocations between its creation and {@link #stop()}.
+	 */
+	public static class Stopwatch {
+		private final long startNanos = System.nanoTime();
+		private final long startAllocated = allocatedBytes();
+
+		public Sample stop() {
+			Sample s = new Sample();
+			s.millis = (System.nanoTime() - startNanos) / 1000000;
+			long allocated = allocatedBytes();
+			if (startAllocated >= 0 && allocated >= 0) {
+				s.allocatedBytes = allocated - startAllocated;
+			}
+			return s;
+		}
+	}
+
+	private final Map<String, String> parameters = new TreeMap<>();
+	private final Map<String, List<Sample>> samples = new TreeMap<>();
+
+	public void parameter(String name, Object value) {
+		parameters.put(name, String.valueOf(value));
+	}
+
+	public void add(String operation, Sample sample) {
+		samples.computeIfAbsent(operation, (o) -> new ArrayList<>()).add(sample);
+	}
+
+	public String render() {
+		StringBuilder out = new StringBuilder();
+		out.append("# java=").append(System.getProperty("java.version")).append('\n');
+		for (Entry<String, String> p : parameters.entrySet()) {
+			out.append("param.").append(p.getKey()).append('=').append(p.getValue()).append('\n');
+		}
+		for (Entry<String, List<Sample>> e : samples.entrySet()) {
+			String op = e.getKey();
+			List<Sample> runs = e.getValue();
+			List<Long> millis = new ArrayList<>();
+			List<Long> allocated = new ArrayList<>();
+			Map<String, List<Long>> counts = new TreeMap<>();
+			for (Sample s : runs) {
+				millis.add(s.millis);
+				if (s.allocatedBytes >= 0) {
+					allocated.add(s.allocatedBytes);
+				}
+				for (Entry<String, Long> c : s.counts.entrySet()) {
+					counts.computeIfAbsent(c.getKey(), (k) -> new ArrayList<>()).add(c.getValue());
+				}
+			}
+			Collections.sort(millis);
+			line(out, op, "runs", runs.size());
+			line(out, op, "ms.min", millis.get(0));
+			line(out, op, "ms.median", median(millis));
+			line(out, op, "ms.max", millis.get(millis.size() - 1));
+			if (!allocated.isEmpty()) {
+				line(out, op, "allocated.kb.median", median(allocated) / 1024);
+			}
+			for (Entry<String, List<Long>> c : counts.entrySet()) {
+				line(out, op, c.getKey(), median(c.getValue()));
+			}
+		}
+		return out.toString();
+	}
+
+	private static void line(StringBuilder out, String op, String metric, long value) {
+		out.append(op).append('.').append(metric).append('=').append(value).append('\n');
+	}
+
+	private static long median(List<Long> values) {
+		List<Long> sorted = new ArrayList<>(values);
+		Collections.sort(sorted);
+		return sorted.get(sorted.size() / 2);
+	}
+
+	/**
+	 * Prints the report and writes it to the given file, if any.
+	 */
+	public void write(File file) throws IOException {
+		String report = render();
+		System.out.println(report);
+		if (file != null) {
+			Files.write(file.toPath(), report.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * @return bytes allocated so far by all live threads, or -1 if the JVM can't tell.
+	 * Threads that die in between aren't accounted for, so the numbers are approximate.
+	 */
+	public static long allocatedBytes() {
+		try {
+			ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+			long[] ids = threads.getAllThreadIds();
+			//Going through the mbean server avoids depending on com.sun.management classes.
+			long[] allocated = (long[]) ManagementFactory.getPlatformMBeanServer().invoke(
+					new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME),
+					"getThreadAllocatedBytes",
+					new Object[] { ids },
+					new String[] { long[].class.getName() }
+			);
+			long total = 0;
+			for (long a : allocated) {
+				if (a > 0) {
+					total += a;
+				}
+			}
+			return total;
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+}
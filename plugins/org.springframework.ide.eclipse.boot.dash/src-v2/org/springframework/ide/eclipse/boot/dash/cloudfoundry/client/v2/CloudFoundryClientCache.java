@@ -121,10 +121,7 @@ public class CloudFoundryClientCache {
 
 			tokenProvider = createTokenProvider(params);
 
-			client = ReactorCloudFoundryClient.builder()
-					.connectionContext(connection)
-					.tokenProvider(tokenProvider)
-					.build();
+			client = createClient(connection, tokenProvider);
 
 			uaaClient = ReactorUaaClient.builder()
 					.connectionContext(connection)
@@ -258,4 +255,15 @@ public class CloudFoundryClientCache {
 		return new CFClientProvider(params);
 	}
 
+	/**
+	 * Creates the client that sends the cloud controller requests. Tests and benchmarks override
+	 * this to stand in for a real CF.
+	 */
+	protected CloudFoundryClient createClient(DefaultConnectionContext connection, TokenProvider tokenProvider) {
+		return ReactorCloudFoundryClient.builder()
+				.connectionContext(connection)
+				.tokenProvider(tokenProvider)
+				.build();
+	}
+
 }
@@ -27,6 +27,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -85,6 +86,12 @@ public class CloudFoundryRunTarget extends AbstractRunTarget implements RunTarge
 
 	private static final String APPS_MANAGER_HOST = "APPS_MANAGER_HOST";
 	private static final String BUILDPACKS = "BUILDPACKS";
+	private static final String MAX_CONCURRENT_PUSHES = "MAX_CONCURRENT_PUSHES";
+
+	public static final int DEFAULT_MAX_CONCURRENT_PUSHES = 4;
+
+	private Semaphore pushPermits;
+	private int pushPermitsLimit;
 
 	@Override
 	public ILaunchConfiguration createLaunchConfig(IJavaProject jp, IType mainType) throws Exception {
@@ -390,4 +397,34 @@ public class CloudFoundryRunTarget extends AbstractRunTarget implements RunTarge
 		return cachedClient;
 	}
 
+	/**
+	 * @return the maximum number of apps pushed to this target at the same time when deploying
+	 * several projects in one go.
+	 */
+	public int getMaxConcurrentPushes() {
+		PropertyStoreApi props = getPersistentProperties();
+		if (props != null) {
+			return Math.max(1, props.get(MAX_CONCURRENT_PUSHES, DEFAULT_MAX_CONCURRENT_PUSHES));
+		}
+		return DEFAULT_MAX_CONCURRENT_PUSHES;
+	}
+
+	public void setMaxConcurrentPushes(int max) throws Exception {
+		getPersistentProperties().put(MAX_CONCURRENT_PUSHES, Integer.toString(max));
+	}
+
+	/**
+	 * @return semaphore limiting concurrent pushes to this target to {@link #getMaxConcurrentPushes()}.
+	 * Permits must be released to the same instance they were acquired from, since a new semaphore
+	 * is handed out when the limit is changed.
+	 */
+	public synchronized Semaphore getPushPermits() {
+		int limit = getMaxConcurrentPushes();
+		if (pushPermits == null || pushPermitsLimit != limit) {
+			pushPermits = new Semaphore(limit, true);
+			pushPermitsLimit = limit;
+		}
+		return pushPermits;
+	}
+
 }
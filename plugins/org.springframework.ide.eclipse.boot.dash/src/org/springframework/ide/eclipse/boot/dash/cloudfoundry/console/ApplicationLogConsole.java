@@ -13,8 +13,14 @@ package org.springframework.ide.eclipse.boot.dash.cloudfoundry.console;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.cloudfoundry.doppler.LogMessage;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.ui.IDebugUIConstants;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -30,15 +36,65 @@ import org.springframework.ide.eclipse.boot.util.Log;
 
 import reactor.core.Disposable;
 
+/**
+ * Console showing the logs of a Cloud Foundry app.
+ * <p>
+ * Log lines don't go straight to the console's streams: they are put into a bounded {@link LogRingBuffer}
+ * and written by a job, at most once per {@link #FRAME_INTERVAL_MS}, with consecutive lines of the same
+ * type written in one go. Threads delivering log messages never block on the console. Lines that
+ * arrive while the buffer is full are dropped and the number of dropped lines is reported in the console.
+ * The console's history is capped, see {@link #HISTORY_HIGH_WATER_MARK}.
+ * <p>
+ * Messages from the tooling itself go through the buffer as well, so they show up in order with the
+ * application's log. Only if the buffer is full they are written right away instead of being dropped,
+ * which puts them ahead of the lines still waiting in the buffer.
+ */
 @SuppressWarnings("restriction")
 public class ApplicationLogConsole extends MessageConsole implements IPropertyChangeListener, IApplicationLogConsole {
 
+	public static final long FRAME_INTERVAL_MS = 50;
+
+	public static final int BUFFER_CAPACITY = 8192;
+
+	/**
+	 * When the console's document grows beyond this number of characters, older output is discarded
+	 * down to {@link #HISTORY_LOW_WATER_MARK}.
+	 */
+	public static final int HISTORY_HIGH_WATER_MARK = 1000000;
+	public static final int HISTORY_LOW_WATER_MARK = 800000;
+
+	private static class LogLine {
+		final String message;
+		final LogType type;
+		LogLine(String message, LogType type) {
+			this.message = message;
+			this.type = type;
+		}
+	}
+
 	private Map<LogType, IOConsoleOutputStream> activeStreams = new HashMap<>();
 
 	private Disposable logStreamingToken;
 
+	private final LogRingBuffer<LogLine> buffer = new LogRingBuffer<>(BUFFER_CAPACITY);
+
+	private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+	private final AtomicLong totalDropped = new AtomicLong();
+
+	private final Job drainJob = new Job("Write application log") {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			drainScheduled.set(false);
+			drain();
+			return Status.OK_STATUS;
+		}
+	};
+
 	public ApplicationLogConsole(String name, String type) {
 		super(name, type, BootDashActivator.getImageDescriptor("icons/cloud_obj.png"), true);
+		setWaterMarks(HISTORY_LOW_WATER_MARK, HISTORY_HIGH_WATER_MARK);
+		drainJob.setSystem(true);
 	}
 
 	public synchronized void setLogStreamingToken(Disposable logStreamingToken) {
@@ -52,7 +108,7 @@ public class ApplicationLogConsole extends MessageConsole implements IPropertyCh
 		return this.logStreamingToken;
 	}
 
-	public synchronized void writeLog(LogMessage log) {
+	public void writeLog(LogMessage log) {
 		if (log == null) {
 			return;
 		}
@@ -61,28 +117,87 @@ public class ApplicationLogConsole extends MessageConsole implements IPropertyCh
 	}
 
 	/**
+	 * Queues a message to be written to the console.
 	 *
 	 * @param message
 	 * @param type
-	 * @return true if successfully wrote to stream. False otherwise
+	 * @return true if the message was accepted. False if it was dropped because the console can't keep up.
 	 */
-	public synchronized boolean writeApplicationLog(String message, LogType type) {
+	public boolean writeApplicationLog(String message, LogType type) {
 		if (message != null) {
-			IOConsoleOutputStream stream = getStream(type);
-
-			try {
-				if (stream != null && !stream.isClosed()) {
-					message = format(message);
-					stream.write(message);
-					return true;
+			boolean accepted = buffer.offer(new LogLine(message, type));
+			if (!accepted && type.getMessageType() == null) {
+				//Messages from the tooling itself (e.g. deployment errors) are few and must not get lost,
+				//even if that means writing them before the lines still in the buffer.
+				synchronized (this) {
+					write(type, format(message));
 				}
-			} catch (IOException e) {
-				BootDashActivator.log(e);
+				accepted = true;
 			}
+			if (drainScheduled.compareAndSet(false, true)) {
+				drainJob.schedule(FRAME_INTERVAL_MS);
+			}
+			return accepted;
 		}
 		return false;
 	}
 
+	/**
+	 * Writes all queued log lines to the console's streams, merging consecutive lines of the same type.
+	 */
+	private synchronized void drain() {
+		long dropped = buffer.takeDroppedCount();
+		if (dropped > 0) {
+			totalDropped.addAndGet(dropped);
+			write(LogType.LOCALSTDERROR, "[" + dropped + " log lines dropped, " + totalDropped.get()
+					+ " in total. The application logs faster than the console can show.]\n");
+		}
+		StringBuilder batch = new StringBuilder();
+		LogType batchType = null;
+		LogLine line;
+		while ((line = buffer.poll()) != null) {
+			if (batchType != null && batchType != line.type) {
+				write(batchType, batch.toString());
+				batch.setLength(0);
+			}
+			batchType = line.type;
+			batch.append(format(line.message));
+		}
+		if (batchType != null) {
+			write(batchType, batch.toString());
+		}
+	}
+
+	private void write(LogType type, String text) {
+		IOConsoleOutputStream stream = getStream(type);
+		try {
+			if (stream != null && !stream.isClosed()) {
+				stream.write(text);
+			}
+		} catch (IOException e) {
+			BootDashActivator.log(e);
+		}
+	}
+
+	/**
+	 * @return total number of log lines dropped because they arrived faster than they could be written.
+	 */
+	public long getDroppedLineCount() {
+		return totalDropped.get();
+	}
+
+	@Override
+	public void clearConsole() {
+		//Lines queued before clearing shouldn't show up afterwards
+		synchronized (this) {
+			while (buffer.poll() != null) {
+				//discard
+			}
+			buffer.takeDroppedCount();
+		}
+		super.clearConsole();
+	}
+
 	protected static String format(String message) {
 		if (message.contains("\n") || message.contains("\r")) {
 			return message;
@@ -92,6 +207,7 @@ public class ApplicationLogConsole extends MessageConsole implements IPropertyCh
 
 	public synchronized void close() {
 		setLogStreamingToken(null);
+		drainJob.cancel();
 
 		for (IOConsoleOutputStream outputStream : activeStreams.values()) {
 			if (!outputStream.isClosed()) {
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.cloudfoundry.console;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * Bounded, lock-free queue for log lines, backed by a ring of slots. Any number of threads may
+ * {@link #offer(Object)} lines concurrently without blocking; when the ring is full the line is
+ * rejected and counted as dropped, so a chatty log source can never stall the thread delivering
+ * its messages.
+ * <p>
+ * Each slot carries a sequence number that tells producers and consumers whether the slot is free
+ * for the current lap around the ring or holds an element ready to be taken.
+ */
+public class LogRingBuffer<T> {
+
+	private final int mask;
+	private final AtomicReferenceArray<T> elements;
+	private final AtomicLongArray sequences;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * @param capacity number of elements the buffer can hold, must be a power of two
+	 */
+	public LogRingBuffer(int capacity) {
+		Assert.isLegal(capacity > 0 && Integer.bitCount(capacity) == 1, "Capacity must be a power of two: " + capacity);
+		this.mask = capacity - 1;
+		this.elements = new AtomicReferenceArray<>(capacity);
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Adds an element, unless the buffer is full.
+	 * @return <code>false</code> if the element was dropped because the buffer is full
+	 */
+	public boolean offer(T element) {
+		long pos = tail.get();
+		while (true) {
+			int index = (int) (pos & mask);
+			long diff = sequences.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					elements.set(index, element);
+					//Publish the slot to consumers
+					sequences.set(index, pos + 1);
+					return true;
+				}
+				pos = tail.get();
+			} else if (diff < 0) {
+				dropped.incrementAndGet();
+				return false;
+			} else {
+				pos = tail.get();
+			}
+		}
+	}
+
+	/**
+	 * Takes the oldest element.
+	 * @return the element or <code>null</code> if the buffer is empty
+	 */
+	public T poll() {
+		long pos = head.get();
+		while (true) {
+			int index = (int) (pos & mask);
+			long diff = sequences.get(index) - (pos + 1);
+			if (diff == 0) {
+				if (head.compareAndSet(pos, pos + 1)) {
+					T element = elements.getAndSet(index, null);
+					//Free the slot for the producers' next lap
+					sequences.set(index, pos + mask + 1);
+					return element;
+				}
+				pos = head.get();
+			} else if (diff < 0) {
+				return null;
+			} else {
+				pos = head.get();
+			}
+		}
+	}
+
+	public boolean isEmpty() {
+		return head.get() >= tail.get();
+	}
+
+	public int capacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * @return the number of elements dropped since the last call, resetting the count.
+	 */
+	public long takeDroppedCount() {
+		return dropped.getAndSet(0);
+	}
+
+}
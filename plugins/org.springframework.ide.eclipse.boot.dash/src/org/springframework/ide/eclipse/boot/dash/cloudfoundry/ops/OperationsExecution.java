@@ -10,12 +10,16 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.dash.cloudfoundry.ops;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.springframework.ide.eclipse.boot.dash.BootDashActivator;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.CloudFoundryBootDashModel;
 import org.springframework.ide.eclipse.boot.dash.model.UserInteractions;
@@ -33,7 +37,15 @@ public class OperationsExecution {
 	}
 
 	public void runAsynch(String opName, String appName, JobBody runnable, UserInteractions ui) {
-		runAsynch(new CloudApplicationOperation(opName, model, appName, CancelationTokens.NULL) {
+		schedule(opName, appName, runnable, ui);
+	}
+
+	/**
+	 * Like {@link #runAsynch(String, String, JobBody, UserInteractions)}, but returns a future
+	 * that completes once the job is done.
+	 */
+	public CompletableFuture<Void> schedule(String opName, String appName, JobBody runnable, UserInteractions ui) {
+		return schedule(new CloudApplicationOperation(opName, model, appName, CancelationTokens.NULL) {
 			@Override
 			protected void doCloudOp(IProgressMonitor monitor) throws Exception, OperationCanceledException {
 				runnable.run(monitor);
@@ -46,6 +58,15 @@ public class OperationsExecution {
 	}
 
 	public void runAsynch(final Operation<?> op, UserInteractions ui) {
+		schedule(op, ui);
+	}
+
+	/**
+	 * Like {@link #runAsynch(Operation, UserInteractions)}, but returns a future that completes
+	 * once the job is done. This includes the case where the job got canceled before it got to run.
+	 */
+	public CompletableFuture<Void> schedule(final Operation<?> op, UserInteractions ui) {
+		CompletableFuture<Void> done = new CompletableFuture<>();
 		if (op!=null) {
 			Job job = new Job(op.getName()) {
 
@@ -79,8 +100,17 @@ public class OperationsExecution {
 				job.setRule(rule);
 			}
 
+			job.addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					done.complete(null);
+				}
+			});
 			job.setPriority(Job.INTERACTIVE);
 			job.schedule();
+		} else {
+			done.complete(null);
 		}
+		return done;
 	}
 }
@@ -11,9 +11,15 @@
 package org.springframework.ide.eclipse.boot.dash.cloudfoundry.ops;
 
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
 import org.eclipse.core.resources.IFile;
@@ -21,10 +27,12 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.CloudAppDashElement;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.CloudData;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.CloudFoundryBootDashModel;
+import org.springframework.ide.eclipse.boot.dash.cloudfoundry.CloudFoundryRunTarget;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.CFApplicationDetail;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.ClientRequests;
 import org.springframework.ide.eclipse.boot.dash.cloudfoundry.client.v2.CFPushArguments;
@@ -54,6 +62,8 @@ public class ProjectsDeployer extends CloudOperation {
 		}
 	}
 
+	private static final long POLLING_INTERVAL = 500;
+
 	private final Set<IProject> projectsToDeploy;
 	private final UserInteractions ui;
 	private final RunState runOrDebug;
@@ -71,22 +81,48 @@ public class ProjectsDeployer extends CloudOperation {
 		this.debugSupport = debugSupport;
 	}
 
+	/**
+	 * Deploys the projects as a pipeline. Deployment properties and archives are created one project
+	 * at a time on this thread (this may involve prompting the user), while the pushes of projects
+	 * that are already archived proceed concurrently in their own jobs, up to the target's
+	 * {@link CloudFoundryRunTarget#getMaxConcurrentPushes()}. This operation completes when all
+	 * pushes are done, and canceling it cancels pushes that are still queued or running.
+	 */
 	protected void doCloudOp(IProgressMonitor monitor) throws Exception, OperationCanceledException {
-		monitor.beginTask("Deploy projects", projectsToDeploy.size());
+		monitor.beginTask("Deploy projects", projectsToDeploy.size() * 2);
+		List<CompletableFuture<Void>> pushes = new ArrayList<>(projectsToDeploy.size());
 		try {
 			for (Iterator<IProject> it = projectsToDeploy.iterator(); it.hasNext();) {
 				IProject project = it.next();
 				if (monitor.isCanceled()) {
 					throw new OperationCanceledException();
 				}
-				deployProject(project, new SubProgressMonitor(monitor, 1));
+				pushes.add(deployProject(project, monitor, new SubProgressMonitor(monitor, 1)));
+			}
+			for (CompletableFuture<Void> push : pushes) {
+				awaitPush(push, monitor);
+				monitor.worked(1);
 			}
 		} finally {
 			monitor.done();
 		}
 	}
 
-	private void deployProject(IProject project, IProgressMonitor monitor) throws Exception {
+	private void awaitPush(CompletableFuture<Void> push, IProgressMonitor monitor) throws Exception {
+		while (true) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				push.get(POLLING_INTERVAL, TimeUnit.MILLISECONDS);
+				return;
+			} catch (TimeoutException e) {
+				//Keep waiting
+			}
+		}
+	}
+
+	private CompletableFuture<Void> deployProject(IProject project, IProgressMonitor batchMonitor, IProgressMonitor monitor) throws Exception {
 		debug("deployProject["+project.getName()+"] starting");
 		CloudApplicationDeploymentProperties properties = model.createDeploymentProperties(project, ui, monitor);
 		debug("deployProject["+project.getName()+"] got deployment properties");
@@ -97,11 +133,36 @@ public class ProjectsDeployer extends CloudOperation {
 
 		CloudAppDashElement cde = model.ensureApplication(properties.getAppName());
 		debug("deployProject["+project.getName()+"] created cde: "+cde.getName());
-		model.runAsynch("Deploy project '"+project.getName()+"'", properties.getAppName(), (IProgressMonitor progressMonitor) -> {
-			doDeployProject(cde, properties, project, progressMonitor);
+		return model.getOperationsExecution().schedule("Deploy project '"+project.getName()+"'", properties.getAppName(), (IProgressMonitor progressMonitor) -> {
+			IProgressMonitor pushMonitor = new ProgressMonitorWrapper(progressMonitor) {
+				@Override
+				public boolean isCanceled() {
+					return super.isCanceled() || batchMonitor.isCanceled();
+				}
+			};
+			Semaphore permits = getRunTarget().getPushPermits();
+			acquire(permits, pushMonitor);
+			try {
+				//The permit may have come through just as the batch got canceled
+				if (pushMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				debug("deployProject["+project.getName()+"] pushing");
+				doDeployProject(cde, properties, project, pushMonitor);
+			} finally {
+				permits.release();
+			}
 		}, ui);
 	}
 
+	private void acquire(Semaphore permits, IProgressMonitor monitor) throws InterruptedException {
+		do {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+		} while (!permits.tryAcquire(POLLING_INTERVAL, TimeUnit.MILLISECONDS));
+	}
+
 	protected CloudData buildOperationCloudData(IProgressMonitor monitor, IProject project) throws Exception {
 		return new CloudData(getRunTarget().getDomains(monitor),  getRunTarget().getBuildpack(project), getRunTarget().getStacks(monitor));
 	}
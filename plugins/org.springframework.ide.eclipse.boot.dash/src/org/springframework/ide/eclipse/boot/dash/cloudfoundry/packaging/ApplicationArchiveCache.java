@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.cloudfoundry.packaging;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+/**
+ * Persistent, content addressed cache for the intermediate and final artifacts created
+ * when packaging a boot app as a jar.
+ * <p>
+ * Files are fingerprinted by their SHA-1. Digests are remembered together with the file's length
+ * and timestamp so that unchanged files are not hashed again. Artifacts ('layers') are only
+ * rebuilt when the fingerprint of their inputs changed since the last time they were written;
+ * nested jars created from dependency folders are stored under their fingerprint and shared
+ * between builds.
+ * <p>
+ * A file handed out by this cache is never written to again, as it may still be read or uploaded
+ * by an earlier deploy. A rebuilt layer is written to a temporary file and then moved to a new
+ * file named after its fingerprint. Outdated files are deleted by {@link #save()}, except for
+ * the layers of the previous build.
+ * <p>
+ * The cache keeps track of how many bytes were (re)written and how many were reused from a
+ * previous build, see {@link #getBytesWritten()} and {@link #getBytesReused()}.
+ * <p>
+ * Callers should synchronize on the cache instance while using it.
+ */
+public class ApplicationArchiveCache {
+
+	/**
+	 * Creates the contents of a layer or nested jar.
+	 */
+	@FunctionalInterface
+	public interface ArtifactWriter {
+		void write(File target) throws IOException;
+	}
+
+	private static final String FINGERPRINTS_FILE = "fingerprints.properties";
+	private static final String NESTED_FOLDER = "nested";
+	private static final String FILE_PREFIX = "file:";
+	private static final String LAYER_PREFIX = "layer:";
+
+	private static final Map<File, ApplicationArchiveCache> instances = new ConcurrentHashMap<>();
+
+	private final File dir;
+	private final File nestedDir;
+	private final Properties fingerprints = new Properties();
+	private final Set<String> usedKeys = new HashSet<>();
+	private final Set<String> usedNestedJars = new HashSet<>();
+	private final Set<String> usedLayers = new HashSet<>();
+	/**
+	 * Layers of the previous build are kept as well, as a deploy may still be about to upload them.
+	 */
+	private final Set<String> previousLayers = new HashSet<>();
+
+	private long bytesWritten;
+	private long bytesReused;
+
+	/**
+	 * @return the cache stored in the given directory. The same instance is returned for the same
+	 * directory so that concurrent deploys of the same project can synchronize on it.
+	 */
+	public static ApplicationArchiveCache forDirectory(File dir) {
+		return instances.computeIfAbsent(dir.getAbsoluteFile(), ApplicationArchiveCache::new);
+	}
+
+	private ApplicationArchiveCache(File dir) {
+		this.dir = dir;
+		this.nestedDir = new File(dir, NESTED_FOLDER);
+		load();
+	}
+
+	/**
+	 * Prepares the cache for a new build. Resets the statistics as well as the bookkeeping used
+	 * to prune stale entries in {@link #save()}.
+	 */
+	public void begin() {
+		bytesWritten = 0;
+		bytesReused = 0;
+		usedKeys.clear();
+		usedNestedJars.clear();
+		previousLayers.clear();
+		previousLayers.addAll(usedLayers);
+		usedLayers.clear();
+	}
+
+	/**
+	 * @return SHA-1 of the given file's contents as a hex string. The digest computed by an
+	 * earlier build is reused when the file's length and timestamp are unchanged.
+	 */
+	public String sha1(File file) throws IOException {
+		String key = FILE_PREFIX + file.getAbsolutePath();
+		usedKeys.add(key);
+		String stamp = file.length() + ":" + file.lastModified() + ":";
+		String cached = fingerprints.getProperty(key);
+		if (cached!=null && cached.startsWith(stamp)) {
+			return cached.substring(stamp.length());
+		}
+		String sha1 = Files.hash(file, Hashing.sha1()).toString();
+		fingerprints.setProperty(key, stamp + sha1);
+		return sha1;
+	}
+
+	/**
+	 * Collects all files in the given folder into <code>entries</code>, keyed by their path
+	 * relative to the folder, and returns a fingerprint over all their paths and contents.
+	 * Paths already present in <code>entries</code> are left alone, so the first folder
+	 * on a classpath wins.
+	 */
+	public String fingerprintFolder(File folder, Map<String, File> entries) throws IOException {
+		Map<String, File> files = new TreeMap<>();
+		collectFiles(folder, null, files);
+		Hasher hasher = Hashing.sha1().newHasher();
+		for (Map.Entry<String, File> e : files.entrySet()) {
+			hasher.putString(e.getKey(), StandardCharsets.UTF_8);
+			hasher.putString(sha1(e.getValue()), StandardCharsets.UTF_8);
+		}
+		for (Map.Entry<String, File> e : files.entrySet()) {
+			entries.putIfAbsent(e.getKey(), e.getValue());
+		}
+		return hasher.hash().toString();
+	}
+
+	private void collectFiles(File folder, String relativePath, Map<String, File> files) {
+		String[] names = folder.list();
+		if (names!=null) {
+			for (String name : names) {
+				File file = new File(folder, name);
+				String path = relativePath==null ? name : relativePath + "/" + name;
+				if (file.isDirectory()) {
+					collectFiles(file, path, files);
+				} else if (file.isFile()) {
+					files.put(path, file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return a fingerprint combining the given strings, in order.
+	 */
+	public static String fingerprint(Iterable<String> parts) {
+		Hasher hasher = Hashing.sha1().newHasher();
+		for (String part : parts) {
+			hasher.putString(part, StandardCharsets.UTF_8);
+			hasher.putByte((byte) 0);
+		}
+		return hasher.hash().toString();
+	}
+
+	/**
+	 * Returns the layer with the given name, rebuilding it with the given writer only if it
+	 * doesn't exist or was built from inputs with a different fingerprint.
+	 */
+	public File getLayer(String name, String fingerprint, ArtifactWriter writer) throws IOException {
+		String key = LAYER_PREFIX + name;
+		usedKeys.add(key);
+		File file = new File(dir, fingerprint + "-" + name);
+		usedLayers.add(file.getName());
+		if (fingerprint.equals(fingerprints.getProperty(key)) && file.isFile()) {
+			bytesReused += file.length();
+			return file;
+		}
+		//Forget the old fingerprint first, so a failed write is never mistaken for a valid layer.
+		fingerprints.remove(key);
+		dir.mkdirs();
+		writeAtomically(file, writer);
+		fingerprints.setProperty(key, fingerprint);
+		bytesWritten += file.length();
+		return file;
+	}
+
+	/**
+	 * Returns the nested jar stored under the given fingerprint, creating it with the given writer
+	 * if no build so far produced a jar with that fingerprint.
+	 */
+	public File getNestedJar(String fingerprint, ArtifactWriter writer) throws IOException {
+		String fileName = fingerprint + ".jar";
+		usedNestedJars.add(fileName);
+		File file = new File(nestedDir, fileName);
+		if (file.isFile()) {
+			bytesReused += file.length();
+			return file;
+		}
+		nestedDir.mkdirs();
+		writeAtomically(file, writer);
+		bytesWritten += file.length();
+		return file;
+	}
+
+	/**
+	 * Writes the given file through a temporary file, so that readers never see a partially
+	 * written file.
+	 */
+	private static void writeAtomically(File file, ArtifactWriter writer) throws IOException {
+		File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+		try {
+			writer.write(tmp);
+			try {
+				java.nio.file.Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+						StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				java.nio.file.Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			tmp.delete();
+		}
+	}
+
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	public long getBytesReused() {
+		return bytesReused;
+	}
+
+	/**
+	 * Drops fingerprints, layers and nested jars not used since the last {@link #begin()} and
+	 * persists the remaining fingerprints. Files that can't be deleted yet, e.g. because they are
+	 * still being uploaded, are deleted by a later call.
+	 */
+	public void save() throws IOException {
+		fingerprints.keySet().retainAll(usedKeys);
+		deleteUnused(nestedDir, usedNestedJars);
+		Set<String> keptLayers = new HashSet<>(usedLayers);
+		keptLayers.addAll(previousLayers);
+		deleteUnused(dir, keptLayers);
+		dir.mkdirs();
+		try (OutputStream out = new FileOutputStream(new File(dir, FINGERPRINTS_FILE))) {
+			fingerprints.store(out, null);
+		}
+	}
+
+	private static void deleteUnused(File folder, Set<String> used) {
+		File[] files = folder.listFiles();
+		if (files!=null) {
+			for (File file : files) {
+				if (file.isFile() && !used.contains(file.getName()) && !FINGERPRINTS_FILE.equals(file.getName())) {
+					file.delete();
+				}
+			}
+		}
+	}
+
+	private void load() {
+		File file = new File(dir, FINGERPRINTS_FILE);
+		if (file.isFile()) {
+			try (InputStream in = new FileInputStream(file)) {
+				fingerprints.load(in);
+			} catch (IOException e) {
+				//A corrupt cache just means everything gets rebuilt.
+				fingerprints.clear();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ApplicationArchiveCache(" + dir + ", written=" + bytesWritten + ", reused=" + bytesReused + ")";
+	}
+
+}
@@ -12,11 +12,13 @@ package org.springframework.ide.eclipse.boot.dash.cloudfoundry.packaging;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.core.resources.IContainer;
@@ -29,23 +31,21 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.springframework.boot.loader.tools.JarWriter;
-import org.springframework.boot.loader.tools.Libraries;
 import org.springframework.boot.loader.tools.Library;
-import org.springframework.boot.loader.tools.LibraryCallback;
 import org.springframework.boot.loader.tools.LibraryScope;
 import org.springframework.boot.loader.tools.Repackager;
 import org.springframework.ide.eclipse.boot.core.ISpringBootProject;
 import org.springframework.ide.eclipse.boot.core.SpringBootCore;
+import org.springframework.ide.eclipse.boot.dash.BootDashActivator;
 import org.springframework.ide.eclipse.boot.dash.model.UserInteractions;
 import org.springframework.ide.eclipse.boot.launch.BootLaunchConfigurationDelegate;
 import org.springframework.ide.eclipse.boot.util.JavaProjectUtil;
 import org.springframework.ide.eclipse.boot.util.Log;
 import org.springsource.ide.eclipse.commons.frameworks.core.maintype.MainTypeFinder;
-import org.springsource.ide.eclipse.commons.frameworks.core.util.FileUtil;
 
 public class CloudApplicationArchiverStrategyAsJar implements CloudApplicationArchiverStrategy {
 
-	private static final String TEMP_FOLDER_NAME = "springidetempFolderForJavaAppJar";
+	private static final String CACHE_FOLDER_NAME = "archive-cache";
 	private static final boolean DEBUG = false;
 
 	private static void debug(String string) {
@@ -127,15 +127,12 @@ public class CloudApplicationArchiverStrategyAsJar implements CloudApplicationAr
 		private IType mainType;
 		private ILaunchConfiguration conf;
 		private BootLaunchConfigurationDelegate delegate;
-		private JarNameGenerator jarNames;
-		private File _tempFolder;
 
 		Archiver(IJavaProject jp, IType mainType) throws CoreException {
 			this.jp = jp;
 			this.mainType = mainType;
 			this.conf = BootLaunchConfigurationDelegate.createWorkingCopy(mainType);
 			this.delegate = new BootLaunchConfigurationDelegate();
-			this.jarNames = new JarNameGenerator();
 		}
 
 		private SplitClasspath getRuntimeClasspath() throws CoreException {
@@ -153,88 +150,92 @@ public class CloudApplicationArchiverStrategyAsJar implements CloudApplicationAr
 			return NO_FILES;
 		}
 
+		/**
+		 * Builds the archive incrementally. The base jar, the jars created from dependency folders
+		 * and the repackaged jar are kept in a persistent {@link ApplicationArchiveCache} and only
+		 * rewritten when the SHA-1 fingerprints of their inputs changed since the previous deploy.
+		 */
 		@Override
 		public File getApplicationArchive(IProgressMonitor mon) throws Exception {
 			SplitClasspath classpath = getRuntimeClasspath();
-			File tempFolder = getTempFolder();
-			File baseJar = new File(tempFolder, jp.getElementName()+".original.jar");
-			File repackagedJar = new File(tempFolder, jp.getElementName()+".repackaged.jar");
+			ApplicationArchiveCache cache = getCache();
+			synchronized (cache) {
+				cache.begin();
+				String name = jp.getElementName();
+
+				Map<String, File> projectEntries = new LinkedHashMap<>();
+				List<String> baseFingerprint = new ArrayList<>();
+				for (File outputFolder : classpath.projectContents) {
+					baseFingerprint.add(cache.fingerprintFolder(outputFolder, projectEntries));
+				}
+				File baseJar = cache.getLayer(name+".original.jar", ApplicationArchiveCache.fingerprint(baseFingerprint),
+						(target) -> writeJar(target, projectEntries));
+
+				List<String> repackagedFingerprint = new ArrayList<>();
+				repackagedFingerprint.add(mainType.getFullyQualifiedName());
+				repackagedFingerprint.addAll(baseFingerprint);
+				List<Library> libraries = createLibraries(classpath.dependencies, cache, repackagedFingerprint);
+				File repackagedJar = cache.getLayer(name+".repackaged.jar", ApplicationArchiveCache.fingerprint(repackagedFingerprint),
+						(target) -> repackage(baseJar, libraries, target));
+
+				cache.save();
+				String stats = "Packaged "+name+": "+cache.getBytesWritten()+" bytes written, "+cache.getBytesReused()+" bytes reused";
+				debug(stats);
+				mon.subTask(stats);
+				return repackagedJar;
+			}
+		}
 
-			createBaseJar(classpath.projectContents, baseJar);
-			repackage(baseJar, classpath.dependencies, repackagedJar);
-			return repackagedJar;
+		private ApplicationArchiveCache getCache() {
+			File dir = BootDashActivator.getDefault().getStateLocation().append(CACHE_FOLDER_NAME).append(jp.getElementName()).toFile();
+			return ApplicationArchiveCache.forDirectory(dir);
 		}
 
-		private File getTempFolder() throws IOException {
-			if (_tempFolder==null) {
-				_tempFolder = FileUtil.createTempDirectory(TEMP_FOLDER_NAME);
+		/**
+		 * Turns the dependencies into {@link Library}s. Dependency folders are packaged into nested
+		 * jars stored under their content fingerprint, so unchanged folders are not zipped again.
+		 * The name and fingerprint of every library is added to the <code>fingerprint</code> list.
+		 */
+		private List<Library> createLibraries(List<File> dependencies, ApplicationArchiveCache cache, List<String> fingerprint) throws IOException {
+			JarNameGenerator jarNames = new JarNameGenerator();
+			List<Library> libraries = new ArrayList<>(dependencies.size());
+			for (File dep : dependencies) {
+				if (dep.isFile()) {
+					String jarName = jarNames.createName(dep);
+					fingerprint.add(jarName+"="+cache.sha1(dep));
+					libraries.add(new Library(jarName, dep, LibraryScope.COMPILE, false));
+				} else if (dep.isDirectory()) {
+					String jarName = jarNames.createName(dep);
+					Map<String, File> entries = new LinkedHashMap<>();
+					String folderFingerprint = cache.fingerprintFolder(dep, entries);
+					fingerprint.add(jarName+"="+folderFingerprint);
+					File jarFile = cache.getNestedJar(folderFingerprint, (target) -> writeJar(target, entries));
+					libraries.add(new Library(jarName, jarFile, LibraryScope.COMPILE, false));
+				}
 			}
-			return _tempFolder;
+			return libraries;
 		}
 
-		private void createBaseJar(List<File> projectContents, File baseJar) throws FileNotFoundException, IOException {
-			JarWriter jarWriter = new JarWriter(baseJar);
+		private void writeJar(File target, Map<String, File> entries) throws IOException {
+			JarWriter jarWriter = new JarWriter(target);
 			try {
-				for (File outputFolder : projectContents) {
-					writeFolder(jarWriter, outputFolder);
+				for (Entry<String, File> e : entries.entrySet()) {
+					debug("Writing: "+e.getKey());
+					jarWriter.writeEntry(e.getKey(), new FileInputStream(e.getValue()));
 				}
 			} finally {
 				jarWriter.close();
 			}
 		}
 
-		private void writeFolder(JarWriter jarWriter, File baseFolder) throws FileNotFoundException, IOException {
-			for (String name : baseFolder.list()) {
-				write(jarWriter, baseFolder, name);
-			}
-		}
-
-		private void write(JarWriter jarWriter, File baseFolder, String relativePath) throws FileNotFoundException, IOException {
-			debug("Writing: "+relativePath + " from "+baseFolder);
-			File file = new File(baseFolder, relativePath);
-			if (file.isDirectory()) {
-				debug("Folder");
-				for (String name : file.list()) {
-					write(jarWriter, baseFolder, pathJoin(relativePath, name));
-				}
-			} else if (file.isFile()) {
-				debug("File");
-				jarWriter.writeEntry(relativePath, new FileInputStream(file));
-			} else {
-				debug("Huh?");
-			}
-		}
-
-		private String pathJoin(String relativePath, String name) {
-			return relativePath + "/" +name;
-		}
-
-		private void repackage(File baseJar, List<File> dependencies, File repackagedJar) throws IOException {
+		private void repackage(File baseJar, List<Library> libraries, File repackagedJar) throws IOException {
 			Repackager repackager = new Repackager(baseJar);
 			repackager.setMainClass(mainType.getFullyQualifiedName());
-			repackager.repackage(repackagedJar, asLibraries(dependencies));
-		}
-
-		private Libraries asLibraries(final List<File> dependencies) {
-			return new Libraries() {
-				public void doWithLibraries(LibraryCallback callback) throws IOException {
-					for (File dep : dependencies) {
-						if (dep.isFile()) {
-							callback.library(new Library(jarNames.createName(dep), dep, LibraryScope.COMPILE, false));
-						} else if (dep.isDirectory()) {
-							String jarName = jarNames.createName(dep);
-							File jarFile = new File(getTempFolder(), jarName);
-							JarWriter jarWriter = new JarWriter(jarFile);
-							try {
-								writeFolder(jarWriter, dep);
-							} finally {
-								jarWriter.close();
-							}
-							callback.library(new Library(jarName, jarFile, LibraryScope.COMPILE, false));
-						}
-					}
+			repackager.repackage(repackagedJar, (callback) -> {
+				for (Library library : libraries) {
+					callback.library(library);
 				}
-			};
+			});
 		}
 	}
 
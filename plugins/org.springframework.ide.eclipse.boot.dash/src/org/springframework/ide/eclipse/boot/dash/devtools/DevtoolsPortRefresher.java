@@ -13,19 +13,16 @@ package org.springframework.ide.eclipse.boot.dash.devtools;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
-import org.eclipse.debug.core.IStreamListener;
-import org.eclipse.debug.core.model.IDebugTarget;
 import org.eclipse.debug.core.model.IProcess;
-import org.eclipse.debug.core.model.IStreamMonitor;
 import org.springframework.ide.eclipse.boot.core.BootActivator;
 import org.springframework.ide.eclipse.boot.core.BootPropertyTester;
 import org.springframework.ide.eclipse.boot.dash.model.BootDashElement;
 import org.springframework.ide.eclipse.boot.dash.model.BootProjectDashElementFactory;
 import org.springframework.ide.eclipse.boot.dash.model.BootProjectDashElement;
 import org.springframework.ide.eclipse.boot.dash.model.LocalBootDashModel;
+import org.springframework.ide.eclipse.boot.dash.util.ProcessOutputAnalyzer;
+import org.springframework.ide.eclipse.boot.dash.util.ProcessOutputEvent;
 import org.springframework.ide.eclipse.boot.launch.BootLaunchConfigurationDelegate;
-import org.springframework.ide.eclipse.boot.util.ProcessTracker;
-import org.springframework.ide.eclipse.boot.util.ProcessTracker.ProcessListener;
 import org.springsource.ide.eclipse.commons.livexp.ui.Disposable;
 
 /**
@@ -35,45 +32,34 @@ import org.springsource.ide.eclipse.commons.livexp.ui.Disposable;
  * As devtools autonously refreshes an app without any involvement of Eclipse... the only way we
  * can see that something happened to the process is by watching the process's output.
  * <p>
- * A DevtoolsPortRefresher uses a 'ProcessTracker' to attach an output monitor to any local process
- * that is being started and corresponds to a local boot dash element with devtools enabled.
+ * A DevtoolsPortRefresher subscribes to the 'port opened' events the {@link ProcessOutputAnalyzer}
+ * detects in the output of local processes, and reacts to those of local boot dash elements
+ * with devtools enabled.
  *
  * @author Kris De Volder
  */
-public class DevtoolsPortRefresher implements Disposable, ProcessListener {
+public class DevtoolsPortRefresher implements Disposable, ProcessOutputAnalyzer.Listener {
 
-	private ProcessTracker processTracker;
+	private Disposable subscription;
 	private BootProjectDashElementFactory elementFactory;
 
 	public DevtoolsPortRefresher(LocalBootDashModel localBootDashModel, BootProjectDashElementFactory elementFactory) {
-		processTracker = new ProcessTracker(this);
 		this.elementFactory = elementFactory;
+		subscription = ProcessOutputAnalyzer.getDefault().subscribe(this);
 	}
 
 	@Override
 	public void dispose() {
-		processTracker.dispose();
+		subscription.dispose();
 	}
 
 	@Override
-	public void debugTargetCreated(ProcessTracker tracker, IDebugTarget target) {
-		IProcess process = target.getProcess();
-		if (process!=null) { // may be null. E.g. for CF debug targets there's no local process attached to debug target.
-			processCreated(tracker, process);
-		}
-	}
-
-	@Override
-	public void processCreated(ProcessTracker tracker, IProcess process) {
-		final BootProjectDashElement element = getElementFor(process);
-		if (element!=null) {
-			process.getStreamsProxy().getOutputStreamMonitor().addListener(new IStreamListener() {
-				public void streamAppended(String text, IStreamMonitor monitor) {
-					if (text.contains("started on port")) {
-						element.refreshLivePorts();
-					}
-				}
-			});
+	public void outputEvent(ProcessOutputEvent event) {
+		if (event.getKind()==ProcessOutputEvent.Kind.PORT_OPENED) {
+			BootProjectDashElement element = getElementFor(event.getProcess());
+			if (element!=null) {
+				element.refreshLivePorts();
+			}
 		}
 	}
 
@@ -104,16 +90,4 @@ public class DevtoolsPortRefresher implements Disposable, ProcessListener {
 		return null;
 	}
 
-	@Override
-	public void debugTargetTerminated(ProcessTracker tracker, IDebugTarget target) {
-		//don't care
-	}
-
-	@Override
-	public void processTerminated(ProcessTracker tracker, IProcess process) {
-		//don't care
-	}
-
-
-
 }
@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.livexp;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.springsource.ide.eclipse.commons.livexp.core.LiveExpression;
+import org.springsource.ide.eclipse.commons.livexp.util.Log;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Central scheduler for polling live data (beans, env, request mappings...) from running apps.
+ * <p>
+ * Subscriptions are grouped by 'connection' (typically the {@link org.springframework.ide.eclipse.boot.dash.model.actuator.ActuatorClient}
+ * of an app), and all due subscriptions of a connection are fetched together by a single job, rather than
+ * every expression running a job of its own.
+ * <p>
+ * Polling is adaptive: a subscription is polled at its base interval while its data keeps changing or
+ * isn't available yet, and the interval doubles (up to {@link #MAX_INTERVAL}) every time the fetched payload
+ * is unchanged. A subscription is only polled while it is 'active' (see {@link PolledLiveExp#pollFor(Duration)}) and
+ * its value has been asked for recently, so data nobody looks at is not fetched. The payload is hashed and
+ * a new value is only parsed and published if the hash changed. If fetching fails, the value is reset to null.
+ */
+public class LiveDataPollingHub {
+
+	/**
+	 * Fetches the raw payload for a subscription (e.g. json data and the version of its format)
+	 * and turns it into a value.
+	 */
+	public interface DataSource<T> {
+		ImmutablePair<String, String> fetch() throws Exception;
+		T parse(ImmutablePair<String, String> payload) throws Exception;
+	}
+
+	public static final Duration MAX_INTERVAL = Duration.ofSeconds(30);
+
+	/**
+	 * A subscription stops being polled when its value hasn't been requested for this long.
+	 */
+	public static final Duration IDLE_TIMEOUT = Duration.ofMinutes(2);
+
+	private static LiveDataPollingHub instance;
+
+	private final Map<Object, ConnectionPoller> connections = new ConcurrentHashMap<>();
+
+	public static synchronized LiveDataPollingHub getDefault() {
+		if (instance==null) {
+			instance = new LiveDataPollingHub();
+		}
+		return instance;
+	}
+
+	/**
+	 * Creates a live expression for data from the given connection. The expression starts out
+	 * 'sleeping' and doesn't fetch anything until {@link PolledLiveExp#pollOnce()} or
+	 * {@link PolledLiveExp#pollFor(Duration)} is called. Disposing the expression ends the subscription.
+	 */
+	public <T> PolledLiveExp<T> subscribe(Object connection, Duration baseInterval, DataSource<T> source) {
+		PolledLiveExp<T> exp = new PolledLiveExp<>(connection, baseInterval, source);
+		//Add while the map entry is locked, so that a concurrent unsubscribe can't remove the poller
+		// (for being empty) between its lookup and the add.
+		connections.compute(connection, (c, poller) -> {
+			if (poller==null) {
+				poller = new ConnectionPoller();
+			}
+			poller.add(exp);
+			return poller;
+		});
+		return exp;
+	}
+
+	private void unsubscribe(PolledLiveExp<?> exp) {
+		connections.computeIfPresent(exp.connection, (c, poller) -> {
+			poller.remove(exp);
+			return poller.isEmpty() ? null : poller;
+		});
+	}
+
+	private void wakeUp(PolledLiveExp<?> exp) {
+		ConnectionPoller poller = connections.get(exp.connection);
+		if (poller!=null) {
+			poller.requestPoll();
+		}
+	}
+
+	/**
+	 * Polls all subscriptions to one connection. At most one poll of a connection is in progress at any time.
+	 */
+	private class ConnectionPoller extends Job {
+
+		private final List<PolledLiveExp<?>> subscriptions = new CopyOnWriteArrayList<>();
+
+		/**
+		 * Guards {@link #pollRequested} and the scheduling of this job.
+		 */
+		private final Object scheduling = new Object();
+
+		/**
+		 * Whether a poll was requested since the current run started.
+		 */
+		private boolean pollRequested = false;
+
+		ConnectionPoller() {
+			super("Refresh live data");
+			setSystem(true);
+		}
+
+		void add(PolledLiveExp<?> exp) {
+			subscriptions.add(exp);
+		}
+
+		void remove(PolledLiveExp<?> exp) {
+			subscriptions.remove(exp);
+		}
+
+		boolean isEmpty() {
+			return subscriptions.isEmpty();
+		}
+
+		/**
+		 * Runs the job as soon as possible. If it is running right now, it runs again when done,
+		 * even if the current run was about to go to sleep for a while.
+		 */
+		void requestPoll() {
+			synchronized (scheduling) {
+				pollRequested = true;
+				if (getState()==SLEEPING) {
+					//A sleeping job doesn't take a new schedule, it has to be woken up
+					wakeUp();
+				} else {
+					schedule();
+				}
+			}
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			synchronized (scheduling) {
+				pollRequested = false;
+			}
+			long now = System.currentTimeMillis();
+			for (PolledLiveExp<?> exp : subscriptions) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				if (exp.isDue(now)) {
+					exp.poll(now);
+				}
+			}
+			long next = Long.MAX_VALUE;
+			for (PolledLiveExp<?> exp : subscriptions) {
+				next = Math.min(next, exp.nextPollTime());
+			}
+			synchronized (scheduling) {
+				//A request that came in after the subscriptions were checked would be lost if the job
+				// went to sleep with the delay computed above, as the last schedule of a running job wins.
+				if (pollRequested) {
+					schedule();
+				} else if (next!=Long.MAX_VALUE) {
+					schedule(Math.max(0, next - System.currentTimeMillis()));
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	/**
+	 * Live expression whose value is fetched by the {@link LiveDataPollingHub}.
+	 */
+	public final class PolledLiveExp<T> extends LiveExpression<T> {
+
+		private final Object connection;
+		private final long baseInterval;
+		private final DataSource<T> source;
+
+		private volatile T value;
+		private HashCode payloadHash;
+		private long interval;
+		private long lastPoll = 0;
+		private volatile long activeUntil = 0;
+		private volatile boolean pollRequested = false;
+		private volatile long lastAccess = System.currentTimeMillis();
+
+		private PolledLiveExp(Object connection, Duration baseInterval, DataSource<T> source) {
+			this.connection = connection;
+			this.baseInterval = baseInterval.toMillis();
+			this.interval = this.baseInterval;
+			this.source = source;
+		}
+
+		@Override
+		protected T compute() {
+			return value;
+		}
+
+		/**
+		 * Fetch once as soon as possible.
+		 */
+		public PolledLiveExp<T> pollOnce() {
+			pollRequested = true;
+			wakeUp(this);
+			return this;
+		}
+
+		/**
+		 * Start polling now and keep polling, at adaptive intervals, until the given duration expires.
+		 */
+		public PolledLiveExp<T> pollFor(Duration duration) {
+			synchronized (this) {
+				interval = baseInterval;
+			}
+			activeUntil = System.currentTimeMillis() + duration.toMillis();
+			return pollOnce();
+		}
+
+		/**
+		 * Records that the value was requested. Expressions that haven't been requested for
+		 * {@link LiveDataPollingHub#IDLE_TIMEOUT} are not polled until they are requested again.
+		 */
+		public T touch() {
+			long now = System.currentTimeMillis();
+			boolean wasIdle = now - lastAccess > IDLE_TIMEOUT.toMillis();
+			lastAccess = now;
+			if (wasIdle && now < activeUntil) {
+				wakeUp(this);
+			}
+			return getValue();
+		}
+
+		private boolean isActive(long now) {
+			return now < activeUntil && now - lastAccess <= IDLE_TIMEOUT.toMillis();
+		}
+
+		synchronized boolean isDue(long now) {
+			return pollRequested || (isActive(now) && now >= lastPoll + interval);
+		}
+
+		synchronized long nextPollTime() {
+			long now = System.currentTimeMillis();
+			if (pollRequested) {
+				return now;
+			}
+			if (isActive(now)) {
+				return Math.min(activeUntil, lastPoll + interval);
+			}
+			return Long.MAX_VALUE;
+		}
+
+		void poll(long now) {
+			synchronized (this) {
+				pollRequested = false;
+				lastPoll = now;
+			}
+			boolean changed = false;
+			try {
+				ImmutablePair<String, String> payload = source.fetch();
+				HashCode hash = hash(payload);
+				if (!hash.equals(payloadHash)) {
+					value = payload==null ? null : source.parse(payload);
+					payloadHash = hash;
+					changed = true;
+				}
+			} catch (Exception e) {
+				Log.log(e);
+				//Like PollingLiveExp did, don't keep showing data that can't be fetched anymore.
+				if (value!=null) {
+					value = null;
+					payloadHash = null;
+					changed = true;
+				}
+			}
+			synchronized (this) {
+				//Back off while the data is stable. Data that isn't available yet (e.g. app still starting)
+				// is retried at the base interval.
+				interval = changed || value==null ? baseInterval : Math.min(interval * 2, MAX_INTERVAL.toMillis());
+			}
+			if (changed) {
+				refresh();
+			}
+		}
+
+		@Override
+		public void dispose() {
+			activeUntil = 0;
+			unsubscribe(this);
+			super.dispose();
+		}
+
+		@Override
+		public String toString() {
+			return "PolledLiveExp("+connection+", interval="+interval+")";
+		}
+	}
+
+	private static HashCode hash(ImmutablePair<String, String> payload) {
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		if (payload!=null) {
+			hasher.putBoolean(true);
+			putString(hasher, payload.left);
+			putString(hasher, payload.right);
+		}
+		return hasher.hash();
+	}
+
+	private static void putString(Hasher hasher, String s) {
+		if (s==null) {
+			hasher.putInt(-1);
+		} else {
+			hasher.putInt(s.length());
+			hasher.putString(s, StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * @return a snapshot of the connections that currently have subscriptions, for testing and debugging.
+	 */
+	public List<Object> getConnections() {
+		return new ArrayList<>(connections.keySet());
+	}
+
+}
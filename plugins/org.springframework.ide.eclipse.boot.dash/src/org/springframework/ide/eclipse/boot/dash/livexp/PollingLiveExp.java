@@ -27,7 +27,10 @@ import org.springsource.ide.eclipse.commons.livexp.core.LiveExpression;
  * its value until methods like 'refreshOnce', 'refreshFor' or 'refreshForever' are called.
  *
  * @author Kris De Volder
+ * @deprecated every instance polls with its own job. Use {@link LiveDataPollingHub#subscribe(Object, Duration, LiveDataPollingHub.DataSource)}
+ *             instead, which polls all data of one connection together and backs off while it doesn't change.
  */
+@Deprecated
 public abstract class PollingLiveExp<T> extends LiveExpression<T> {
 
 	private static final Provider<Boolean> STOP_REFRESHING = () -> false;
@@ -23,6 +23,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -37,7 +38,9 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.launching.SocketUtil;
 import org.eclipse.swt.widgets.Display;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
-import org.springframework.ide.eclipse.boot.dash.livexp.PollingLiveExp;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelDiff;
+import org.springframework.ide.eclipse.boot.dash.livexp.LiveDataPollingHub;
+import org.springframework.ide.eclipse.boot.dash.livexp.LiveDataPollingHub.PolledLiveExp;
 import org.springframework.ide.eclipse.boot.dash.model.actuator.ActuatorClient;
 import org.springframework.ide.eclipse.boot.dash.model.actuator.JMXActuatorClient;
 import org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMapping;
@@ -99,9 +102,11 @@ public abstract class AbstractLaunchConfigurationsDashElement<T> extends Wrappin
 
 	private LiveExpression<URI> actuatorUrl;
 
-	private PollingLiveExp<List<RequestMapping>> liveRequestMappings;
-	private PollingLiveExp<LiveBeansModel> liveBeans;
-	private PollingLiveExp<LiveEnvModel> liveEnv;
+	private ActuatorClient actuatorClient;
+	private PolledLiveExp<List<RequestMapping>> liveRequestMappings;
+	private PolledLiveExp<LiveBeansModel> liveBeans;
+	private volatile ImmutablePair<LiveBeansModel, LiveBeansModelDiff> liveBeansDiff;
+	private PolledLiveExp<LiveEnvModel> liveEnv;
 
 	public AbstractLaunchConfigurationsDashElement(LocalBootDashModel bootDashModel, T delegate) {
 		super(bootDashModel, delegate);
@@ -517,65 +522,107 @@ public abstract class AbstractLaunchConfigurationsDashElement<T> extends Wrappin
 		return new JMXActuatorClient(getTypeLookup(), this::getJmxPort);
 	}
 
+	/**
+	 * @return the client shared by all live data subscriptions of this element, so that the
+	 * {@link LiveDataPollingHub} can fetch them over a single connection.
+	 */
+	private synchronized ActuatorClient getSharedActuatorClient() {
+		if (actuatorClient==null) {
+			actuatorClient = getActuatorClient();
+		}
+		return actuatorClient;
+	}
+
+	private <D> PolledLiveExp<D> createLiveData(Duration baseInterval, LiveDataPollingHub.DataSource<D> source) {
+		PolledLiveExp<D> exp = LiveDataPollingHub.getDefault().subscribe(getSharedActuatorClient(), baseInterval, source);
+		addElementState(exp);
+		addDisposableChild(exp);
+		return exp;
+	}
+
+	/**
+	 * Polls the given live data while the app is running. Polling starts right away if it is
+	 * running already, so the data source must not depend on anything that is assigned after
+	 * this call.
+	 */
+	private void pollWhileRunning(PolledLiveExp<?> exp) {
+		runState.addListener((e, runstate) -> {
+			if (READY_STATES.contains(runstate)) {
+				exp.pollFor(LIVE_DATA_REFRESH_TIMEOUT);
+			} else {
+				exp.pollOnce();
+			}
+		});
+	}
+
 	@Override
 	public List<RequestMapping> getLiveRequestMappings() {
 		synchronized (this) {
 			if (liveRequestMappings==null) {
-				ActuatorClient client = getActuatorClient();
-				liveRequestMappings = PollingLiveExp.create(client::getRequestMappings);
-				addElementState(liveRequestMappings);
-				addDisposableChild(liveRequestMappings);
-				runState.addListener((e, runstate) -> {
-					if (READY_STATES.contains(runstate)) {
-						liveRequestMappings.refreshFor(LIVE_DATA_REFRESH_TIMEOUT);
-					} else {
-						liveRequestMappings.refreshOnce();
+				ActuatorClient client = getSharedActuatorClient();
+				liveRequestMappings = createLiveData(Duration.ofMillis(500), new LiveDataPollingHub.DataSource<List<RequestMapping>>() {
+					public ImmutablePair<String, String> fetch() throws Exception {
+						return client.fetchRequestMappingData();
+					}
+					public List<RequestMapping> parse(ImmutablePair<String, String> payload) throws Exception {
+						return client.parseRequestMappings(payload);
 					}
 				});
+				pollWhileRunning(liveRequestMappings);
 			}
-			return liveRequestMappings.getValue();
+			return liveRequestMappings.touch();
 		}
 	}
 
 	public LiveBeansModel getLiveBeans() {
 		synchronized (this) {
 			if (liveBeans == null) {
-				ActuatorClient client = getActuatorClient();
-				liveBeans = PollingLiveExp.create(client::getBeans);
-				addElementState(liveBeans);
-				addDisposableChild(liveBeans);
-				runState.addListener((e, runstate) -> {
-					if (READY_STATES.contains(runstate)) {
-						// After the app is running refresh for 2 minutes every 5 sec
-						liveBeans.sleepBetweenRefreshes(Duration.ofSeconds(5));
-						liveBeans.refreshFor(LIVE_DATA_REFRESH_TIMEOUT);
-					} else {
-						liveBeans.refreshOnce();
+				ActuatorClient client = getSharedActuatorClient();
+				liveBeans = createLiveData(Duration.ofSeconds(5), new LiveDataPollingHub.DataSource<LiveBeansModel>() {
+					public ImmutablePair<String, String> fetch() throws Exception {
+						return client.fetchBeansData();
+					}
+					public LiveBeansModel parse(ImmutablePair<String, String> payload) throws Exception {
+						LiveBeansModel current = liveBeans.getValue();
+						LiveBeansModel parsed = client.parseBeans(payload);
+						LiveBeansModelDiff diff = LiveBeansModelDiff.compute(current, parsed);
+						if (!diff.isDifferent()) {
+							//Payloads that differ only in formatting or ordering don't change the beans, keep the
+							// current model so views aren't refreshed for nothing.
+							return current;
+						}
+						//Set before the new model becomes the value, so listeners notified of it find its diff
+						liveBeansDiff = ImmutablePair.of(parsed, diff);
+						return parsed;
 					}
 				});
+				pollWhileRunning(liveBeans);
 			}
-			return liveBeans.getValue();
+			return liveBeans.touch();
 		}
 	}
 
+	@Override
+	public LiveBeansModelDiff getLiveBeansDiff(LiveBeansModel beans) {
+		ImmutablePair<LiveBeansModel, LiveBeansModelDiff> diff = liveBeansDiff;
+		return diff!=null && beans!=null && diff.left==beans ? diff.right : null;
+	}
+
 	public LiveEnvModel getLiveEnv() {
 		synchronized (this) {
 			if (liveEnv == null) {
-				ActuatorClient client = getActuatorClient();
-				liveEnv = PollingLiveExp.create(client::getEnv);
-				addElementState(liveEnv);
-				addDisposableChild(liveEnv);
-				runState.addListener((e, runstate) -> {
-					if (READY_STATES.contains(runstate)) {
-						// After the app is running refresh for 2 minutes every 5 sec
-						liveEnv.sleepBetweenRefreshes(Duration.ofSeconds(5));
-						liveEnv.refreshFor(LIVE_DATA_REFRESH_TIMEOUT);
-					} else {
-						liveEnv.refreshOnce();
+				ActuatorClient client = getSharedActuatorClient();
+				liveEnv = createLiveData(Duration.ofSeconds(5), new LiveDataPollingHub.DataSource<LiveEnvModel>() {
+					public ImmutablePair<String, String> fetch() throws Exception {
+						return client.fetchEnvData();
+					}
+					public LiveEnvModel parse(ImmutablePair<String, String> payload) throws Exception {
+						return client.parseEnv(payload);
 					}
 				});
+				pollWhileRunning(liveEnv);
 			}
-			return liveEnv.getValue();
+			return liveEnv.touch();
 		}
 	}
 
@@ -17,6 +17,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.jdt.core.IJavaProject;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelDiff;
 import org.springframework.ide.eclipse.boot.dash.model.actuator.RequestMapping;
 import org.springframework.ide.eclipse.boot.dash.model.actuator.env.LiveEnvModel;
 import org.springframework.ide.eclipse.boot.dash.views.sections.BootDashColumn;
@@ -60,6 +61,13 @@ public interface BootDashElement extends Nameable, Taggable {
 	 */
 	LiveBeansModel getLiveBeans();
 
+	/**
+	 * Get the beans added, removed and changed by the update that produced the given beans model,
+	 * as returned by {@link #getLiveBeans()}. May return null if the difference to the previous
+	 * model is unknown, e.g. because the given model is no longer the current one.
+	 */
+	LiveBeansModelDiff getLiveBeansDiff(LiveBeansModel beans);
+
 	/**
 	 * Get the env from a running process. May return null if env cannot be
 	 * determined. (Thus, <code>null</code> means unknown, whereas an empty list
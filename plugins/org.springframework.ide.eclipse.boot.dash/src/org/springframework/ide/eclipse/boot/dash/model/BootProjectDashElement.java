@@ -14,7 +14,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
-import org.eclipse.jdt.core.IJavaProject;
+import org.springframework.ide.eclipse.boot.core.BootProjectFactsService;
 import org.springframework.ide.eclipse.boot.core.BootPropertyTester;
 import org.springframework.ide.eclipse.boot.dash.livexp.LiveSets;
 import org.springframework.ide.eclipse.boot.dash.model.BootDashModel.ElementStateListener;
@@ -25,8 +25,6 @@ import org.springframework.ide.eclipse.boot.pstore.IPropertyStore;
 import org.springframework.ide.eclipse.boot.pstore.IScopedPropertyStore;
 import org.springframework.ide.eclipse.boot.pstore.PropertyStores;
 import org.springframework.ide.eclipse.boot.util.Log;
-import org.springsource.ide.eclipse.commons.frameworks.core.workspace.ClasspathListenerManager;
-import org.springsource.ide.eclipse.commons.frameworks.core.workspace.ClasspathListenerManager.ClasspathListener;
 import org.springsource.ide.eclipse.commons.livexp.core.DisposeListener;
 import org.springsource.ide.eclipse.commons.livexp.core.LiveExpression;
 import org.springsource.ide.eclipse.commons.livexp.core.ObservableSet;
@@ -82,15 +80,14 @@ public class BootProjectDashElement extends AbstractLaunchConfigurationsDashElem
 				}
 			};
 			hasDevtools.refresh();
-			ClasspathListenerManager classpathListener = new ClasspathListenerManager(new ClasspathListener() {
-				public void classpathChanged(IJavaProject jp) {
-					if (jp.getProject().equals(getProject())) {
-						hasDevtools.refresh();
-					}
+			BootProjectFactsService.Listener factsListener = (project) -> {
+				if (project.equals(getProject())) {
+					hasDevtools.refresh();
 				}
-			});
+			};
+			BootProjectFactsService.getDefault().addListener(factsListener);
 			this.dependsOn(hasDevtools);
-			this.addDisposableChild(classpathListener);
+			this.onDispose((e) -> BootProjectFactsService.getDefault().removeListener(factsListener));
 		}
 		return hasDevtools.getValue();
 	}
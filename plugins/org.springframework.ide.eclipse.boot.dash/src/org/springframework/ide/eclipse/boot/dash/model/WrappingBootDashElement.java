@@ -20,6 +20,8 @@ import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelDiff;
 import org.springframework.ide.eclipse.beans.ui.live.model.TypeLookup;
 import org.springframework.ide.eclipse.beans.ui.live.model.TypeLookupImpl;
 import org.springframework.ide.eclipse.boot.dash.BootDashActivator;
@@ -213,6 +215,14 @@ public abstract class WrappingBootDashElement<T> extends AbstractDisposable impl
 		}
 	}
 
+	/**
+	 * Default implementation for elements that don't keep track of how their beans changed.
+	 */
+	@Override
+	public LiveBeansModelDiff getLiveBeansDiff(LiveBeansModel beans) {
+		return null;
+	}
+
 	protected Client getRestClient() {
 		return ClientBuilder.newClient();
 	}
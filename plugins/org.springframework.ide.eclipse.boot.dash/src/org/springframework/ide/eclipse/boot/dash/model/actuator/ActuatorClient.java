@@ -15,12 +15,9 @@ import java.util.List;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.json.JSONException;
 import org.json.JSONObject;
-import org.osgi.framework.Version;
-import org.osgi.framework.VersionRange;
 import org.springframework.ide.eclipse.beans.ui.live.model.JsonParser;
-import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansJsonParser;
-import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansJsonParser2;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansStreamingParser;
 import org.springframework.ide.eclipse.beans.ui.live.model.TypeLookup;
 import org.springframework.ide.eclipse.boot.dash.model.actuator.env.LiveEnvJsonParser1x;
 import org.springframework.ide.eclipse.boot.dash.model.actuator.env.LiveEnvJsonParser2x;
@@ -39,8 +36,6 @@ import org.springsource.ide.eclipse.commons.livexp.util.Log;
  */
 public abstract class ActuatorClient {
 
-	private static final VersionRange BEANS_PARSER_VERSION_1_RANGE = new VersionRange("[1.0.0, 2.0.0)");
-
 	private final TypeLookup typeLookup;
 
 	public ActuatorClient(TypeLookup typeLookup) {
@@ -63,13 +58,7 @@ public abstract class ActuatorClient {
 
 	public List<RequestMapping> getRequestMappings() {
 		try {
-			ImmutablePair<String, String> data = getRequestMappingData();
-			if (data != null) {
-				String json = data.left;
-				if (json!=null) {
-					return parseRequestMappings(json, data.right);
-				}
-			}
+			return parseRequestMappings(fetchRequestMappingData());
 		} catch (Exception e) {
 			Log.log(e);
 		}
@@ -78,19 +67,7 @@ public abstract class ActuatorClient {
 
 	public LiveBeansModel getBeans() {
 		try {
-			ImmutablePair<String, String> data = getBeansData();
-			if (data != null) {
-				String json = data.left;
-				String version = data.right;
-				if (json != null) {
-					if (version != null) {
-						if (BEANS_PARSER_VERSION_1_RANGE.includes(Version.valueOf(version))) {
-							return new LiveBeansJsonParser(typeLookup, json).parse();
-						}
-					}
-					return new LiveBeansJsonParser2(typeLookup, json).parse();
-				}
-			}
+			return parseBeans(fetchBeansData());
 		} catch (Exception e) {
 			Log.log(e);
 		}
@@ -99,19 +76,59 @@ public abstract class ActuatorClient {
 
 	public LiveEnvModel getEnv() {
 		try {
-			ImmutablePair<String, String> data = getEnvData();
-			if (data != null) {
-				String json = data.left;
-				if (json!=null) {
-					return parseEnv(json, data.right);
-				}
-			}
+			return parseEnv(fetchEnvData());
 		} catch (Exception e) {
 			Log.log(e);
 		}
 		return null;
 	}
 
+	/**
+	 * @return the raw request mappings json and the version of its format, or null if not available.
+	 */
+	public ImmutablePair<String, String> fetchRequestMappingData() throws Exception {
+		return getRequestMappingData();
+	}
+
+	/**
+	 * @return the raw beans json and the version of its format, or null if not available.
+	 */
+	public ImmutablePair<String, String> fetchBeansData() throws Exception {
+		return getBeansData();
+	}
+
+	/**
+	 * @return the raw env json and the version of its format, or null if not available.
+	 */
+	public ImmutablePair<String, String> fetchEnvData() throws Exception {
+		return getEnvData();
+	}
+
+	public List<RequestMapping> parseRequestMappings(ImmutablePair<String, String> data) throws Exception {
+		if (data != null && data.left != null) {
+			return parseRequestMappings(data.left, data.right);
+		}
+		return null;
+	}
+
+	public LiveBeansModel parseBeans(ImmutablePair<String, String> data) throws Exception {
+		if (data != null) {
+			String json = data.left;
+			if (json != null) {
+				// The streaming parser handles Boot 1.x as well as Boot 2.x data, so the version isn't needed
+				return new LiveBeansStreamingParser(typeLookup).parse(json);
+			}
+		}
+		return null;
+	}
+
+	public LiveEnvModel parseEnv(ImmutablePair<String, String> data) throws Exception {
+		if (data != null && data.left != null) {
+			return parseEnv(data.left, data.right);
+		}
+		return null;
+	}
+
 	private LiveEnvModel parseEnv(String json, String version) throws Exception {
 		JsonParser<LiveEnvModel> parser = null;
 		if ("2".equals(version)) {
@@ -119,10 +119,11 @@ public class JMXActuatorClient extends ActuatorClient {
 
 	private synchronized JMXClient getClient() throws Exception {
 		Integer currentPort = portProvider.get();
-		if (currentPort==null) return null;
+		if (currentPort==null || currentPort<=0) return null;
 		if (!currentPort.equals(port) || client==null) {
 			disposeClient();
 			port = currentPort;
+			//Shares the connection with the app's lifecycle client and ready state monitor
 			client = new JMXClient(currentPort);
 		}
 		return client;
@@ -10,10 +10,13 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.dash.util;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.ILaunch;
 import org.springsource.ide.eclipse.commons.livexp.core.LiveExpression;
 import org.springsource.ide.eclipse.commons.livexp.core.LiveVariable;
 
@@ -24,6 +27,12 @@ import org.springsource.ide.eclipse.commons.livexp.core.LiveVariable;
  * repeatedly with a short delay between polls. This continues until either the
  * monitor object is disposed, or the application enters the 'ready' state.
  * <p>
+ * When the monitor is created for a launch it also watches the output of the launch's
+ * processes for the 'Started ...' line (see {@link ReadyMarkerWatcher}). Seeing it, or
+ * a subclass calling {@link #checkNow()} in response to some other event, triggers a check
+ * right away. Once output is being watched, polling only serves as a fallback and happens
+ * every {@link #FALLBACK_POLLING_INTERVAL} instead of every {@link #POLLING_INTERVAL}.
+ * <p>
  * When the application reaches ready state then its 'ready' LiveExp will change
  * value from false to true. Clients who wish to respond to this 'event' can
  * attach a listener to the livexp.
@@ -36,10 +45,44 @@ public abstract class AbstractPollingAppReadyStateMonitor implements ReadyStateM
 
 	public static final long POLLING_INTERVAL = 500/*ms*/;
 
-	private Job job;
+	/**
+	 * Polling interval while the app's output is watched for the 'Started' marker.
+	 */
+	public static final long FALLBACK_POLLING_INTERVAL = 2000/*ms*/;
+
+	/**
+	 * After {@link #checkNow()} the app may need a moment to flip its ready state
+	 * (e.g. Boot logs 'Started' just before it becomes ready). So we keep checking
+	 * at this interval for {@link #SIGNALLED_PERIOD}.
+	 */
+	public static final long SIGNALLED_POLLING_INTERVAL = 100/*ms*/;
+	public static final long SIGNALLED_PERIOD = 2000/*ms*/;
+
+	private volatile Job job;
 	private LiveVariable<Boolean> ready = new LiveVariable<>(false);
+	private final ILaunch launch;
+	private volatile ReadyMarkerWatcher markerWatcher;
+	private volatile long signalledUntil = 0;
+	private final AtomicInteger checkCount = new AtomicInteger();
+
+	/**
+	 * Create a monitor that only polls.
+	 */
+	protected AbstractPollingAppReadyStateMonitor() {
+		this(null);
+	}
+
+	/**
+	 * Create a monitor that watches the output of the given launch's processes and falls back to polling.
+	 */
+	protected AbstractPollingAppReadyStateMonitor(ILaunch launch) {
+		this.launch = launch;
+	}
 
 	final public void startPolling() {
+		if (launch!=null) {
+			markerWatcher = new ReadyMarkerWatcher(launch, this::checkNow);
+		}
 		initPollingJob();
 	}
 
@@ -48,9 +91,15 @@ public abstract class AbstractPollingAppReadyStateMonitor implements ReadyStateM
 			protected IStatus run(IProgressMonitor monitor) {
 				LiveVariable<Boolean> r = ready;
 				if (r!=null) { //null means disposed. Job may be lagging behind
+					ReadyMarkerWatcher w = markerWatcher;
+					if (w!=null) {
+						//Processes may have been added to the launch since last time
+						w.attach();
+					}
+					checkCount.incrementAndGet();
 					r.setValue(checkReady());
 					if (!r.getValue()) {
-						this.schedule(POLLING_INTERVAL);
+						this.schedule(nextPollingDelay());
 					} else {
 						// don't reschedule
 					}
@@ -62,15 +111,51 @@ public abstract class AbstractPollingAppReadyStateMonitor implements ReadyStateM
 		job.schedule();
 	}
 
+	private long nextPollingDelay() {
+		if (System.currentTimeMillis() < signalledUntil) {
+			return SIGNALLED_POLLING_INTERVAL;
+		}
+		ReadyMarkerWatcher w = markerWatcher;
+		if (w!=null && w.isAttached()) {
+			return FALLBACK_POLLING_INTERVAL;
+		}
+		return POLLING_INTERVAL;
+	}
+
+	/**
+	 * Request a check of the ready state right away, rather than at the next poll. Called when
+	 * there's reason to believe the app just became (or is about to become) ready.
+	 */
+	protected final void checkNow() {
+		signalledUntil = System.currentTimeMillis() + SIGNALLED_PERIOD;
+		Job j = job;
+		if (j!=null && j.getState()==Job.SLEEPING) {
+			//Waiting for its polling delay to expire
+			j.wakeUp();
+		}
+		//If the job is running right now, it will use the short delay to reschedule itself.
+	}
+
 	final public LiveExpression<Boolean> getReady() {
 		return ready;
 	}
 
+	/**
+	 * @return number of times the ready state was checked so far.
+	 */
+	public int getCheckCount() {
+		return checkCount.get();
+	}
+
 	public void dispose() {
 		if (job!=null) {
 			job.cancel();
 			job = null;
 		}
+		if (markerWatcher!=null) {
+			markerWatcher.dispose();
+			markerWatcher = null;
+		}
 		ready = null;
 	}
 
@@ -42,13 +42,17 @@ public class CloudCliServiceReadyStateMonitor extends AbstractPollingAppReadySta
 	private String serviceId;
 
 	public CloudCliServiceReadyStateMonitor(Provider<JMXConnector> jmxConnectionProvider, String serviceId) {
-		super();
-		this.jmxConnectionProvider = jmxConnectionProvider;
-		this.serviceId = serviceId;
+		this(null, jmxConnectionProvider, serviceId);
 	}
 
 	public CloudCliServiceReadyStateMonitor(ILaunch launch, String id) {
-		this(() -> createConnector(launch), id);
+		this(launch, () -> createConnector(launch), id);
+	}
+
+	private CloudCliServiceReadyStateMonitor(ILaunch launch, Provider<JMXConnector> jmxConnectionProvider, String serviceId) {
+		super(launch);
+		this.jmxConnectionProvider = jmxConnectionProvider;
+		this.serviceId = serviceId;
 	}
 
 	private static JMXConnector createConnector(ILaunch l) {
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+import org.eclipse.core.runtime.Assert;
+
+/**
+ * Finds occurrences of any of a set of keywords in a stream of characters in a single pass
+ * (Aho-Corasick). The cost per character doesn't depend on the number of keywords.
+ * <p>
+ * The matcher itself is immutable and can be shared. Matching state for a stream is kept in a
+ * {@link State}, so text may be fed chunk by chunk and keywords spanning chunks are still found.
+ */
+public class MultiPatternMatcher {
+
+	/**
+	 * Keywords are reported as bits in an int.
+	 */
+	public static final int MAX_KEYWORDS = 32;
+
+	private static final char[] NO_CHARS = {};
+	private static final int[] NO_INTS = {};
+
+	private final String[] keywords;
+
+	// Trie, one entry per node. Edges of a node are kept in two parallel arrays, searched linearly:
+	// there are few keywords and most nodes have a single edge.
+	private char[][] edgeChars;
+	private int[][] edgeTargets;
+	private int[] failure;
+	private int[] output; //Bit set of keywords ending at the node, including via failure links
+
+	public MultiPatternMatcher(String... keywords) {
+		Assert.isLegal(keywords.length <= MAX_KEYWORDS, "Too many keywords: " + keywords.length);
+		this.keywords = keywords.clone();
+		build();
+	}
+
+	public String getKeyword(int index) {
+		return keywords[index];
+	}
+
+	public int getKeywordCount() {
+		return keywords.length;
+	}
+
+	private void build() {
+		List<char[]> chars = new ArrayList<>();
+		List<int[]> targets = new ArrayList<>();
+		List<Integer> outputs = new ArrayList<>();
+		chars.add(NO_CHARS);
+		targets.add(NO_INTS);
+		outputs.add(0);
+		for (int k = 0; k < keywords.length; k++) {
+			String keyword = keywords[k];
+			Assert.isLegal(!keyword.isEmpty(), "Empty keyword");
+			int node = 0;
+			for (int i = 0; i < keyword.length(); i++) {
+				char c = keyword.charAt(i);
+				int next = find(chars.get(node), targets.get(node), c);
+				if (next < 0) {
+					next = chars.size();
+					chars.add(NO_CHARS);
+					targets.add(NO_INTS);
+					outputs.add(0);
+					char[] cs = Arrays.copyOf(chars.get(node), chars.get(node).length + 1);
+					int[] ts = Arrays.copyOf(targets.get(node), targets.get(node).length + 1);
+					cs[cs.length - 1] = c;
+					ts[ts.length - 1] = next;
+					chars.set(node, cs);
+					targets.set(node, ts);
+				}
+				node = next;
+			}
+			outputs.set(node, outputs.get(node) | (1 << k));
+		}
+
+		int size = chars.size();
+		edgeChars = chars.toArray(new char[size][]);
+		edgeTargets = targets.toArray(new int[size][]);
+		output = new int[size];
+		for (int i = 0; i < size; i++) {
+			output[i] = outputs.get(i);
+		}
+
+		//Breadth first, so failure links of shallower nodes are known when they're needed.
+		failure = new int[size];
+		Queue<Integer> queue = new ArrayDeque<>();
+		for (int child : edgeTargets[0]) {
+			queue.add(child);
+		}
+		while (!queue.isEmpty()) {
+			int node = queue.remove();
+			for (int e = 0; e < edgeChars[node].length; e++) {
+				char c = edgeChars[node][e];
+				int child = edgeTargets[node][e];
+				int f = failure[node];
+				while (f > 0 && find(edgeChars[f], edgeTargets[f], c) < 0) {
+					f = failure[f];
+				}
+				int target = find(edgeChars[f], edgeTargets[f], c);
+				failure[child] = target >= 0 ? target : 0;
+				output[child] |= output[failure[child]];
+				queue.add(child);
+			}
+		}
+	}
+
+	private static int find(char[] cs, int[] ts, char c) {
+		for (int i = 0; i < cs.length; i++) {
+			if (cs[i] == c) {
+				return ts[i];
+			}
+		}
+		return -1;
+	}
+
+	private int step(int node, char c) {
+		while (true) {
+			int next = find(edgeChars[node], edgeTargets[node], c);
+			if (next >= 0) {
+				return next;
+			}
+			if (node == 0) {
+				return 0;
+			}
+			node = failure[node];
+		}
+	}
+
+	public State newState() {
+		return new State();
+	}
+
+	/**
+	 * Matching state for a single stream of text. Not thread safe.
+	 */
+	public class State {
+
+		private int node = 0;
+
+		/**
+		 * Advances the matcher by one character.
+		 *
+		 * @return bit set of the keywords that end at this character, 0 if none.
+		 */
+		public int feed(char c) {
+			node = step(node, c);
+			return output[node];
+		}
+
+		/**
+		 * Advances the matcher over a piece of text.
+		 *
+		 * @return bit set of the keywords that end anywhere in the text.
+		 */
+		public int feed(CharSequence text) {
+			int found = 0;
+			for (int i = 0; i < text.length(); i++) {
+				found |= feed(text.charAt(i));
+			}
+			return found;
+		}
+
+		/**
+		 * Forgets partially matched keywords, e.g. at the end of a line when keywords can't span lines.
+		 */
+		public void reset() {
+			node = 0;
+		}
+	}
+
+}
@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.util;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.IStreamListener;
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.eclipse.debug.core.model.IStreamsProxy;
+import org.springframework.ide.eclipse.boot.dash.util.ProcessOutputEvent.Kind;
+import org.springframework.ide.eclipse.boot.launch.cli.CloudCliServiceLaunchConfigurationDelegate;
+import org.springframework.ide.eclipse.boot.launch.util.BootLaunchUtils;
+import org.springframework.ide.eclipse.boot.util.Log;
+import org.springframework.ide.eclipse.boot.util.ProcessListenerAdapter;
+import org.springframework.ide.eclipse.boot.util.ProcessTracker;
+import org.springsource.ide.eclipse.commons.livexp.ui.Disposable;
+
+/**
+ * Watches the output of launched Boot apps and tells subscribers about noteworthy lines,
+ * see {@link ProcessOutputEvent.Kind}.
+ * <p>
+ * There's one listener per output stream, no matter how many subscribers there are. It runs all
+ * keywords through a single {@link MultiPatternMatcher}, so the cost per chunk of output stays the
+ * same as more kinds of events are added. Only lines containing a keyword are looked at more
+ * closely. Lines may be split across chunks.
+ * <p>
+ * Subscribers are called on the thread reading the process's output and should return quickly.
+ */
+public class ProcessOutputAnalyzer implements Disposable {
+
+	@FunctionalInterface
+	public interface Listener {
+		void outputEvent(ProcessOutputEvent event);
+	}
+
+	public static final Pattern STARTED_MARKER = Pattern.compile("Started \\S+ in \\d+(\\.\\d+)? seconds");
+	private static final Pattern PORT = Pattern.compile("started on port\\(?s?\\)?:?\\s*(\\d{1,5})");
+
+	/**
+	 * Lines handed to subscribers are truncated to this length.
+	 */
+	public static final int MAX_LINE_LENGTH = 1024;
+
+	private static final int KW_PORT = 1 << 0;
+	private static final int KW_STARTED = 1 << 1;
+	private static final int KW_EXCEPTION = 1 << 2;
+	private static final MultiPatternMatcher MATCHER = new MultiPatternMatcher(
+			"started on port",
+			"Started ",
+			"Exception"
+	);
+
+	private static ProcessOutputAnalyzer instance;
+
+	/**
+	 * @return the analyzer that watches all local Boot and Spring Cloud CLI launches.
+	 */
+	public static synchronized ProcessOutputAnalyzer getDefault() {
+		if (instance==null) {
+			instance = new ProcessOutputAnalyzer();
+			instance.trackLaunches();
+		}
+		return instance;
+	}
+
+	private final Map<IProcess, ProcessState> processes = new HashMap<>();
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+	private ProcessTracker processTracker;
+
+	/**
+	 * Automatically attach to processes of Boot and Spring Cloud CLI launches, current and future ones.
+	 */
+	public synchronized void trackLaunches() {
+		if (processTracker==null) {
+			processTracker = new ProcessTracker(new ProcessListenerAdapter() {
+				@Override
+				public void processCreated(ProcessTracker tracker, IProcess process) {
+					if (isInteresting(process.getLaunch())) {
+						attach(process);
+					}
+				}
+
+				@Override
+				public void processTerminated(ProcessTracker tracker, IProcess process) {
+					detach(process);
+				}
+			});
+		}
+	}
+
+	private static boolean isInteresting(ILaunch l) {
+		return l!=null && (BootLaunchUtils.isBootLaunch(l)
+				|| CloudCliServiceLaunchConfigurationDelegate.isLocalCloudServiceLaunch(l.getLaunchConfiguration()));
+	}
+
+	public Disposable subscribe(Listener listener) {
+		listeners.add(listener);
+		return () -> listeners.remove(listener);
+	}
+
+	/**
+	 * Starts analyzing the output of a process, unless it is analyzed already. Output the process
+	 * printed before is analyzed too.
+	 */
+	public void attach(IProcess process) {
+		ProcessState state;
+		synchronized (processes) {
+			if (processes.containsKey(process)) {
+				return;
+			}
+			processes.put(process, state = new ProcessState(process));
+		}
+		state.start();
+	}
+
+	public void detach(IProcess process) {
+		ProcessState state;
+		synchronized (processes) {
+			state = processes.remove(process);
+		}
+		if (state!=null) {
+			state.stop();
+		}
+	}
+
+	public boolean isAttached(IProcess process) {
+		synchronized (processes) {
+			return processes.containsKey(process);
+		}
+	}
+
+	/**
+	 * @return whether an event of the given kind was detected in the output of the process so far.
+	 */
+	public boolean hasSeen(IProcess process, Kind kind) {
+		ProcessState state;
+		synchronized (processes) {
+			state = processes.get(process);
+		}
+		return state!=null && state.hasSeen(kind);
+	}
+
+	@Override
+	public void dispose() {
+		synchronized (this) {
+			if (processTracker!=null) {
+				processTracker.dispose();
+				processTracker = null;
+			}
+		}
+		List<ProcessState> states;
+		synchronized (processes) {
+			states = new ArrayList<>(processes.values());
+			processes.clear();
+		}
+		for (ProcessState s : states) {
+			s.stop();
+		}
+		listeners.clear();
+	}
+
+	private void fire(ProcessOutputEvent event) {
+		for (Listener l : listeners) {
+			try {
+				l.outputEvent(event);
+			} catch (Exception e) {
+				Log.log(e);
+			}
+		}
+	}
+
+	private class ProcessState {
+
+		final IProcess process;
+		private final Set<Kind> seen = EnumSet.noneOf(Kind.class);
+		private final Map<IStreamMonitor, StreamAnalyzer> streams = new HashMap<>();
+
+		ProcessState(IProcess process) {
+			this.process = process;
+		}
+
+		void start() {
+			IStreamsProxy proxy = process.getStreamsProxy();
+			if (proxy!=null) {
+				start(proxy.getOutputStreamMonitor());
+				start(proxy.getErrorStreamMonitor());
+			}
+		}
+
+		private void start(IStreamMonitor monitor) {
+			if (monitor!=null) {
+				StreamAnalyzer analyzer = new StreamAnalyzer(this);
+				synchronized (this) {
+					streams.put(monitor, analyzer);
+				}
+				//Stream monitors append to their contents and notify their listeners while holding their own
+				// lock (see OutputStreamMonitor). Registering and catching up with what was printed before
+				// we got here under that lock means each chunk is analyzed exactly once and in order: either
+				// as part of the contents, or when it is appended afterwards.
+				synchronized (monitor) {
+					monitor.addListener(analyzer);
+					String contents = monitor.getContents();
+					if (contents!=null && !contents.isEmpty()) {
+						analyzer.streamAppended(contents, monitor);
+					}
+				}
+			}
+		}
+
+		synchronized void stop() {
+			for (Map.Entry<IStreamMonitor, StreamAnalyzer> e : streams.entrySet()) {
+				e.getKey().removeListener(e.getValue());
+			}
+			streams.clear();
+		}
+
+		synchronized boolean hasSeen(Kind kind) {
+			return seen.contains(kind);
+		}
+
+		void found(Kind kind, String line, int port) {
+			synchronized (this) {
+				seen.add(kind);
+			}
+			fire(new ProcessOutputEvent(kind, process, line, port));
+		}
+	}
+
+	/**
+	 * Analyzes a single output stream of a process.
+	 */
+	private static class StreamAnalyzer implements IStreamListener {
+
+		private final ProcessState owner;
+		private final MultiPatternMatcher.State matcher = MATCHER.newState();
+		/**
+		 * Start of the current line, when it began in an earlier chunk.
+		 */
+		private final StringBuilder partialLine = new StringBuilder();
+		private int lineKeywords = 0;
+
+		StreamAnalyzer(ProcessState owner) {
+			this.owner = owner;
+		}
+
+		@Override
+		public synchronized void streamAppended(String text, IStreamMonitor monitor) {
+			int lineStart = 0;
+			for (int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if (c=='\n') {
+					if (lineKeywords!=0) {
+						analyzeLine(lineText(text, lineStart, i), lineKeywords);
+					}
+					partialLine.setLength(0);
+					lineKeywords = 0;
+					matcher.reset();
+					lineStart = i + 1;
+				} else {
+					lineKeywords |= matcher.feed(c);
+				}
+			}
+			int room = MAX_LINE_LENGTH - partialLine.length();
+			if (room > 0 && lineStart < text.length()) {
+				partialLine.append(text, lineStart, Math.min(text.length(), lineStart + room));
+			}
+		}
+
+		private String lineText(String text, int start, int end) {
+			String line;
+			if (partialLine.length() > 0) {
+				line = partialLine.append(text, start, end).toString();
+			} else {
+				line = text.substring(start, end);
+			}
+			if (line.endsWith("\r")) {
+				line = line.substring(0, line.length() - 1);
+			}
+			return line.length() > MAX_LINE_LENGTH ? line.substring(0, MAX_LINE_LENGTH) : line;
+		}
+
+		private void analyzeLine(String line, int keywords) {
+			if ((keywords & KW_PORT)!=0) {
+				Matcher m = PORT.matcher(line);
+				owner.found(Kind.PORT_OPENED, line, m.find() ? Integer.parseInt(m.group(1)) : -1);
+			}
+			if ((keywords & KW_STARTED)!=0 && STARTED_MARKER.matcher(line).find()) {
+				owner.found(Kind.APP_STARTED, line, -1);
+			}
+			if ((keywords & KW_EXCEPTION)!=0 && !line.isEmpty() && !Character.isWhitespace(line.charAt(0))) {
+				//Not a stack frame like "\tat com.example.ExceptionHandler.handle(...)"
+				owner.found(Kind.EXCEPTION_LOGGED, line, -1);
+			}
+		}
+	}
+
+}
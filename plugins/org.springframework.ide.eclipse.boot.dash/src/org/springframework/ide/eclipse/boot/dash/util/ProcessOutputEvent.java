@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.util;
+
+import org.eclipse.debug.core.model.IProcess;
+
+/**
+ * Something noteworthy that a launched app printed, as detected by the {@link ProcessOutputAnalyzer}.
+ */
+public class ProcessOutputEvent {
+
+	public enum Kind {
+		/**
+		 * An embedded web server started listening, e.g. "Tomcat started on port(s): 8080 (http)".
+		 * The port is available via {@link ProcessOutputEvent#getPort()} if it could be parsed.
+		 */
+		PORT_OPENED,
+
+		/**
+		 * The app finished starting, e.g. "Started DemoApplication in 2.5 seconds (JVM running for 3.1)".
+		 */
+		APP_STARTED,
+
+		/**
+		 * A line naming an exception, e.g. "java.lang.IllegalStateException: ..." or "Caused by: ...".
+		 */
+		EXCEPTION_LOGGED
+	}
+
+	private final Kind kind;
+	private final IProcess process;
+	private final String line;
+	private final int port;
+
+	public ProcessOutputEvent(Kind kind, IProcess process, String line, int port) {
+		this.kind = kind;
+		this.process = process;
+		this.line = line;
+		this.port = port;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	public IProcess getProcess() {
+		return process;
+	}
+
+	/**
+	 * @return the line of output the event was detected in, possibly truncated.
+	 */
+	public String getLine() {
+		return line;
+	}
+
+	/**
+	 * @return the port for {@link Kind#PORT_OPENED}, -1 if unknown or not applicable.
+	 */
+	public int getPort() {
+		return port;
+	}
+
+	@Override
+	public String toString() {
+		return "ProcessOutputEvent [" + kind + (port > 0 ? ", port=" + port : "") + ", line=" + line + "]";
+	}
+
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.model.IProcess;
+import org.springframework.ide.eclipse.boot.dash.util.ProcessOutputEvent.Kind;
+import org.springsource.ide.eclipse.commons.livexp.ui.Disposable;
+
+/**
+ * Watches the output of a launch's processes for the line a Spring Boot app logs when it
+ * has started (e.g. "Started DemoApplication in 2.5 seconds (JVM running for 3.1)") and
+ * calls back when it sees it. The output itself is analyzed by the {@link ProcessOutputAnalyzer}.
+ * <p>
+ * Processes may be added to a launch after the watcher is created, so {@link #attach()} should
+ * be called again from time to time. It only attaches to processes it didn't see before.
+ */
+public class ReadyMarkerWatcher implements Disposable {
+
+	private final ILaunch launch;
+	private final Runnable onMarker;
+	private final ProcessOutputAnalyzer analyzer;
+	private final Set<IProcess> processes = new HashSet<>();
+	private Disposable subscription;
+
+	public ReadyMarkerWatcher(ILaunch launch, Runnable onMarker) {
+		this(ProcessOutputAnalyzer.getDefault(), launch, onMarker);
+	}
+
+	public ReadyMarkerWatcher(ProcessOutputAnalyzer analyzer, ILaunch launch, Runnable onMarker) {
+		this.analyzer = analyzer;
+		this.launch = launch;
+		this.onMarker = onMarker;
+		this.subscription = analyzer.subscribe((event) -> {
+			if (event.getKind()==Kind.APP_STARTED && event.getProcess().getLaunch()==launch) {
+				onMarker.run();
+			}
+		});
+	}
+
+	/**
+	 * Starts watching processes of the launch that aren't watched yet.
+	 *
+	 * @return whether the output of at least one process is being watched.
+	 */
+	public synchronized boolean attach() {
+		if (subscription!=null) {
+			for (IProcess process : launch.getProcesses()) {
+				if (processes.add(process)) {
+					analyzer.attach(process);
+					//The marker may have gone by already
+					if (analyzer.hasSeen(process, Kind.APP_STARTED)) {
+						onMarker.run();
+					}
+				}
+			}
+		}
+		return isAttached();
+	}
+
+	public synchronized boolean isAttached() {
+		for (IProcess process : processes) {
+			if (analyzer.isAttached(process)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public synchronized void dispose() {
+		if (subscription!=null) {
+			subscription.dispose();
+			subscription = null;
+		}
+		processes.clear();
+	}
+
+}
@@ -10,7 +10,13 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.dash.util;
 
+import javax.management.MBeanServerDelegate;
+import javax.management.MBeanServerNotification;
+import javax.management.Notification;
+import javax.management.NotificationListener;
+
 import org.eclipse.debug.core.ILaunch;
+import org.springframework.ide.eclipse.boot.launch.util.JMXConnectionPool;
 import org.springframework.ide.eclipse.boot.launch.util.SpringApplicationLifeCycleClientManager;
 import org.springframework.ide.eclipse.boot.launch.util.SpringApplicationLifecycleClient;
 
@@ -20,6 +26,9 @@ import org.springframework.ide.eclipse.boot.launch.util.SpringApplicationLifecyc
  * polls. This continues until either the  SpringApplicationReadyStateMonitor is disposed,
  * or the application enters the 'ready' state.
  * <p>
+ * Besides the 'Started' line in the app's output, registration of Spring Boot mbeans
+ * (which Boot does late in the app's startup) triggers an immediate check.
+ * <p>
  * When the application reaches ready state then its 'ready' LiveExp will change value from
  * false to true. Clients who wish to respond to this 'event' can attach a listener to
  * the livexp.
@@ -28,10 +37,26 @@ import org.springframework.ide.eclipse.boot.launch.util.SpringApplicationLifecyc
  */
 public class SpringApplicationReadyStateMonitor extends AbstractPollingAppReadyStateMonitor {
 
+	private static final String BOOT_MBEAN_DOMAIN = "org.springframework.boot";
+
 	private SpringApplicationLifeCycleClientManager clientManager;
 
+	/**
+	 * Lease on which {@link #mbeanRegistrationListener} is registered. Listeners go away with the lease
+	 * when the client is disposed, so we must register again on the next lease.
+	 */
+	private JMXConnectionPool.Lease listeningOn;
+
+	private final NotificationListener mbeanRegistrationListener = (Notification notification, Object handback) -> {
+		if (MBeanServerNotification.REGISTRATION_NOTIFICATION.equals(notification.getType())
+				&& notification instanceof MBeanServerNotification
+				&& BOOT_MBEAN_DOMAIN.equals(((MBeanServerNotification) notification).getMBeanName().getDomain())) {
+			checkNow();
+		}
+	};
+
 	public SpringApplicationReadyStateMonitor(ILaunch launch) {
-		super();
+		super(launch);
 		clientManager = new SpringApplicationLifeCycleClientManager(launch);
 	}
 
@@ -46,6 +71,7 @@ public class SpringApplicationReadyStateMonitor extends AbstractPollingAppReadyS
 		try {
 			SpringApplicationLifecycleClient client = clientManager.getLifeCycleClient();
 			if (client!=null) {
+				listenForMBeanRegistrations();
 				return client.isReady();
 			}
 		} catch (Exception e) {
@@ -58,4 +84,12 @@ public class SpringApplicationReadyStateMonitor extends AbstractPollingAppReadyS
 		return false;
 	}
 
+	private void listenForMBeanRegistrations() throws Exception {
+		JMXConnectionPool.Lease lease = clientManager.getLease();
+		if (lease != null && lease != listeningOn) {
+			listeningOn = lease;
+			lease.addNotificationListener(MBeanServerDelegate.DELEGATE_NAME, mbeanRegistrationListener);
+		}
+	}
+
 }
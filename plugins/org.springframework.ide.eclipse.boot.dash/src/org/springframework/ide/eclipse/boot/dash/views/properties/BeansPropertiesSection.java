@@ -23,6 +23,8 @@ import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetPage;
 import org.springframework.ide.eclipse.beans.ui.live.model.AbstractLiveBeansModelElement;
 import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeanType;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModel;
+import org.springframework.ide.eclipse.beans.ui.live.model.LiveBeansModelDiff;
 import org.springframework.ide.eclipse.beans.ui.live.tree.ContextGroupedBeansContentProvider;
 import org.springframework.ide.eclipse.beans.ui.live.tree.LiveBeansTreeLabelProvider;
 import org.springframework.ide.eclipse.beans.ui.live.utils.LiveBeanUtil;
@@ -41,6 +43,11 @@ public class BeansPropertiesSection extends AbstractBdePropertiesSection {
 	private TabbedPropertySheetPage page;
 	private SearchableTreeControl searchableTree;
 
+	/**
+	 * The element and beans model the tree was last refreshed for
+	 */
+	private BootDashElement shownElement;
+	private LiveBeansModel shownBeans;
 
 	@Override
 	public void createControls(Composite parent, TabbedPropertySheetPage aTabbedPropertySheetPage) {
@@ -68,9 +75,27 @@ public class BeansPropertiesSection extends AbstractBdePropertiesSection {
 
 	@Override
 	public void refresh() {
+		BootDashElement bde = getBootDashElement();
+		LiveBeansModel beans = bde == null ? null : bde.getLiveBeans();
+		if (bde != null && bde == shownElement && !isChanged(bde, beans)) {
+			// The section is refreshed for any state change of the element (e.g. its env or request
+			// mappings). Keep the tree alone, a full refresh of a large beans tree is expensive.
+			return;
+		}
+		shownElement = bde;
+		shownBeans = beans;
 		searchableTree.refresh();
 	}
 
+	private boolean isChanged(BootDashElement bde, LiveBeansModel beans) {
+		if (beans == shownBeans) {
+			return false;
+		}
+		LiveBeansModelDiff diff = bde.getLiveBeansDiff(beans);
+		// Without a diff the new model may be anything, e.g. after the app was restarted
+		return diff == null || diff.isDifferent();
+	}
+
 	private Supplier<String> getNoContentMessage() {
 		return () -> {
 			BootDashElement bde = getBootDashElement();
@@ -12,7 +12,10 @@ package org.springframework.ide.eclipse.boot.dash.views.sections;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.eclipse.core.runtime.Assert;
@@ -97,6 +100,7 @@ import org.springsource.ide.eclipse.commons.ui.UiUtil;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 
 /**
  * Displays all runtargets and elements in a single 'unified' tree viewer.
@@ -128,6 +132,7 @@ public class BootDashUnifiedTreeSection extends PageSection implements MultiSele
 	private UserInteractions ui;
 	private LiveExpression<Filter<BootDashElement>> searchFilterModel;
 	private Stylers stylers;
+	private TreeUpdateCoalescer updates;
 
 	public static class BootModelViewerSorter extends ViewerSorter {
 
@@ -176,82 +181,153 @@ public class BootDashUnifiedTreeSection extends PageSection implements MultiSele
 
 	final private ElementStateListener ELEMENT_STATE_LISTENER = new ElementStateListener() {
 		public void stateChanged(final BootDashElement e) {
-			Display.getDefault().asyncExec(new Runnable() {
-				public void run() {
-					if (tv != null && !tv.getControl().isDisposed()) {
-						//tv.update(e, null);
-						tv.refresh(e, true);
-						tv.getControl().redraw();
-					}
-				}
-			});
+			TreeUpdateCoalescer updates = BootDashUnifiedTreeSection.this.updates;
+			if (updates!=null) {
+				updates.updated(e.getBootDashModel(), e);
+			}
 		}
 	};
 
 	final private ModelStateListener MODEL_STATE_LISTENER = new ModelStateListener() {
 		public void stateChanged(final BootDashModel model) {
-			Display.getDefault().asyncExec(new Runnable() {
-				public void run() {
-					if (tv != null && !tv.getControl().isDisposed()) {
-						tv.refresh();
-						/*
-						 * TODO: ideally the above should do the repaint of
-						 * the control's area where the tree item is
-						 * located, but for some reason repaint doesn't
-						 * happen. #refresh() didn't trigger the repaint either
-						 */
-						tv.getControl().redraw();
-					} else {
-						model.removeModelStateListener(MODEL_STATE_LISTENER);
-					}
-				}
-			});
+			if (isViewerDisposed()) {
+				model.removeModelStateListener(MODEL_STATE_LISTENER);
+			} else {
+				updates.refreshSection(model);
+			}
 		}
 	};
 
-	final private ValueListener<ImmutableSet<RunTarget>> RUN_TARGET_LISTENER = new UIValueListener<ImmutableSet<RunTarget>>() {
-		protected void uiGotValue(LiveExpression<ImmutableSet<RunTarget>> exp, ImmutableSet<RunTarget> value) {
-			if (tv != null && !tv.getControl().isDisposed()) {
-				tv.refresh();
+	final private ValueListener<ImmutableSet<RunTarget>> RUN_TARGET_LISTENER = new ValueListener<ImmutableSet<RunTarget>>() {
+		public void gotValue(LiveExpression<ImmutableSet<RunTarget>> exp, ImmutableSet<RunTarget> value) {
+			if (!isViewerDisposed()) {
+				updates.refreshAll();
 			}
 		}
 	};
 
-	@SuppressWarnings({"rawtypes", "unchecked"}) //Raw types, because the types are getting in the way.
-		//This is fine because we don't really care about the values here, so we don't really care about
-		//their types either.
-	private final ValueListener ELEMENTS_SET_LISTENER = new UIValueListener() {
-		protected void uiGotValue(LiveExpression exp, Object value) {
-			if (tv != null && !tv.getControl().isDisposed()) {
-				//TODO: refreshing the whole table is overkill, but is a bit tricky to figure out which BDM
-				// this set of elements belong to. If we did know then we could just refresh the node representing its section
-				// only.
-				tv.refresh();
-			} else {
-				//This listener can't easily be removed because of the intermediary adapter that adds it to a numner of different
-				// things. So at least remove it when model remains chatty after view got disposed.
-				exp.removeListener(this);
+	/**
+	 * Listeners attached to the elements and buttons of a single section, so that changes can be applied to
+	 * that section's node only.
+	 */
+	private class SectionListener {
+
+		private final BootDashModel section;
+		private ImmutableSet<BootDashElement> currentElements;
+
+		final ValueListener<ImmutableSet<BootDashElement>> elementsListener = new ValueListener<ImmutableSet<BootDashElement>>() {
+			public void gotValue(LiveExpression<ImmutableSet<BootDashElement>> exp, ImmutableSet<BootDashElement> value) {
+				if (isViewerDisposed()) {
+					//This listener can't easily be removed because of the intermediary adapter that adds it to a numner of different
+					// things. So at least remove it when model remains chatty after view got disposed.
+					exp.removeListener(this);
+					return;
+				}
+				ImmutableSet<BootDashElement> current = value==null ? ImmutableSet.<BootDashElement>of() : value;
+				//Diff and record atomically, so concurrent changes reach the coalescer in the right order
+				synchronized (SectionListener.this) {
+					ImmutableSet<BootDashElement> previous = currentElements;
+					currentElements = current;
+					if (previous==null) {
+						//A new section, its node must be created
+						updates.refreshAll();
+					} else {
+						updates.removed(section, Sets.difference(previous, current));
+						updates.added(section, Sets.difference(current, previous));
+					}
+				}
 			}
+		};
+
+		final ValueListener<ImmutableSet<ButtonModel>> buttonsListener = new ValueListener<ImmutableSet<ButtonModel>>() {
+			public void gotValue(LiveExpression<ImmutableSet<ButtonModel>> exp, ImmutableSet<ButtonModel> value) {
+				if (isViewerDisposed()) {
+					exp.removeListener(this);
+				} else {
+					updates.refreshSection(section);
+				}
+			}
+		};
+
+		SectionListener(BootDashModel section) {
+			this.section = section;
 		}
-	};
+
+		void attach() {
+			section.getElements().addListener(elementsListener);
+			section.getButtons().addListener(buttonsListener);
+			section.addModelStateListener(MODEL_STATE_LISTENER);
+		}
+
+		void detach() {
+			section.getElements().removeListener(elementsListener);
+			section.getButtons().removeListener(buttonsListener);
+			section.removeModelStateListener(MODEL_STATE_LISTENER);
+		}
+	}
+
+	private final Map<BootDashModel, SectionListener> sectionListeners = new ConcurrentHashMap<>();
 
 	/**
 	 * Listener which adds element set listener to each section model.
 	 */
-	@SuppressWarnings("unchecked")
 	final private ValueListener<ImmutableSet<BootDashModel>> ELEMENTS_SET_LISTENER_ADAPTER = new ElementwiseListener<BootDashModel>() {
 		protected void added(LiveExpression<ImmutableSet<BootDashModel>> exp, BootDashModel e) {
-			e.getElements().addListener((ValueListener<ImmutableSet<BootDashElement>>) ELEMENTS_SET_LISTENER);
-			e.getButtons().addListener((ValueListener<ImmutableSet<ButtonModel>>) ELEMENTS_SET_LISTENER);
-			e.addModelStateListener(MODEL_STATE_LISTENER);
+			SectionListener listener = new SectionListener(e);
+			if (sectionListeners.putIfAbsent(e, listener)==null) {
+				listener.attach();
+			}
 		}
 		protected void removed(LiveExpression<ImmutableSet<BootDashModel>> exp, BootDashModel e) {
-			e.getElements().removeListener((ValueListener<ImmutableSet<BootDashElement>>) ELEMENTS_SET_LISTENER);
-			e.getButtons().removeListener((ValueListener<ImmutableSet<ButtonModel>>) ELEMENTS_SET_LISTENER);
-			e.removeModelStateListener(MODEL_STATE_LISTENER);
+			SectionListener listener = sectionListeners.remove(e);
+			if (listener!=null) {
+				listener.detach();
+			}
+			if (!isViewerDisposed()) {
+				updates.refreshAll();
+			}
 		}
 	};
 
+	private boolean isViewerDisposed() {
+		return tv == null || updates == null || tv.getControl().isDisposed();
+	}
+
+	/**
+	 * Applies a batch of changes collected by the {@link TreeUpdateCoalescer}. Called on the UI thread.
+	 */
+	private void applyUpdates(TreeUpdateCoalescer.Batch batch) {
+		if (tv == null || tv.getControl().isDisposed()) {
+			return;
+		}
+		if (batch.isRefreshAll()) {
+			tv.refresh();
+		} else {
+			for (Object section : batch.getRefreshedSections()) {
+				tv.refresh(section, true);
+			}
+			for (Entry<Object, Set<Object>> e : batch.getRemoved().entrySet()) {
+				tv.remove(e.getKey(), e.getValue().toArray());
+			}
+			for (Entry<Object, Set<Object>> e : batch.getAdded().entrySet()) {
+				tv.add(e.getKey(), e.getValue().toArray());
+			}
+			for (Set<Object> elements : batch.getUpdated().values()) {
+				for (Object element : elements) {
+					tv.refresh(element, true);
+				}
+			}
+			tv.updateHiddenElementCount();
+		}
+		/*
+		 * TODO: ideally the above should do the repaint of
+		 * the control's area where the tree item is
+		 * located, but for some reason repaint doesn't
+		 * happen. #refresh() didn't trigger the repaint either
+		 */
+		tv.getControl().redraw();
+	}
+
 	public static class CustomTreeViewer extends TreeViewer {
 
 		private LiveVariable<Integer> hiddenElementCount = new LiveVariable<>(0);
@@ -264,6 +340,10 @@ public class BootDashUnifiedTreeSection extends PageSection implements MultiSele
 		public void refresh(Object obj) {
 			super.refresh(obj);
 			// Every sub-tree refresh should update the hidden elements label
+			updateHiddenElementCount();
+		}
+
+		public void updateHiddenElementCount() {
 			int totalElements = countChildren(getRoot());
 			int filteredElements = countFilteredChildren(getRoot());
 			hiddenElementCount.setValue(totalElements - filteredElements);
@@ -298,6 +378,10 @@ public class BootDashUnifiedTreeSection extends PageSection implements MultiSele
 	@Override
 	public void createContents(Composite page) {
 		tv = new CustomTreeViewer(page, SWT.V_SCROLL | SWT.H_SCROLL | SWT.MULTI);
+		updates = new TreeUpdateCoalescer(
+				(flush) -> Display.getDefault().asyncExec(() -> Display.getDefault().timerExec((int) TreeUpdateCoalescer.FRAME_INTERVAL_MS, flush)),
+				this::applyUpdates
+		);
 		tv.setExpandPreCheckFilters(true);
 		tv.setContentProvider(new BootDashTreeContentProvider());
 		tv.setSorter(new BootModelViewerSorter(this.model));
@@ -402,9 +486,11 @@ public class BootDashUnifiedTreeSection extends PageSection implements MultiSele
 				model.removeElementStateListener(ELEMENT_STATE_LISTENER);
 				model.getRunTargets().removeListener(RUN_TARGET_LISTENER);
 				model.getSectionModels().removeListener(ELEMENTS_SET_LISTENER_ADAPTER);
-				for (BootDashModel m : model.getSectionModels().getValue()) {
-					m.removeModelStateListener(MODEL_STATE_LISTENER);
+				for (SectionListener l : sectionListeners.values()) {
+					l.detach();
 				}
+				sectionListeners.clear();
+				updates.dispose();
 
 				if (searchFilterModel!=null) {
 					searchFilterModel.removeListener(FILTER_LISTENER);
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.dash.views.sections;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Collects the changes a tree viewer must reflect and applies them in batches, at most once
+ * per {@link #FRAME_INTERVAL_MS}, rather than updating the viewer for every single event.
+ * <p>
+ * Changes are recorded per section (the parent node of elements in the tree) and deduplicated:
+ * refreshing a section subsumes all other pending changes of that section, refreshing everything
+ * subsumes all pending changes, and adds and removes of the same element cancel out.
+ * <p>
+ * The coalescer doesn't depend on SWT itself. The 'scheduler' given to it must run a task on the
+ * UI thread after the frame interval, the 'applier' carries out a batch against the viewer.
+ */
+public class TreeUpdateCoalescer {
+
+	public static final long FRAME_INTERVAL_MS = 50;
+
+	/**
+	 * Changes to apply to the viewer in one go.
+	 */
+	public static class Batch {
+
+		private boolean refreshAll;
+		private final Set<Object> refreshedSections = new LinkedHashSet<>();
+		private final Map<Object, Set<Object>> added = new LinkedHashMap<>();
+		private final Map<Object, Set<Object>> removed = new LinkedHashMap<>();
+		private final Map<Object, Set<Object>> updated = new LinkedHashMap<>();
+		private int events;
+
+		/**
+		 * @return whether the whole viewer must be refreshed, in which case there are no other changes in the batch.
+		 */
+		public boolean isRefreshAll() {
+			return refreshAll;
+		}
+
+		/**
+		 * @return sections whose subtree must be refreshed (structure and labels).
+		 */
+		public Set<Object> getRefreshedSections() {
+			return refreshedSections;
+		}
+
+		/**
+		 * @return elements to add to the tree, keyed by their section.
+		 */
+		public Map<Object, Set<Object>> getAdded() {
+			return added;
+		}
+
+		/**
+		 * @return elements to remove from the tree, keyed by their former section.
+		 */
+		public Map<Object, Set<Object>> getRemoved() {
+			return removed;
+		}
+
+		/**
+		 * @return elements whose state changed, keyed by their section.
+		 */
+		public Map<Object, Set<Object>> getUpdated() {
+			return updated;
+		}
+
+		/**
+		 * @return number of events that were coalesced into this batch.
+		 */
+		public int getEventCount() {
+			return events;
+		}
+
+		public boolean isEmpty() {
+			return !refreshAll && refreshedSections.isEmpty() && added.isEmpty() && removed.isEmpty() && updated.isEmpty();
+		}
+
+		private void refreshAll() {
+			refreshAll = true;
+			refreshedSections.clear();
+			added.clear();
+			removed.clear();
+			updated.clear();
+		}
+
+		private void refreshSection(Object section) {
+			if (!refreshAll && refreshedSections.add(section)) {
+				added.remove(section);
+				removed.remove(section);
+				updated.remove(section);
+			}
+		}
+
+		private boolean isCovered(Object section) {
+			return refreshAll || refreshedSections.contains(section);
+		}
+
+		private void add(Object section, Object element) {
+			if (!isCovered(section)) {
+				if (!remove(removed, section, element)) {
+					put(added, section, element);
+				} else {
+					//Removed and added again, it may have changed in between
+					put(updated, section, element);
+				}
+			}
+		}
+
+		private void remove(Object section, Object element) {
+			if (!isCovered(section)) {
+				remove(updated, section, element);
+				if (!remove(added, section, element)) {
+					put(removed, section, element);
+				}
+			}
+		}
+
+		private void update(Object section, Object element) {
+			if (!isCovered(section) && !contains(added, section, element)) {
+				put(updated, section, element);
+			}
+		}
+
+		private static void put(Map<Object, Set<Object>> map, Object section, Object element) {
+			map.computeIfAbsent(section, (s) -> new LinkedHashSet<>()).add(element);
+		}
+
+		private static boolean contains(Map<Object, Set<Object>> map, Object section, Object element) {
+			return map.getOrDefault(section, Collections.emptySet()).contains(element);
+		}
+
+		private static boolean remove(Map<Object, Set<Object>> map, Object section, Object element) {
+			Set<Object> elements = map.get(section);
+			if (elements!=null && elements.remove(element)) {
+				if (elements.isEmpty()) {
+					map.remove(section);
+				}
+				return true;
+			}
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return "Batch [events=" + events + ", refreshAll=" + refreshAll + ", sections=" + refreshedSections.size()
+					+ ", added=" + added.values().stream().mapToInt(Set::size).sum()
+					+ ", removed=" + removed.values().stream().mapToInt(Set::size).sum()
+					+ ", updated=" + updated.values().stream().mapToInt(Set::size).sum() + "]";
+		}
+	}
+
+	private final Consumer<Runnable> scheduler;
+	private final Consumer<Batch> applier;
+
+	private Batch pending = new Batch();
+	private boolean scheduled = false;
+	private boolean disposed = false;
+
+	private long batchCount;
+	private long eventCount;
+	private long totalApplyNanos;
+	private long maxApplyNanos;
+
+	/**
+	 * @param scheduler runs a task on the UI thread, after {@link #FRAME_INTERVAL_MS}
+	 * @param applier carries out a batch of changes, called on the UI thread
+	 */
+	public TreeUpdateCoalescer(Consumer<Runnable> scheduler, Consumer<Batch> applier) {
+		this.scheduler = scheduler;
+		this.applier = applier;
+	}
+
+	public synchronized void refreshAll() {
+		pending.refreshAll();
+		changed();
+	}
+
+	public synchronized void refreshSection(Object section) {
+		pending.refreshSection(section);
+		changed();
+	}
+
+	public synchronized void added(Object section, Collection<?> elements) {
+		for (Object e : elements) {
+			pending.add(section, e);
+		}
+		changed();
+	}
+
+	public synchronized void removed(Object section, Collection<?> elements) {
+		for (Object e : elements) {
+			pending.remove(section, e);
+		}
+		changed();
+	}
+
+	public synchronized void updated(Object section, Object element) {
+		pending.update(section, element);
+		changed();
+	}
+
+	private void changed() {
+		pending.events++;
+		if (!scheduled && !disposed) {
+			scheduled = true;
+			scheduler.accept(this::flush);
+		}
+	}
+
+	/**
+	 * Applies all pending changes now. Must be called on the UI thread.
+	 */
+	public void flush() {
+		Batch batch;
+		synchronized (this) {
+			batch = pending;
+			pending = new Batch();
+			scheduled = false;
+			if (disposed) {
+				return;
+			}
+		}
+		if (!batch.isEmpty()) {
+			long start = System.nanoTime();
+			applier.accept(batch);
+			long duration = System.nanoTime() - start;
+			synchronized (this) {
+				batchCount++;
+				eventCount += batch.events;
+				totalApplyNanos += duration;
+				maxApplyNanos = Math.max(maxApplyNanos, duration);
+			}
+		}
+	}
+
+	public synchronized void dispose() {
+		disposed = true;
+		pending = new Batch();
+	}
+
+	public synchronized long getBatchCount() {
+		return batchCount;
+	}
+
+	public synchronized long getEventCount() {
+		return eventCount;
+	}
+
+	/**
+	 * @return total time spent applying batches on the UI thread, in nanoseconds.
+	 */
+	public synchronized long getTotalApplyNanos() {
+		return totalApplyNanos;
+	}
+
+	/**
+	 * @return longest time spent applying a single batch on the UI thread, in nanoseconds.
+	 */
+	public synchronized long getMaxApplyNanos() {
+		return maxApplyNanos;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TreeUpdateCoalescer [batches=" + batchCount + ", events=" + eventCount + ", totalApplyMs="
+				+ totalApplyNanos / 1000000 + ", maxApplyMs=" + maxApplyNanos / 1000000 + "]";
+	}
+
+}
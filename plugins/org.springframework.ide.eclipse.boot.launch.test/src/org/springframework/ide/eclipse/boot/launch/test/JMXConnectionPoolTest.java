@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.launch.test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerFactory;
+import javax.management.Notification;
+import javax.management.NotificationBroadcasterSupport;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXConnectorServer;
+import javax.management.remote.JMXConnectorServerFactory;
+import javax.management.remote.JMXServiceURL;
+
+import org.springframework.ide.eclipse.boot.launch.util.JMXClient;
+import org.springframework.ide.eclipse.boot.launch.util.JMXConnectionPool;
+import org.springsource.ide.eclipse.commons.frameworks.test.util.ACondition;
+
+import junit.framework.TestCase;
+
+public class JMXConnectionPoolTest extends TestCase {
+
+	private static final int PORT = 12345;
+
+	public interface SampleMBean {
+		String getName();
+		int getCount();
+	}
+
+	public static class Sample extends NotificationBroadcasterSupport implements SampleMBean {
+
+		private long sequence = 0;
+
+		@Override
+		public String getName() {
+			return "sample";
+		}
+
+		@Override
+		public int getCount() {
+			return 3;
+		}
+
+		void fire(ObjectName source) {
+			sendNotification(new Notification("test", source, ++sequence));
+		}
+	}
+
+	private MBeanServer mbeanServer;
+	private JMXConnectorServer server;
+	private AtomicInteger connects = new AtomicInteger();
+	private JMXConnectionPool pool;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		mbeanServer = MBeanServerFactory.newMBeanServer();
+		server = JMXConnectorServerFactory.newJMXConnectorServer(new JMXServiceURL("service:jmx:rmi://127.0.0.1"), null, mbeanServer);
+		server.start();
+		pool = new JMXConnectionPool((port) -> {
+			assertEquals(PORT, port);
+			connects.incrementAndGet();
+			return JMXConnectorFactory.connect(server.getAddress());
+		});
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		server.stop();
+		super.tearDown();
+	}
+
+	public void testLeasesShareOneConnection() throws Exception {
+		JMXConnectionPool.Lease lease1 = pool.lease(PORT);
+		JMXConnectionPool.Lease lease2 = pool.lease(PORT);
+		assertEquals(1, connects.get());
+		assertSame(lease1.getConnection(), lease2.getConnection());
+		assertEquals(1, pool.getActiveCount());
+
+		lease1.dispose();
+		assertEquals(1, pool.getActiveCount());
+		lease2.getConnection().getMBeanCount();
+		lease2.dispose();
+		assertEquals(0, pool.getActiveCount());
+
+		pool.lease(PORT).dispose();
+		assertEquals(2, connects.get());
+	}
+
+	public void testReconnectsWhenInvalidated() throws Exception {
+		JMXConnectionPool.Lease lease = pool.lease(PORT);
+		try {
+			MBeanServerConnection broken = lease.getConnection();
+			lease.invalidate(broken);
+			MBeanServerConnection connection = lease.getConnection();
+			assertNotSame(broken, connection);
+			assertEquals(2, connects.get());
+
+			// Invalidating a connection that was replaced already has no effect
+			lease.invalidate(broken);
+			assertSame(connection, lease.getConnection());
+			assertEquals(2, connects.get());
+		} finally {
+			lease.dispose();
+		}
+	}
+
+	public void testNoLeaseForUnknownPort() throws Exception {
+		try {
+			pool.lease(-1);
+			fail("Should have failed");
+		} catch (IllegalStateException e) {
+			//expected
+		}
+		assertEquals(0, pool.getActiveCount());
+	}
+
+	public void testBatchedAttributes() throws Exception {
+		ObjectName name = new ObjectName("test:type=Sample");
+		mbeanServer.registerMBean(new Sample(), name);
+		JMXClient client = new JMXClient(pool.lease(PORT));
+		try {
+			Map<String, Object> values = client.getAttributes(name.toString(), "Name", "Count");
+			assertEquals("sample", values.get("Name"));
+			assertEquals(3, values.get("Count"));
+		} finally {
+			client.dispose();
+		}
+		assertEquals(0, pool.getActiveCount());
+	}
+
+	public void testNotificationListenersSurviveReconnect() throws Exception {
+		ObjectName name = new ObjectName("test:type=Sample");
+		Sample sample = new Sample();
+		mbeanServer.registerMBean(sample, name);
+		AtomicInteger received = new AtomicInteger();
+		JMXConnectionPool.Lease lease = pool.lease(PORT);
+		try {
+			lease.addNotificationListener(name, (notification, handback) -> received.incrementAndGet());
+			sample.fire(name);
+			ACondition.waitFor("notification", 5000, () -> assertEquals(1, received.get()));
+
+			lease.invalidate(lease.getConnection());
+			lease.getConnection();
+			sample.fire(name);
+			ACondition.waitFor("notification after reconnect", 5000, () -> assertEquals(2, received.get()));
+		} finally {
+			lease.dispose();
+		}
+	}
+
+}
@@ -11,7 +11,11 @@
 package org.springframework.ide.eclipse.boot.launch.util;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.AttributeNotFoundException;
 import javax.management.InstanceNotFoundException;
 import javax.management.MBeanException;
@@ -26,7 +30,8 @@ import javax.management.remote.JMXServiceURL;
 import org.springsource.ide.eclipse.commons.livexp.ui.Disposable;
 
 /**
- * A JMX client for interacting with mbeans.
+ * A JMX client for interacting with mbeans. Connections are shared with other clients
+ * for the same port through the {@link JMXConnectionPool}.
  *
  * @author Stephane Nicoll
  * @author Kris De Volder
@@ -36,29 +41,22 @@ public class JMXClient implements Disposable {
 	private static final Object[] NO_PARAMS = new Object[0];
 	private static final String[] NO_SIGNATURES = new String[0];
 
-	private JMXConnector connector;
-	private MBeanServerConnection connection;
+	private final JMXConnectionPool.Lease lease;
 
+	/**
+	 * Creates a client using the connection to the given port shared through the default {@link JMXConnectionPool}.
+	 */
 	public JMXClient(int port) throws IOException {
-		this(createLocalJmxConnector(port));
+		this(JMXConnectionPool.getDefault().lease(port));
 	}
 
-	private JMXClient(JMXConnector connector) throws IOException {
-		this(connector, connector.getMBeanServerConnection());
+	public JMXClient(JMXConnectionPool.Lease lease) {
+		this.lease = lease;
 	}
 
 	@Override
 	public void dispose() {
-		try {
-			this.connector.close();
-		} catch (IOException e) {
-			//Ignore
-		}
-	}
-
-	private JMXClient(JMXConnector connector, MBeanServerConnection connection) {
-		this.connector = connector;
-		this.connection = connection;
+		lease.dispose();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -72,11 +70,47 @@ public class JMXClient implements Disposable {
 	}
 
 	public Object getAttribute(String objectName, String attributeName) throws AttributeNotFoundException, InstanceNotFoundException, MBeanException, ReflectionException, IOException {
-		return this.connection.getAttribute(toObjectName(objectName), attributeName);
+		MBeanServerConnection connection = lease.getConnection();
+		try {
+			return connection.getAttribute(toObjectName(objectName), attributeName);
+		} catch (IOException e) {
+			lease.invalidate(connection);
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads several attributes of an mbean in a single round trip.
+	 * @return the values of the attributes that could be read, keyed by attribute name
+	 */
+	public Map<String, Object> getAttributes(String objectName, String... attributeNames) throws InstanceNotFoundException, ReflectionException, IOException {
+		MBeanServerConnection connection = lease.getConnection();
+		AttributeList attributes;
+		try {
+			attributes = connection.getAttributes(toObjectName(objectName), attributeNames);
+		} catch (IOException e) {
+			lease.invalidate(connection);
+			throw e;
+		}
+		Map<String, Object> values = new LinkedHashMap<>();
+		for (Attribute attribute : attributes.asList()) {
+			values.put(attribute.getName(), attribute.getValue());
+		}
+		return values;
 	}
 
 	public Object callOperation(String objectName, String operationName) throws InstanceNotFoundException, MBeanException, ReflectionException, IOException {
-		return this.connection.invoke(toObjectName(objectName), operationName, NO_PARAMS, NO_SIGNATURES);
+		MBeanServerConnection connection = lease.getConnection();
+		try {
+			return connection.invoke(toObjectName(objectName), operationName, NO_PARAMS, NO_SIGNATURES);
+		} catch (IOException e) {
+			lease.invalidate(connection);
+			throw e;
+		}
+	}
+
+	public int getPort() {
+		return lease.getPort();
 	}
 
 
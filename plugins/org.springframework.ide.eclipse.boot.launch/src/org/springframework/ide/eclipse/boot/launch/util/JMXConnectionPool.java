@@ -0,0 +1,325 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.launch.util;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.ListenerNotFoundException;
+import javax.management.MBeanServerConnection;
+import javax.management.Notification;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnectionNotification;
+import javax.management.remote.JMXConnector;
+
+import org.springsource.ide.eclipse.commons.livexp.ui.Disposable;
+
+/**
+ * Shares JMX connections to local Spring Boot apps, keyed by JMX port.
+ * <p>
+ * All users of the same port (lifecycle clients, ready state monitors, actuator clients...) obtain a
+ * {@link Lease} on a single {@link JMXConnector}. The connector is closed when the last lease is disposed.
+ * A connection is marked broken when the connector reports it failed or closed, or when a lease holder
+ * {@link Lease#invalidate(MBeanServerConnection) invalidates} it after an I/O error. Reused connections are health checked
+ * when leased. A broken connection is replaced by a new one the next time it's used, and notification
+ * listeners registered via a lease are re-registered on the new connection.
+ */
+public class JMXConnectionPool {
+
+	/**
+	 * Creates connectors, the default one connects to an mbean server on the local machine
+	 * with {@link JMXClient#createLocalJmxConnector(int)}.
+	 */
+	@FunctionalInterface
+	public interface ConnectorFactory {
+		JMXConnector connect(int port) throws IOException;
+	}
+
+	private static JMXConnectionPool instance;
+
+	public static synchronized JMXConnectionPool getDefault() {
+		if (instance==null) {
+			instance = new JMXConnectionPool(JMXClient::createLocalJmxConnector);
+		}
+		return instance;
+	}
+
+	private final ConnectorFactory factory;
+
+	private final Map<Integer, Entry> entries = new HashMap<>();
+
+	public JMXConnectionPool(ConnectorFactory factory) {
+		this.factory = factory;
+	}
+
+	/**
+	 * Obtains a lease on the connection to the given port. Fails if no connection could be
+	 * established, in which case no lease is held.
+	 */
+	public Lease lease(int port) throws IOException {
+		if (port <= 0) {
+			throw new IllegalStateException("JMX port not specified");
+		}
+		Entry entry;
+		synchronized (entries) {
+			entry = entries.computeIfAbsent(port, Entry::new);
+			entry.refCount++;
+		}
+		Lease lease = new Lease(entry);
+		try {
+			entry.checkHealth();
+			return lease;
+		} catch (IOException | RuntimeException e) {
+			lease.dispose();
+			throw e;
+		}
+	}
+
+	private void release(Entry entry) {
+		synchronized (entries) {
+			if (--entry.refCount > 0) {
+				return;
+			}
+			entries.remove(entry.port, entry);
+		}
+		entry.close();
+	}
+
+	/**
+	 * @return number of ports with open leases, for testing and debugging.
+	 */
+	public int getActiveCount() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private static class ListenerRegistration {
+		final ObjectName name;
+		final NotificationListener listener;
+		ListenerRegistration(ObjectName name, NotificationListener listener) {
+			this.name = name;
+			this.listener = listener;
+		}
+	}
+
+	/**
+	 * The shared connection to a single port.
+	 */
+	private class Entry implements NotificationListener {
+
+		final int port;
+		int refCount; //Guarded by 'entries'
+
+		private JMXConnector connector;
+		private MBeanServerConnection connection;
+		private boolean broken;
+
+		private final List<ListenerRegistration> listeners = new CopyOnWriteArrayList<>();
+
+		Entry(int port) {
+			this.port = port;
+		}
+
+		synchronized MBeanServerConnection getConnection() throws IOException {
+			if (connection==null || broken) {
+				reconnect();
+			}
+			return connection;
+		}
+
+		/**
+		 * Makes sure a connection that was open already still works, rather than handing out a dead one.
+		 */
+		void checkHealth() throws IOException {
+			MBeanServerConnection c;
+			synchronized (this) {
+				if (connection==null || broken) {
+					reconnect();
+					return;
+				}
+				c = connection;
+			}
+			try {
+				c.getMBeanCount();
+			} catch (IOException e) {
+				invalidate(c);
+				getConnection();
+			}
+		}
+
+		private void reconnect() throws IOException {
+			closeConnector();
+			JMXConnector newConnector = factory.connect(port);
+			try {
+				MBeanServerConnection newConnection = newConnector.getMBeanServerConnection();
+				newConnector.addConnectionNotificationListener(this, null, newConnector);
+				for (ListenerRegistration r : listeners) {
+					addListener(newConnection, r);
+				}
+				connector = newConnector;
+				connection = newConnection;
+				broken = false;
+			} catch (IOException | RuntimeException e) {
+				closeQuietly(newConnector);
+				throw e;
+			}
+		}
+
+		synchronized void invalidate(MBeanServerConnection failed) {
+			// Only if nobody replaced the failed connection already
+			if (failed==null || failed==connection) {
+				broken = true;
+			}
+		}
+
+		void addNotificationListener(ListenerRegistration r) throws IOException {
+			listeners.add(r);
+			MBeanServerConnection c;
+			synchronized (this) {
+				c = connection;
+			}
+			if (c!=null) {
+				addListener(c, r);
+			}
+		}
+
+		void removeNotificationListener(ListenerRegistration r) {
+			listeners.remove(r);
+			MBeanServerConnection c;
+			synchronized (this) {
+				c = broken ? null : connection;
+			}
+			if (c!=null) {
+				try {
+					c.removeNotificationListener(r.name, r.listener);
+				} catch (InstanceNotFoundException | ListenerNotFoundException | IOException e) {
+					//Ignore, the mbean or connection is gone
+				}
+			}
+		}
+
+		private void addListener(MBeanServerConnection c, ListenerRegistration r) throws IOException {
+			try {
+				c.addNotificationListener(r.name, r.listener, null, null);
+			} catch (InstanceNotFoundException e) {
+				//MBean not registered (yet), it may well be there after a reconnect.
+			}
+		}
+
+		@Override
+		public void handleNotification(Notification notification, Object handback) {
+			String type = notification.getType();
+			if (JMXConnectionNotification.FAILED.equals(type) || JMXConnectionNotification.CLOSED.equals(type)) {
+				synchronized (this) {
+					if (handback==connector) {
+						broken = true;
+					}
+				}
+			}
+		}
+
+		synchronized void close() {
+			closeConnector();
+			listeners.clear();
+		}
+
+		private void closeConnector() {
+			if (connector!=null) {
+				try {
+					connector.removeConnectionNotificationListener(this);
+				} catch (ListenerNotFoundException e) {
+					//Ignore
+				}
+				closeQuietly(connector);
+				connector = null;
+				connection = null;
+			}
+		}
+	}
+
+	private static void closeQuietly(JMXConnector connector) {
+		try {
+			connector.close();
+		} catch (IOException e) {
+			//Ignore
+		}
+	}
+
+	/**
+	 * A reference to a shared connection. Must be disposed when no longer needed.
+	 */
+	public class Lease implements Disposable {
+
+		private final Entry entry;
+		private boolean disposed = false;
+		private final List<ListenerRegistration> listeners = new CopyOnWriteArrayList<>();
+
+		private Lease(Entry entry) {
+			this.entry = entry;
+		}
+
+		public int getPort() {
+			return entry.port;
+		}
+
+		/**
+		 * @return the current connection, reconnecting if the previous connection broke.
+		 */
+		public MBeanServerConnection getConnection() throws IOException {
+			if (disposed) {
+				throw new IllegalStateException("Lease on JMX port "+entry.port+" was disposed");
+			}
+			return entry.getConnection();
+		}
+
+		/**
+		 * Marks the given connection, obtained from this lease, as broken. Callers should do so when
+		 * using it failed with an I/O error.
+		 */
+		public void invalidate(MBeanServerConnection connection) {
+			entry.invalidate(connection);
+		}
+
+		/**
+		 * Registers a notification listener with an mbean. The registration is kept across reconnects
+		 * and removed when the lease is disposed.
+		 */
+		public void addNotificationListener(ObjectName name, NotificationListener listener) throws IOException {
+			ListenerRegistration r = new ListenerRegistration(name, listener);
+			listeners.add(r);
+			entry.addNotificationListener(r);
+		}
+
+		@Override
+		public synchronized void dispose() {
+			if (!disposed) {
+				disposed = true;
+				for (ListenerRegistration r : listeners) {
+					entry.removeNotificationListener(r);
+				}
+				listeners.clear();
+				release(entry);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "JMXConnectionPool.Lease("+entry.port+")";
+		}
+	}
+
+}
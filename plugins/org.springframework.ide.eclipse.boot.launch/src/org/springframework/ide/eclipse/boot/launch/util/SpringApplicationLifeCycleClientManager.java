@@ -10,9 +10,10 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.launch.util;
 
-import java.io.IOException;
+import java.util.function.IntSupplier;
 
 import javax.inject.Provider;
+import javax.management.MBeanServerConnection;
 import javax.management.remote.JMXConnector;
 
 import org.eclipse.core.runtime.Assert;
@@ -21,43 +22,40 @@ import org.springframework.ide.eclipse.boot.launch.BootLaunchConfigurationDelega
 
 /**
  * Creates and manages an instance of {@link SpringApplicationLifecycleClient}.
+ * <p>
+ * When created for a launch or a port, the connection is shared with other clients of the same
+ * port through the {@link JMXConnectionPool}.
  *
  * @author Kris De Volder
  */
 public class SpringApplicationLifeCycleClientManager {
 
-	private Provider<JMXConnector> connectionProvider;
+	private final Provider<JMXConnector> connectionProvider;
+	private final IntSupplier portProvider;
 	private JMXConnector connector;
+	private JMXConnectionPool.Lease lease;
 	private SpringApplicationLifecycleClient client;
 
 	public SpringApplicationLifeCycleClientManager(Provider<JMXConnector> connectionProvider) {
 		Assert.isNotNull(connectionProvider);
 		this.connectionProvider = connectionProvider;
+		this.portProvider = null;
 	}
 
 	/**
 	 * Convenenience method, use ILaunch as the jmxPort provider.
 	 */
 	public SpringApplicationLifeCycleClientManager(ILaunch l) {
-		this(() -> createJMXConnection(BootLaunchConfigurationDelegate.getJMXPortAsInt(l)));
-	}
-
-	private static JMXConnector createJMXConnection(int port) {
-		if (port <=0) {
-			throw new IllegalStateException("JMX port not specified");
-		}
-		try {
-			return JMXClient.createLocalJmxConnector(port);
-		} catch (IOException e) {
-			return null;
-		}
+		this.connectionProvider = null;
+		this.portProvider = () -> BootLaunchConfigurationDelegate.getJMXPortAsInt(l);
 	}
 
 	/**
 	 * Convenenience method, use a given fixed port.
 	 */
 	public SpringApplicationLifeCycleClientManager(int resolvedPort) {
-		this(() -> createJMXConnection(resolvedPort));
+		this.connectionProvider = null;
+		this.portProvider = () -> resolvedPort;
 	}
 
 	/**
@@ -73,19 +71,38 @@ public class SpringApplicationLifeCycleClientManager {
 		} catch (Exception e) {
 			//ignore
 		}
+		if (lease!=null) {
+			lease.dispose();
+		}
 		client = null;
 		connector = null;
+		lease = null;
+	}
+
+	/**
+	 * @return the lease on the pooled connection used by the current client. Null if there is no
+	 * client, or if the manager was created with a connection provider rather than a port.
+	 */
+	public synchronized JMXConnectionPool.Lease getLease() {
+		return client==null ? null : lease;
 	}
 
 	/**
 	 * Try to obtain a client, may return null if a connection could not be established.
 	 */
-	public SpringApplicationLifecycleClient getLifeCycleClient() {
+	public synchronized SpringApplicationLifecycleClient getLifeCycleClient() {
 		try {
 			if (client==null) {
-				connector = connectionProvider.get();
+				MBeanServerConnection connection;
+				if (portProvider!=null) {
+					lease = JMXConnectionPool.getDefault().lease(portProvider.getAsInt());
+					connection = lease.getConnection();
+				} else {
+					connector = connectionProvider.get();
+					connection = connector.getMBeanServerConnection();
+				}
 				client = new SpringApplicationLifecycleClient(
-						connector.getMBeanServerConnection(),
+						connection,
 						SpringApplicationLifecycleClient.DEFAULT_OBJECT_NAME
 				);
 			}
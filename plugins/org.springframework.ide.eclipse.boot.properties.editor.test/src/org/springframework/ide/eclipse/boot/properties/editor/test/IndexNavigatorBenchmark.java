@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.properties.editor.test;
+
+import java.util.Arrays;
+
+import org.springframework.ide.eclipse.boot.properties.editor.FuzzyMap;
+import org.springframework.ide.eclipse.boot.properties.editor.metadata.PropertyInfo;
+import org.springframework.ide.eclipse.boot.properties.editor.yaml.reconcile.IndexNavigator;
+
+/**
+ * Compares the time it takes to find the completions below deep paths such as
+ * 'spring.jpa.properties.hibernate' and 'management.endpoint.*' by navigating the segment trie of
+ * {@link IndexNavigator}, and by scanning the whole {@link FuzzyMap} for the prefix as before.
+ * Prints the minimum and median time of each as 'key=value' lines.
+ * <p>
+ * Not part of {@link AllPropertiesFileEditorTests}. The number of properties per deep path and of
+ * runs can be set with 'index.navigator.benchmark.properties' and 'index.navigator.benchmark.runs'.
+ */
+public class IndexNavigatorBenchmark extends ApplicationYamlEditorTestHarness {
+
+	private static final int PROPERTIES = Integer.getInteger("index.navigator.benchmark.properties", 2000);
+	private static final int RUNS = Integer.getInteger("index.navigator.benchmark.runs", 20);
+
+	private static final String[][] PATHS = {
+			{"spring", "jpa", "properties", "hibernate"},
+			{"management", "endpoint", "endpoint-42", "cache"},
+			{"management", "endpoint"}
+	};
+
+	private static final String[] QUERIES = { "", "o", "op1", "ttl", "en" };
+
+	public void testDeepPaths() throws Exception {
+		defaultTestData();
+		for (int i = 0; i < PROPERTIES; i++) {
+			data("spring.jpa.properties.hibernate.option-"+i, "java.lang.String", null, null);
+		}
+		for (int e = 0; e < PROPERTIES / 20; e++) {
+			for (String p : new String[] {"enabled", "cache.time-to-live", "sensitive", "id"}) {
+				data("management.endpoint.endpoint-"+e+"."+p, "java.lang.String", null, null);
+			}
+		}
+		for (int g = 0; g < PROPERTIES / 10; g++) {
+			for (int i = 0; i < 20; i++) {
+				data("group-"+g+".sub.property-"+i, "java.lang.String", null, null);
+			}
+		}
+		FuzzyMap<PropertyInfo> index = indexProvider.getIndex(null);
+
+		//Warm up, so that building the trie, class loading and JIT don't end up in the first measurement
+		navigateAll(index);
+		scanAll(index);
+
+		long[] trie = new long[RUNS];
+		long[] scan = new long[RUNS];
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			navigateAll(index);
+			trie[run] = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			scanAll(index);
+			scan[run] = System.nanoTime() - start;
+		}
+
+		System.out.println("properties=" + index.size());
+		System.out.println("runs=" + RUNS);
+		report("deepPaths.trie", trie);
+		report("deepPaths.scan", scan);
+	}
+
+	private void navigateAll(FuzzyMap<PropertyInfo> index) {
+		for (String[] path : PATHS) {
+			for (String query : QUERIES) {
+				IndexNavigator nav = IndexNavigator.with(index);
+				for (String segment : path) {
+					nav = nav.selectSubProperty(segment);
+				}
+				nav.findMatching(query);
+			}
+		}
+	}
+
+	private void scanAll(FuzzyMap<PropertyInfo> index) {
+		for (String[] path : PATHS) {
+			for (String query : QUERIES) {
+				IndexNavigatorTest.scanWholeIndex(index, String.join(".", path), query);
+			}
+		}
+	}
+
+	private void report(String key, long[] times) {
+		Arrays.sort(times);
+		System.out.println(key + ".minUs=" + times[0] / 1000);
+		System.out.println(key + ".medianUs=" + times[times.length / 2] / 1000);
+	}
+
+}
@@ -10,6 +10,12 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.properties.editor.test;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.ide.eclipse.boot.properties.editor.FuzzyMap;
+import org.springframework.ide.eclipse.boot.properties.editor.FuzzyMap.Match;
+import org.springframework.ide.eclipse.boot.properties.editor.metadata.PropertyInfo;
 import org.springframework.ide.eclipse.boot.properties.editor.yaml.reconcile.IndexNavigator;
 
 public class IndexNavigatorTest extends ApplicationYamlEditorTestHarness {
@@ -53,8 +59,119 @@ public class IndexNavigatorTest extends ApplicationYamlEditorTestHarness {
 		assertAmbiguous();
 	}
 
+	public void testDottedKey() throws Exception {
+		defaultTestData();
+
+		start();
+		navigate("spring.jpa");
+		assertContinuable();
+		navigate("show-sql");
+		assertProperty();
+
+		start();
+		navigate("spring.jpa.show-sql");
+		assertProperty();
+
+		start();
+		navigate("spring.");
+		assertEmpty();
+	}
+
+	public void testFindMatchingBelowPrefix() throws Exception {
+		data("foo.bar", "java.lang.String", null, null);
+		data("foo.bar.a", "java.lang.String", null, null);
+		data("foo.bar.b", "java.lang.String", null, null);
+		data("foo.bar-c", "java.lang.String", null, null);
+		data("foo.barz.a", "java.lang.String", null, null);
+		data("zfoo.bar.a", "java.lang.String", null, null);
+
+		start();
+		navigate("foo");
+		navigate("bar");
+		assertMatching("", "foo.bar.a", "foo.bar.b");
+		assertMatching("b", "foo.bar.b");
+		assertMatching("x");
+
+		navigate("nothing");
+		assertMatching("");
+	}
+
+	/**
+	 * Navigates and completes on deep paths in a large index, checking that results are the same as
+	 * searching the whole index.
+	 */
+	public void testDeepPathsInLargeIndex() throws Exception {
+		defaultTestData();
+		for (int i = 0; i < 2000; i++) {
+			data("spring.jpa.properties.hibernate.option-"+i, "java.lang.String", null, null);
+		}
+		for (int e = 0; e < 100; e++) {
+			for (String p : new String[] {"enabled", "cache.time-to-live", "sensitive", "id"}) {
+				data("management.endpoint.endpoint-"+e+"."+p, "java.lang.String", null, null);
+			}
+		}
+		for (int g = 0; g < 200; g++) {
+			for (int i = 0; i < 20; i++) {
+				data("group-"+g+".sub.property-"+i, "java.lang.String", null, null);
+			}
+		}
+		FuzzyMap<PropertyInfo> index = indexProvider.getIndex(null);
+		String[][] paths = {
+				{"spring", "jpa", "properties", "hibernate"},
+				{"management", "endpoint", "endpoint-42", "cache"},
+				{"management", "endpoint"}
+		};
+		String[] queries = { "", "o", "op1", "ttl", "en" };
+
+		for (String[] path : paths) {
+			for (String query : queries) {
+				IndexNavigator nav = IndexNavigator.with(index);
+				for (String segment : path) {
+					nav = nav.selectSubProperty(segment);
+				}
+				List<Match<PropertyInfo>> expected = scanWholeIndex(index, String.join(".", path), query);
+				assertEquals(ids(expected), ids(nav.findMatching(query)));
+			}
+		}
+	}
+
 	/////////////// test harnes /////////////////////////////////////
 
+	/**
+	 * How matches below a prefix used to be found, by searching the whole index.
+	 */
+	static List<Match<PropertyInfo>> scanWholeIndex(FuzzyMap<PropertyInfo> index, String prefix, String query) {
+		String dottedPrefix = prefix + ".";
+		List<Match<PropertyInfo>> matches = new ArrayList<>();
+		for (Match<PropertyInfo> match : index.find(dottedPrefix + query)) {
+			if (match.data.getId().startsWith(dottedPrefix)) {
+				matches.add(match);
+			}
+		}
+		return matches;
+	}
+
+	private static List<String> ids(List<Match<PropertyInfo>> matches) {
+		List<String> ids = new ArrayList<>();
+		for (Match<PropertyInfo> m : matches) {
+			ids.add(m.data.getId()+"="+m.score);
+		}
+		return ids;
+	}
+
+	/**
+	 * Assert that looking for a query at the current navigation state finds exactly the
+	 * given properties.
+	 */
+	public void assertMatching(String query, String... expectedIds) {
+		List<String> actual = new ArrayList<>();
+		for (Match<PropertyInfo> m : navigator.findMatching(query)) {
+			actual.add(m.data.getId());
+		}
+		assertEquals(String.join("\n", expectedIds), String.join("\n", actual));
+	}
+
+
 	/**
 	 * Assert that current navigation state is unambiguous and allows
 	 * further navigation. I.e. the current navigation state does not
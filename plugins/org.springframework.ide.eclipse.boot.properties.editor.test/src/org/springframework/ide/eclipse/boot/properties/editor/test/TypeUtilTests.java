@@ -10,16 +10,27 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.boot.properties.editor.test;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.springframework.ide.eclipse.boot.properties.editor.util.Type;
+import org.springframework.ide.eclipse.boot.properties.editor.util.TypeDescriptorCache;
+import org.springframework.ide.eclipse.boot.properties.editor.util.TypeDescriptorCache.Getter;
+import org.springframework.ide.eclipse.boot.properties.editor.util.TypeDescriptorCache.TypeDescriptor;
 import org.springframework.ide.eclipse.boot.properties.editor.util.TypeParser;
 import org.springframework.ide.eclipse.boot.properties.editor.util.TypedProperty;
 import org.springframework.ide.eclipse.boot.properties.editor.util.TypeUtil.BeanPropertyNameMode;
 import org.springframework.ide.eclipse.boot.properties.editor.util.TypeUtil.EnumCaseMode;
+import org.springsource.ide.eclipse.commons.frameworks.core.util.IOUtil;
 
 import static org.springsource.ide.eclipse.commons.tests.util.StsTestCase.assertElements;
 
@@ -54,6 +65,121 @@ public class TypeUtilTests extends SpringPropertiesEditorTestHarness {
 		assertElements(actualNames, "public-property"); //static and private properties should not be included.
 	}
 
+	public void testGetInheritedProperties() throws Exception {
+		IProject p = createPredefinedMavenProject("demo");
+		useProject(p);
+
+		Type type = TypeParser.parse("demo.InheritedGetters");
+		List<TypedProperty> props = getProperties(type, EnumCaseMode.LOWER_CASE, BeanPropertyNameMode.HYPHENATED);
+		String[] actualNames = new String[props.size()];
+		for (int i = 0; i < actualNames.length; i++) {
+			actualNames[i] = props.get(i).getName();
+		}
+		//Getters from Object (i.e. 'getClass') are not properties.
+		assertElements(actualNames, "own-property", "public-property");
+		assertNotNull(engine.getTypeUtil().getSetter(type, "public-property"));
+	}
+
+	public void testDescriptorCache() throws Exception {
+		IProject p = createPredefinedMavenProject("demo");
+		useProject(p);
+		TypeDescriptorCache cache = TypeDescriptorCache.getDefault();
+		Type type = TypeParser.parse("demo.InheritedGetters");
+
+		assertNotNull(getPropertyType(type, "own-property"));
+		long misses = cache.getMisses();
+		long hits = cache.getHits();
+		for (int i = 0; i < 10; i++) {
+			assertNotNull(getPropertyType(type, "own-property"));
+			assertNull(getPropertyType(type, "added-property"));
+		}
+		assertEquals(misses, cache.getMisses());
+		assertTrue(cache.getHits() >= hits + 20);
+
+		//Changing the type's source drops what was cached for its project
+		IFile file = p.getFile("src/main/java/demo/InheritedGetters.java");
+		String source = IOUtil.toString(file.getContents());
+		source = source.replace("	private String ownProperty;",
+				"	private String ownProperty;\n\n" +
+				"	public String getAddedProperty() {\n" +
+				"		return null;\n" +
+				"	}"
+		);
+		file.setContents(new ByteArrayInputStream(source.getBytes(file.getCharset())), true, true, new NullProgressMonitor());
+		assertType("java.lang.String", getPropertyType(type, "added-property"));
+		assertTrue(cache.getMisses() > misses);
+	}
+
+	public void testDescriptorCacheDependencyOfDependency() throws Exception {
+		//'a' requires 'b', which requires and exports 'c'. So 'a' sees the types of 'c' without requiring it.
+		IJavaProject c = createJavaProject("descriptors-c");
+		IJavaProject b = createJavaProject("descriptors-b", c);
+		IJavaProject a = createJavaProject("descriptors-a", b);
+		try {
+			IFile file = c.getProject().getFile("src/c/Props.java");
+			file.create(new ByteArrayInputStream(("package c;\n\n" +
+					"public class Props {\n" +
+					"	public String getOwn() {\n" +
+					"		return null;\n" +
+					"	}\n" +
+					"}\n"
+			).getBytes("UTF-8")), true, new NullProgressMonitor());
+			TypeDescriptorCache cache = TypeDescriptorCache.getDefault();
+			assertElements(getterNames(cache.get(a, "c.Props")), "getOwn");
+
+			file.setContents(new ByteArrayInputStream(("package c;\n\n" +
+					"public class Props {\n" +
+					"	public String getOwn() {\n" +
+					"		return null;\n" +
+					"	}\n" +
+					"	public String getAdded() {\n" +
+					"		return null;\n" +
+					"	}\n" +
+					"}\n"
+			).getBytes("UTF-8")), true, true, new NullProgressMonitor());
+			assertElements(getterNames(cache.get(a, "c.Props")), "getOwn", "getAdded");
+		} finally {
+			a.getProject().delete(true, null);
+			b.getProject().delete(true, null);
+			c.getProject().delete(true, null);
+		}
+	}
+
+	private String[] getterNames(TypeDescriptor descriptor) {
+		List<Getter> getters = descriptor.getGetters();
+		String[] names = new String[getters.size()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = getters.get(i).getName();
+		}
+		return names;
+	}
+
+	/**
+	 * Creates a Java project with a 'src' folder containing a package named after the last letter
+	 * of the project, which exports the given projects to its dependents.
+	 */
+	private IJavaProject createJavaProject(String name, IJavaProject... requiredProjects) throws Exception {
+		IProject p = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		p.create(null);
+		p.open(null);
+		IProjectDescription description = p.getDescription();
+		description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+		p.setDescription(description, null);
+
+		IFolder src = p.getFolder("src");
+		src.create(true, true, null);
+		src.getFolder(name.substring(name.length()-1)).create(true, true, null);
+
+		IClasspathEntry[] classpath = new IClasspathEntry[requiredProjects.length + 1];
+		classpath[0] = JavaCore.newSourceEntry(src.getFullPath());
+		for (int i = 0; i < requiredProjects.length; i++) {
+			classpath[i + 1] = JavaCore.newProjectEntry(requiredProjects[i].getPath(), true);
+		}
+		IJavaProject jp = JavaCore.create(p);
+		jp.setRawClasspath(classpath, p.getFolder("bin").getFullPath(), null);
+		return jp;
+	}
+
 	public void testGetProperties() throws Exception {
 		IProject p = createPredefinedMavenProject("demo-enum");
 		IJavaProject jp = JavaCore.create(p);
@@ -0,0 +1,15 @@
+package demo;
+
+public class InheritedGetters extends TrickyGetters {
+
+	private String ownProperty;
+
+	public String getOwnProperty() {
+		return ownProperty;
+	}
+
+	public void setOwnProperty(String ownProperty) {
+		this.ownProperty = ownProperty;
+	}
+
+}
@@ -12,7 +12,6 @@ package org.springframework.ide.eclipse.boot.properties.editor.yaml.reconcile;
 
 import static org.springsource.ide.eclipse.commons.core.util.StringUtil.*;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,10 +28,6 @@ import org.springsource.ide.eclipse.commons.core.util.StringUtil;
  */
 public class IndexNavigator {
 
-	//Possible opitmization: we could cache prefix match candidate and extended match candidate
-	// since it is assumed that the index is immutable for the lifetime of
-	// the index navigator.
-
 	private static final char NAV_CHAR = '.';
 
 	/**
@@ -42,13 +37,21 @@ public class IndexNavigator {
 	private String prefix = null;
 	private FuzzyMap<PropertyInfo> index;
 
+	/**
+	 * Node of the index's trie corresponding to the current prefix. Null if
+	 * there are no properties at or below the current prefix.
+	 */
+	private PropertyTrie.Node node;
+
 	private IndexNavigator(FuzzyMap<PropertyInfo> index) {
 		this.index = index;
+		this.node = PropertyTrie.of(index).getRoot();
 	}
 
-	private IndexNavigator(FuzzyMap<PropertyInfo> index, String prefix) {
+	private IndexNavigator(FuzzyMap<PropertyInfo> index, String prefix, PropertyTrie.Node node) {
 		this.index = index;
 		this.prefix = prefix;
+		this.node = node;
 	}
 
 	public static IndexNavigator with(FuzzyMap<PropertyInfo> index) {
@@ -56,7 +59,15 @@ public class IndexNavigator {
 	}
 
 	public IndexNavigator selectSubProperty(String name) {
-		return new IndexNavigator(index, join(prefix, name));
+		String subPrefix = join(prefix, name);
+		PropertyTrie.Node subNode;
+		if (!hasText(prefix)) {
+			//Blank prefix is dropped by 'join' so navigate from the root.
+			subNode = PropertyTrie.of(index).getRoot().select(subPrefix);
+		} else {
+			subNode = node==null ? null : node.select(name);
+		}
+		return new IndexNavigator(index, subPrefix, subNode);
 	}
 
 	protected String join(String prefix, String postfix) {
@@ -72,11 +83,8 @@ public class IndexNavigator {
 	 * null if there's no exact match
 	 */
 	public PropertyInfo getExactMatch() {
-		if (prefix!=null) {
-			PropertyInfo candidate = index.findLongestCommonPrefixEntry(prefix);
-			if (candidate.getId().equals(prefix)) {
-				return candidate;
-			}
+		if (prefix!=null && node!=null) {
+			return node.getProperty();
 		}
 		return null;
 	}
@@ -89,12 +97,7 @@ public class IndexNavigator {
 	public PropertyInfo getExtensionCandidate() {
 		//If current prefix is null then all entries in the index are candidates since
 		// the index is at the 'root' of the tree and we don't need a '.' to navigate
-		String extendedPrefix = prefix==null?"":prefix + NAV_CHAR;
-		PropertyInfo candidate = index.findLongestCommonPrefixEntry(extendedPrefix);
-		if (candidate.getId().startsWith(extendedPrefix)) {
-			return candidate;
-		}
-		return null;
+		return node==null ? null : node.getExtensionCandidate();
 	}
 
 	public String getPrefix() {
@@ -104,20 +107,9 @@ public class IndexNavigator {
 	public List<Match<PropertyInfo>> findMatching(String query) {
 		if (!StringUtil.hasText(prefix)) {
 			return index.find(query);
-		} else {
-			String dottedPrefix = prefix +".";
-			List<Match<PropertyInfo>> candidates = index.find(dottedPrefix + query);
-			if (!candidates.isEmpty()) {
-				//TODO: we can do better than this using treemap to narrow based on
-				// prefix
-				List<Match<PropertyInfo>> matches = new ArrayList<Match<PropertyInfo>>(candidates.size());
-				for (Match<PropertyInfo> match : candidates) {
-					if (match.data.getId().startsWith(dottedPrefix)){
-						matches.add(match);
-					}
-				}
-				return matches;
-			}
+		} else if (node!=null) {
+			//Only properties below the current node can match, no need to search the whole index.
+			return node.find(prefix + NAV_CHAR + query);
 		}
 		return Collections.emptyList();
 	}
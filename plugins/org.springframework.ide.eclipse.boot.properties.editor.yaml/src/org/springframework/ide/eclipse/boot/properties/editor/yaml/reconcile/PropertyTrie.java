@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.properties.editor.yaml.reconcile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.springframework.ide.eclipse.boot.properties.editor.FuzzyMap;
+import org.springframework.ide.eclipse.boot.properties.editor.FuzzyMap.Match;
+import org.springframework.ide.eclipse.boot.properties.editor.metadata.PropertyInfo;
+import org.springframework.ide.eclipse.editor.support.util.FuzzyMatcher;
+
+/**
+ * A view of a property index as a tree of dotted property name segments. E.g.
+ * 'spring.jpa.show-sql' is found by following the 'spring', 'jpa' and 'show-sql'
+ * edges from the root.
+ * <p>
+ * Properties are kept in a single array, sorted by id (the same order as the
+ * {@link FuzzyMap} they come from). All properties below a node have ids sharing
+ * that node's dotted prefix, so they occupy a contiguous range of the array, and
+ * each node just remembers its range. Searching the properties below a node
+ * therefore only looks at that node's subtree rather than at the whole index.
+ * <p>
+ * A trie is a snapshot of the index. Use {@link #of(FuzzyMap)} to get a trie that
+ * is shared by all navigators for the same index and is rebuilt when properties
+ * are added to it.
+ */
+public class PropertyTrie {
+
+	private static final char NAV_CHAR = '.';
+
+	private static final Map<FuzzyMap<PropertyInfo>, PropertyTrie> cache = new WeakHashMap<>();
+
+	public static PropertyTrie of(FuzzyMap<PropertyInfo> index) {
+		synchronized (cache) {
+			PropertyTrie trie = cache.get(index);
+			//Properties can only be added to a FuzzyMap, so a change in size is the only change to watch for.
+			if (trie==null || trie.size()!=index.size()) {
+				trie = new PropertyTrie(index);
+				cache.put(index, trie);
+			}
+			return trie;
+		}
+	}
+
+	public class Node {
+
+		private PropertyInfo property;
+
+		/**
+		 * Range of the properties strictly below this node.
+		 */
+		private int from = -1;
+		private int to = -1;
+
+		private Map<String, Node> children = null;
+
+		/**
+		 * @return the node reached by navigating the given (possibly dotted) name
+		 * from this node, or null if there are no properties there.
+		 */
+		public Node select(String name) {
+			Node node = this;
+			int start = 0;
+			while (node!=null) {
+				int end = name.indexOf(NAV_CHAR, start);
+				if (end<0) {
+					return node.child(name.substring(start));
+				}
+				node = node.child(name.substring(start, end));
+				start = end + 1;
+			}
+			return null;
+		}
+
+		private Node child(String segment) {
+			return children==null ? null : children.get(segment);
+		}
+
+		private Node getOrCreateChild(String segment) {
+			if (children==null) {
+				children = new HashMap<>();
+			}
+			Node child = children.get(segment);
+			if (child==null) {
+				child = new Node();
+				children.put(segment, child);
+			}
+			return child;
+		}
+
+		private void extendRange(int i) {
+			//Properties are added in order, so the range simply grows at the end.
+			if (from<0) {
+				from = i;
+			}
+			to = i + 1;
+		}
+
+		/**
+		 * @return the property that has exactly this node's name, or null.
+		 */
+		public PropertyInfo getProperty() {
+			return property;
+		}
+
+		/**
+		 * @return some property below this node, or null if there isn't any.
+		 */
+		public PropertyInfo getExtensionCandidate() {
+			return from<0 ? null : properties[from];
+		}
+
+		/**
+		 * Finds properties below this node that match a pattern. Matches are scored
+		 * and ordered exactly like {@link FuzzyMap#find(String)} would score and order
+		 * them for the same pattern.
+		 */
+		public List<Match<PropertyInfo>> find(String pattern) {
+			if (from<0) {
+				return Collections.emptyList();
+			}
+			List<Match<PropertyInfo>> matches = new ArrayList<>();
+			for (int i = from; i < to; i++) {
+				PropertyInfo p = properties[i];
+				double score = FuzzyMatcher.matchScore(pattern, p.getId());
+				if (score!=0.0) {
+					matches.add(new Match<>(pattern, score, p));
+				}
+			}
+			return matches;
+		}
+	}
+
+	private final PropertyInfo[] properties;
+	private final Node root = new Node();
+
+	private PropertyTrie(FuzzyMap<PropertyInfo> index) {
+		List<PropertyInfo> sorted = new ArrayList<>(index.size());
+		for (PropertyInfo p : index) {
+			sorted.add(p);
+		}
+		this.properties = sorted.toArray(new PropertyInfo[sorted.size()]);
+		for (int i = 0; i < properties.length; i++) {
+			add(i);
+		}
+	}
+
+	private void add(int i) {
+		String id = properties[i].getId();
+		Node node = root;
+		int start = 0;
+		while (true) {
+			node.extendRange(i);
+			int end = id.indexOf(NAV_CHAR, start);
+			if (end<0) {
+				node.getOrCreateChild(id.substring(start)).property = properties[i];
+				return;
+			}
+			node = node.getOrCreateChild(id.substring(start, end));
+			start = end + 1;
+		}
+	}
+
+	public Node getRoot() {
+		return root;
+	}
+
+	public int size() {
+		return properties.length;
+	}
+
+}
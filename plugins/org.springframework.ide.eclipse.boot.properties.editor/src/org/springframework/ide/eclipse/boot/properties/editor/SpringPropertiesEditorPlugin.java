@@ -11,6 +11,7 @@
 package org.springframework.ide.eclipse.boot.properties.editor;
 
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.preferences.DefaultScope;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
@@ -21,6 +22,7 @@ import org.springframework.ide.eclipse.boot.properties.editor.util.ClasspathList
 import org.springframework.ide.eclipse.boot.properties.editor.util.ClasspathListenerManager;
 import org.springframework.ide.eclipse.boot.properties.editor.util.ListenerManager;
 import org.springframework.ide.eclipse.boot.properties.editor.util.SpringPropertiesIndexManager;
+import org.springframework.ide.eclipse.boot.properties.editor.util.TypeDescriptorCache;
 
 /**
  * The activator class controls the plug-in life cycle
@@ -53,6 +55,7 @@ public class SpringPropertiesEditorPlugin extends AbstractUIPlugin {
 	 * @see org.eclipse.ui.plugin.AbstractUIPlugin#stop(org.osgi.framework.BundleContext)
 	 */
 	public void stop(BundleContext context) throws Exception {
+		TypeDescriptorCache.shutdown();
 		plugin = null;
 		super.stop(context);
 	}
@@ -66,6 +69,11 @@ public class SpringPropertiesEditorPlugin extends AbstractUIPlugin {
 		return plugin;
 	}
 
+	public static boolean isDebug(String option) {
+		String value = Platform.getDebugOption(option);
+		return (value != null && value.equalsIgnoreCase("true") ? true : false);
+	}
+
 	public static void log(Throwable e) {
 		getDefault().getLog().log(new Status(IStatus.ERROR, PLUGIN_ID, e.getMessage(), e));
 	}
@@ -0,0 +1,450 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.properties.editor.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+import org.springframework.boot.configurationmetadata.Deprecation;
+import org.springframework.ide.eclipse.boot.core.BootActivator;
+import org.springframework.ide.eclipse.boot.properties.editor.SpringPropertiesEditorPlugin;
+import org.springframework.ide.eclipse.boot.properties.editor.metadata.DeprecationUtil;
+import org.springframework.ide.eclipse.boot.util.Log;
+
+/**
+ * Caches what {@link TypeUtil} needs to know about Java types (getters, setters, enum constants,
+ * deprecations and property types), per project. Completions, hovers and reconciling of
+ * application.properties and application.yml ask about the same few types over and over, and
+ * finding them through JDT each time is slow.
+ * <p>
+ * A project's descriptors are dropped when a Java element delta shows that types in the project,
+ * or in a project it depends on (directly or not), may have changed. This includes reconciling of working copies,
+ * but not edits that only change method bodies.
+ * <p>
+ * With the 'typecache/debug' option of this plug-in enabled, the hit rate is printed whenever
+ * descriptors are dropped and when the cache shuts down.
+ */
+public class TypeDescriptorCache {
+
+	private static final String DEBUG_OPTION = SpringPropertiesEditorPlugin.PLUGIN_ID + "/typecache/debug";
+	private static final boolean DEBUG = SpringPropertiesEditorPlugin.isDebug(DEBUG_OPTION);
+
+	private static final String OBJECT_TYPE_NAME = Object.class.getName();
+
+	/**
+	 * A getter method with its return type and deprecation already resolved.
+	 */
+	public static class Getter {
+		private final IMethod method;
+		private final Type type;
+		private final Deprecation deprecation;
+
+		Getter(IMethod method, Type type, Deprecation deprecation) {
+			this.method = method;
+			this.type = type;
+			this.deprecation = deprecation;
+		}
+
+		public String getName() {
+			return method.getElementName();
+		}
+
+		public IMethod getMethod() {
+			return method;
+		}
+
+		/**
+		 * @return the return type, or null if it could not be represented as a {@link Type}.
+		 */
+		public Type getType() {
+			return type;
+		}
+
+		public Deprecation getDeprecation() {
+			return deprecation;
+		}
+	}
+
+	/**
+	 * What is known about one type name in one project. If the type can not be found a
+	 * descriptor is still cached, with a null {@link #getType()}.
+	 */
+	public static class TypeDescriptor {
+		private final IType type;
+		private final boolean isEnum;
+		private final List<IField> enumConstants;
+		private final List<Getter> getters;
+		private final Map<String, IMethod> setters;
+
+		/**
+		 * Values computed by clients from this descriptor, see {@link #derive(Object, Function)}
+		 */
+		private final Map<Object, Optional<?>> derived = new ConcurrentHashMap<>();
+
+		private TypeDescriptor(IType type, boolean isEnum, List<IField> enumConstants, List<Getter> getters, Map<String, IMethod> setters) {
+			this.type = type;
+			this.isEnum = isEnum;
+			this.enumConstants = enumConstants;
+			this.getters = getters;
+			this.setters = setters;
+		}
+
+		public IType getType() {
+			return type;
+		}
+
+		public boolean isEnum() {
+			return isEnum;
+		}
+
+		/**
+		 * @return the enum constants, in declaration order, or null if this is not an enum type.
+		 */
+		public List<IField> getEnumConstants() {
+			return enumConstants;
+		}
+
+		/**
+		 * @return the public, non-static getters of a class, including inherited ones. Null if this
+		 * is not a class type.
+		 */
+		public List<Getter> getGetters() {
+			return getters;
+		}
+
+		/**
+		 * @return a method with the given name that looks like a setter, declared or inherited.
+		 */
+		public IMethod getSetter(String name) {
+			return setters.get(name);
+		}
+
+		/**
+		 * Computes a value from this descriptor, once. The value is dropped along with the descriptor.
+		 * The key should identify the computation, as it is shared by all clients of the descriptor.
+		 */
+		@SuppressWarnings("unchecked")
+		public <T> T derive(Object key, Function<TypeDescriptor, T> computer) {
+			Optional<?> value = derived.get(key);
+			if (value==null) {
+				value = Optional.ofNullable(computer.apply(this));
+				derived.put(key, value);
+			}
+			return (T) value.orElse(null);
+		}
+	}
+
+	private static final TypeDescriptor NOT_FOUND = new TypeDescriptor(null, false, null, null, Collections.emptyMap());
+
+	private static TypeDescriptorCache instance;
+
+	private final Map<IJavaProject, Map<String, TypeDescriptor>> cache = new ConcurrentHashMap<>();
+	private final AtomicLong invalidations = new AtomicLong();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final IElementChangedListener elementListener = this::elementChanged;
+
+	public static synchronized TypeDescriptorCache getDefault() {
+		if (instance==null) {
+			instance = new TypeDescriptorCache();
+		}
+		return instance;
+	}
+
+	private TypeDescriptorCache() {
+		JavaCore.addElementChangedListener(elementListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	public static synchronized void shutdown() {
+		if (instance!=null) {
+			if (DEBUG) {
+				System.out.println("> shutting down "+instance);
+			}
+			JavaCore.removeElementChangedListener(instance.elementListener);
+			instance.cache.clear();
+			instance = null;
+		}
+	}
+
+	public TypeDescriptor get(IJavaProject jp, String typeName) {
+		Map<String, TypeDescriptor> types = cache.computeIfAbsent(jp, (p) -> new ConcurrentHashMap<>());
+		TypeDescriptor descriptor = types.get(typeName);
+		if (descriptor!=null) {
+			hits.incrementAndGet();
+			return descriptor;
+		}
+		misses.incrementAndGet();
+		long stamp = invalidations.get();
+		descriptor = compute(jp, typeName);
+		synchronized (cache) {
+			//Don't cache descriptors computed while types were changing underneath us.
+			if (stamp==invalidations.get()) {
+				types.put(typeName, descriptor);
+			}
+		}
+		return descriptor;
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * @return fraction of requests answered from the cache, between 0 and 1.
+	 */
+	public double getHitRate() {
+		long h = hits.get();
+		long total = h + misses.get();
+		return total==0 ? 0.0 : (double) h / total;
+	}
+
+	@Override
+	public String toString() {
+		return "TypeDescriptorCache(hits="+getHits()+", misses="+getMisses()+", hitRate="+Math.round(getHitRate()*100)+"%)";
+	}
+
+	private TypeDescriptor compute(IJavaProject jp, String typeName) {
+		try {
+			IType type = jp.findType(typeName);
+			if (type==null) {
+				return NOT_FOUND;
+			}
+			List<IType> hierarchy = getClassHierarchy(type);
+			boolean isEnum = type.isEnum();
+			return new TypeDescriptor(type, isEnum,
+					isEnum ? getEnumConstants(type) : null,
+					type.isClass() ? getGetters(hierarchy) : null,
+					getSetters(hierarchy)
+			);
+		} catch (Exception e) {
+			Log.log(e);
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * @return the type followed by its superclasses, except Object.
+	 */
+	private List<IType> getClassHierarchy(IType type) throws JavaModelException {
+		List<IType> types = new ArrayList<>();
+		types.add(type);
+		if (type.isClass() && type.getSuperclassName()!=null) {
+			ITypeHierarchy supertypes = type.newSupertypeHierarchy(null);
+			IType sup = supertypes.getSuperclass(type);
+			while (sup!=null && !OBJECT_TYPE_NAME.equals(sup.getFullyQualifiedName())) {
+				types.add(sup);
+				sup = supertypes.getSuperclass(sup);
+			}
+		}
+		return types;
+	}
+
+	private List<IField> getEnumConstants(IType type) throws JavaModelException {
+		List<IField> constants = new ArrayList<>();
+		for (IField f : type.getFields()) {
+			if (f.isEnumConstant()) {
+				constants.add(f);
+			}
+		}
+		return constants;
+	}
+
+	private List<Getter> getGetters(List<IType> hierarchy) {
+		List<Getter> getters = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		for (IType type : hierarchy) {
+			try {
+				for (IMethod m : type.getMethods()) {
+					if (!isStatic(m) && isPublic(m)) {
+						String mname = m.getElementName();
+						if (
+								(mname.startsWith("get") && mname.length()>=4) ||
+								(mname.startsWith("is") && mname.length()>=3)
+						) {
+							//Need at least 4 chars or the property name will be empty.
+							String sig = m.getSignature();
+							int numParams = Signature.getParameterCount(sig);
+							//Overridden getters are only listed once, as declared by the subclass.
+							if (numParams==0 && seen.add(mname)) {
+								Type propType = null;
+								try {
+									//Resolve in the declaring type, that's where the signature's names make sense.
+									propType = Type.fromSignature(m.getReturnType(), type);
+								} catch (JavaModelException e) {
+									Log.log(e);
+								}
+								getters.add(new Getter(m, propType, DeprecationUtil.extract(m)));
+							}
+						}
+					}
+				}
+			} catch (Exception e) {
+				BootActivator.log(e);
+			}
+		}
+		return getters;
+	}
+
+	private Map<String, IMethod> getSetters(List<IType> hierarchy) {
+		Map<String, IMethod> setters = new HashMap<>();
+		for (IType type : hierarchy) {
+			try {
+				for (IMethod m : type.getMethods()) {
+					String mname = m.getElementName();
+					if (mname.startsWith("set") && !setters.containsKey(mname)) {
+						setters.put(mname, m);
+					}
+				}
+			} catch (Exception e) {
+				BootActivator.log(e);
+			}
+		}
+		return setters;
+	}
+
+	private boolean isStatic(IMethod m) {
+		try {
+			return Flags.isStatic(m.getFlags());
+		} catch (JavaModelException e) {
+			//Couldn't determine if it was public or not... let's assume it was NOT
+			// (will result in potentially more CA completions)
+			BootActivator.log(e);
+			return false;
+		}
+	}
+
+	private boolean isPublic(IMethod m) {
+		try {
+			return m.getDeclaringType().isInterface()
+				|| Flags.isPublic(m.getFlags());
+		} catch (JavaModelException e) {
+			//Couldn't determine if it was public or not... let's assume it WAS
+			// (will result in potentially more CA completions)
+			BootActivator.log(e);
+			return true;
+		}
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		visit(event.getDelta());
+	}
+
+	private void visit(IJavaElementDelta delta) {
+		IJavaElement el = delta.getElement();
+		if (el.getElementType()==IJavaElement.JAVA_MODEL) {
+			for (IJavaElementDelta c : delta.getAffectedChildren()) {
+				visit(c);
+			}
+		} else if (affectsTypes(delta)) {
+			invalidate(el.getJavaProject());
+		}
+	}
+
+	private boolean affectsTypes(IJavaElementDelta delta) {
+		switch (delta.getElement().getElementType()) {
+		case IJavaElement.JAVA_PROJECT:
+		case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+		case IJavaElement.PACKAGE_FRAGMENT:
+			if (delta.getKind()!=IJavaElementDelta.CHANGED || 0 != (delta.getFlags() & (
+					IJavaElementDelta.F_CLASSPATH_CHANGED |
+					IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED |
+					IJavaElementDelta.F_OPENED |
+					IJavaElementDelta.F_CLOSED |
+					IJavaElementDelta.F_ADDED_TO_CLASSPATH |
+					IJavaElementDelta.F_REMOVED_FROM_CLASSPATH |
+					IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			))) {
+				return true;
+			}
+			for (IJavaElementDelta c : delta.getAffectedChildren()) {
+				if (affectsTypes(c)) {
+					return true;
+				}
+			}
+			return false;
+		case IJavaElement.COMPILATION_UNIT:
+			//A reconciled working copy that has no changed children only had method bodies edited.
+			return !(delta.getKind()==IJavaElementDelta.CHANGED
+					&& (delta.getFlags() & IJavaElementDelta.F_FINE_GRAINED)!=0
+					&& delta.getAffectedChildren().length==0);
+		default:
+			return true;
+		}
+	}
+
+	private void invalidate(IJavaProject changed) {
+		if (changed==null) {
+			return;
+		}
+		synchronized (cache) {
+			invalidations.incrementAndGet();
+			for (IJavaProject jp : cache.keySet()) {
+				if (jp.equals(changed) || requires(jp, changed)) {
+					cache.remove(jp);
+					if (DEBUG) {
+						System.out.println("> dropped type descriptors of '"+jp.getElementName()+"' : "+this);
+					}
+				}
+			}
+		}
+	}
+
+	private boolean requires(IJavaProject jp, IJavaProject required) {
+		return requires(jp, required, new HashSet<>());
+	}
+
+	/**
+	 * Follows required projects transitively, since their exported dependencies are on the classpath too.
+	 */
+	private boolean requires(IJavaProject jp, IJavaProject required, Set<String> visited) {
+		if (!visited.add(jp.getElementName())) {
+			return false;
+		}
+		try {
+			for (String name : jp.getRequiredProjectNames()) {
+				if (name.equals(required.getElementName()) || requires(jp.getJavaModel().getJavaProject(name), required, visited)) {
+					return true;
+				}
+			}
+		} catch (JavaModelException e) {
+			//Project probably gone, drop its cache just in case.
+			return true;
+		}
+		return false;
+	}
+
+}
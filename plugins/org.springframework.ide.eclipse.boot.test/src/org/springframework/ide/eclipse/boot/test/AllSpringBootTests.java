@@ -11,6 +11,7 @@ import org.junit.runners.Suite.SuiteClasses;
 		//  other tests that use the functionalities provided by ISpringBootProject
 		EditStartersModelTest.class,
 		EnableDisableBootDevtoolsTest.class,
+		BootProjectFactsServiceTest.class,
 		NewSpringBootWizardModelTest.class,
 		NewSpringBootWizardTest.class,
 		InitializrDependencySpecTest.class,
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.Version;
+import org.springframework.ide.eclipse.boot.core.BootProjectFacts;
+import org.springframework.ide.eclipse.boot.core.BootProjectFactsService;
+import org.springsource.ide.eclipse.commons.frameworks.test.util.ACondition;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+/**
+ * The facts only depend on the names of the jars on the classpath, so the project here is a plain
+ * Java project with empty jars, which is a lot quicker to set up than a real Boot project.
+ */
+public class BootProjectFactsServiceTest {
+
+	private static final String BOOT_JAR = "spring-boot-1.5.3.RELEASE.jar";
+	private static final String WEB_STARTER_JAR = "spring-boot-starter-web-1.5.3.RELEASE.jar";
+	private static final String DEVTOOLS_JAR = "spring-boot-devtools-1.5.3.RELEASE.jar";
+
+	private final BootProjectFactsService service = BootProjectFactsService.getDefault();
+	private final List<IProject> changed = new CopyOnWriteArrayList<>();
+	private final BootProjectFactsService.Listener listener = changed::add;
+	private IJavaProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		StsTestUtil.deleteAllProjects();
+		project = createJavaProject("facts-tester");
+		setLibraries(BOOT_JAR, WEB_STARTER_JAR);
+		service.addListener(listener);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		service.removeListener(listener);
+	}
+
+	@Test
+	public void factsFromClasspath() throws Exception {
+		BootProjectFacts facts = service.getFacts(project.getProject());
+		assertTrue(facts.isBootProject());
+		assertEquals(new Version("1.5.3.RELEASE"), facts.getBootVersion());
+		assertEquals(Collections.singleton("spring-boot-starter-web"), facts.getStarters());
+		assertFalse(facts.hasDevtools());
+
+		assertSame(facts, service.getFacts(project.getProject()));
+	}
+
+	@Test
+	public void classpathChangeInvalidatesFacts() throws Exception {
+		BootProjectFacts facts = service.getFacts(project.getProject());
+		assertFalse(facts.hasDevtools());
+
+		setLibraries(BOOT_JAR, WEB_STARTER_JAR, DEVTOOLS_JAR);
+		ACondition.waitFor("facts invalidated", 5_000, () -> assertTrue(changed.contains(project.getProject())));
+
+		BootProjectFacts newFacts = service.getFacts(project.getProject());
+		assertNotSame(facts, newFacts);
+		assertTrue(newFacts.hasDevtools());
+	}
+
+	@Test
+	public void closedProjectHasNoFacts() throws Exception {
+		IProject p = project.getProject();
+		assertTrue(service.getFacts(p).isBootProject());
+
+		p.close(null);
+		assertSame(BootProjectFacts.NONE, service.getFacts(p));
+
+		changed.clear();
+		p.open(null);
+		ACondition.waitFor("facts invalidated", 5_000, () -> assertTrue(changed.contains(p)));
+		assertTrue(service.getFacts(p).isBootProject());
+	}
+
+	@Test
+	public void otherProjectsKeepTheirFacts() throws Exception {
+		BootProjectFacts facts = service.getFacts(project.getProject());
+
+		IProject other = createJavaProject("other-project").getProject();
+		ACondition.waitFor("other project added", 5_000, () -> assertTrue(changed.contains(other)));
+		int changesBefore = changed.size();
+		other.delete(true, null);
+		ACondition.waitFor("other project removed", 5_000, () -> assertTrue(changed.size() > changesBefore));
+
+		assertFalse(changed.contains(project.getProject()));
+		assertSame(facts, service.getFacts(project.getProject()));
+	}
+
+	private IJavaProject createJavaProject(String name) throws Exception {
+		IProject p = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		p.create(null);
+		p.open(null);
+		IProjectDescription description = p.getDescription();
+		description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+		p.setDescription(description, null);
+		return JavaCore.create(p);
+	}
+
+	private void setLibraries(String... jarNames) throws Exception {
+		List<IClasspathEntry> classpath = new ArrayList<>();
+		for (String name : jarNames) {
+			IFile jar = project.getProject().getFile(name);
+			if (!jar.exists()) {
+				jar.create(new ByteArrayInputStream(new byte[0]), true, null);
+			}
+			classpath.add(JavaCore.newLibraryEntry(jar.getFullPath(), null, null));
+		}
+		project.setRawClasspath(classpath.toArray(new IClasspathEntry[classpath.size()]), null);
+	}
+
+}
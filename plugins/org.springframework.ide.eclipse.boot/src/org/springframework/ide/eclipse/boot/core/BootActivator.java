@@ -53,6 +53,7 @@ public class BootActivator extends AbstractUIPlugin {
 	 * @see org.eclipse.ui.plugin.AbstractUIPlugin#stop(org.osgi.framework.BundleContext)
 	 */
 	public void stop(BundleContext context) throws Exception {
+		BootProjectFactsService.shutdown();
 		plugin = null;
 		super.stop(context);
 	}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.core;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.osgi.framework.Version;
+
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Immutable summary of the Spring Boot related facts of a project's resolved classpath.
+ * Instances are computed and cached by {@link BootProjectFactsService}.
+ */
+public class BootProjectFacts {
+
+	private static final Pattern STARTER_REGEXP = Pattern.compile("(spring-boot-starter(-[a-z0-9]+)*)(-[0-9].*)?\\.jar");
+
+	public static final BootProjectFacts NONE = new BootProjectFacts(false, null, false, ImmutableSet.of());
+
+	private final boolean isBootProject;
+	private final Version bootVersion;
+	private final boolean hasDevtools;
+	private final ImmutableSet<String> starters;
+
+	private BootProjectFacts(boolean isBootProject, Version bootVersion, boolean hasDevtools, ImmutableSet<String> starters) {
+		this.isBootProject = isBootProject;
+		this.bootVersion = bootVersion;
+		this.hasDevtools = hasDevtools;
+		this.starters = starters;
+	}
+
+	/**
+	 * Computes the facts from a resolved classpath in a single pass over its entries.
+	 */
+	public static BootProjectFacts create(IClasspathEntry[] classpath) {
+		if (classpath==null) {
+			return NONE;
+		}
+		boolean isBoot = false;
+		boolean hasDevtools = false;
+		Version version = null;
+		ImmutableSet.Builder<String> starters = ImmutableSet.builder();
+		for (IClasspathEntry e : classpath) {
+			if (BootPropertyTester.isBootJar(e)) {
+				isBoot = true;
+				if (version==null) {
+					version = BootPropertyTester.getBootVersion(e);
+				}
+				String starter = getStarterName(e.getPath());
+				if (starter!=null) {
+					starters.add(starter);
+				}
+			} else if (BootPropertyTester.isBootProject(e)) {
+				isBoot = true;
+			}
+			if (BootPropertyTester.isDevtoolsJar(e)) {
+				hasDevtools = true;
+			}
+		}
+		return new BootProjectFacts(isBoot, version, hasDevtools, starters.build());
+	}
+
+	private static String getStarterName(IPath path) {
+		Matcher matcher = STARTER_REGEXP.matcher(path.lastSegment());
+		if (matcher.matches()) {
+			return matcher.group(1);
+		}
+		return null;
+	}
+
+	/**
+	 * @return whether the classpath contains a 'spring-boot' jar or project. Note that this does
+	 * not take the project exclusion preference into account.
+	 */
+	public boolean isBootProject() {
+		return isBootProject;
+	}
+
+	/**
+	 * @return the version of the first spring-boot jar on the classpath or null if it couldn't be determined.
+	 */
+	public Version getBootVersion() {
+		return bootVersion;
+	}
+
+	public boolean hasDevtools() {
+		return hasDevtools;
+	}
+
+	/**
+	 * @return artifact ids of the 'spring-boot-starter' jars on the classpath.
+	 */
+	public ImmutableSet<String> getStarters() {
+		return starters;
+	}
+
+	@Override
+	public String toString() {
+		return "BootProjectFacts [isBootProject=" + isBootProject + ", bootVersion=" + bootVersion
+				+ ", hasDevtools=" + hasDevtools + ", starters=" + starters + "]";
+	}
+
+}
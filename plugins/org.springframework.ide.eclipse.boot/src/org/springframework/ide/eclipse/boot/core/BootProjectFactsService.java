@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.boot.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.springsource.ide.eclipse.commons.livexp.util.Log;
+
+/**
+ * Caches {@link BootProjectFacts} per project so that property testers and the Boot Dashboard
+ * can answer questions like 'is this a boot project' without resolving the classpath each time.
+ * <p>
+ * Facts are computed lazily on first request and dropped whenever a Java element delta reports
+ * a (resolved) classpath change, or the project is opened, closed or removed. Interested parties
+ * can register a {@link Listener} to be told which project's facts became stale.
+ */
+public class BootProjectFactsService {
+
+	/**
+	 * Notified after the cached facts for a project have been invalidated. The new facts
+	 * are computed lazily on the next call to {@link BootProjectFactsService#getFacts(IProject)}.
+	 */
+	public interface Listener {
+		void factsChanged(IProject project);
+	}
+
+	private static BootProjectFactsService instance;
+
+	private final Map<IProject, BootProjectFacts> cache = new ConcurrentHashMap<>();
+	private final AtomicLong invalidations = new AtomicLong();
+	private final ListenerList listeners = new ListenerList();
+	private final IElementChangedListener elementListener = this::elementChanged;
+
+	public static synchronized BootProjectFactsService getDefault() {
+		if (instance==null) {
+			instance = new BootProjectFactsService();
+		}
+		return instance;
+	}
+
+	private BootProjectFactsService() {
+		JavaCore.addElementChangedListener(elementListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	public static synchronized void shutdown() {
+		if (instance!=null) {
+			JavaCore.removeElementChangedListener(instance.elementListener);
+			instance.cache.clear();
+			instance = null;
+		}
+	}
+
+	/**
+	 * @return the facts for the given project; {@link BootProjectFacts#NONE} for inaccessible
+	 * or non-Java projects.
+	 */
+	public BootProjectFacts getFacts(IProject project) {
+		if (project==null || !project.isAccessible()) {
+			return BootProjectFacts.NONE;
+		}
+		BootProjectFacts facts = cache.get(project);
+		if (facts==null) {
+			long stamp = invalidations.get();
+			facts = computeFacts(project);
+			synchronized (cache) {
+				//Don't cache facts computed while the classpath was changing underneath us.
+				if (stamp==invalidations.get()) {
+					cache.put(project, facts);
+				}
+			}
+		}
+		return facts;
+	}
+
+	private BootProjectFacts computeFacts(IProject project) {
+		try {
+			if (project.hasNature(JavaCore.NATURE_ID)) {
+				IJavaProject jp = JavaCore.create(project);
+				if (jp.exists()) {
+					return BootProjectFacts.create(jp.getResolvedClasspath(true));
+				}
+			}
+		} catch (Exception e) {
+			Log.log(e);
+		}
+		return BootProjectFacts.NONE;
+	}
+
+	public void addListener(Listener l) {
+		listeners.add(l);
+	}
+
+	public void removeListener(Listener l) {
+		listeners.remove(l);
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		visit(event.getDelta());
+	}
+
+	private void visit(IJavaElementDelta delta) {
+		IJavaElement el = delta.getElement();
+		switch (el.getElementType()) {
+		case IJavaElement.JAVA_MODEL:
+			for (IJavaElementDelta c : delta.getAffectedChildren()) {
+				visit(c);
+			}
+			break;
+		case IJavaElement.JAVA_PROJECT:
+			if (isFactsChanged(delta)) {
+				invalidate(((IJavaProject)el).getProject());
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	private boolean isFactsChanged(IJavaElementDelta delta) {
+		return delta.getKind()!=IJavaElementDelta.CHANGED || 0 != (delta.getFlags() & (
+				IJavaElementDelta.F_CLASSPATH_CHANGED |
+				IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED |
+				IJavaElementDelta.F_OPENED |
+				IJavaElementDelta.F_CLOSED
+		));
+	}
+
+	private void invalidate(IProject project) {
+		synchronized (cache) {
+			invalidations.incrementAndGet();
+			cache.remove(project);
+		}
+		for (Object l : listeners.getListeners()) {
+			try {
+				((Listener)l).factsChanged(project);
+			} catch (Exception e) {
+				Log.log(e);
+			}
+		}
+	}
+
+}
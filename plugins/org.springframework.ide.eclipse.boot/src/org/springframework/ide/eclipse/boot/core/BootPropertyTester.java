@@ -29,12 +29,9 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IClasspathEntry;
-import org.eclipse.jdt.core.IJavaProject;
-import org.eclipse.jdt.core.JavaCore;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.Version;
 import org.osgi.framework.VersionRange;
-import org.springsource.ide.eclipse.commons.internal.core.CorePlugin;
 import org.springsource.ide.eclipse.commons.livexp.util.Log;
 
 /**
@@ -83,48 +80,14 @@ public class BootPropertyTester extends PropertyTester {
 
 
 	public static boolean hasDevtools(IProject p) {
-		try {
-			if (p!=null && p.isAccessible()) {
-				IJavaProject jp = JavaCore.create(p);
-				if (jp.exists()) {
-					IClasspathEntry[] classpath = jp.getResolvedClasspath(true);
-					if (classpath!=null) {
-						for (IClasspathEntry e : classpath) {
-							if (BootPropertyTester.isDevtoolsJar(e)) {
-								return true;
-							}
-						}
-					}
-				}
-			}
-		} catch (Exception e) {
-			Log.log(e);
-		}
-		return false;
+		return BootProjectFactsService.getDefault().getFacts(p).hasDevtools();
 	}
 
 	public static boolean isBootProject(IProject project) {
 		if (project==null || ! project.isAccessible()) {
 			return false;
 		}
-		try {
-			if (project.hasNature(JavaCore.NATURE_ID)) {
-				if (!isExcludedProject(project)) {
-					IJavaProject jp = JavaCore.create(project);
-					IClasspathEntry[] classpath = jp.getResolvedClasspath(true);
-					//Look for a 'spring-boot' jar or project entry
-
-					for (IClasspathEntry e : classpath) {
-						if (isBootJar(e) || isBootProject(e)) {
-							return true;
-						}
-					}
-				}
-			}
-		} catch (Exception e) {
-			CorePlugin.log(e);
-		}
-		return false;
+		return !isExcludedProject(project) && BootProjectFactsService.getDefault().getFacts(project).isBootProject();
 	}
 
 	public static boolean hasBootDevTools(IProject project) {
@@ -226,18 +189,18 @@ public class BootPropertyTester extends PropertyTester {
 	 * determined.
 	 */
 	public static Version getBootVersion(IProject p) {
+		return BootProjectFactsService.getDefault().getFacts(p).getBootVersion();
+	}
+
+	/**
+	 * Attempt to determine the version of a spring-boot jar from its name. May return null
+	 * if the version couldn't be determined.
+	 */
+	static Version getBootVersion(IClasspathEntry e) {
 		try {
-			if (p.isAccessible() && p.hasNature(JavaCore.NATURE_ID)) {
-				IJavaProject jp = JavaCore.create(p);
-				IClasspathEntry[] cp = jp.getResolvedClasspath(true);
-				for (IClasspathEntry e : cp) {
-					if (isBootJar(e)) {
-						String version = getJarVersion(e);
-						if (version!=null) {
-							return new Version(version);
-						}
-					}
-				}
+			String version = getJarVersion(e);
+			if (version!=null) {
+				return new Version(version);
 			}
 		} catch (Exception error) {
 			Log.log(error);
@@ -245,7 +208,6 @@ public class BootPropertyTester extends PropertyTester {
 		return null;
 	}
 
-
 	private static String getJarVersion(IClasspathEntry e) {
 		String name = e.getPath().lastSegment();
 		//Example: spring-boot-starter-web-1.2.3.RELEASE.jar
@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.Status;
 import org.osgi.framework.BundleContext;
 import org.springframework.ide.eclipse.core.internal.model.SpringModel;
 import org.springframework.ide.eclipse.core.java.ITypeStructureCache;
+import org.springframework.ide.eclipse.core.java.JavaConfigIndex;
 import org.springframework.ide.eclipse.core.java.TypeStructureCache;
 import org.springframework.ide.eclipse.core.java.typehierarchy.BytecodeTypeHierarchyClassReaderFactory;
 import org.springframework.ide.eclipse.core.java.typehierarchy.DirectTypeHierarchyElementCacheFactory;
@@ -84,6 +85,8 @@ public class SpringCore extends Plugin {
 	private ResourceBundle resourceBundle;
 
 	private static TypeStructureCache typeStructureCache;
+
+	private static JavaConfigIndex javaConfigIndex;
 	
 	private static TypeHierarchyEngine typeHierarchyEngine;
 
@@ -96,6 +99,7 @@ public class SpringCore extends Plugin {
 		plugin = this;
 		model = new SpringModel();
 		typeStructureCache = new TypeStructureCache();
+		javaConfigIndex = new JavaConfigIndex();
 
 		typeHierarchyEngine = new TypeHierarchyEngine(true);
 		typeHierarchyEngine.setClassReaderFactory(new BytecodeTypeHierarchyClassReaderFactory());
@@ -117,6 +121,7 @@ public class SpringCore extends Plugin {
 		super.start(context);
 		model.startup();
 		typeStructureCache.startup();
+		javaConfigIndex.startup();
 		// install default for incremtal compilation
 		plugin.getPluginPreferences().setDefault(USE_CHANGE_DETECTION_IN_JAVA_FILES, true);
 		// non.locking classloader is not enabled by default
@@ -127,6 +132,7 @@ public class SpringCore extends Plugin {
 	public void stop(BundleContext context) throws Exception {
 		model.shutdown();
 		typeStructureCache.shutdown();
+		javaConfigIndex.shutdown();
 		super.stop(context);
 	}
 
@@ -148,6 +154,13 @@ public class SpringCore extends Plugin {
 		return typeStructureCache;
 	}
 
+	/**
+	 * Returns the workspace-wide index of Spring stereotype and configuration annotations.
+	 */
+	public static final JavaConfigIndex getJavaConfigIndex() {
+		return javaConfigIndex;
+	}
+
 	public static final TypeHierarchyEngine getTypeHierarchyEngine() {
 		return typeHierarchyEngine;
 	}
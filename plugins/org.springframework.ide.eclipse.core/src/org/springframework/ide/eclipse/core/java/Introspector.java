@@ -477,6 +477,20 @@ public final class Introspector {
 		if (type == null) {
 			return null;
 		}
+		Map<String, Object> cache = JdtUtils.getTypeLookupCache();
+		if (cache == null) {
+			return findSuperType(type, typeHierarchyEngine);
+		}
+		String key = "super:" + type.getHandleIdentifier();
+		Object superType = cache.get(key);
+		if (superType == null) {
+			superType = findSuperType(type, typeHierarchyEngine);
+			cache.put(key, (superType != null ? superType : JdtUtils.NO_RESULT));
+		}
+		return (superType instanceof IType ? (IType) superType : null);
+	}
+
+	private static IType findSuperType(IType type, TypeHierarchyEngine typeHierarchyEngine) throws JavaModelException {
 		String name = type.getSuperclassName();
 		if (name == null && !type.getFullyQualifiedName().equals(Object.class.getName())) {
 			name = Object.class.getName();
@@ -644,6 +658,20 @@ public final class Introspector {
 		if (type == null) {
 			return new IMethod[0];
 		}
+		Map<String, Object> cache = JdtUtils.getTypeLookupCache();
+		if (cache == null) {
+			return findMethods(type);
+		}
+		String key = "methods:" + type.getHandleIdentifier();
+		IMethod[] methods = (IMethod[]) cache.get(key);
+		if (methods == null) {
+			methods = findMethods(type);
+			cache.put(key, methods);
+		}
+		return methods.clone();
+	}
+
+	private static IMethod[] findMethods(IType type) throws JavaModelException {
 		if (type.isStructureKnown()) {
 			IMethod[] methods = type.getMethods();
 			
@@ -0,0 +1,487 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.core.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IAnnotatable;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaModel;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springsource.ide.eclipse.commons.core.StatusHandler;
+
+/**
+ * Persistent index of the Spring stereotype and configuration annotations used in the source folders of a Java project.
+ * <p>
+ * The index is built lazily by a single JDT search the first time a project is queried. Afterwards it is kept up to
+ * date from {@link IJavaElementDelta}s: changed compilation units are only marked as dirty and re-indexed with a
+ * search scoped to exactly those units on the next query. Classpath changes or closing a project drop the whole
+ * project entry.
+ * <p>
+ * Libraries are indexed per package fragment root on first use by {@link #getJavaConfigsOnClasspath(IJavaProject)}
+ * and dropped again when the archive changes or leaves the classpath.
+ */
+public class JavaConfigIndex {
+
+	private static final String DEBUG_OPTION = SpringCore.PLUGIN_ID + "/java/configindex/debug";
+
+	private static final boolean DEBUG = SpringCore.isDebug(DEBUG_OPTION);
+
+	public static final String CONFIGURATION = "org.springframework.context.annotation.Configuration";
+
+	public static final String COMPONENT = "org.springframework.stereotype.Component";
+
+	public static final String BEAN = "org.springframework.context.annotation.Bean";
+
+	public static final String IMPORT = "org.springframework.context.annotation.Import";
+
+	public static final String ENABLE_AUTO_CONFIGURATION = "org.springframework.boot.autoconfigure.EnableAutoConfiguration";
+
+	public static final String SPRING_BOOT_APPLICATION = "org.springframework.boot.autoconfigure.SpringBootApplication";
+
+	public static final String SPRING_CLOUD_APPLICATION = "org.springframework.cloud.client.SpringCloudApplication";
+
+	/** Annotations that qualify a type as Java config as used by {@link JdtUtils#searchForJavaConfigs(IJavaSearchScope)} */
+	public static final Set<String> JAVA_CONFIG_ANNOTATIONS = Collections.unmodifiableSet(new LinkedHashSet<String>(
+			Arrays.asList(CONFIGURATION, COMPONENT, BEAN, IMPORT, ENABLE_AUTO_CONFIGURATION, SPRING_BOOT_APPLICATION)));
+
+	/** Annotations that mark the entry point of a Spring Boot application */
+	public static final Set<String> AUTO_CONFIGURATION_ANNOTATIONS = Collections.unmodifiableSet(new LinkedHashSet<String>(
+			Arrays.asList(ENABLE_AUTO_CONFIGURATION, SPRING_BOOT_APPLICATION, SPRING_CLOUD_APPLICATION)));
+
+	private static final Set<String> INDEXED_ANNOTATIONS;
+
+	static {
+		Set<String> annotations = new LinkedHashSet<String>(JAVA_CONFIG_ANNOTATIONS);
+		annotations.addAll(AUTO_CONFIGURATION_ANNOTATIONS);
+		INDEXED_ANNOTATIONS = Collections.unmodifiableSet(annotations);
+	}
+
+	private IElementChangedListener changedListener = null;
+
+	private final ConcurrentMap<IJavaProject, ProjectIndex> indexesByProject = new ConcurrentHashMap<IJavaProject, ProjectIndex>();
+
+	private final ConcurrentMap<IPackageFragmentRoot, Map<IType, Set<String>>> typesByLibrary = new ConcurrentHashMap<IPackageFragmentRoot, Map<IType, Set<String>>>();
+
+	public void startup() {
+		changedListener = new IndexUpdatingJavaElementChangeListener();
+		JavaCore.addElementChangedListener(changedListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	public void shutdown() {
+		JavaCore.removeElementChangedListener(changedListener);
+		changedListener = null;
+		indexesByProject.clear();
+		typesByLibrary.clear();
+	}
+
+	/**
+	 * Returns all source types of the given project that carry one of the {@link #JAVA_CONFIG_ANNOTATIONS} either on
+	 * the type itself or on one of its methods.
+	 */
+	public Set<IType> getJavaConfigs(IJavaProject project) {
+		return getAnnotatedTypes(project, JAVA_CONFIG_ANNOTATIONS);
+	}
+
+	/**
+	 * Returns all source types of the given project that carry one of the given annotations either on the type itself
+	 * or on one of its methods. Only annotations contained in {@link #JAVA_CONFIG_ANNOTATIONS} or
+	 * {@link #AUTO_CONFIGURATION_ANNOTATIONS} are indexed.
+	 */
+	public Set<IType> getAnnotatedTypes(IJavaProject project, Set<String> annotationNames) {
+		if (project == null || !project.exists()) {
+			return Collections.emptySet();
+		}
+		ProjectIndex index = indexesByProject.get(project);
+		if (index == null) {
+			index = new ProjectIndex(project);
+			ProjectIndex existing = indexesByProject.putIfAbsent(project, index);
+			if (existing != null) {
+				index = existing;
+			}
+		}
+		return index.getAnnotatedTypes(annotationNames);
+	}
+
+	/**
+	 * Returns all types visible on the classpath of the given project that carry one of the
+	 * {@link #JAVA_CONFIG_ANNOTATIONS}: the source types of the project and of the projects it requires as well as the
+	 * types of their libraries.
+	 */
+	public Set<IType> getJavaConfigsOnClasspath(IJavaProject project) {
+		Set<IType> result = new LinkedHashSet<IType>();
+		collectJavaConfigsOnClasspath(project, new HashSet<IJavaProject>(), result);
+		return result;
+	}
+
+	private void collectJavaConfigsOnClasspath(IJavaProject project, Set<IJavaProject> visited, Set<IType> result) {
+		if (project == null || !project.exists() || !visited.add(project)) {
+			return;
+		}
+		result.addAll(getJavaConfigs(project));
+		try {
+			for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+				if (root.getKind() == IPackageFragmentRoot.K_BINARY) {
+					result.addAll(filter(getLibraryTypes(root), JAVA_CONFIG_ANNOTATIONS));
+				}
+			}
+			for (String name : project.getRequiredProjectNames()) {
+				collectJavaConfigsOnClasspath(project.getJavaModel().getJavaProject(name), visited, result);
+			}
+		}
+		catch (JavaModelException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, SpringCore.PLUGIN_ID,
+					"An error occurred while indexing Java config files.", e));
+		}
+	}
+
+	private Map<IType, Set<String>> getLibraryTypes(IPackageFragmentRoot root) {
+		Map<IType, Set<String>> types = typesByLibrary.get(root);
+		if (types == null) {
+			// Searched outside of any lock; concurrent callers may search the same library twice
+			types = search(SearchEngine.createJavaSearchScope(new IJavaElement[] { root }));
+			typesByLibrary.putIfAbsent(root, types);
+		}
+		return types;
+	}
+
+	/**
+	 * Removes the recorded index for the given project together with the indexes of its libraries.
+	 */
+	public void clearStateForProject(IJavaProject project) {
+		indexesByProject.remove(project);
+		for (IPackageFragmentRoot root : typesByLibrary.keySet()) {
+			if (project.equals(root.getJavaProject())) {
+				typesByLibrary.remove(root);
+			}
+		}
+	}
+
+	private static SearchPattern createSearchPattern() {
+		SearchPattern pattern = null;
+		for (String annotation : INDEXED_ANNOTATIONS) {
+			SearchPattern annotationPattern = SearchPattern.createPattern(annotation,
+					IJavaSearchConstants.ANNOTATION_TYPE, IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE,
+					SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+			pattern = pattern == null ? annotationPattern : SearchPattern.createOrPattern(pattern, annotationPattern);
+		}
+		return pattern;
+	}
+
+	/**
+	 * Searches the given scope for types using one of the {@link #INDEXED_ANNOTATIONS} and returns them together with
+	 * the indexed annotations they use. Must not be called while holding a lock that the element change listener
+	 * needs, as the search may take a while.
+	 */
+	protected Map<IType, Set<String>> search(IJavaSearchScope scope) {
+		final Set<IType> matches = new HashSet<IType>();
+		SearchRequestor requestor = new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (match.getAccuracy() == SearchMatch.A_ACCURATE && !match.isInsideDocComment()) {
+					Object element = match.getElement();
+					if (element instanceof IType) {
+						matches.add((IType) element);
+					}
+					else if (element instanceof IMethod) {
+						IType type = ((IMethod) element).getDeclaringType();
+						if (type != null) {
+							matches.add(type);
+						}
+					}
+				}
+			}
+		};
+		Map<IType, Set<String>> result = new HashMap<IType, Set<String>>();
+		try {
+			new SearchEngine().search(createSearchPattern(),
+					new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, requestor, null);
+			for (IType type : matches) {
+				Set<String> annotations = getIndexedAnnotations(type);
+				if (!annotations.isEmpty()) {
+					result.put(type, annotations);
+				}
+			}
+		}
+		catch (CoreException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, SpringCore.PLUGIN_ID,
+					"An error occurred while indexing Java config files.", e));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the annotations out of {@link #INDEXED_ANNOTATIONS} that are used on the given type or its methods.
+	 * Annotation names written in source are resolved against the type, so that an unrelated annotation with the same
+	 * simple name doesn't count.
+	 */
+	private static Set<String> getIndexedAnnotations(IType type) throws JavaModelException {
+		Set<String> result = new HashSet<String>();
+		collectIndexedAnnotations(type, type, result);
+		for (IMethod method : type.getMethods()) {
+			collectIndexedAnnotations(type, method, result);
+		}
+		return result;
+	}
+
+	private static void collectIndexedAnnotations(IType type, IAnnotatable annotatable, Set<String> result)
+			throws JavaModelException {
+		for (IAnnotation annotation : annotatable.getAnnotations()) {
+			String name = annotation.getElementName();
+			if (INDEXED_ANNOTATIONS.contains(name)) {
+				result.add(name);
+			}
+			else if (name.indexOf('.') < 0 && !type.isBinary()) {
+				String[][] resolved = type.resolveType(name);
+				if (resolved != null) {
+					for (String[] candidate : resolved) {
+						String qualifiedName = candidate[0].length() > 0 ? candidate[0] + "." + candidate[1] : candidate[1];
+						if (INDEXED_ANNOTATIONS.contains(qualifiedName)) {
+							result.add(qualifiedName);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static Set<IType> filter(Map<IType, Set<String>> types, Set<String> annotationNames) {
+		Set<IType> result = new HashSet<IType>();
+		for (Map.Entry<IType, Set<String>> entry : types.entrySet()) {
+			if (!Collections.disjoint(entry.getValue(), annotationNames)) {
+				result.add(entry.getKey());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Annotated types of a single project, grouped by compilation unit.
+	 * <p>
+	 * Searches run without holding the index' monitor, so that the element change listener never waits for them. A
+	 * unit that changes while it is being searched stays dirty and is searched again by the next query.
+	 */
+	private class ProjectIndex {
+
+		private final IJavaProject project;
+
+		private final Map<ICompilationUnit, Map<IType, Set<String>>> typesByUnit = new HashMap<ICompilationUnit, Map<IType, Set<String>>>();
+
+		private final Set<ICompilationUnit> dirtyUnits = new HashSet<ICompilationUnit>();
+
+		private boolean initialized = false;
+
+		public ProjectIndex(IJavaProject project) {
+			this.project = project;
+		}
+
+		public synchronized void markDirty(ICompilationUnit unit) {
+			dirtyUnits.add(unit);
+		}
+
+		public synchronized void remove(ICompilationUnit unit) {
+			dirtyUnits.remove(unit);
+			typesByUnit.remove(unit);
+		}
+
+		public Set<IType> getAnnotatedTypes(Set<String> annotationNames) {
+			update();
+			synchronized (this) {
+				Set<IType> result = new HashSet<IType>();
+				for (Map<IType, Set<String>> types : typesByUnit.values()) {
+					result.addAll(filter(types, annotationNames));
+				}
+				return result;
+			}
+		}
+
+		private void update() {
+			boolean full;
+			List<ICompilationUnit> units = new ArrayList<ICompilationUnit>();
+			synchronized (this) {
+				full = !initialized;
+				if (!full) {
+					units.addAll(dirtyUnits);
+					// Changes from now on are recorded again and picked up by the next query
+					dirtyUnits.clear();
+				}
+				// A full search may have read a unit before it changed, so its dirty mark stays until the
+				// update that follows it
+			}
+			if (!full && units.isEmpty()) {
+				return;
+			}
+
+			long start = System.currentTimeMillis();
+			IJavaSearchScope scope;
+			if (full) {
+				scope = SearchEngine.createJavaSearchScope(new IJavaElement[] { project }, IJavaSearchScope.SOURCES);
+			}
+			else {
+				List<ICompilationUnit> existing = new ArrayList<ICompilationUnit>();
+				for (ICompilationUnit unit : units) {
+					if (unit.exists()) {
+						existing.add(unit);
+					}
+				}
+				scope = existing.isEmpty() ? null
+						: SearchEngine.createJavaSearchScope(existing.toArray(new IJavaElement[existing.size()]));
+			}
+			Map<IType, Set<String>> found = scope != null ? search(scope) : Collections.<IType, Set<String>> emptyMap();
+
+			Map<ICompilationUnit, Map<IType, Set<String>>> foundByUnit = new HashMap<ICompilationUnit, Map<IType, Set<String>>>();
+			for (Map.Entry<IType, Set<String>> entry : found.entrySet()) {
+				ICompilationUnit unit = entry.getKey().getCompilationUnit();
+				if (unit != null) {
+					unit = unit.getPrimary();
+					Map<IType, Set<String>> types = foundByUnit.get(unit);
+					if (types == null) {
+						types = new HashMap<IType, Set<String>>();
+						foundByUnit.put(unit, types);
+					}
+					types.put(entry.getKey(), entry.getValue());
+				}
+			}
+
+			synchronized (this) {
+				if (full) {
+					if (!initialized) {
+						for (Map.Entry<ICompilationUnit, Map<IType, Set<String>>> entry : foundByUnit.entrySet()) {
+							if (entry.getKey().exists()) {
+								typesByUnit.put(entry.getKey(), entry.getValue());
+							}
+						}
+						initialized = true;
+					}
+				}
+				else {
+					for (ICompilationUnit unit : units) {
+						typesByUnit.remove(unit);
+					}
+					for (Map.Entry<ICompilationUnit, Map<IType, Set<String>>> entry : foundByUnit.entrySet()) {
+						if (entry.getKey().exists()) {
+							typesByUnit.put(entry.getKey(), entry.getValue());
+						}
+					}
+				}
+			}
+
+			if (DEBUG) {
+				System.out.println(String.format("> %s Java config index for '%s' (%s units) in %sms",
+						full ? "created" : "updated", project.getElementName(),
+						full ? foundByUnit.size() : units.size(), System.currentTimeMillis() - start));
+			}
+
+			if (full) {
+				// Picks up the units that changed while searching
+				update();
+			}
+		}
+	}
+
+	/**
+	 * {@link IElementChangedListener} that marks changed compilation units as dirty and drops project indexes on
+	 * classpath changes.
+	 */
+	private class IndexUpdatingJavaElementChangeListener implements IElementChangedListener {
+
+		public void elementChanged(ElementChangedEvent event) {
+			if (!indexesByProject.isEmpty() || !typesByLibrary.isEmpty()) {
+				processDelta(event.getDelta());
+			}
+		}
+
+		private void processDelta(IJavaElementDelta delta) {
+			IJavaElement element = delta.getElement();
+			if (element instanceof IJavaProject) {
+				IJavaProject javaProject = (IJavaProject) element;
+				if (delta.getKind() == IJavaElementDelta.REMOVED
+						|| (delta.getFlags() & IJavaElementDelta.F_CLOSED) != 0
+						|| (delta.getFlags() & IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED) != 0
+						|| (delta.getFlags() & IJavaElementDelta.F_CLASSPATH_CHANGED) != 0) {
+					clearStateForProject(javaProject);
+					return;
+				}
+				if (!indexesByProject.containsKey(javaProject)) {
+					return;
+				}
+			}
+			else if (element instanceof IPackageFragmentRoot) {
+				if ((delta.getFlags() & IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED) != 0) {
+					typesByLibrary.remove(element);
+					return;
+				}
+				if (delta.getKind() != IJavaElementDelta.CHANGED) {
+					clearStateForProject(element.getJavaProject());
+					return;
+				}
+			}
+			else if (element instanceof ICompilationUnit) {
+				ProjectIndex index = indexesByProject.get(element.getJavaProject());
+				if (index != null) {
+					ICompilationUnit unit = ((ICompilationUnit) element).getPrimary();
+					if (delta.getKind() == IJavaElementDelta.REMOVED) {
+						index.remove(unit);
+					}
+					else {
+						index.markDirty(unit);
+					}
+				}
+				return;
+			}
+			else if (element instanceof IPackageFragment) {
+				if (delta.getKind() == IJavaElementDelta.REMOVED) {
+					clearStateForProject(element.getJavaProject());
+					return;
+				}
+			}
+			else if (!(element instanceof IJavaModel)) {
+				return;
+			}
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				processDelta(child);
+			}
+		}
+	}
+
+}
@@ -19,6 +19,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IProject;
@@ -91,6 +92,36 @@ public class JdtUtils {
 
 	private static final boolean IS_AJDT_PRESENT = isAjdtPresent();
 
+	/** Cached result of a lookup that didn't find anything */
+	static final Object NO_RESULT = new Object();
+
+	private static final ThreadLocal<Map<String, Object>> TYPE_LOOKUP_CACHE = new ThreadLocal<Map<String, Object>>();
+
+	/**
+	 * Makes the current thread remember the results of {@link #getJavaType(IProject, String)} as well as the methods
+	 * and super types looked up through {@link Introspector} in the given map until {@link #endTypeLookupCache()} is
+	 * called. The map can be kept by the caller and passed in again later on, e.g. for the lifetime of an editor, as
+	 * long as it is cleared whenever the Java model changes.
+	 */
+	public static void beginTypeLookupCache(Map<String, Object> cache) {
+		TYPE_LOOKUP_CACHE.set(cache);
+	}
+
+	/**
+	 * Stops remembering type lookups for the current thread.
+	 * @see #beginTypeLookupCache(Map)
+	 */
+	public static void endTypeLookupCache() {
+		TYPE_LOOKUP_CACHE.remove();
+	}
+
+	/**
+	 * Returns the lookup cache of the current thread or <code>null</code> if lookups aren't cached.
+	 */
+	static Map<String, Object> getTypeLookupCache() {
+		return TYPE_LOOKUP_CACHE.get();
+	}
+
 	/**
 	 * Creates specified Java project.
 	 */
@@ -376,6 +407,20 @@ public class JdtUtils {
 	 * @return the requested Java type or null if the class is not defined or the project is not accessible
 	 */
 	public static IType getJavaType(IProject project, String className) {
+		Map<String, Object> cache = TYPE_LOOKUP_CACHE.get();
+		if (cache == null || project == null || className == null) {
+			return findJavaType(project, className);
+		}
+		String key = project.getName() + '/' + className;
+		Object type = cache.get(key);
+		if (type == null) {
+			type = findJavaType(project, className);
+			cache.put(key, (type != null ? type : NO_RESULT));
+		}
+		return (type instanceof IType ? (IType) type : null);
+	}
+
+	private static IType findJavaType(IProject project, String className) {
 		IJavaProject javaProject = JdtUtils.getJavaProject(project);
 
 		if (className != null) {
@@ -10,16 +10,34 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.core.model.validation;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.springframework.ide.eclipse.core.MarkerUtils;
+import org.springframework.ide.eclipse.core.SpringCore;
 import org.springframework.ide.eclipse.core.internal.model.validation.ValidationRuleDefinition;
 import org.springframework.ide.eclipse.core.internal.model.validation.ValidationRuleDefinitionFactory;
 import org.springframework.ide.eclipse.core.model.IModelElement;
@@ -39,6 +57,12 @@ import org.springframework.ide.eclipse.core.project.IProjectContributorStateAwar
  */
 public abstract class AbstractValidator implements IValidator, IProjectContributorStateAware {
 
+	/** Result of a resource whose root element is external to the workspace, which ends a run */
+	private static final Set<ValidationProblem> EXTERNAL = Collections.unmodifiableSet(new LinkedHashSet<ValidationProblem>());
+
+	/** Threads of all concurrent validation runs; each run uses at most {@link #getMaxConcurrency()} of them */
+	private static ExecutorService executor;
+
 	/** Internal state object */
 	private IProjectContributorState contributorState;
 
@@ -78,6 +102,18 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 	 */
 	public final void validate(Set<IResource> affectedResources, int kind, IProgressMonitor monitor)
 			throws CoreException {
+		Object runState = createRunState(affectedResources);
+		int concurrency = Math.min(getMaxConcurrency(), affectedResources.size());
+		if (concurrency > 1) {
+			validateConcurrently(affectedResources, kind, concurrency, runState, monitor);
+		}
+		else {
+			validateSequentially(affectedResources, kind, runState, monitor);
+		}
+	}
+
+	private void validateSequentially(Set<IResource> affectedResources, int kind, Object runState,
+			IProgressMonitor monitor) throws CoreException {
 		SubProgressMonitor subMonitor = new SubProgressMonitor(monitor, affectedResources.size());
 		try {
 			for (IResource resource : affectedResources) {
@@ -101,7 +137,7 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 
 				Set<ValidationRuleDefinition> ruleDefinitions = getRuleDefinitions(resource);
 				if (rootElement != null && ruleDefinitions != null && ruleDefinitions.size() > 0) {
-					Set<ValidationProblem> problems = validate(callback, ruleDefinitions, subMonitor);
+					Set<ValidationProblem> problems = validate(callback, ruleDefinitions, runState, subMonitor);
 					ValidationUtils.createProblemMarkers(resource, problems, getMarkerId());
 				}
 
@@ -119,6 +155,144 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 		}
 	}
 
+	/**
+	 * Validates the given resources on up to <code>concurrency</code> threads of the shared validation executor.
+	 * Problems are collected in memory and published together with the marker cleanup in a single batched workspace
+	 * operation. As in a sequential run, validation stops at the first resource with an external root element, and
+	 * the markers of the resources validated before a cancellation are still published.
+	 */
+	private void validateConcurrently(Set<IResource> affectedResources, final int kind, int concurrency,
+			final Object runState, IProgressMonitor monitor) throws CoreException {
+		final SubProgressMonitor subMonitor = new SubProgressMonitor(monitor, affectedResources.size() + 1);
+		final Map<IResource, Set<ValidationProblem>> problemsByResource = new LinkedHashMap<IResource, Set<ValidationProblem>>();
+		final AtomicBoolean stopped = new AtomicBoolean();
+		boolean canceled = false;
+
+		// workers must not touch the (non thread-safe) progress monitor other than for cancellation
+		final IProgressMonitor workerMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return stopped.get() || subMonitor.isCanceled();
+			}
+		};
+
+		Map<IResource, FutureTask<Set<ValidationProblem>>> tasks = new LinkedHashMap<IResource, FutureTask<Set<ValidationProblem>>>();
+		final Queue<FutureTask<Set<ValidationProblem>>> queue = new ConcurrentLinkedQueue<FutureTask<Set<ValidationProblem>>>();
+		for (final IResource resource : affectedResources) {
+			FutureTask<Set<ValidationProblem>> task = new FutureTask<Set<ValidationProblem>>(
+					new Callable<Set<ValidationProblem>>() {
+						public Set<ValidationProblem> call() {
+							return validateResource(resource, kind, runState, workerMonitor);
+						}
+					});
+			tasks.put(resource, task);
+			queue.add(task);
+		}
+		for (int i = 0; i < concurrency; i++) {
+			getExecutor().execute(new Runnable() {
+				public void run() {
+					FutureTask<Set<ValidationProblem>> task;
+					while ((task = queue.poll()) != null) {
+						task.run();
+					}
+				}
+			});
+		}
+
+		try {
+			for (Map.Entry<IResource, FutureTask<Set<ValidationProblem>>> entry : tasks.entrySet()) {
+				IResource resource = entry.getKey();
+				reportProgress("Validating '" + resource.getFullPath().toString().substring(1) + "'", subMonitor);
+				Set<ValidationProblem> problems;
+				try {
+					problems = entry.getValue().get();
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					canceled = true;
+					break;
+				}
+				catch (ExecutionException e) {
+					if (e.getCause() instanceof OperationCanceledException) {
+						canceled = true;
+						break;
+					}
+					SpringCore.log("Error validating '" + resource.getFullPath() + "'", e.getCause());
+					problems = null;
+				}
+				problemsByResource.put(resource, problems == EXTERNAL ? null : problems);
+				subMonitor.worked(1);
+				if (problems == EXTERNAL) {
+					break;
+				}
+				if (subMonitor.isCanceled()) {
+					canceled = true;
+					break;
+				}
+			}
+		}
+		finally {
+			stopped.set(true);
+			queue.clear();
+		}
+
+		try {
+			reportProgress("Creating validation markers", subMonitor);
+			ResourcesPlugin.getWorkspace().run(new IWorkspaceRunnable() {
+				public void run(IProgressMonitor runMonitor) throws CoreException {
+					for (Map.Entry<IResource, Set<ValidationProblem>> entry : problemsByResource.entrySet()) {
+						cleanup(entry.getKey(), runMonitor);
+						if (entry.getValue() != null) {
+							ValidationUtils.createProblemMarkers(entry.getKey(), entry.getValue(), getMarkerId());
+						}
+					}
+				}
+			}, null, IWorkspace.AVOID_UPDATE, new SubProgressMonitor(subMonitor, 1));
+		}
+		finally {
+			subMonitor.done();
+		}
+		if (canceled) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Validates a single resource on a worker thread. Returns <code>null</code> if no markers should be created for
+	 * the given resource, and {@link #EXTERNAL} if its root element is external to the workspace.
+	 */
+	private Set<ValidationProblem> validateResource(IResource resource, int kind, Object runState,
+			IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		IValidationElementLifecycleManager callback = initValidationElementCallback(resource, kind);
+		try {
+			IResourceModelElement rootElement = callback.getRootElement();
+			if (rootElement == null) {
+				return null;
+			}
+			if (rootElement.isExternal()) {
+				return EXTERNAL;
+			}
+			Set<ValidationRuleDefinition> ruleDefinitions = getRuleDefinitions(resource);
+			if (ruleDefinitions != null && ruleDefinitions.size() > 0) {
+				return validate(callback, ruleDefinitions, runState, new SubProgressMonitor(monitor, 1));
+			}
+			return null;
+		}
+		finally {
+			callback.destroy();
+		}
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newCachedThreadPool(new ValidationThreadFactory());
+		}
+		return executor;
+	}
+
 	private IValidationElementLifecycleManager initValidationElementCallback(IResource resource, int kind) {
 		IValidationElementLifecycleManager callback = createValidationElementLifecycleManager();
 		if (callback instanceof IValidationElementLifecycleManagerExtension) {
@@ -129,10 +303,10 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 	}
 
 	private Set<ValidationProblem> validate(IValidationElementLifecycleManager callback,
-			Set<ValidationRuleDefinition> ruleDefinitions, SubProgressMonitor subMonitor) {
+			Set<ValidationRuleDefinition> ruleDefinitions, Object runState, IProgressMonitor subMonitor) {
 		Set<ValidationProblem> problems = new LinkedHashSet<ValidationProblem>();
 		for (IResourceModelElement contextElement : callback.getContextElements()) {
-			IValidationContext context = createContext(callback.getRootElement(), contextElement);
+			IValidationContext context = createContext(callback.getRootElement(), contextElement, runState);
 			if (context instanceof IProjectContributorStateAware) {
 				((IProjectContributorStateAware) context).setProjectContributorState(contributorState);
 			}
@@ -156,11 +330,41 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 	protected abstract IValidationContext createContext(IResourceModelElement rootElement,
 			IResourceModelElement contextElement);
 
+	/**
+	 * Returns a newly created {@link IValidationContext} for the given {@link IResourceModelElement root element}, it's
+	 * {@link IResourceModelElement context element} and the state returned by {@link #createRunState(Set)} for the
+	 * current run. This default implementation ignores the run state.
+	 */
+	protected IValidationContext createContext(IResourceModelElement rootElement,
+			IResourceModelElement contextElement, Object runState) {
+		return createContext(rootElement, contextElement);
+	}
+
 	/**
 	 * Returns {@link IValidationElementLifecycleManager}.
 	 */
 	protected abstract IValidationElementLifecycleManager createValidationElementLifecycleManager();
 
+	/**
+	 * Returns the maximum number of resources that are validated concurrently.
+	 * <p>
+	 * Validators that return a value greater than <code>1</code> must make sure that their rules, contexts and
+	 * {@link IValidationElementLifecycleManager}s can be used from several threads at the same time. This default
+	 * implementation returns <code>1</code> and therefore validates resources one after the other.
+	 */
+	protected int getMaxConcurrency() {
+		return 1;
+	}
+
+	/**
+	 * Returns state that is shared between all resources validated in one run, e.g. lookup caches, or
+	 * <code>null</code>. The state is handed to {@link #createContext(IResourceModelElement, IResourceModelElement,
+	 * Object)} for each resource of the run. As several runs may overlap, sub classes must not keep it in a field.
+	 */
+	protected Object createRunState(Set<IResource> affectedResources) {
+		return null;
+	}
+
 	/**
 	 * Returns the ID of this validator's {@link IMarker validation problem marker} ID.
 	 */
@@ -248,6 +452,20 @@ public abstract class AbstractValidator implements IValidator, IProjectContribut
 		return true;
 	}
 
+	/**
+	 * {@link ThreadFactory} for the worker threads of concurrent validation runs.
+	 */
+	private static class ValidationThreadFactory implements ThreadFactory {
+
+		private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "Spring IDE Validation Worker " + THREAD_COUNT.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
 	/**
 	 * {@link IModelElementVisitor} implementation that validates a specified model tree.
 	 */
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.data.jdt.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springframework.ide.eclipse.core.java.JdtUtils;
+import org.springsource.ide.eclipse.commons.tests.util.StsTestUtil;
+
+public class DerivedQueryValidatorTest {
+
+	private IProject project;
+	private IJavaProject javaProject;
+	private DerivedQueryValidator validator;
+
+	@BeforeClass
+	public static void setUp() {
+		if (Platform.OS_WIN32.equals(Platform.getOS())) {
+			/*
+			 * Set non-locking class-loader for windows testing
+			 */
+			InstanceScope.INSTANCE.getNode(SpringCore.PLUGIN_ID).putBoolean(
+					SpringCore.USE_NON_LOCKING_CLASSLOADER, true);
+		}
+	}
+
+	@Before
+	public void createProject() throws Exception {
+		project = StsTestUtil.createPredefinedProject("spring-data-testdata", "org.springframework.ide.eclipse.data.core.tests");
+		javaProject = JdtUtils.getJavaProject(project);
+		project.build(IncrementalProjectBuilder.FULL_BUILD, null);
+		validator = DerivedQueryValidator.getDefault();
+	}
+
+	@After
+	public void deleteProject() throws Exception {
+		project.delete(true, null);
+	}
+
+	@Test
+	public void testInvalidQueryMethods() throws Exception {
+		IType repository = javaProject.findType("org.PersonRepository");
+		assertEquals("org.Person", validator.getDomainClass(repository).getName());
+
+		Map<IMethod, String> problems = validator.validate(repository);
+		assertEquals(1, problems.size());
+		assertEquals("findByNickname", problems.keySet().iterator().next().getElementName());
+	}
+
+	@Test
+	public void testRevalidateFromCache() throws Exception {
+		IType repository = javaProject.findType("org.PersonRepository");
+		Class<?> domainClass = validator.getDomainClass(repository);
+		assertEquals(1, validator.validate(repository).size());
+		long parsed = validator.getParseCount();
+
+		assertEquals(1, validator.validate(repository).size());
+		assertEquals(parsed, validator.getParseCount());
+		assertSame(domainClass, validator.getDomainClass(repository));
+	}
+
+	@Test
+	public void testDomainClassChanged() throws Exception {
+		IType repository = javaProject.findType("org.PersonRepository");
+		assertEquals(1, validator.validate(repository).size());
+
+		setContents(project.getFile("src/org/Person.java"),
+				"package org;\n" +
+				"\n" +
+				"public class Person {\n" +
+				"	public String getName() { return null; }\n" +
+				"	public int getAge() { return 0; }\n" +
+				"	public String getNickname() { return null; }\n" +
+				"}\n"
+		);
+
+		assertTrue(validator.validate(repository).isEmpty());
+	}
+
+	@Test
+	public void testRepositoryChanged() throws Exception {
+		IType repository = javaProject.findType("org.PersonRepository");
+		assertEquals(1, validator.validate(repository).size());
+		long parsed = validator.getParseCount();
+
+		setContents(project.getFile("src/org/PersonRepository.java"),
+				"package org;\n" +
+				"\n" +
+				"import java.util.List;\n" +
+				"\n" +
+				"import org.springframework.data.repository.Repository;\n" +
+				"\n" +
+				"public interface PersonRepository extends Repository<Person, Long> {\n" +
+				"	List<Person> findByName(String name);\n" +
+				"	List<Person> findByAgeGreaterThan(int age);\n" +
+				"	List<Person> findByNickname(String nickname);\n" +
+				"	List<Person> findByAgeLessThan(int age);\n" +
+				"}\n"
+		);
+
+		//Only the new query method is parsed
+		assertEquals(1, validator.validate(repository).size());
+		assertEquals(parsed + 1, validator.getParseCount());
+	}
+
+	@Test
+	public void testRequiredProjectChanged() throws Exception {
+		IProject dependent = createDependentProject();
+		try {
+			IType repository = JdtUtils.getJavaProject(dependent).findType("dependent.PersonFinder");
+			assertEquals(1, validator.validate(repository).size());
+
+			//Only the dependent project has state, the changed domain class lives in the required one
+			setContents(project.getFile("src/org/Person.java"),
+					"package org;\n" +
+					"\n" +
+					"public class Person {\n" +
+					"	public String getNickname() { return null; }\n" +
+					"}\n"
+			);
+
+			assertTrue(validator.validate(repository).isEmpty());
+		} finally {
+			dependent.delete(true, null);
+		}
+	}
+
+	/**
+	 * Creates a project requiring the test project, with a repository for the test project's
+	 * domain class.
+	 */
+	private IProject createDependentProject() throws Exception {
+		IProject dependent = ResourcesPlugin.getWorkspace().getRoot().getProject("spring-data-dependent");
+		dependent.create(null);
+		dependent.open(null);
+		IProjectDescription description = dependent.getDescription();
+		description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+		dependent.setDescription(description, null);
+
+		IFolder src = dependent.getFolder("src");
+		src.create(true, true, null);
+		List<IClasspathEntry> entries = new ArrayList<IClasspathEntry>();
+		entries.add(JavaCore.newSourceEntry(src.getFullPath()));
+		entries.add(JavaCore.newContainerEntry(new Path("org.eclipse.jdt.launching.JRE_CONTAINER")));
+		entries.add(JavaCore.newProjectEntry(project.getFullPath()));
+		for (IResource lib : project.getFolder("lib").members()) {
+			entries.add(JavaCore.newLibraryEntry(lib.getFullPath(), null, null));
+		}
+		JavaCore.create(dependent).setRawClasspath(entries.toArray(new IClasspathEntry[entries.size()]),
+				dependent.getFullPath().append("bin"), null);
+
+		IFolder pkg = src.getFolder("dependent");
+		pkg.create(true, true, null);
+		String contents =
+				"package dependent;\n" +
+				"\n" +
+				"import java.util.List;\n" +
+				"\n" +
+				"import org.Person;\n" +
+				"import org.springframework.data.repository.Repository;\n" +
+				"\n" +
+				"public interface PersonFinder extends Repository<Person, Long> {\n" +
+				"	List<Person> findByNickname(String nickname);\n" +
+				"}\n";
+		pkg.getFile("PersonFinder.java").create(new ByteArrayInputStream(contents.getBytes("UTF-8")), true, null);
+		dependent.build(IncrementalProjectBuilder.FULL_BUILD, null);
+		return dependent;
+	}
+
+	private void setContents(IFile file, String contents) throws Exception {
+		file.setContents(new ByteArrayInputStream(contents.getBytes("UTF-8")), true, false, null);
+		project.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, null);
+	}
+
+}
@@ -0,0 +1,15 @@
+package org;
+
+import java.util.List;
+
+import org.springframework.data.repository.Repository;
+
+public interface PersonRepository extends Repository<Person, Long> {
+
+	List<Person> findByName(String name);
+
+	List<Person> findByAgeGreaterThan(int age);
+
+	List<Person> findByNickname(String nickname);
+
+}
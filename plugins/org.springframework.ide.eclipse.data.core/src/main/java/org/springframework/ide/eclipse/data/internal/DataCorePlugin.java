@@ -14,6 +14,8 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
+import org.osgi.framework.BundleContext;
+import org.springframework.ide.eclipse.data.jdt.core.DerivedQueryValidator;
 
 /**
  * Central access point for the Spring Data Support plug-in (id
@@ -40,6 +42,12 @@ public class DataCorePlugin extends AbstractUIPlugin {
 		plugin = this;
 	}
 
+	@Override
+	public void stop(BundleContext context) throws Exception {
+		DerivedQueryValidator.shutdown();
+		super.stop(context);
+	}
+
 	/**
 	 * Returns the shared instance.
 	 */
@@ -10,20 +10,21 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.data.internal.validation;
 
+import java.util.Map.Entry;
+
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
-import org.springframework.data.mapping.PropertyReferenceException;
-import org.springframework.data.repository.query.parser.PartTree;
 import org.springframework.ide.eclipse.core.SpringCore;
 import org.springframework.ide.eclipse.core.model.IModelElement;
 import org.springframework.ide.eclipse.core.model.java.JavaModelSourceLocation;
 import org.springframework.ide.eclipse.core.model.validation.IValidationContext;
 import org.springframework.ide.eclipse.core.model.validation.IValidationRule;
 import org.springframework.ide.eclipse.core.model.validation.ValidationProblemAttribute;
+import org.springframework.ide.eclipse.data.jdt.core.DerivedQueryValidator;
 import org.springframework.ide.eclipse.data.jdt.core.RepositoryInformation;
 import org.springframework.ide.eclipse.data.jdt.core.SpringDataCompilationParticipant;
 
@@ -67,14 +68,7 @@ public class InvalidDerivedQueryRule implements IValidationRule<CompilationUnit,
 			return false;
 		}
 
-		// resolve repository information and generate problem markers
-		RepositoryInformation information = new RepositoryInformation(type);
-
-		Class<?> domainClass = information.getManagedDomainClass();
-		if (domainClass == null) {
-			return false;
-		}
-		return true;
+		return DerivedQueryValidator.getDefault().getDomainClass(type) != null;
 	}
 
 	public void validate(CompilationUnit element,
@@ -88,34 +82,23 @@ public class InvalidDerivedQueryRule implements IValidationRule<CompilationUnit,
 			if (!supports(typeRoot))
 				return;
 
-			// resolve repository information and generate problem markers
-			RepositoryInformation information = new RepositoryInformation(type);
-
-			Class<?> domainClass = information.getManagedDomainClass();
-			if (domainClass == null) {
-				return;
-			}
-
-			for (IMethod method : information.getMethodsToValidate()) {
-
-				String methodName = method.getElementName();
-
-				try {
-					new PartTree(methodName, domainClass);
-				} catch (PropertyReferenceException e) {
-					element.setElementSourceLocation(new JavaModelSourceLocation(
-							method));
-					ValidationProblemAttribute start = new ValidationProblemAttribute(
-							IMarker.CHAR_START, method.getNameRange()
-									.getOffset());
-					ValidationProblemAttribute end = new ValidationProblemAttribute(
-							IMarker.CHAR_END, method.getSourceRange()
-									.getOffset()
-									+ method.getSourceRange().getLength());
-					context.error(element, "INVALID_DERIVED_QUERY",
-							"Invalid derived query! " + e.getMessage(),
-							new ValidationProblemAttribute[] { start, end });
-				}
+			// generate problem markers, only parsing query methods not validated before
+			for (Entry<IMethod, String> invalid : DerivedQueryValidator.getDefault().validate(type).entrySet()) {
+
+				IMethod method = invalid.getKey();
+
+				element.setElementSourceLocation(new JavaModelSourceLocation(
+						method));
+				ValidationProblemAttribute start = new ValidationProblemAttribute(
+						IMarker.CHAR_START, method.getNameRange()
+								.getOffset());
+				ValidationProblemAttribute end = new ValidationProblemAttribute(
+						IMarker.CHAR_END, method.getSourceRange()
+								.getOffset()
+								+ method.getSourceRange().getLength());
+				context.error(element, "INVALID_DERIVED_QUERY",
+						"Invalid derived query! " + invalid.getValue(),
+						new ValidationProblemAttribute[] { start, end });
 			}
 
 		} catch (JavaModelException e) {
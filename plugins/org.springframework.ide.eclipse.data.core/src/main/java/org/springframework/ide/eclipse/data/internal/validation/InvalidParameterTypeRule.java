@@ -28,6 +28,7 @@ import org.springframework.ide.eclipse.core.model.java.JavaModelSourceLocation;
 import org.springframework.ide.eclipse.core.model.validation.IValidationContext;
 import org.springframework.ide.eclipse.core.model.validation.IValidationRule;
 import org.springframework.ide.eclipse.core.model.validation.ValidationProblemAttribute;
+import org.springframework.ide.eclipse.data.jdt.core.DerivedQueryValidator;
 import org.springframework.ide.eclipse.data.jdt.core.RepositoryInformation;
 
 /**
@@ -74,14 +75,7 @@ public class InvalidParameterTypeRule implements
 				return false;
 			}
 
-			// resolve repository information and generate problem markers
-			RepositoryInformation information = new RepositoryInformation(type);
-
-			Class<?> domainClass = information.getManagedDomainClass();
-			if (domainClass == null) {
-				return false;
-			}
-			return true;
+			return DerivedQueryValidator.getDefault().getDomainClass(type) != null;
 		}
 		return false;
 	}
@@ -92,10 +86,8 @@ public class InvalidParameterTypeRule implements
 		ITypeRoot typeRoot = element.getTypeRoot();
 		IType type = typeRoot.findPrimaryType();
 
-		// resolve repository information and generate problem markers
-		RepositoryInformation information = new RepositoryInformation(type);
-
-		Class<?> domainClass = information.getManagedDomainClass();
+		// resolve the domain class, shared with the other rules and reconciling
+		Class<?> domainClass = DerivedQueryValidator.getDefault().getDomainClass(type);
 		if (domainClass == null) {
 			return;
 		}
@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.data.jdt.core;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springframework.ide.eclipse.core.java.JdtUtils;
+
+/**
+ * Validates derived query methods of Spring Data repositories, remembering what it found so that
+ * reconciling a repository interface and validating it during the build share the work.
+ * <p>
+ * Per project it caches the managed domain class of each repository, so the repository doesn't
+ * have to be loaded through the project class loader again, and whether parsing a method name
+ * as a {@link PartTree} against a domain class succeeded. Re-validating a repository therefore
+ * only parses method names that haven't been seen before for its domain class.
+ * <p>
+ * The cached classes are only valid as long as the compiled classes they were loaded from.
+ * When the build writes a new class file for a repository, only that repository's domain class
+ * is forgotten. When any other class file, a jar or the classpath changes, everything known
+ * about the project and the projects depending on it, directly or indirectly, is dropped. This
+ * applies to changes in any project, whether it has cached state of its own or not.
+ * <p>
+ * Domain classes are held weakly, so that the cache doesn't keep the class loaders of outdated
+ * project classpaths alive. A domain class that has been collected is loaded again.
+ */
+public class DerivedQueryValidator {
+
+	private static final String CLASS_EXTENSION = "class";
+	private static final String JAR_EXTENSION = "jar";
+
+	/**
+	 * What is known about the repositories of one project.
+	 */
+	private static class ProjectState {
+		/**
+		 * Managed domain class by repository name. {@link #NO_DOMAIN_CLASS} if the repository
+		 * could not be loaded or has no domain class.
+		 */
+		final Map<String, WeakReference<Class<?>>> domainClasses = new ConcurrentHashMap<>();
+
+		/**
+		 * Per domain class name, the error message by query method name. Empty for valid queries.
+		 */
+		final Map<String, Map<String, Optional<String>>> errors = new ConcurrentHashMap<>();
+	}
+
+	private static final WeakReference<Class<?>> NO_DOMAIN_CLASS = new WeakReference<>(null);
+
+	private static DerivedQueryValidator instance;
+
+	private final Map<IProject, ProjectState> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Incremented on every invalidation, so results computed while classes were changing aren't
+	 * cached.
+	 */
+	private final AtomicLong invalidations = new AtomicLong();
+
+	private final AtomicLong parsed = new AtomicLong();
+
+	private final IResourceChangeListener resourceListener = this::resourceChanged;
+	private final IElementChangedListener elementListener = this::elementChanged;
+
+	public static synchronized DerivedQueryValidator getDefault() {
+		if (instance==null) {
+			instance = new DerivedQueryValidator();
+		}
+		return instance;
+	}
+
+	private DerivedQueryValidator() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceListener, IResourceChangeEvent.POST_CHANGE);
+		JavaCore.addElementChangedListener(elementListener, ElementChangedEvent.POST_CHANGE);
+	}
+
+	public static synchronized void shutdown() {
+		if (instance!=null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance.resourceListener);
+			JavaCore.removeElementChangedListener(instance.elementListener);
+			instance.cache.clear();
+			instance = null;
+		}
+	}
+
+	/**
+	 * @return the managed domain class of the given repository interface, or null if it can't be
+	 * loaded or doesn't have one.
+	 */
+	public Class<?> getDomainClass(IType repository) {
+		IProject project = repository.getJavaProject().getProject();
+		ProjectState state = getState(project);
+		String name = repository.getFullyQualifiedName();
+		WeakReference<Class<?>> cached = state.domainClasses.get(name);
+		if (cached==NO_DOMAIN_CLASS) {
+			return null;
+		}
+		Class<?> domainClass = cached==null ? null : cached.get();
+		if (domainClass==null) {
+			long stamp = invalidations.get();
+			RepositoryInformation information = RepositoryInformation.create(repository);
+			domainClass = information==null ? null : information.getManagedDomainClass();
+			synchronized (cache) {
+				if (stamp==invalidations.get()) {
+					state.domainClasses.put(name, domainClass==null ? NO_DOMAIN_CLASS : new WeakReference<>(domainClass));
+				}
+			}
+		}
+		return domainClass;
+	}
+
+	/**
+	 * Validates the query methods of a repository against its domain class.
+	 *
+	 * @return the error message by query method for the methods that aren't valid derived queries.
+	 * Empty if there are none, or the repository has no domain class.
+	 */
+	public Map<IMethod, String> validate(IType repository) {
+		Map<IMethod, String> problems = new LinkedHashMap<>();
+		Class<?> domainClass = getDomainClass(repository);
+		if (domainClass!=null) {
+			for (IMethod method : RepositoryInformation.getMethodsToValidate(repository)) {
+				String error = validate(repository.getJavaProject().getProject(), domainClass, method.getElementName());
+				if (error!=null) {
+					problems.put(method, error);
+				}
+			}
+		}
+		return problems;
+	}
+
+	private String validate(IProject project, Class<?> domainClass, String methodName) {
+		ProjectState state = getState(project);
+		Map<String, Optional<String>> errors = state.errors.computeIfAbsent(domainClass.getName(), (n) -> new ConcurrentHashMap<>());
+		Optional<String> error = errors.get(methodName);
+		if (error==null) {
+			long stamp = invalidations.get();
+			error = parse(domainClass, methodName);
+			synchronized (cache) {
+				if (stamp==invalidations.get()) {
+					errors.put(methodName, error);
+				}
+			}
+		}
+		return error.orElse(null);
+	}
+
+	private Optional<String> parse(Class<?> domainClass, String methodName) {
+		parsed.incrementAndGet();
+		try {
+			new PartTree(methodName, domainClass);
+			return Optional.empty();
+		} catch (PropertyReferenceException e) {
+			return Optional.of(e.getMessage());
+		}
+	}
+
+	/**
+	 * @return the number of method names parsed so far, i.e. those that weren't found in the cache.
+	 */
+	public long getParseCount() {
+		return parsed.get();
+	}
+
+	private ProjectState getState(IProject project) {
+		return cache.computeIfAbsent(project, (p) -> new ProjectState());
+	}
+
+	private void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta==null || cache.isEmpty()) {
+			return;
+		}
+		for (IResourceDelta projectDelta : delta.getAffectedChildren()) {
+			IProject project = (IProject) projectDelta.getResource();
+			try {
+				List<IResource> changedClasses = new ArrayList<>();
+				boolean[] changedLibraries = { false };
+				projectDelta.accept((d) -> {
+					IResource r = d.getResource();
+					if (r.getType()==IResource.FILE) {
+						if (CLASS_EXTENSION.equals(r.getFileExtension())) {
+							changedClasses.add(r);
+						} else if (JAR_EXTENSION.equals(r.getFileExtension())) {
+							changedLibraries[0] = true;
+						}
+					}
+					return true;
+				});
+				if (changedLibraries[0]) {
+					invalidate(project);
+				} else if (!changedClasses.isEmpty()) {
+					ProjectState state = cache.get(project);
+					if (state!=null && forgetRepositories(state, changedClasses)) {
+						//Dependent projects may still have loaded the old repository classes
+						invalidateDependents(project);
+					} else {
+						invalidate(project);
+					}
+				}
+			} catch (CoreException e) {
+				SpringCore.log(e);
+				invalidate(project);
+			}
+		}
+	}
+
+	/**
+	 * Forgets the domain classes of the repositories whose class files changed.
+	 *
+	 * @return false if some of the changed class files aren't repositories, i.e. might be domain
+	 * classes or types they depend on.
+	 */
+	private boolean forgetRepositories(ProjectState state, List<IResource> changedClasses) {
+		List<String> repositories = new ArrayList<>();
+		for (IResource classFile : changedClasses) {
+			String repository = findRepository(state, classFile);
+			if (repository==null) {
+				return false;
+			}
+			repositories.add(repository);
+		}
+		synchronized (cache) {
+			invalidations.incrementAndGet();
+			for (String repository : repositories) {
+				state.domainClasses.remove(repository);
+			}
+		}
+		return true;
+	}
+
+	private String findRepository(ProjectState state, IResource classFile) {
+		String path = classFile.getProjectRelativePath().removeFileExtension().toString();
+		int nested = path.indexOf('$');
+		if (nested>=0) {
+			path = path.substring(0, nested);
+		}
+		for (String repository : state.domainClasses.keySet()) {
+			if (path.endsWith('/' + repository.replace('.', '/'))) {
+				return repository;
+			}
+		}
+		return null;
+	}
+
+	private void elementChanged(ElementChangedEvent event) {
+		for (IJavaElementDelta projectDelta : event.getDelta().getAffectedChildren()) {
+			if (projectDelta.getElement().getElementType()==IJavaElement.JAVA_PROJECT
+					&& (projectDelta.getKind()!=IJavaElementDelta.CHANGED || 0 != (projectDelta.getFlags() & (
+							IJavaElementDelta.F_CLASSPATH_CHANGED |
+							IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED |
+							IJavaElementDelta.F_CLOSED
+					)))) {
+				invalidate(projectDelta.getElement().getJavaProject().getProject());
+			}
+		}
+	}
+
+	private void invalidate(IProject changed) {
+		synchronized (cache) {
+			cache.remove(changed);
+			invalidateDependents(changed);
+		}
+	}
+
+	/**
+	 * Drops the state of all projects that require the given project, directly or through other
+	 * projects.
+	 */
+	private void invalidateDependents(IProject changed) {
+		synchronized (cache) {
+			invalidations.incrementAndGet();
+			for (IProject project : cache.keySet()) {
+				if (requires(project, changed, new HashSet<>())) {
+					cache.remove(project);
+				}
+			}
+		}
+	}
+
+	private boolean requires(IProject project, IProject required, Set<String> visited) {
+		IJavaProject jp = JdtUtils.getJavaProject(project);
+		if (jp!=null && visited.add(project.getName())) {
+			try {
+				for (String name : jp.getRequiredProjectNames()) {
+					if (name.equals(required.getName())
+							|| requires(project.getWorkspace().getRoot().getProject(name), required, visited)) {
+						return true;
+					}
+				}
+			} catch (JavaModelException e) {
+				//Project is gone or closed. Its state is useless anyway.
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public String toString() {
+		return "DerivedQueryValidator(projects="+cache.size()+", parsed="+getParseCount()+")";
+	}
+}
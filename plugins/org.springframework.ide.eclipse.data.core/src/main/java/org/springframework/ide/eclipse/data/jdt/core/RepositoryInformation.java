@@ -12,6 +12,7 @@ package org.springframework.ide.eclipse.data.jdt.core;
 
 import java.lang.reflect.Method;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.eclipse.jdt.core.Flags;
@@ -240,12 +241,23 @@ public class RepositoryInformation {
 	 * @return
 	 */
 	public Iterable<IMethod> getMethodsToValidate() {
+		return getMethodsToValidate(type);
+	}
 
-		Set<IMethod> result = new HashSet<IMethod>();
+	/**
+	 * Returns all {@link IMethod}s of the given repository interface that shall be considered query methods. Unlike
+	 * creating a {@link RepositoryInformation}, this doesn't need to load the repository interface.
+	 *
+	 * @param type must not be {@literal null}.
+	 * @return
+	 */
+	public static Iterable<IMethod> getMethodsToValidate(IType type) {
+
+		Set<IMethod> result = new LinkedHashSet<IMethod>();
 
 		try {
 			for (IMethod method : type.getMethods()) {
-				if (isMethodToValidate(method)) {
+				if (isQueryMethod(method)) {
 					result.add(method);
 				}
 			}
@@ -257,6 +269,10 @@ public class RepositoryInformation {
 	}
 
 	public boolean isMethodToValidate(IMethod method) throws JavaModelException {
+		return isQueryMethod(method);
+	}
+
+	private static boolean isQueryMethod(IMethod method) throws JavaModelException {
 		if (isCrudMethod(method)) return false;
 		if (hasAnnotation(method, "Query")) return false;
 		if (hasAnnotation(method, "Procedure")) return false;
@@ -273,11 +289,11 @@ public class RepositoryInformation {
 		return false;
 	}
 
-	private boolean isCrudMethod(IMethod method) {
+	private static boolean isCrudMethod(IMethod method) {
 		return METHOD_NAMES.contains(method.getElementName());
 	}
 	
-	private boolean hasAnnotation(IMethod method, String annotationName) throws JavaModelException {
+	private static boolean hasAnnotation(IMethod method, String annotationName) throws JavaModelException {
 		for (IAnnotation annotation : method.getAnnotations()) {
 			if (annotation.getElementName().equals(annotationName)) {
 				return true;
@@ -37,6 +37,7 @@ import org.springframework.ide.eclipse.quickfix.validator.tests.ClassAttributeVa
 import org.springframework.ide.eclipse.quickfix.validator.tests.ConstructorArgNameValidationTest;
 import org.springframework.ide.eclipse.quickfix.validator.tests.FactoryBeanAttributeValidationTest;
 import org.springframework.ide.eclipse.quickfix.validator.tests.FactoryMethodAttributeValidationTest;
+import org.springframework.ide.eclipse.quickfix.validator.tests.IncrementalValidationTest;
 import org.springframework.ide.eclipse.quickfix.validator.tests.MethodAttributeValidationTest;
 import org.springframework.ide.eclipse.quickfix.validator.tests.NamespaceElementsValidationTest;
 import org.springframework.ide.eclipse.quickfix.validator.tests.PlaceholderTest;
@@ -60,6 +61,7 @@ public class AllQuickfixTests {
 		suite.addTest(new TestSuite(ReflectionTests.class));
 		suite.addTest(new TestSuite(QuickfixReflectionUtilsTest.class));
 		suite.addTest(new TestSuite(QuickfixUtilsTest.class));
+		suite.addTest(new TestSuite(TypeResolutionCacheTest.class));
 
 		// suite.addTest(new
 		// TestSuite(AutowireClassAttributeValidationTest.class));
@@ -77,6 +79,7 @@ public class AllQuickfixTests {
 		suite.addTest(new TestSuite(FactoryMethodAttributeValidationTest.class));
 		suite.addTest(new TestSuite(PropertyAttributeValidationTest.class));
 		suite.addTest(new TestSuite(ConstructorArgNameValidationTest.class));
+		suite.addTest(new TestSuite(IncrementalValidationTest.class));
 
 		suite.addTest(new TestSuite(AddConstructorArgQuickFixProposalTest.class));
 		suite.addTest(new TestSuite(AddConstructorParamQuickFixProposalTest.class));
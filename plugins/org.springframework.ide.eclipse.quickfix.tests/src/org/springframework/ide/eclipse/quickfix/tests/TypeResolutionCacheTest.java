@@ -0,0 +1,157 @@
+/*******************************************************************************
+ *  Copyright (c) 2016 Pivotal Software, Inc.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.quickfix.tests;
+
+import java.io.ByteArrayInputStream;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
+
+/**
+ * Tests for {@link TypeResolutionCache}. Project <code>a</code> requires <code>b</code>, which requires and exports
+ * <code>c</code>, so the types of <code>c</code> are visible in <code>a</code> without <code>a</code> requiring it.
+ */
+public class TypeResolutionCacheTest extends TestCase {
+
+	private final TypeResolutionCache cache = new TypeResolutionCache();
+
+	private boolean autoBuilding;
+
+	private IJavaProject a;
+
+	private IJavaProject b;
+
+	private IJavaProject c;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		// keeps builder deltas from invalidating entries behind the tests' back
+		autoBuilding = setAutoBuilding(false);
+
+		c = createJavaProject("type-cache-c");
+		b = createJavaProject("type-cache-b", c);
+		a = createJavaProject("type-cache-a", b);
+		createType(a, "A");
+		createType(b, "B");
+		createType(c, "C");
+
+		cache.startup();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		cache.shutdown();
+		a.getProject().delete(true, null);
+		b.getProject().delete(true, null);
+		c.getProject().delete(true, null);
+		setAutoBuilding(autoBuilding);
+		super.tearDown();
+	}
+
+	public void testLookupsAreCached() throws Exception {
+		assertNotNull(cache.findType(a, "c.C"));
+		assertNotNull(cache.findType(a, "c.C"));
+		assertNull(cache.findType(a, "c.Missing"));
+		assertNull(cache.findType(a, "c.Missing"));
+
+		assertEquals(2, cache.getMissCount());
+		assertEquals(2, cache.getHitCount());
+	}
+
+	public void testChangeInProject() throws Exception {
+		assertNull(cache.findType(a, "a.Added"));
+
+		createType(a, "Added");
+
+		assertNotNull(cache.findType(a, "a.Added"));
+		assertEquals(2, cache.getMissCount());
+	}
+
+	public void testChangeInRequiredProject() throws Exception {
+		assertFalse(cache.getTypeNames(a).containsKey("Added"));
+
+		createType(b, "Added");
+
+		assertTrue(cache.getTypeNames(a).containsKey("Added"));
+	}
+
+	public void testChangeInRequiredProjectOfRequiredProject() throws Exception {
+		assertFalse(cache.getTypeNames(a).containsKey("Added"));
+		assertNull(cache.findType(a, "c.Added"));
+
+		createType(c, "Added");
+
+		assertTrue(cache.getTypeNames(a).containsKey("Added"));
+		assertNotNull(cache.findType(a, "c.Added"));
+	}
+
+	public void testChangeInDependentProject() throws Exception {
+		assertNotNull(cache.findType(c, "c.C"));
+
+		createType(a, "Added");
+
+		assertNotNull(cache.findType(c, "c.C"));
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(0, cache.getInvalidationCount());
+	}
+
+	private boolean setAutoBuilding(boolean enabled) throws Exception {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description = workspace.getDescription();
+		boolean wasEnabled = description.isAutoBuilding();
+		description.setAutoBuilding(enabled);
+		workspace.setDescription(description);
+		return wasEnabled;
+	}
+
+	private IJavaProject createJavaProject(String name, IJavaProject... requiredProjects) throws Exception {
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+		project.create(null);
+		project.open(null);
+		IProjectDescription description = project.getDescription();
+		description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+		project.setDescription(description, null);
+
+		IFolder src = project.getFolder("src");
+		src.create(true, true, null);
+		src.getFolder(name.substring(name.length() - 1)).create(true, true, null);
+
+		IClasspathEntry[] classpath = new IClasspathEntry[requiredProjects.length + 1];
+		classpath[0] = JavaCore.newSourceEntry(src.getFullPath());
+		for (int i = 0; i < requiredProjects.length; i++) {
+			classpath[i + 1] = JavaCore.newProjectEntry(requiredProjects[i].getPath(), true);
+		}
+		IJavaProject javaProject = JavaCore.create(project);
+		javaProject.setRawClasspath(classpath, project.getFolder("bin").getFullPath(), null);
+		return javaProject;
+	}
+
+	private void createType(IJavaProject project, String typeName) throws Exception {
+		String name = project.getElementName();
+		String packageName = name.substring(name.length() - 1);
+		String source = "package " + packageName + ";\n\npublic class " + typeName + " {\n}\n";
+		project.getProject().getFolder("src").getFolder(packageName).getFile(typeName + ".java")
+				.create(new ByteArrayInputStream(source.getBytes("UTF-8")), true, null);
+	}
+
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.quickfix.validator.tests;
+
+import java.util.List;
+
+import org.eclipse.jface.text.Region;
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
+import org.springframework.ide.eclipse.config.core.schemas.BeansSchemaConstants;
+import org.springframework.ide.eclipse.quickfix.tests.QuickfixTestUtil;
+
+/**
+ * Validates single nodes of an editor document repeatedly, checking that results remembered from earlier passes are
+ * only reused as long as what they depend on is unchanged.
+ */
+@SuppressWarnings("restriction")
+public class IncrementalValidationTest extends AbstractBeanValidationTestCase {
+
+	private static final String MISSING_REF = "Referenced bean 'accoun' not found";
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		createBeansEditorValidator("src/bean-ref-attribute.xml");
+	}
+
+	public void testUnchangedNode() throws Exception {
+		List<String> messages = validateProperty("propertyBeanRefTest2");
+		assertTrue(messages.toString(), messages.contains(MISSING_REF));
+
+		assertEquals(messages, validateProperty("propertyBeanRefTest2"));
+	}
+
+	public void testReferencedBeanAddedToDocument() throws Exception {
+		assertTrue(validateProperty("propertyBeanRefTest2").contains(MISSING_REF));
+
+		// Defined after the validated property, so that its source and position stay the same
+		int offset = document.get().lastIndexOf("</beans>");
+		document.replace(offset, 0, "<bean id=\"accoun\" class=\"com.test.Account\"/>\n");
+
+		assertFalse(validateProperty("propertyBeanRefTest2").contains(MISSING_REF));
+	}
+
+	public void testEnclosingBeanChanged() throws Exception {
+		List<String> messages = validateProperty("propertyBeanRefTest1");
+		assertFalse(messages.toString(), containsNoSetter(messages));
+
+		// Switch to a class without the property, padded so that the property doesn't move
+		String contribution = "class=\"com.test.AccountContribution\"";
+		String account = "class=\"com.test.Account\"";
+		int offset = document.get().indexOf(contribution, document.get().indexOf("propertyBeanRefTest1"));
+		StringBuilder replacement = new StringBuilder(account);
+		while (replacement.length() < contribution.length()) {
+			replacement.append(' ');
+		}
+		document.replace(offset, contribution.length(), replacement.toString());
+
+		messages = validateProperty("propertyBeanRefTest1");
+		assertTrue(messages.toString(), containsNoSetter(messages));
+	}
+
+	private List<String> validateProperty(String beanName) {
+		IDOMNode beanNode = QuickfixTestUtil.getNode(BeansSchemaConstants.ELEM_BEAN, beanName,
+				beansNode.getChildNodes());
+		IDOMNode propertyNode = QuickfixTestUtil.getFirstNode(BeansSchemaConstants.ELEM_PROPERTY,
+				beanNode.getChildNodes());
+
+		reporter.removeAllMessages(validator);
+		validator.validate(new Region(propertyNode.getStartOffset(), propertyNode.getEndOffset()
+				- propertyNode.getStartOffset()), null, reporter);
+		return getVisibleMessages(reporter.getMessages());
+	}
+
+	private boolean containsNoSetter(List<String> messages) {
+		for (String message : messages) {
+			if (message.startsWith("No setter found for property 'account'")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
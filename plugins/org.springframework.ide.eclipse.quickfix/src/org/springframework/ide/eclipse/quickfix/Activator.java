@@ -11,6 +11,7 @@
 package org.springframework.ide.eclipse.quickfix;
 
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
@@ -31,6 +32,8 @@ public class Activator extends AbstractUIPlugin {
 	// The shared instance
 	private static Activator plugin;
 
+	private TypeResolutionCache typeResolutionCache;
+
 	/**
 	 * The constructor
 	 */
@@ -47,6 +50,8 @@ public class Activator extends AbstractUIPlugin {
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		plugin = this;
+		typeResolutionCache = new TypeResolutionCache();
+		typeResolutionCache.startup();
 	}
 
 	/*
@@ -57,6 +62,10 @@ public class Activator extends AbstractUIPlugin {
 	 */
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		if (typeResolutionCache != null) {
+			typeResolutionCache.shutdown();
+			typeResolutionCache = null;
+		}
 		plugin = null;
 		super.stop(context);
 	}
@@ -70,6 +79,18 @@ public class Activator extends AbstractUIPlugin {
 		return plugin;
 	}
 
+	/**
+	 * Returns the type resolution cache shared by the quick fix, hyperlink and proposal computers.
+	 */
+	public TypeResolutionCache getTypeResolutionCache() {
+		return typeResolutionCache;
+	}
+
+	public static boolean isDebug(String option) {
+		String value = Platform.getDebugOption(option);
+		return (value != null && value.equalsIgnoreCase("true") ? true : false);
+	}
+
 	public static void log(Throwable e, String message) {
 		StatusHandler.log(new Status(IStatus.ERROR, Activator.PLUGIN_ID, message, e));
 	}
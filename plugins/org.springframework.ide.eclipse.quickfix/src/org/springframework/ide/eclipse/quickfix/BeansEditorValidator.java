@@ -10,10 +10,15 @@
  *******************************************************************************/
 package org.springframework.ide.eclipse.quickfix;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.eclipse.core.internal.resources.ICoreConstants;
 import org.eclipse.core.resources.IFile;
@@ -25,6 +30,9 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
@@ -55,18 +63,34 @@ import org.springframework.ide.eclipse.beans.core.model.IBeansImport;
 import org.springframework.ide.eclipse.beans.core.model.IBeansModel;
 import org.springframework.ide.eclipse.beans.core.model.IBeansProject;
 import org.springframework.ide.eclipse.beans.core.model.IImportedBeansConfig;
+import org.springframework.ide.eclipse.beans.ui.editor.util.BeansEditorUtils;
+import org.springframework.ide.eclipse.config.core.schemas.BeansSchemaConstants;
+import org.springframework.ide.eclipse.core.java.JdtUtils;
+import org.springframework.ide.eclipse.core.model.IModelChangeListener;
 import org.springframework.ide.eclipse.core.model.IModelElement;
 import org.springframework.ide.eclipse.core.model.IModelElementVisitor;
 import org.springframework.ide.eclipse.core.model.IResourceModelElement;
+import org.springframework.ide.eclipse.core.model.ModelChangeEvent;
 import org.springframework.ide.eclipse.core.model.validation.ValidationProblemAttribute;
 import org.springframework.ide.eclipse.quickfix.processors.BeanQuickAssistProcessor;
 import org.springframework.ide.eclipse.quickfix.processors.QuickfixProcessorFactory;
 import org.springframework.ide.eclipse.quickfix.validator.BeanValidatorVisitor;
+import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 /**
  * Source validator for beans XML editor.
+ * <p>
+ * Validation is done incrementally for the nodes of the dirty region only. For every validated node the reported
+ * messages are remembered together with what they depend on: the node's source and position, the start tags of the
+ * enclosing elements with the complete source of the enclosing bean, and the beans looked up by name in the
+ * document. A node for which none of these changed since the last pass gets its messages reported again without
+ * running the validators.
+ * <p>
+ * Everything the validators take from the beans model or the Java model, i.e. the configs and context elements of
+ * the edited file, the Java types, methods and super types looked up and with them all remembered results, is kept
+ * for the editing session until the beans model or the Java model, including unsaved Java editors, changes.
  *
  * @author Terry Denney
  * @author Leo Dos Santos
@@ -187,6 +211,75 @@ public class BeansEditorValidator implements ISourceValidator, IValidator {
 		}
 	}
 
+	/**
+	 * Messages and annotations reported for a validated node, together with the parts of the document they were
+	 * computed from.
+	 */
+	private class NodeValidationResult {
+
+		private final int startOffset;
+
+		private final String source;
+
+		private final String enclosingSource;
+
+		/** Whether a bean of the given name was found in the document, for all names looked up */
+		private final Map<String, Boolean> referencedBeans = new HashMap<String, Boolean>();
+
+		private final List<IMessage> messages = new ArrayList<IMessage>();
+
+		private final List<AnnotationInfo> annotationInfos = new ArrayList<AnnotationInfo>();
+
+		public NodeValidationResult(IDOMNode node) {
+			this.startOffset = node.getStartOffset();
+			this.source = node.getSource();
+			this.enclosingSource = getEnclosingSource(node);
+		}
+
+		public boolean isValidFor(IDOMNode node) {
+			if (startOffset != node.getStartOffset() || source == null || !source.equals(node.getSource())
+					|| !enclosingSource.equals(getEnclosingSource(node))) {
+				return false;
+			}
+			for (Map.Entry<String, Boolean> reference : referencedBeans.entrySet()) {
+				boolean found = BeansEditorUtils.getFirstReferenceableNodeById(node.getOwnerDocument(),
+						reference.getKey(), file) != null;
+				if (found != reference.getValue()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		public void replay(IReporter reporter) {
+			for (IMessage message : messages) {
+				try {
+					message.setLineNo(document.getLineOfOffset(message.getOffset()) + 1);
+				}
+				catch (BadLocationException e) {
+					message.setLineNo(-1);
+				}
+				reporter.addMessage(BeansEditorValidator.this, message);
+			}
+			if (reporter instanceof IncrementalReporter) {
+				for (AnnotationInfo info : annotationInfos) {
+					((IncrementalReporter) reporter).addAnnotationInfo(BeansEditorValidator.this, info);
+				}
+			}
+		}
+	}
+
+	private class SessionInvalidator implements IModelChangeListener, IElementChangedListener {
+
+		public void elementChanged(ModelChangeEvent event) {
+			sessionStale = true;
+		}
+
+		public void elementChanged(ElementChangedEvent event) {
+			sessionStale = true;
+		}
+	}
+
 	private IDocument document = null;
 
 	private IFile file = null;
@@ -195,6 +288,20 @@ public class BeansEditorValidator implements ISourceValidator, IValidator {
 
 	private IProject project;
 
+	private SessionInvalidator sessionInvalidator = null;
+
+	private volatile boolean sessionStale = true;
+
+	private Set<IBeansConfig> configs = null;
+
+	private final Map<IBeansConfig, Set<IResourceModelElement>> contextElements = new HashMap<IBeansConfig, Set<IResourceModelElement>>();
+
+	private final Map<String, Object> typeLookupCache = new HashMap<String, Object>();
+
+	private final Map<IDOMNode, NodeValidationResult> validationResults = new WeakHashMap<IDOMNode, NodeValidationResult>();
+
+	private NodeValidationResult currentValidationResult = null;
+
 	// add node and all children node to checked nodes
 	private void addCheckedNodes(IDOMNode node, Set<IDOMNode> checkedNodes) {
 		checkedNodes.add(node);
@@ -227,6 +334,13 @@ public class BeansEditorValidator implements ISourceValidator, IValidator {
 			else {
 				file = root.getFile(filePath);
 				project = file.getProject();
+				sessionStale = true;
+				if (sessionInvalidator == null) {
+					sessionInvalidator = new SessionInvalidator();
+					BeansCorePlugin.getModel().addChangeListener(sessionInvalidator);
+					JavaCore.addElementChangedListener(sessionInvalidator, ElementChangedEvent.POST_CHANGE
+							| ElementChangedEvent.POST_RECONCILE);
+				}
 			}
 		}
 	}
@@ -257,6 +371,9 @@ public class BeansEditorValidator implements ISourceValidator, IValidator {
 				message.setLineNo(-1);
 			}
 			reporter.addMessage(this, message);
+			if (currentValidationResult != null) {
+				currentValidationResult.messages.add(message);
+			}
 		}
 
 		// TODO: investigate better way to make suggestion works for the last
@@ -302,6 +419,9 @@ public class BeansEditorValidator implements ISourceValidator, IValidator {
 				}
 
 				incrementalReporter.addAnnotationInfo(this, info);
+				if (currentValidationResult != null) {
+					currentValidationResult.annotationInfos.add(info);
+				}
 			}
 		}
 	}
@@ -389,6 +509,12 @@ public class BeansEditorValidator implements ISourceValidator, IValidator {
 			model.releaseFromRead();
 			model = null;
 		}
+		if (sessionInvalidator != null) {
+			BeansCorePlugin.getModel().removeChangeListener(sessionInvalidator);
+			JavaCore.removeElementChangedListener(sessionInvalidator);
+			sessionInvalidator = null;
+		}
+		resetSession();
 		this.document = null;
 	}
 
@@ -460,13 +586,37 @@ public class BeansEditorValidator implements ISourceValidator, IValidator {
 
 		// long start = System.currentTimeMillis();
 
-		for (IStructuredDocumentRegion region : regions) {
-			IDOMNode node = getNodeAt(region.getStartOffset(), region.getLength());
-			if (node != null && !checkedNodes.contains(node)) {
-				validateNode(node, reporter);
-				addCheckedNodes(node, checkedNodes);
+		if (sessionStale) {
+			sessionStale = false;
+			resetSession();
+		}
+
+		JdtUtils.beginTypeLookupCache(typeLookupCache);
+		try {
+			for (IStructuredDocumentRegion region : regions) {
+				IDOMNode node = getNodeAt(region.getStartOffset(), region.getLength());
+				if (node != null && !checkedNodes.contains(node)) {
+					NodeValidationResult result = validationResults.get(node);
+					if (result != null && result.isValidFor(node)) {
+						result.replay(reporter);
+					}
+					else {
+						currentValidationResult = new NodeValidationResult(node);
+						try {
+							validateNode(node, reporter);
+							validationResults.put(node, currentValidationResult);
+						}
+						finally {
+							currentValidationResult = null;
+						}
+					}
+					addCheckedNodes(node, checkedNodes);
+				}
 			}
 		}
+		finally {
+			JdtUtils.endTypeLookupCache();
+		}
 		// System.out.println(String.format("%s, reconiling region %s:%s on %s",
 		// (System.currentTimeMillis() - start),
 		// dirtyRegion.getOffset(), dirtyRegion.getLength(),
@@ -476,12 +626,57 @@ public class BeansEditorValidator implements ISourceValidator, IValidator {
 	public void validate(IValidationContext helper, IReporter reporter) throws ValidationException {
 	}
 
+	/**
+	 * Returns whether a bean with the given name is defined in the given document or the files it imports. The answer
+	 * is remembered for the node being validated, so that its result isn't reused once the answer changes.
+	 */
+	public boolean isReferenceableInDocument(Document document, String beanName, IFile file) {
+		boolean found = BeansEditorUtils.getFirstReferenceableNodeById(document, beanName, file) != null;
+		if (currentValidationResult != null) {
+			currentValidationResult.referencedBeans.put(beanName, found);
+		}
+		return found;
+	}
+
+	/**
+	 * Returns the start tags of all elements enclosing the given node and the complete source of the innermost
+	 * enclosing bean, as validating a node takes defaults, class and sibling elements from there.
+	 */
+	private String getEnclosingSource(IDOMNode node) {
+		StringBuilder enclosingSource = new StringBuilder();
+		boolean beanFound = false;
+		for (Node parent = node.getParentNode(); parent instanceof IDOMNode; parent = parent.getParentNode()) {
+			IDOMNode parentNode = (IDOMNode) parent;
+			if (!beanFound && BeansSchemaConstants.ELEM_BEAN.equals(parentNode.getLocalName())) {
+				enclosingSource.append(parentNode.getSource());
+				beanFound = true;
+			}
+			else if (parentNode.getFirstStructuredDocumentRegion() != null) {
+				enclosingSource.append(parentNode.getFirstStructuredDocumentRegion().getText());
+			}
+			enclosingSource.append('\n');
+		}
+		return enclosingSource.toString();
+	}
+
+	private void resetSession() {
+		configs = null;
+		contextElements.clear();
+		typeLookupCache.clear();
+		validationResults.clear();
+	}
+
 	private void validateNode(IDOMNode node, IReporter reporter) {
-		IBeansModel model = BeansCorePlugin.getModel();
-		Set<IBeansConfig> configs = model.getConfigs(file, true);
+		if (configs == null) {
+			configs = BeansCorePlugin.getModel().getConfigs(file, true);
+		}
 		for (IBeansConfig config : configs) {
-			Set<IResourceModelElement> contextElements = getContextElements(config);
-			for (IResourceModelElement contextElement : contextElements) {
+			Set<IResourceModelElement> configContextElements = contextElements.get(config);
+			if (configContextElements == null) {
+				configContextElements = getContextElements(config);
+				contextElements.put(config, configContextElements);
+			}
+			for (IResourceModelElement contextElement : configContextElements) {
 				BeanValidatorVisitor visitor = new BeanValidatorVisitor(config, contextElement, reporter, this);
 				if (visitor.visitNode(node, true, true)) {
 					return;
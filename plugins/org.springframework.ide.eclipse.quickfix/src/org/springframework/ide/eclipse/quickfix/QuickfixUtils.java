@@ -69,7 +69,6 @@ import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
 import org.springframework.ide.eclipse.config.core.IConfigEditor;
 import org.springframework.ide.eclipse.config.core.schemas.BeansSchemaConstants;
-import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.ide.eclipse.core.model.IResourceModelElement;
 import org.springframework.ide.eclipse.quickfix.proposals.CreateNewMethodQuickFixProposal;
 import org.springframework.ide.eclipse.quickfix.proposals.QuickfixReflectionUtils;
@@ -228,7 +227,7 @@ public class QuickfixUtils {
 
 	public static ModifierChangeCorrectionProposal createModifierChangeCorrectionProposal(String className,
 			String fieldName, IJavaProject javaProject, String displayString, boolean isStatic) {
-		IType type = JdtUtils.getJavaType(javaProject.getProject(), className);
+		IType type = TypeResolutionCache.getDefault().getJavaType(javaProject.getProject(), className);
 		IField field = type.getField(fieldName);
 		IBinding binding = getBinding(javaProject, field, type.getCompilationUnit(), ASTParser.K_COMPILATION_UNIT);
 		SimpleName fieldNameNode = getMockFieldAccess(className, fieldName, isStatic);
@@ -238,7 +237,7 @@ public class QuickfixUtils {
 
 	public static NewVariableCorrectionProposal createNewVariableCorrectionProposal(String className, String fieldName,
 			IJavaProject javaProject, String displayString, boolean isStatic) {
-		IType type = JdtUtils.getJavaType(javaProject.getProject(), className);
+		IType type = TypeResolutionCache.getDefault().getJavaType(javaProject.getProject(), className);
 		ITypeBinding typeBinding = getTargetTypeBinding(javaProject, type);
 		SimpleName fieldNameNode = getMockFieldAccess(className, fieldName, isStatic);
 		return new NewVariableCorrectionProposal(displayString, type.getCompilationUnit(),
@@ -436,7 +435,7 @@ public class QuickfixUtils {
 			boolean missingEndQuote, boolean isStatic, String elementType) {
 		IType targetType = null;
 		try {
-			targetType = javaProject.findType(className);
+			targetType = TypeResolutionCache.getDefault().findType(javaProject, className);
 		}
 		catch (JavaModelException e) {
 			StatusHandler.log(e.getStatus());
@@ -0,0 +1,391 @@
+/*******************************************************************************
+ *  Copyright (c) 2016 Pivotal Software, Inc.
+ *  All rights reserved. This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License v1.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-v10.html
+ *
+ *  Contributors:
+ *      Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.quickfix;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceVisitor;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.springframework.ide.eclipse.core.java.JdtUtils;
+
+/**
+ * Type resolution cache shared by the quick fix, quick assist, hyperlink and proposal computers.
+ * <p>
+ * Type lookups and the type names visible to a project are remembered per project and dropped as soon as a Java
+ * element delta is reported for that project or for a project it requires, directly or through other projects.
+ * Workspace wide package lookups are dropped on every Java element delta. Hit, miss and invalidation counts are
+ * recorded to judge the cache's effectiveness and are printed whenever entries are dropped if the
+ * <code>typecache/debug</code> option of this plug-in is enabled.
+ */
+public class TypeResolutionCache implements IElementChangedListener {
+
+	// the debug options are keyed by the bundle's symbolic name, which differs from Activator.PLUGIN_ID
+	private static final String DEBUG_OPTION = "org.springframework.ide.eclipse.quickfix/typecache/debug";
+
+	private static final boolean DEBUG = Activator.isDebug(DEBUG_OPTION);
+
+	private static final Object NOT_FOUND = new Object();
+
+	private final ConcurrentMap<IProject, ProjectTypes> projects = new ConcurrentHashMap<IProject, ProjectTypes>();
+
+	private final ConcurrentMap<String, Object> packageFragments = new ConcurrentHashMap<String, Object>();
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong invalidations = new AtomicLong();
+
+	public static TypeResolutionCache getDefault() {
+		return Activator.getDefault().getTypeResolutionCache();
+	}
+
+	public void startup() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+	}
+
+	public void shutdown() {
+		if (DEBUG) {
+			System.out.println("> shutting down " + this);
+		}
+		JavaCore.removeElementChangedListener(this);
+		projects.clear();
+		packageFragments.clear();
+	}
+
+	/**
+	 * Returns the type as resolved by {@link JdtUtils#getJavaType(IProject, String)}.
+	 */
+	public IType getJavaType(IProject project, String className) {
+		if (project == null || className == null) {
+			return JdtUtils.getJavaType(project, className);
+		}
+		ConcurrentMap<String, Object> types = getProjectTypes(project).javaTypes;
+		Object type = types.get(className);
+		if (type == null) {
+			misses.incrementAndGet();
+			type = JdtUtils.getJavaType(project, className);
+			types.put(className, (type != null ? type : NOT_FOUND));
+		}
+		else {
+			hits.incrementAndGet();
+		}
+		return (type instanceof IType ? (IType) type : null);
+	}
+
+	/**
+	 * Resolves all given class names in one go; the returned map contains an entry for every class name that could be
+	 * resolved, in the iteration order of the given names.
+	 */
+	public Map<String, IType> getJavaTypes(IProject project, Collection<String> classNames) {
+		Map<String, IType> result = new LinkedHashMap<String, IType>();
+		for (String className : classNames) {
+			IType type = getJavaType(project, className);
+			if (type != null) {
+				result.put(className, type);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the type as resolved by {@link IJavaProject#findType(String)}.
+	 */
+	public IType findType(IJavaProject javaProject, String className) throws JavaModelException {
+		if (javaProject == null || className == null) {
+			return null;
+		}
+		ConcurrentMap<String, Object> types = getProjectTypes(javaProject.getProject()).foundTypes;
+		Object type = types.get(className);
+		if (type == null) {
+			misses.incrementAndGet();
+			type = javaProject.findType(className);
+			types.put(className, (type != null ? type : NOT_FOUND));
+		}
+		else {
+			hits.incrementAndGet();
+		}
+		return (type instanceof IType ? (IType) type : null);
+	}
+
+	/**
+	 * Returns the fully qualified names of all types in the source folders, class folders and jars of the given
+	 * project, keyed by simple type name.
+	 */
+	public Map<String, Set<String>> getTypeNames(IJavaProject javaProject) throws CoreException {
+		ProjectTypes projectTypes = getProjectTypes(javaProject.getProject());
+		Map<String, Set<String>> typeNames = projectTypes.typeNames;
+		if (typeNames == null) {
+			misses.incrementAndGet();
+			TypeNameCollector collector = new TypeNameCollector();
+			for (IPackageFragmentRoot fragmentRoot : javaProject.getAllPackageFragmentRoots()) {
+				if (fragmentRoot.isArchive()) {
+					collector.visitArchive(fragmentRoot);
+				}
+				IResource resource = fragmentRoot.getResource();
+				if (resource != null) {
+					resource.accept(collector);
+				}
+			}
+			typeNames = Collections.unmodifiableMap(collector.typeNames);
+			projectTypes.typeNames = typeNames;
+		}
+		else {
+			hits.incrementAndGet();
+		}
+		return typeNames;
+	}
+
+	/**
+	 * Returns the first writable package fragment with the given name found in the workspace or <code>null</code>.
+	 */
+	public IPackageFragment findPackageFragment(String packageName) {
+		Object packageFragment = packageFragments.get(packageName);
+		if (packageFragment == null) {
+			misses.incrementAndGet();
+			packageFragment = searchPackageFragment(packageName);
+			packageFragments.put(packageName, (packageFragment != null ? packageFragment : NOT_FOUND));
+		}
+		else {
+			hits.incrementAndGet();
+		}
+		return (packageFragment instanceof IPackageFragment ? (IPackageFragment) packageFragment : null);
+	}
+
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	public long getInvalidationCount() {
+		return invalidations.get();
+	}
+
+	@Override
+	public String toString() {
+		return "TypeResolutionCache [projects=" + projects.size() + ", hits=" + hits + ", misses=" + misses
+				+ ", invalidations=" + invalidations + "]";
+	}
+
+	public void elementChanged(ElementChangedEvent event) {
+		packageFragments.clear();
+		visit(event.getDelta());
+	}
+
+	private void visit(IJavaElementDelta delta) {
+		IJavaElement element = delta.getElement();
+		if (element.getElementType() == IJavaElement.JAVA_MODEL) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				visit(child);
+			}
+		}
+		else if (element.getElementType() == IJavaElement.JAVA_PROJECT) {
+			invalidate(((IJavaProject) element).getProject());
+		}
+	}
+
+	private void invalidate(IProject changedProject) {
+		String changedProjectName = changedProject.getName();
+		Iterator<Map.Entry<IProject, ProjectTypes>> entries = projects.entrySet().iterator();
+		while (entries.hasNext()) {
+			Map.Entry<IProject, ProjectTypes> entry = entries.next();
+			if (entry.getKey().equals(changedProject) || requires(entry.getKey(), changedProjectName)) {
+				entries.remove();
+				invalidations.incrementAndGet();
+				if (DEBUG) {
+					System.out.println(String.format("> dropped types of '%s' : %s", entry.getKey().getName(), this));
+				}
+			}
+		}
+	}
+
+	private boolean requires(IProject project, String requiredProjectName) {
+		return requires(project, requiredProjectName, new HashSet<String>());
+	}
+
+	/**
+	 * Follows the required projects transitively, as types of a project's dependencies can be visible through
+	 * exported classpath entries.
+	 */
+	private boolean requires(IProject project, String requiredProjectName, Set<String> visited) {
+		if (!visited.add(project.getName())) {
+			return false;
+		}
+		IJavaProject javaProject = JdtUtils.getJavaProject(project);
+		if (javaProject == null) {
+			return false;
+		}
+		try {
+			for (String name : javaProject.getRequiredProjectNames()) {
+				if (name.equals(requiredProjectName)
+						|| requires(ResourcesPlugin.getWorkspace().getRoot().getProject(name), requiredProjectName,
+								visited)) {
+					return true;
+				}
+			}
+		}
+		catch (JavaModelException e) {
+			// project got closed or deleted; drop its entry to be safe
+			return true;
+		}
+		return false;
+	}
+
+	private ProjectTypes getProjectTypes(IProject project) {
+		ProjectTypes projectTypes = projects.get(project);
+		if (projectTypes == null) {
+			projectTypes = new ProjectTypes();
+			ProjectTypes existing = projects.putIfAbsent(project, projectTypes);
+			if (existing != null) {
+				projectTypes = existing;
+			}
+		}
+		return projectTypes;
+	}
+
+	private IPackageFragment searchPackageFragment(String packageName) {
+		final List<IPackageFragment> results = new ArrayList<IPackageFragment>();
+
+		SearchRequestor collector = new SearchRequestor() {
+
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				Object element = match.getElement();
+				if (element instanceof IPackageFragment) {
+					IPackageFragment packageFragment = (IPackageFragment) element;
+					if (!packageFragment.isReadOnly()) {
+						results.add(packageFragment);
+					}
+				}
+			}
+		};
+
+		SearchEngine engine = new SearchEngine();
+		SearchPattern pattern = SearchPattern.createPattern(packageName, IJavaSearchConstants.PACKAGE,
+				IJavaSearchConstants.ALL_OCCURRENCES, SearchPattern.R_EXACT_MATCH);
+		try {
+			engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
+					SearchEngine.createWorkspaceScope(), collector, new NullProgressMonitor());
+		}
+		catch (CoreException e) {
+		}
+
+		if (results.size() > 0) {
+			return results.get(0);
+		}
+		return null;
+	}
+
+	private static class ProjectTypes {
+
+		private final ConcurrentMap<String, Object> javaTypes = new ConcurrentHashMap<String, Object>();
+
+		private final ConcurrentMap<String, Object> foundTypes = new ConcurrentHashMap<String, Object>();
+
+		private volatile Map<String, Set<String>> typeNames;
+
+	}
+
+	private static class TypeNameCollector implements IResourceVisitor {
+
+		private final Map<String, Set<String>> typeNames = new HashMap<String, Set<String>>();
+
+		private void add(IType type) {
+			if (type != null) {
+				Set<String> names = typeNames.get(type.getElementName());
+				if (names == null) {
+					names = new LinkedHashSet<String>();
+					typeNames.put(type.getElementName(), names);
+				}
+				names.add(type.getFullyQualifiedName());
+			}
+		}
+
+		public boolean visit(IResource resource) throws CoreException {
+			if (resource instanceof IFile) {
+				IFile file = (IFile) resource;
+				String fileExtension = file.getFullPath().getFileExtension();
+				if (fileExtension == null) {
+					return false;
+				}
+
+				if (fileExtension.equals("java")) {
+					ICompilationUnit cu = JavaCore.createCompilationUnitFrom(file);
+					if (cu != null && cu.exists()) {
+						for (IType type : cu.getAllTypes()) {
+							add(type);
+						}
+					}
+					return false;
+				}
+				else if (fileExtension.equals("class")) {
+					IClassFile classFile = JavaCore.createClassFileFrom(file);
+					if (classFile != null) {
+						add(classFile.getType());
+					}
+					return false;
+				}
+				return true;
+			}
+			return true;
+		}
+
+		public void visitArchive(IPackageFragmentRoot archiveRoot) throws JavaModelException {
+			for (IJavaElement child : archiveRoot.getChildren()) {
+				if (child instanceof IPackageFragment) {
+					for (IClassFile classFile : ((IPackageFragment) child).getClassFiles()) {
+						add(classFile.getType());
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -14,7 +14,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.quickassist.IQuickAssistInvocationContext;
-import org.springframework.ide.eclipse.core.java.JdtUtils;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
 import org.springframework.ide.eclipse.quickfix.proposals.RemoveDeprecatedQuickFixProposal;
 
 
@@ -35,7 +35,7 @@ public class ClassDeprecatedQuickAssistProcessor extends BeanQuickAssistProcesso
 	}
 
 	public ICompletionProposal[] computeQuickAssistProposals(IQuickAssistInvocationContext invocationContext) {
-		IType type = JdtUtils.getJavaType(project.getProject(), className);
+		IType type = TypeResolutionCache.getDefault().getJavaType(project.getProject(), className);
 		if (!type.isReadOnly()) {
 			return new ICompletionProposal[] { new RemoveDeprecatedQuickFixProposal(offset, length, missingEndQuote,
 					className, type) };
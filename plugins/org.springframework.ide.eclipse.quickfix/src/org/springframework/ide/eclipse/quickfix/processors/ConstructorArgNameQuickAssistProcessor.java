@@ -26,6 +26,7 @@ import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.quickassist.IQuickAssistInvocationContext;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
 import org.springframework.ide.eclipse.config.core.schemas.BeansSchemaConstants;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
 import org.springframework.ide.eclipse.quickfix.proposals.RenameToSimilarNameQuickFixProposal;
 import org.springsource.ide.eclipse.commons.core.StatusHandler;
 import org.w3c.dom.Node;
@@ -75,7 +76,7 @@ public class ConstructorArgNameQuickAssistProcessor extends BeanQuickAssistProce
 		List<ICompletionProposal> proposals = new ArrayList<ICompletionProposal>();
 
 		try {
-			IType type = javaProject.findType(className);
+			IType type = TypeResolutionCache.getDefault().findType(javaProject, className);
 			if (type != null) {
 				IMethod[] methods = type.getMethods();
 				for (IMethod method : methods) {
@@ -25,6 +25,7 @@ import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.quickassist.IQuickAssistInvocationContext;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
 import org.springframework.ide.eclipse.quickfix.QuickfixUtils;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
 import org.springframework.ide.eclipse.quickfix.proposals.AddConstructorArgQuickFixProposal;
 import org.springframework.ide.eclipse.quickfix.proposals.AddConstructorParamQuickFixProposal;
 import org.springframework.ide.eclipse.quickfix.proposals.CreateConstructorQuickFixProposal;
@@ -67,7 +68,7 @@ public class ConstructorArgQuickAssistProcessor extends BeanQuickAssistProcessor
 		List<ICompletionProposal> proposals = new ArrayList<ICompletionProposal>();
 
 		try {
-			IType type = javaProject.findType(className);
+			IType type = TypeResolutionCache.getDefault().findType(javaProject, className);
 			IMethod[] methods = type.getMethods();
 			for (IMethod method : methods) {
 				if (method.isConstructor()) {
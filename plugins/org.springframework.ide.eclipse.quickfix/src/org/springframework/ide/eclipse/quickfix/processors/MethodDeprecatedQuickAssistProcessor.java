@@ -14,7 +14,7 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.quickassist.IQuickAssistInvocationContext;
-import org.springframework.ide.eclipse.core.java.JdtUtils;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
 import org.springframework.ide.eclipse.quickfix.proposals.RemoveDeprecatedQuickFixProposal;
 
 
@@ -38,7 +38,7 @@ public class MethodDeprecatedQuickAssistProcessor extends BeanQuickAssistProcess
 	}
 
 	public ICompletionProposal[] computeQuickAssistProposals(IQuickAssistInvocationContext invocationContext) {
-		IType type = JdtUtils.getJavaType(method.getJavaProject().getProject(), className);
+		IType type = TypeResolutionCache.getDefault().getJavaType(method.getJavaProject().getProject(), className);
 		if (!type.isReadOnly() && method != null) {
 
 			return new ICompletionProposal[] { new RemoveDeprecatedQuickFixProposal(offset, length, missingEndQuote,
@@ -23,9 +23,9 @@ import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.quickassist.IQuickAssistInvocationContext;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
 import org.springframework.ide.eclipse.config.core.schemas.BeansSchemaConstants;
-import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.ide.eclipse.core.model.validation.ValidationProblemAttribute;
 import org.springframework.ide.eclipse.quickfix.QuickfixUtils;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
 import org.springframework.ide.eclipse.quickfix.proposals.AddStaticToFieldQuickFixProposal;
 import org.springframework.ide.eclipse.quickfix.proposals.CreateNewClassQuickFixProposal;
 import org.springframework.ide.eclipse.quickfix.proposals.CreateNewFieldQuickFixProposal;
@@ -82,7 +82,7 @@ public class NameSpaceElementsQuickAssistProcessor extends BeanQuickAssistProces
 					new HashSet<String>(), 0));
 		}
 		else if ("FIELD_NOT_FOUND".equals(problemId) && className != null && fieldName != null) {
-			IType type = JdtUtils.getJavaType(javaProject.getProject(), className);
+			IType type = TypeResolutionCache.getDefault().getJavaType(javaProject.getProject(), className);
 			if (!type.isReadOnly()) {
 				// rename to similar field names if one exists
 
@@ -92,7 +92,7 @@ public class NameSpaceElementsQuickAssistProcessor extends BeanQuickAssistProces
 			}
 		}
 		else if ("FIELD_NOT_STATIC".equals(problemId) && className != null && fieldName != null) {
-			IType type = JdtUtils.getJavaType(javaProject.getProject(), className);
+			IType type = TypeResolutionCache.getDefault().getJavaType(javaProject.getProject(), className);
 			if (!type.isReadOnly()) {
 				proposals.add(new AddStaticToFieldQuickFixProposal(offset, length, missingEndQuote, javaProject,
 						className, fieldName));
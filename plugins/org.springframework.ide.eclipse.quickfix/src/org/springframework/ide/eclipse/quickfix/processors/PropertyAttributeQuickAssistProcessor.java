@@ -26,8 +26,8 @@ import org.eclipse.jdt.internal.ui.text.correction.NameMatcher;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.quickassist.IQuickAssistInvocationContext;
 import org.springframework.ide.eclipse.core.java.Introspector;
-import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.ide.eclipse.quickfix.QuickfixUtils;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
 import org.springframework.ide.eclipse.quickfix.proposals.RenameToSimilarNameQuickFixProposal;
 
 
@@ -115,7 +115,7 @@ public class PropertyAttributeQuickAssistProcessor extends BeanQuickAssistProces
 
 	private List<String> getSimilarProperties() {
 		HashSet<String> properties = new HashSet<String>();
-		IType type = JdtUtils.getJavaType(project, className);
+		IType type = TypeResolutionCache.getDefault().getJavaType(project, className);
 		if (type != null) {
 			try {
 				Set<IMethod> methods = Introspector.findAllWritableProperties(type);
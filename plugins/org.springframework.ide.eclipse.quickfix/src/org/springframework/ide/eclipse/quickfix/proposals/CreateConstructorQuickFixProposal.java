@@ -19,6 +19,7 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.swt.graphics.Image;
 import org.springframework.ide.eclipse.beans.ui.BeansUIImages;
 import org.springframework.ide.eclipse.quickfix.QuickfixUtils;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
 import org.springsource.ide.eclipse.commons.core.StatusHandler;
 
 
@@ -48,7 +49,7 @@ public class CreateConstructorQuickFixProposal extends BeanAttributeQuickFixProp
 	@Override
 	public void applyQuickFix(IDocument document) {
 		try {
-			IType type = javaProject.findType(className);
+			IType type = TypeResolutionCache.getDefault().findType(javaProject, className);
 			if (type != null) {
 				QuickfixUtils.createConstructor(document, type, constructorArgClassNames, javaProject);
 			}
@@ -15,8 +15,6 @@ import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.resources.IMarker;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
@@ -28,12 +26,6 @@ import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.MethodInvocation;
 import org.eclipse.jdt.core.dom.SimpleName;
-import org.eclipse.jdt.core.search.IJavaSearchConstants;
-import org.eclipse.jdt.core.search.SearchEngine;
-import org.eclipse.jdt.core.search.SearchMatch;
-import org.eclipse.jdt.core.search.SearchParticipant;
-import org.eclipse.jdt.core.search.SearchPattern;
-import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.internal.core.JarPackageFragmentRoot;
 import org.eclipse.jdt.internal.ui.JavaPluginImages;
 import org.eclipse.jdt.internal.ui.wizards.NewClassCreationWizard;
@@ -47,8 +39,8 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.PlatformUI;
 import org.springframework.ide.eclipse.core.StringUtils;
-import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.ide.eclipse.quickfix.QuickfixUtils;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
 
 
 /**
@@ -93,7 +85,7 @@ public class CreateNewClassQuickFixProposal extends BeanAttributeQuickFixProposa
 
 		if (classNameOffset >= 0) {
 			String enclosingClassName = text.substring(0, classNameOffset);
-			enclosingType = JdtUtils.getJavaType(javaProject.getProject(), enclosingClassName);
+			enclosingType = TypeResolutionCache.getDefault().getJavaType(javaProject.getProject(), enclosingClassName);
 
 			packageEnd = enclosingClassName.lastIndexOf(".");
 		}
@@ -250,36 +242,7 @@ public class CreateNewClassQuickFixProposal extends BeanAttributeQuickFixProposa
 	}
 
 	private IPackageFragment findPackageFragment(String packageName) {
-		final List<IPackageFragment> results = new ArrayList<IPackageFragment>();
-
-		SearchRequestor collector = new SearchRequestor() {
-
-			@Override
-			public void acceptSearchMatch(SearchMatch match) throws CoreException {
-				Object element = match.getElement();
-				if (element instanceof IPackageFragment) {
-					IPackageFragment packageFragment = (IPackageFragment) element;
-					if (!packageFragment.isReadOnly()) {
-						results.add(packageFragment);
-					}
-				}
-			}
-		};
-
-		SearchEngine engine = new SearchEngine();
-		SearchPattern pattern = SearchPattern.createPattern(packageName, IJavaSearchConstants.PACKAGE,
-				IJavaSearchConstants.ALL_OCCURRENCES, SearchPattern.R_EXACT_MATCH);
-		try {
-			engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-					SearchEngine.createWorkspaceScope(), collector, new NullProgressMonitor());
-		}
-		catch (CoreException e) {
-		}
-
-		if (results.size() > 0) {
-			return results.get(0);
-		}
-		return null;
+		return TypeResolutionCache.getDefault().findPackageFragment(packageName);
 	}
 
 	public String getDisplayString() {
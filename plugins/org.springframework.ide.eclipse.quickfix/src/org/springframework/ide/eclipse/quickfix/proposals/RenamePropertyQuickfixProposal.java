@@ -42,9 +42,9 @@ import org.eclipse.wst.sse.ui.StructuredTextEditor;
 import org.eclipse.wst.xml.ui.internal.tabletree.XMLMultiPageEditorPart;
 import org.springframework.ide.eclipse.config.core.IConfigEditor;
 import org.springframework.ide.eclipse.core.java.Introspector;
-import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.ide.eclipse.core.java.Introspector.Public;
 import org.springframework.ide.eclipse.core.java.Introspector.Static;
+import org.springframework.ide.eclipse.quickfix.TypeResolutionCache;
 import org.springframework.util.StringUtils;
 
 
@@ -130,7 +130,7 @@ public class RenamePropertyQuickfixProposal extends BeanAttributeQuickFixProposa
 	public void doRename(String newPropertyName, Shell shell) {
 		String newName = convertToMethodName(newPropertyName);
 		try {
-			IType type = JdtUtils.getJavaType(project, className);
+			IType type = TypeResolutionCache.getDefault().getJavaType(project, className);
 			if (type != null) {
 				IMethod method = Introspector.findMethod(type, convertToMethodName(existingPropertyName), 1,
 						Public.DONT_CARE, Static.DONT_CARE);
@@ -20,7 +20,6 @@ import org.springframework.beans.factory.xml.BeanDefinitionParserDelegate;
 import org.springframework.ide.eclipse.beans.core.internal.model.validation.rules.BeanReferenceRule;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
 import org.springframework.ide.eclipse.beans.core.model.IBeansModelElement;
-import org.springframework.ide.eclipse.beans.ui.editor.util.BeansEditorUtils;
 import org.springframework.ide.eclipse.config.core.schemas.BeansSchemaConstants;
 import org.springframework.ide.eclipse.core.internal.model.validation.ValidationRuleDefinition;
 import org.springframework.ide.eclipse.core.model.IResourceModelElement;
@@ -48,6 +47,8 @@ public class BeanReferenceValidator extends BeanValidator {
 
 		private final Document document;
 
+		private final BeansEditorValidator validator;
+
 		public BeanReferenceValidationContextHelper(AttrImpl attribute, IDOMNode node,
 				IResourceModelElement rootElement, IProject project, IReporter reporter,
 				BeansEditorValidator validator, QuickfixProcessorFactory quickfixFactory, boolean affectsWholeBean,
@@ -56,6 +57,7 @@ public class BeanReferenceValidator extends BeanValidator {
 					reportError, config);
 			this.file = (IFile) config.getElementResource();
 			this.document = node.getOwnerDocument();
+			this.validator = validator;
 		}
 
 		@Override
@@ -71,7 +73,7 @@ public class BeanReferenceValidator extends BeanValidator {
 				for (ValidationProblemAttribute attribute : attributes) {
 					if ("BEAN".equals(attribute.getKey())) {
 						String beanName = (String) attribute.getValue();
-						return BeansEditorUtils.getFirstReferenceableNodeById(document, beanName, file) != null;
+						return validator.isReferenceableInDocument(document, beanName, file);
 					}
 				}
 			}
@@ -17,7 +17,6 @@ import org.eclipse.wst.xml.core.internal.document.AttrImpl;
 import org.eclipse.wst.xml.core.internal.provisional.document.IDOMNode;
 import org.springframework.ide.eclipse.beans.core.internal.model.validation.rules.NamespaceElementsRule;
 import org.springframework.ide.eclipse.beans.core.model.IBeansConfig;
-import org.springframework.ide.eclipse.beans.ui.editor.util.BeansEditorUtils;
 import org.springframework.ide.eclipse.core.internal.model.validation.ValidationRuleDefinition;
 import org.springframework.ide.eclipse.core.model.IResourceModelElement;
 import org.springframework.ide.eclipse.core.model.validation.ValidationProblemAttribute;
@@ -66,12 +65,15 @@ public class NamespaceElementsValidator extends BeanValidator {
 
 		private final Document document;
 
+		private final BeansEditorValidator validator;
+
 		public BeanReferenceXmlValidationContextHelper(BeansEditorValidator validator, AttrImpl attribute,
 				IDOMNode node, IFile file, IBeansConfig config, IResourceModelElement contextElement,
 				IReporter reporter, boolean reportError) {
 			super(validator, attribute, node, file, config, contextElement, reporter, reportError);
 			this.file = (IFile) config.getElementResource();
 			this.document = node.getOwnerDocument();
+			this.validator = validator;
 		}
 
 		@Override
@@ -100,7 +102,7 @@ public class NamespaceElementsValidator extends BeanValidator {
 				for (ValidationProblemAttribute attribute : attributes) {
 					if ("BEAN".equals(attribute.getKey())) {
 						String beanName = (String) attribute.getValue();
-						return BeansEditorUtils.getFirstReferenceableNodeById(document, beanName, file) != null;
+						return validator.isReferenceableInDocument(document, beanName, file);
 					}
 				}
 			}
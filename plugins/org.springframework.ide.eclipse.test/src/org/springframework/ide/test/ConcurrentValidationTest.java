@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.springframework.ide.eclipse.core.SpringCore;
+import org.springframework.ide.eclipse.core.internal.model.validation.ValidationRuleDefinition;
+import org.springframework.ide.eclipse.core.model.AbstractResourceModelElement;
+import org.springframework.ide.eclipse.core.model.IModelElement;
+import org.springframework.ide.eclipse.core.model.IResourceModelElement;
+import org.springframework.ide.eclipse.core.model.validation.AbstractValidationContext;
+import org.springframework.ide.eclipse.core.model.validation.AbstractValidator;
+import org.springframework.ide.eclipse.core.model.validation.IValidationContext;
+import org.springframework.ide.eclipse.core.model.validation.IValidationElementLifecycleManager;
+import org.springframework.ide.eclipse.core.model.validation.IValidationRule;
+import org.springframework.ide.eclipse.core.project.DefaultProjectContributorState;
+import org.springframework.ide.eclipse.webflow.core.Activator;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowConfig;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowValidator;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowProject;
+
+/**
+ * Runs two concurrent validations of one validator, each validating its resources on several
+ * worker threads, and checks that every resource is validated with the state of its own run. Also
+ * checks that the webflow validator finds the same problems on several threads as on one.
+ */
+public class ConcurrentValidationTest extends AbstractSpringIdeTest {
+
+	private static final int FILES_PER_RUN = 3;
+
+	private static final String OWN_RUN = "own run";
+
+	private static final String FOREIGN_RUN = "foreign run";
+
+	private static final String WEBFLOW_MARKER_ID = Activator.PLUGIN_ID + ".problemmarker";
+
+	/**
+	 * A flow with a duplicate state id and a transition to a state that doesn't exist.
+	 */
+	private static final String FLOW = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<flow xmlns=\"http://www.springframework.org/schema/webflow\"\n"
+			+ "	xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+			+ "	xsi:schemaLocation=\"http://www.springframework.org/schema/webflow http://www.springframework.org/schema/webflow/spring-webflow-2.0.xsd\">\n"
+			+ "	<view-state id=\"start\">\n"
+			+ "		<transition on=\"next\" to=\"missing\"/>\n"
+			+ "	</view-state>\n"
+			+ "	<view-state id=\"start\"/>\n"
+			+ "	<end-state id=\"end\"/>\n"
+			+ "</flow>\n";
+
+	/**
+	 * Keeps all workers of both runs busy until every resource is being validated.
+	 */
+	private final CountDownLatch allValidating = new CountDownLatch(2 * FILES_PER_RUN);
+
+	public ConcurrentValidationTest(String name) {
+		super(name);
+	}
+
+	public void testOverlappingRuns() throws Exception {
+		IFolder folder = project.createXmlFolder();
+		final Set<IResource> first = createFiles(folder, "first");
+		final Set<IResource> second = createFiles(folder, "second");
+
+		final TestValidator validator = new TestValidator();
+		final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+		List<Thread> runs = new ArrayList<Thread>();
+		for (final Set<IResource> resources : new Set[] { first, second }) {
+			Thread run = new Thread() {
+				@Override
+				public void run() {
+					try {
+						validator.validate(resources, 0, new NullProgressMonitor());
+					}
+					catch (Throwable e) {
+						errors.add(e);
+					}
+				}
+			};
+			run.start();
+			runs.add(run);
+		}
+		for (Thread run : runs) {
+			run.join(TimeUnit.SECONDS.toMillis(30));
+		}
+		assertTrue(errors.toString(), errors.isEmpty());
+
+		Set<IResource> all = new LinkedHashSet<IResource>(first);
+		all.addAll(second);
+		for (IResource resource : all) {
+			IMarker[] markers = resource.findMarkers(SpringCore.MARKER_ID, false, IResource.DEPTH_ZERO);
+			assertEquals(resource.getName(), 1, markers.length);
+			assertEquals(resource.getName(), OWN_RUN, markers[0].getAttribute(IMarker.MESSAGE, ""));
+		}
+	}
+
+	/**
+	 * Validates flows with problems using the real {@link WebflowValidator}, once one flow after the other and once
+	 * on several threads, and checks that both runs create the same markers.
+	 */
+	public void testWebflowValidator() throws Exception {
+		IFolder folder = project.createXmlFolder();
+		IWebflowProject webflowProject = Activator.getModel().getProject(project.getProject());
+		List<IWebflowConfig> configs = new ArrayList<IWebflowConfig>();
+		Set<IResource> flows = new LinkedHashSet<IResource>();
+		for (int i = 0; i < 2 * FILES_PER_RUN; i++) {
+			IFile flow = folder.getFile("flow" + i + ".xml");
+			flow.create(new ByteArrayInputStream(FLOW.getBytes("UTF-8")), true, null);
+			WebflowConfig config = new WebflowConfig(webflowProject);
+			config.setResource(flow);
+			configs.add(config);
+			flows.add(flow);
+		}
+		webflowProject.setConfigs(configs);
+
+		Map<IResource, List<String>> sequential = validateFlows(flows, 1);
+		Map<IResource, List<String>> concurrent = validateFlows(flows, FILES_PER_RUN);
+
+		assertEquals(flows, sequential.keySet());
+		for (IResource flow : flows) {
+			assertFalse(flow.getName(), sequential.get(flow).isEmpty());
+		}
+		assertEquals(sequential, concurrent);
+	}
+
+	private Map<IResource, List<String>> validateFlows(Set<IResource> flows, final int concurrency)
+			throws CoreException {
+		WebflowValidator validator = new WebflowValidator() {
+			@Override
+			protected int getMaxConcurrency() {
+				return concurrency;
+			}
+		};
+		validator.setValidatorId(WebflowValidator.VALIDATOR_ID);
+		validator.setMarkerId(WEBFLOW_MARKER_ID);
+		validator.setProjectContributorState(new DefaultProjectContributorState());
+		validator.validate(flows, 0, new NullProgressMonitor());
+
+		Map<IResource, List<String>> messages = new LinkedHashMap<IResource, List<String>>();
+		for (IResource flow : flows) {
+			List<String> flowMessages = new ArrayList<String>();
+			for (IMarker marker : flow.findMarkers(WEBFLOW_MARKER_ID, false, IResource.DEPTH_ZERO)) {
+				flowMessages.add(marker.getAttribute(IMarker.LINE_NUMBER, -1) + ": "
+						+ marker.getAttribute(IMarker.MESSAGE, ""));
+			}
+			Collections.sort(flowMessages);
+			messages.put(flow, flowMessages);
+		}
+		return messages;
+	}
+
+	private Set<IResource> createFiles(IFolder folder, String prefix) throws CoreException {
+		Set<IResource> files = new LinkedHashSet<IResource>();
+		for (int i = 0; i < FILES_PER_RUN; i++) {
+			IFile file = folder.getFile(prefix + i + ".xml");
+			file.create(new ByteArrayInputStream(new byte[0]), true, null);
+			files.add(file);
+		}
+		return files;
+	}
+
+	private class TestValidator extends AbstractValidator {
+
+		TestValidator() {
+			setMarkerId(SpringCore.MARKER_ID);
+			setProjectContributorState(new DefaultProjectContributorState());
+		}
+
+		@Override
+		protected int getMaxConcurrency() {
+			return FILES_PER_RUN;
+		}
+
+		/**
+		 * The resources of the run are its state.
+		 */
+		@Override
+		protected Object createRunState(Set<IResource> affectedResources) {
+			return new LinkedHashSet<IResource>(affectedResources);
+		}
+
+		@Override
+		protected IValidationContext createContext(IResourceModelElement rootElement,
+				IResourceModelElement contextElement) {
+			return createContext(rootElement, contextElement, null);
+		}
+
+		@Override
+		protected IValidationContext createContext(IResourceModelElement rootElement,
+				IResourceModelElement contextElement, Object runState) {
+			return new TestContext(rootElement, (Set<?>) runState);
+		}
+
+		@Override
+		protected Set<ValidationRuleDefinition> getRuleDefinitions(IResource resource) {
+			Set<ValidationRuleDefinition> definitions = new LinkedHashSet<ValidationRuleDefinition>();
+			definitions.add(new ValidationRuleDefinition("test", "test.rule", "Test rule", "") {
+				@Override
+				public IValidationRule getRule() {
+					return new RunStateRule();
+				}
+			});
+			return definitions;
+		}
+
+		@Override
+		protected IValidationElementLifecycleManager createValidationElementLifecycleManager() {
+			return new IValidationElementLifecycleManager() {
+
+				private IResourceModelElement rootElement;
+
+				public void init(IResource resource) {
+					rootElement = new FileElement(resource);
+				}
+
+				public IResourceModelElement getRootElement() {
+					return rootElement;
+				}
+
+				public Set<IResourceModelElement> getContextElements() {
+					return Collections.singleton(rootElement);
+				}
+
+				public void destroy() {
+				}
+			};
+		}
+
+		@Override
+		protected boolean supports(IModelElement element) {
+			return element instanceof FileElement;
+		}
+
+		public Set<IResource> getAffectedResources(IResource resource, int kind, int deltaKind) {
+			return Collections.singleton(resource);
+		}
+
+		public Set<IResource> deriveResources(Object object) {
+			return Collections.emptySet();
+		}
+	}
+
+	private static class TestContext extends AbstractValidationContext {
+
+		private final Set<?> runState;
+
+		TestContext(IResourceModelElement rootElement, Set<?> runState) {
+			super(rootElement, rootElement);
+			this.runState = runState;
+		}
+	}
+
+	/**
+	 * Reports whether the validated file belongs to the run whose state the context carries.
+	 */
+	private class RunStateRule implements IValidationRule<FileElement, TestContext> {
+
+		public boolean supports(IModelElement element, IValidationContext context) {
+			return element instanceof FileElement;
+		}
+
+		public void validate(FileElement element, TestContext context, IProgressMonitor monitor) {
+			allValidating.countDown();
+			try {
+				allValidating.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			boolean ownRun = context.runState != null && context.runState.contains(element.getElementResource());
+			context.error(element, "RUN_STATE", ownRun ? OWN_RUN : FOREIGN_RUN);
+		}
+	}
+
+	private static class FileElement extends AbstractResourceModelElement {
+
+		private final IResource resource;
+
+		FileElement(IResource resource) {
+			super(null, resource.getName());
+			this.resource = resource;
+		}
+
+		public int getElementType() {
+			return 1;
+		}
+
+		public IResource getElementResource() {
+			return resource;
+		}
+
+		public boolean isElementArchived() {
+			return false;
+		}
+
+		public boolean isExternal() {
+			return false;
+		}
+	}
+
+}
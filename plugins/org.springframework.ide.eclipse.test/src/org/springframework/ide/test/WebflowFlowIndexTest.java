@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowResourceChangeEvents;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowFlowIndex;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowFlowIndex.FlowInfo;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowFlowIndex.StateInfo;
+
+/**
+ * Checks that the {@link WebflowFlowIndex} indexes the states of a flow, reuses an entry as long
+ * as the flow file is unchanged and forgets a project's flows when the project is closed or deleted.
+ */
+public class WebflowFlowIndexTest extends AbstractSpringIdeTest {
+
+	private static final String FLOW_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<flow xmlns=\"http://www.springframework.org/schema/webflow\"\n"
+			+ "	xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+			+ "	xsi:schemaLocation=\"http://www.springframework.org/schema/webflow http://www.springframework.org/schema/webflow/spring-webflow-2.0.xsd\"\n"
+			+ "	parent=\"parent-flow\">\n"
+			+ "	<view-state id=\"start\"/>\n"
+			+ "	<subflow-state id=\"sub\" subflow=\"child-flow\"/>\n";
+
+	private static final String FLOW_END = "	<end-state id=\"end\"/>\n"
+			+ "</flow>\n";
+
+	private final WebflowFlowIndex index = WebflowFlowIndex.getInstance();
+
+	private IFile flow;
+
+	public WebflowFlowIndexTest(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		flow = project.createXmlFolder().getFile("flow.xml");
+		flow.create(contents(FLOW_START + FLOW_END), true, null);
+	}
+
+	public void testLookup() throws Exception {
+		FlowInfo info = index.getFlowInfo(flow);
+		assertNotNull(info);
+		assertFalse(info.isVersion1());
+		assertEquals(Collections.singleton("parent-flow"), info.getParentFlowIds());
+		assertEquals(new HashSet<String>(Arrays.asList("start", "sub", "end")), info.getStateIds());
+
+		StateInfo sub = info.getState("sub");
+		assertTrue(sub.isSubflowState());
+		assertEquals("child-flow", sub.getFlow());
+		assertFalse(info.getState("start").isSubflowState());
+		assertNull(info.getState("start").getFlow());
+
+		assertSame(info, index.getFlowInfo(flow));
+	}
+
+	public void testChangedFlow() throws Exception {
+		FlowInfo info = index.getFlowInfo(flow);
+		assertNull(info.getState("added"));
+
+		flow.setContents(contents(FLOW_START + "	<view-state id=\"added\"/>\n" + FLOW_END), true, false, null);
+
+		FlowInfo changed = index.getFlowInfo(flow);
+		assertNotSame(info, changed);
+		assertEquals("view-state", changed.getState("added").getType());
+	}
+
+	public void testDeletedFlow() throws Exception {
+		assertNotNull(index.getFlowInfo(flow));
+
+		flow.delete(true, null);
+
+		assertNull(index.getFlowInfo(flow));
+	}
+
+	public void testProjectClosed() throws Exception {
+		FlowInfo info = index.getFlowInfo(flow);
+
+		new WebflowResourceChangeEvents().projectClosed(project.getProject(), IResourceChangeEvent.PRE_CLOSE);
+
+		assertNotSame(info, index.getFlowInfo(flow));
+	}
+
+	public void testProjectDeleted() throws Exception {
+		FlowInfo info = index.getFlowInfo(flow);
+
+		new WebflowResourceChangeEvents().projectDeleted(project.getProject(), IResourceChangeEvent.PRE_DELETE);
+
+		assertNotSame(info, index.getFlowInfo(flow));
+	}
+
+	private ByteArrayInputStream contents(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -30,6 +30,11 @@ public class Activator extends AbstractUIPlugin {
 	 */
 	public static final String PLUGIN_ID = "org.springframework.ide.eclipse.webflow.core";
 
+	/**
+	 * Preference that enables validating several flow definitions concurrently during a build. Off by default.
+	 */
+	public static final String CONCURRENT_VALIDATION_PREFERENCE_ID = PLUGIN_ID + ".concurrentValidation";
+
 	/**
 	 * The plugin.
 	 */
@@ -54,6 +59,7 @@ public class Activator extends AbstractUIPlugin {
 	@Override
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
+		getPreferenceStore().setDefault(CONCURRENT_VALIDATION_PREFERENCE_ID, false);
 		WEBFLOW_MODEL.startup();
 	}
 
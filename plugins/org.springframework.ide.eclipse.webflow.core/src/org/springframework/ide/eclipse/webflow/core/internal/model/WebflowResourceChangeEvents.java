@@ -16,6 +16,7 @@ import org.springframework.ide.eclipse.core.SpringCoreUtils;
 import org.springframework.ide.eclipse.core.internal.model.resources.SpringResourceChangeEventsAdapter;
 import org.springframework.ide.eclipse.webflow.core.Activator;
 import org.springframework.ide.eclipse.webflow.core.internal.model.resources.IWebflowResourceChangeEvents;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowFlowIndex;
 import org.springframework.ide.eclipse.webflow.core.model.IWebflowProject;
 
 /**
@@ -36,6 +37,7 @@ public class WebflowResourceChangeEvents extends
 
 	private void clearProject(IProject project) {
 		Activator.getModel().removeProject(project);
+		WebflowFlowIndex.getInstance().clearStateForProject(project);
 	}
 
 	public void projectDeleted(IProject project, int eventType) {
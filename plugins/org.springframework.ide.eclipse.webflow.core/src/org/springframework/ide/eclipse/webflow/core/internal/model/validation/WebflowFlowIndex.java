@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.webflow.core.internal.model.validation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.wst.sse.core.StructuredModelManager;
+import org.eclipse.wst.sse.core.internal.provisional.IStructuredModel;
+import org.eclipse.wst.xml.core.internal.document.DOMModelImpl;
+import org.eclipse.wst.xml.core.internal.provisional.document.IDOMDocument;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
+import org.springframework.util.StringUtils;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Per-project index of flow definitions that records a flow's version, its parent flows and the id, type and
+ * referenced subflow of every state.
+ * <p>
+ * Entries are computed from the root element's direct children only and are invalidated as soon as the modification
+ * stamp of the flow file changes. This allows cross-flow references to be validated without re-materializing a
+ * {@link org.springframework.ide.eclipse.webflow.core.internal.model.WebflowState} for the parent flow on every lookup.
+ */
+@SuppressWarnings("restriction")
+public class WebflowFlowIndex {
+
+	private static final Set<String> STATE_ELEMENTS = new HashSet<String>(Arrays.asList("action-state",
+			"view-state", "decision-state", "end-state", "subflow-state"));
+
+	private static final WebflowFlowIndex INSTANCE = new WebflowFlowIndex();
+
+	private final Map<IProject, Map<IFile, FlowInfo>> flowsByProject = new ConcurrentHashMap<IProject, Map<IFile, FlowInfo>>();
+
+	public static WebflowFlowIndex getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Returns the {@link FlowInfo} for the given flow config or <code>null</code> if the flow file can't be read.
+	 */
+	public FlowInfo getFlowInfo(IWebflowConfig config) {
+		if (config == null || !(config.getElementResource() instanceof IFile)) {
+			return null;
+		}
+		return getFlowInfo((IFile) config.getElementResource());
+	}
+
+	/**
+	 * Returns the {@link FlowInfo} for the given flow file or <code>null</code> if the file can't be read.
+	 */
+	public FlowInfo getFlowInfo(IFile file) {
+		Map<IFile, FlowInfo> flows = getFlows(file.getProject());
+		if (!file.exists()) {
+			flows.remove(file);
+			return null;
+		}
+		long modificationStamp = file.getModificationStamp();
+		FlowInfo info = flows.get(file);
+		if (info == null || info.modificationStamp != modificationStamp) {
+			info = createFlowInfo(file, modificationStamp);
+			if (info != null) {
+				flows.put(file, info);
+			}
+		}
+		return info;
+	}
+
+	/**
+	 * Removes all recorded flows of the given project.
+	 */
+	public void clearStateForProject(IProject project) {
+		flowsByProject.remove(project);
+	}
+
+	private Map<IFile, FlowInfo> getFlows(IProject project) {
+		Map<IFile, FlowInfo> flows = flowsByProject.get(project);
+		if (flows == null) {
+			synchronized (flowsByProject) {
+				flows = flowsByProject.get(project);
+				if (flows == null) {
+					flows = new ConcurrentHashMap<IFile, FlowInfo>();
+					flowsByProject.put(project, flows);
+				}
+			}
+		}
+		return flows;
+	}
+
+	private FlowInfo createFlowInfo(IFile file, long modificationStamp) {
+		IStructuredModel model = null;
+		try {
+			model = StructuredModelManager.getModelManager().getExistingModelForRead(file);
+			if (model == null) {
+				model = StructuredModelManager.getModelManager().getModelForRead(file);
+			}
+			if (model != null) {
+				IDOMDocument document = ((DOMModelImpl) model).getDocument();
+				Element root = document.getDocumentElement();
+				if (root == null) {
+					return null;
+				}
+
+				boolean isVersion1 = true;
+				String schemaLocation = root.getAttributeNS("http://www.w3.org/2001/XMLSchema-instance",
+						"schemaLocation");
+				if (StringUtils.hasText(schemaLocation)) {
+					isVersion1 = schemaLocation.contains("spring-webflow-1");
+				}
+
+				Set<String> parentFlowIds = new LinkedHashSet<String>();
+				if (root.hasAttribute("parent")) {
+					parentFlowIds.addAll(StringUtils.commaDelimitedListToSet(root.getAttribute("parent")));
+				}
+
+				Map<String, StateInfo> states = new HashMap<String, StateInfo>();
+				NodeList children = root.getChildNodes();
+				for (int i = 0; i < children.getLength(); i++) {
+					Node child = children.item(i);
+					if (child instanceof Element && STATE_ELEMENTS.contains(child.getLocalName())) {
+						Element element = (Element) child;
+						String id = element.getAttribute("id");
+						if (!states.containsKey(id)) {
+							String flow = element.getAttribute(isVersion1 ? "flow" : "subflow");
+							states.put(id, new StateInfo(id, element.getLocalName(),
+									StringUtils.hasText(flow) ? flow : null));
+						}
+					}
+				}
+				return new FlowInfo(modificationStamp, isVersion1, parentFlowIds, states);
+			}
+		}
+		catch (Exception e) {
+		}
+		finally {
+			if (model != null) {
+				model.releaseFromRead();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Indexed information about a single flow definition.
+	 */
+	public static class FlowInfo {
+
+		private final long modificationStamp;
+
+		private final boolean isVersion1;
+
+		private final Set<String> parentFlowIds;
+
+		private final Map<String, StateInfo> states;
+
+		public FlowInfo(long modificationStamp, boolean isVersion1, Set<String> parentFlowIds,
+				Map<String, StateInfo> states) {
+			this.modificationStamp = modificationStamp;
+			this.isVersion1 = isVersion1;
+			this.parentFlowIds = Collections.unmodifiableSet(parentFlowIds);
+			this.states = Collections.unmodifiableMap(states);
+		}
+
+		public boolean isVersion1() {
+			return isVersion1;
+		}
+
+		public Set<String> getParentFlowIds() {
+			return parentFlowIds;
+		}
+
+		public Set<String> getStateIds() {
+			return states.keySet();
+		}
+
+		public StateInfo getState(String id) {
+			return states.get(id);
+		}
+	}
+
+	/**
+	 * Indexed information about a single state of a flow definition.
+	 */
+	public static class StateInfo {
+
+		private final String id;
+
+		private final String type;
+
+		private final String flow;
+
+		public StateInfo(String id, String type, String flow) {
+			this.id = id;
+			this.type = type;
+			this.flow = flow;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		/**
+		 * Returns the element name of the state, e.g. <code>view-state</code>.
+		 */
+		public String getType() {
+			return type;
+		}
+
+		public boolean isSubflowState() {
+			return "subflow-state".equals(type);
+		}
+
+		/**
+		 * Returns the referenced subflow if this is a subflow state or <code>null</code>.
+		 */
+		public String getFlow() {
+			return flow;
+		}
+	}
+
+}
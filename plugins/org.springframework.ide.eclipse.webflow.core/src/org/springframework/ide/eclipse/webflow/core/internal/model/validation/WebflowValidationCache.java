@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Pivotal Software, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Pivotal Software, Inc. - initial API and implementation
+ *******************************************************************************/
+package org.springframework.ide.eclipse.webflow.core.internal.model.validation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.IType;
+import org.springframework.ide.eclipse.core.java.JdtUtils;
+import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
+import org.springframework.ide.eclipse.webflow.core.model.IWebflowConfig;
+
+/**
+ * Read-mostly cache for the class and bean lookups done by the webflow validation rules.
+ * <p>
+ * One instance is shared by all rules and flow definitions validated in a single validation run, so that the same
+ * type or bean reference is only resolved once, even if flows are validated concurrently.
+ */
+public class WebflowValidationCache {
+
+	private static final Object NO_TYPE = new Object();
+
+	private final ConcurrentMap<IProject, Map<String, Object>> typesByProject = new ConcurrentHashMap<IProject, Map<String, Object>>();
+
+	private final ConcurrentMap<IWebflowConfig, Map<String, Boolean>> beansByConfig = new ConcurrentHashMap<IWebflowConfig, Map<String, Boolean>>();
+
+	/**
+	 * Returns the {@link IType} for the given class name as resolved by {@link JdtUtils#getJavaType(IProject, String)}.
+	 */
+	public IType getJavaType(IProject project, String className) {
+		if (project == null || className == null) {
+			return null;
+		}
+		Map<String, Object> types = typesByProject.get(project);
+		if (types == null) {
+			types = new ConcurrentHashMap<String, Object>();
+			Map<String, Object> existing = typesByProject.putIfAbsent(project, types);
+			if (existing != null) {
+				types = existing;
+			}
+		}
+		Object type = types.get(className);
+		if (type == null) {
+			type = JdtUtils.getJavaType(project, className);
+			types.put(className, (type != null ? type : NO_TYPE));
+		}
+		return (type instanceof IType ? (IType) type : null);
+	}
+
+	/**
+	 * Returns <code>true</code> if a bean with the given name can be found in the beans configs of the given flow as
+	 * answered by {@link WebflowModelUtils#isReferencedBeanFound(IWebflowConfig, String)}.
+	 */
+	public boolean isReferencedBeanFound(IWebflowConfig config, String beanName) {
+		if (config == null || beanName == null) {
+			return WebflowModelUtils.isReferencedBeanFound(config, beanName);
+		}
+		Map<String, Boolean> beans = beansByConfig.get(config);
+		if (beans == null) {
+			beans = new ConcurrentHashMap<String, Boolean>();
+			Map<String, Boolean> existing = beansByConfig.putIfAbsent(config, beans);
+			if (existing != null) {
+				beans = existing;
+			}
+		}
+		Boolean found = beans.get(beanName);
+		if (found == null) {
+			found = WebflowModelUtils.isReferencedBeanFound(config, beanName);
+			beans.put(beanName, found);
+		}
+		return found;
+	}
+
+}
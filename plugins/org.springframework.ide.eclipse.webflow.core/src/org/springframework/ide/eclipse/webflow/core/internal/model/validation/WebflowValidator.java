@@ -125,15 +125,47 @@ public class WebflowValidator extends AbstractValidator {
 	protected IValidationContext createContext(
 			IResourceModelElement rootElement,
 			IResourceModelElement contextElement) {
+		return createContext(rootElement, contextElement, null);
+	}
+
+	/**
+	 * Creates a context that uses the given run's {@link WebflowValidationCache}, so that all flows
+	 * validated in one run share their lookups.
+	 */
+	@Override
+	protected IValidationContext createContext(
+			IResourceModelElement rootElement,
+			IResourceModelElement contextElement, Object runState) {
 		if (rootElement instanceof IWebflowState) {
 			IWebflowState state = (IWebflowState) rootElement;
 			IWebflowConfig config = WebflowModelUtils
 					.getWebflowConfig((IFile) state.getElementResource());
-			return new WebflowValidationContext(state, config);
+			WebflowValidationCache cache = (runState instanceof WebflowValidationCache ? (WebflowValidationCache) runState
+					: new WebflowValidationCache());
+			return new WebflowValidationContext(state, config, cache);
 		}
 		return null;
 	}
 
+	@Override
+	protected Object createRunState(Set<IResource> affectedResources) {
+		return new WebflowValidationCache();
+	}
+
+	/**
+	 * Validates independent flow definitions in parallel if enabled by the
+	 * {@link Activator#CONCURRENT_VALIDATION_PREFERENCE_ID} preference.
+	 */
+	@Override
+	protected int getMaxConcurrency() {
+		if (Activator.getDefault() != null
+				&& Activator.getDefault().getPreferenceStore().getBoolean(
+						Activator.CONCURRENT_VALIDATION_PREFERENCE_ID)) {
+			return Runtime.getRuntime().availableProcessors();
+		}
+		return 1;
+	}
+
 	@Override
 	protected boolean supports(IModelElement element) {
 		return (element instanceof IWebflowModelElement);
@@ -42,7 +42,7 @@ public class ActionValidationRule implements IValidationRule<Action, WebflowVali
 			if (!StringUtils.hasText(action.getBean())) {
 				context.error(action, "NO_BEAN_ATTRIBUTE", "Element 'action' requires 'bean' attribute");
 			}
-			else if (!WebflowModelUtils.isReferencedBeanFound(context.getWebflowConfig(), action.getBean())) {
+			else if (!context.isReferencedBeanFound(action.getBean())) {
 				context.error(action, "INVALID_BEAN", MessageUtils.format("Referenced bean \"{0}\" cannot be found",
 						action.getBean()));
 			}
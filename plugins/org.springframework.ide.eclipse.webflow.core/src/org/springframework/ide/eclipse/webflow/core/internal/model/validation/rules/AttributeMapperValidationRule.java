@@ -16,7 +16,6 @@ import org.springframework.ide.eclipse.core.model.IModelElement;
 import org.springframework.ide.eclipse.core.model.validation.IValidationContext;
 import org.springframework.ide.eclipse.core.model.validation.IValidationRule;
 import org.springframework.ide.eclipse.webflow.core.internal.model.AttributeMapper;
-import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
 import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowValidationContext;
 import org.springframework.util.StringUtils;
 
@@ -36,8 +35,7 @@ public class AttributeMapperValidationRule implements
 	public void validate(AttributeMapper state,
 			WebflowValidationContext context, IProgressMonitor monitor) {
 		if (StringUtils.hasText(state.getBean())
-				&& !WebflowModelUtils.isReferencedBeanFound(context
-						.getWebflowConfig(), state.getBean())) {
+				&& !context.isReferencedBeanFound(state.getBean())) {
 			context.error(state, "INVALID_BEAN_REFERENCE", MessageUtils
 					.format("Referenced bean \"{0}\" cannot be found", state
 							.getBean()));
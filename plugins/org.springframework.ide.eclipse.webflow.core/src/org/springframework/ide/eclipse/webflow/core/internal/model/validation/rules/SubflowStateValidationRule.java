@@ -17,9 +17,8 @@ import org.springframework.ide.eclipse.core.model.validation.IValidationContext;
 import org.springframework.ide.eclipse.core.model.validation.IValidationRule;
 import org.springframework.ide.eclipse.webflow.core.internal.model.SubflowState;
 import org.springframework.ide.eclipse.webflow.core.internal.model.WebflowModelUtils;
+import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowFlowIndex.StateInfo;
 import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowValidationContext;
-import org.springframework.ide.eclipse.webflow.core.model.IState;
-import org.springframework.ide.eclipse.webflow.core.model.ISubflowState;
 import org.springframework.util.StringUtils;
 
 /**
@@ -44,11 +43,10 @@ public class SubflowStateValidationRule implements
 								+ (context.isVersion1() ? "flow" : "subflow") + "' attribute");
 			}
 			else {
-				IState parentState = context.getStateFromParentState(state.getAttribute(state
+				StateInfo parentState = context.getStateFromParentState(state.getAttribute(state
 						.getNode(), "parent"));
 				if (parentState == null
-						|| (parentState instanceof ISubflowState && !StringUtils
-								.hasText(((ISubflowState) parentState).getFlow()))) {
+						|| (parentState.isSubflowState() && !StringUtils.hasText(parentState.getFlow()))) {
 					context.error(state, "NO_FLOW_ATTRIBUTE",
 							"Element 'subflow-state' requires unique '"
 									+ (context.isVersion1() ? "flow" : "subflow") + "' attribute");
@@ -16,7 +16,6 @@ import java.util.List;
 import org.eclipse.jdt.core.IType;
 import org.springframework.binding.convert.ConversionService;
 import org.springframework.binding.convert.support.DefaultConversionService;
-import org.springframework.ide.eclipse.core.java.JdtUtils;
 import org.springframework.ide.eclipse.core.model.validation.IValidationRule;
 import org.springframework.ide.eclipse.webflow.core.internal.model.validation.WebflowValidationContext;
 
@@ -41,12 +40,12 @@ public abstract class WebflowValidationRuleUtils {
 
 	protected static IType getJavaType(String className,
 			WebflowValidationContext context) {
-		IType type = JdtUtils.getJavaType(context.getWebflowConfig()
+		IType type = context.getCache().getJavaType(context.getWebflowConfig()
 				.getProject().getProject(), className);
 		if (type == null) {
 			Class clazz = getConversionService().getClassByAlias(className);
 			if (clazz != null) {
-				type = JdtUtils.getJavaType(context.getWebflowConfig()
+				type = context.getCache().getJavaType(context.getWebflowConfig()
 						.getProject().getProject(), clazz.getName());
 			}
 		}